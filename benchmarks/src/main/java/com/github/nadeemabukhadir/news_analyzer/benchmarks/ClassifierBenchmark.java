@@ -0,0 +1,58 @@
+package com.github.nadeemabukhadir.news_analyzer.benchmarks;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.util.NewsHeadlineUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * {@link NewsHeadlineUtil#isPositive} on generated headlines, on a {@link String} and on the received bytes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClassifierBenchmark {
+
+    private String[] headlines;
+    private byte[][] headlineBytes;
+    private int next = 0;
+
+    @Setup
+    public void setUp() {
+
+        NewsItem[] items = NewsSamples.items();
+        headlines = new String[items.length];
+        headlineBytes = new byte[items.length][];
+        for (int i = 0; i < items.length; i++) {
+            headlines[i] = items[i].getHeadline();
+            headlineBytes[i] = headlines[i].getBytes(UTF_8);
+        }
+    }
+
+    @Benchmark
+    public boolean isPositiveString() {
+        return NewsHeadlineUtil.isPositive(headlines[next++ & (NewsSamples.SIZE - 1)]);
+    }
+
+    @Benchmark
+    public boolean isPositiveBytes() {
+
+        byte[] headline = headlineBytes[next++ & (NewsSamples.SIZE - 1)];
+        return NewsHeadlineUtil.isPositive(headline, 0, headline.length);
+    }
+}
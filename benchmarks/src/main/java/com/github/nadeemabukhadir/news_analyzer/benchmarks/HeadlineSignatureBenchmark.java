@@ -0,0 +1,57 @@
+package com.github.nadeemabukhadir.news_analyzer.benchmarks;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.task.NewsSummaryReporter;
+import com.github.nadeemabukhadir.news_analyzer.server.util.HeadlineSignatureSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Word-order-insensitive headline signature of a single headline: the reference
+ * {@link NewsSummaryReporter#buildHeadlineSignature(String)} against the {@link HeadlineSignatureSet} used by reports.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HeadlineSignatureBenchmark {
+
+    private final HeadlineSignatureSet signatures = new HeadlineSignatureSet();
+    private String[] headlines;
+    private int next = 0;
+
+    @Setup
+    public void setUp() {
+
+        NewsItem[] items = NewsSamples.items();
+        headlines = new String[items.length];
+        for (int i = 0; i < items.length; i++) {
+            headlines[i] = items[i].getHeadline();
+        }
+    }
+
+    @Benchmark
+    public Set<String> buildHeadlineSignature() {
+        return NewsSummaryReporter.buildHeadlineSignature(headlines[next++ & (NewsSamples.SIZE - 1)]);
+    }
+
+    @Benchmark
+    public long computeSignature() {
+
+        signatures.computeSignature(headlines[next++ & (NewsSamples.SIZE - 1)]);
+        return signatures.getSignatureHigh() ^ signatures.getSignatureLow();
+    }
+}
@@ -0,0 +1,142 @@
+package com.github.nadeemabukhadir.news_analyzer.benchmarks;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+
+/**
+ * Minimal streaming JSON writer for the load test results, indented by two spaces per level.
+ * Callers are trusted to nest objects, arrays and names correctly.
+ */
+final class JsonWriter {
+
+    private final StringBuilder json = new StringBuilder();
+    // Per open object or array: whether it already has an element, so the next one needs a comma.
+    private final Deque<Boolean> hasElements = new ArrayDeque<>();
+    private boolean afterName;
+
+    JsonWriter beginObject() {
+        return open('{');
+    }
+
+    JsonWriter endObject() {
+        return close('}');
+    }
+
+    JsonWriter beginArray() {
+        return open('[');
+    }
+
+    JsonWriter endArray() {
+        return close(']');
+    }
+
+    JsonWriter name(String name) {
+
+        separate();
+        appendString(name);
+        json.append(": ");
+        afterName = true;
+        return this;
+    }
+
+    JsonWriter value(String value) {
+
+        separate();
+        if (value == null) {
+            json.append("null");
+        } else {
+            appendString(value);
+        }
+        return this;
+    }
+
+    JsonWriter value(long value) {
+
+        separate();
+        json.append(value);
+        return this;
+    }
+
+    /**
+     * Writes the value with at most 3 decimals, or null if it is not a finite number.
+     */
+    JsonWriter value(double value) {
+
+        separate();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            json.append("null");
+        } else {
+            json.append(String.format(Locale.ROOT, "%.3f", value).replaceAll("\\.?0+$", ""));
+        }
+        return this;
+    }
+
+    JsonWriter value(boolean value) {
+
+        separate();
+        json.append(value);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return json.toString();
+    }
+
+    private JsonWriter open(char bracket) {
+
+        separate();
+        json.append(bracket);
+        hasElements.push(false);
+        return this;
+    }
+
+    private JsonWriter close(char bracket) {
+
+        if (hasElements.pop()) {
+            newLine();
+        }
+        json.append(bracket);
+        return this;
+    }
+
+    private void separate() {
+
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (!hasElements.isEmpty()) {
+            if (hasElements.pop()) {
+                json.append(',');
+            }
+            hasElements.push(true);
+            newLine();
+        }
+    }
+
+    private void newLine() {
+
+        json.append(System.lineSeparator());
+        for (int i = 0; i < hasElements.size(); i++) {
+            json.append("  ");
+        }
+    }
+
+    private void appendString(String value) {
+
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,172 @@
+package com.github.nadeemabukhadir.news_analyzer.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Ingest-to-storage latencies of the messages scheduled within a measurement interval, recorded by the server
+ * threads storing them.
+ * <p>
+ * Every message gets two latencies: the corrected one, from the time the open-loop feed scheduled it, and the
+ * uncorrected one, from the time the feed got to write it. When the server falls behind, the feeds' writes block
+ * and the messages queued behind them are sent late; only the corrected latency accounts for that waiting time
+ * (coordinated omission), the uncorrected one is what a closed-loop client would report.
+ * <p>
+ * Each recording thread writes its own histograms, which are merged when read.
+ */
+final class LatencyRecorder {
+
+    private final long measureFromNanos;
+    private final long measureToNanos;
+    private final List<Recording> recordings = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Recording> recording = ThreadLocal.withInitial(() -> {
+        Recording created = new Recording();
+        recordings.add(created);
+        return created;
+    });
+
+    /**
+     * @param measureFromNanos {@link System#nanoTime()} from which scheduled messages are recorded, inclusive
+     * @param measureToNanos   {@link System#nanoTime()} up to which scheduled messages are recorded, exclusive
+     */
+    LatencyRecorder(long measureFromNanos, long measureToNanos) {
+
+        this.measureFromNanos = measureFromNanos;
+        this.measureToNanos = measureToNanos;
+    }
+
+    /**
+     * Records a message stored at {@code storedNanos}, if it was scheduled within the measurement interval.
+     */
+    void record(long intendedNanos, long sentNanos, long storedNanos) {
+
+        if (intendedNanos - measureFromNanos < 0 || intendedNanos - measureToNanos >= 0) {
+            return;
+        }
+        Recording current = recording.get();
+        current.corrected.record(storedNanos - intendedNanos);
+        current.uncorrected.record(storedNanos - sentNanos);
+    }
+
+    /**
+     * @return the number of recorded messages
+     */
+    long getCount() {
+
+        long count = 0;
+        for (Recording each : recordings) {
+            count += each.corrected.getCount();
+        }
+        return count;
+    }
+
+    Histogram corrected() {
+
+        Histogram merged = new Histogram();
+        recordings.forEach(each -> merged.mergeFrom(each.corrected));
+        return merged;
+    }
+
+    Histogram uncorrected() {
+
+        Histogram merged = new Histogram();
+        recordings.forEach(each -> merged.mergeFrom(each.uncorrected));
+        return merged;
+    }
+
+    private static final class Recording {
+
+        private final Histogram corrected = new Histogram();
+        private final Histogram uncorrected = new Histogram();
+    }
+
+    /**
+     * Log-linear histogram of nanosecond values: every power of two range is split into 32 buckets, so quantiles
+     * are exact up to 3% of their value. Written by a single thread; the volatile count publishes the buckets to
+     * readers.
+     */
+    static final class Histogram {
+
+        private static final int SUB_BUCKET_BITS = 5;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        // Values are capped at 2^42 ns (about 73 minutes).
+        private static final int MAX_MAGNITUDE = 42;
+        private static final long MAX_VALUE = (1L << MAX_MAGNITUDE) - 1;
+        private final long[] counts = new long[(MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS];
+        private long sum;
+        private long max;
+        private volatile long count;
+
+        void record(long nanos) {
+
+            long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+            counts[indexOf(value)]++;
+            sum += value;
+            max = Math.max(max, value);
+            count = count + 1;
+        }
+
+        void mergeFrom(Histogram other) {
+
+            long otherCount = other.count;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            sum += other.sum;
+            max = Math.max(max, other.max);
+            count = count + otherCount;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        long getMax() {
+            return max;
+        }
+
+        double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * @return the highest value of the bucket holding the given quantile, or 0 if nothing was recorded
+         */
+        long quantile(double quantile) {
+
+            long total = count;
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValueOf(i), max);
+                }
+            }
+            return max;
+        }
+
+        private static int indexOf(long value) {
+
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            // Values of [32 * 2^shift, 64 * 2^shift) fill the 32 buckets from index 32 * (shift + 1).
+            int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+            return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+        }
+
+        private static long highestValueOf(int index) {
+
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int shift = index / SUB_BUCKETS - 1;
+            long mantissa = index % SUB_BUCKETS + SUB_BUCKETS;
+            return ((mantissa + 1) << shift) - 1;
+        }
+    }
+}
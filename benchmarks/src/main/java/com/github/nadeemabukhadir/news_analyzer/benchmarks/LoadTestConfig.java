@@ -0,0 +1,200 @@
+package com.github.nadeemabukhadir.news_analyzer.benchmarks;
+
+import com.github.nadeemabukhadir.news_analyzer.server.config.NewsAnalyzerServerConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.config.ServerMode;
+import com.github.nadeemabukhadir.news_analyzer.server.config.StorageMode;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable configuration class for the {@link LoadTestHarness}, parsed from {@code --name=value} arguments.
+ * Omitted options keep their defaults, see {@link #USAGE}.
+ */
+final class LoadTestConfig {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: LoadTestHarness [--name=value ...]",
+            "  --feeds=8                   simulated feeds, one connection each",
+            "  --start-rate=10000          total messages/sec of the first step",
+            "  --max-rate=2000000          highest total messages/sec tried",
+            "  --rate-factor=2             rate increase between steps until one is not sustainable",
+            "  --refine-steps=3            bisection steps between the last sustainable rate and the first failing one",
+            "  --warmup-seconds=5          unmeasured seconds at the start of every step",
+            "  --duration-seconds=10       measured seconds of every step",
+            "  --drain-seconds=10          time allowed to send and store the measured messages after a step",
+            "  --slo-p99-millis=50         highest corrected p99 latency of a sustainable step",
+            "  --server-mode=blocking      blocking, nio or virtual",
+            "  --io-threads=2              selector threads in nio mode",
+            "  --storage-mode=striped      striped, skip_list, compact or aggregating",
+            "  --report-period-seconds=10  window reporting period of the server",
+            "  --output=load-test-results.json");
+    private static final List<String> OPTIONS = Arrays.asList("feeds", "start-rate", "max-rate", "rate-factor",
+            "refine-steps", "warmup-seconds", "duration-seconds", "drain-seconds", "slo-p99-millis", "server-mode",
+            "io-threads", "storage-mode", "report-period-seconds", "output");
+
+    private final int feeds;
+    private final double startRate;
+    private final double maxRate;
+    private final double rateFactor;
+    private final int refineSteps;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final int drainSeconds;
+    private final double sloP99Millis;
+    private final ServerMode serverMode;
+    private final int ioThreads;
+    private final StorageMode storageMode;
+    private final int reportPeriodSeconds;
+    private final String output;
+
+    private LoadTestConfig(Map<String, String> options) {
+
+        this.feeds = positiveInt(options, "feeds", 8);
+        this.startRate = positiveDouble(options, "start-rate", 10_000);
+        this.maxRate = positiveDouble(options, "max-rate", 2_000_000);
+        this.rateFactor = positiveDouble(options, "rate-factor", 2);
+        this.refineSteps = nonNegativeInt(options, "refine-steps", 3);
+        this.warmupSeconds = nonNegativeInt(options, "warmup-seconds", 5);
+        this.durationSeconds = positiveInt(options, "duration-seconds", 10);
+        this.drainSeconds = positiveInt(options, "drain-seconds", 10);
+        this.sloP99Millis = positiveDouble(options, "slo-p99-millis", 50);
+        this.serverMode = ServerMode.fromProperty(options.get("server-mode"));
+        this.ioThreads = positiveInt(options, "io-threads", NewsAnalyzerServerConfig.DEFAULT_IO_THREADS);
+        this.storageMode = StorageMode.fromProperty(options.get("storage-mode"));
+        this.reportPeriodSeconds = positiveInt(options, "report-period-seconds", 10);
+        this.output = options.getOrDefault("output", "load-test-results.json");
+
+        if (rateFactor <= 1) {
+            throw new IllegalArgumentException("Rate factor must be greater than 1: " + rateFactor);
+        }
+        if (maxRate < startRate) {
+            throw new IllegalArgumentException("Max rate must not be below the start rate: " + maxRate);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if an argument is malformed, unknown or out of range
+     */
+    static LoadTestConfig fromArgs(String[] args) {
+
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value: " + arg);
+            }
+            String name = arg.substring(2, separator);
+            if (!OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown option: " + name);
+            }
+            options.put(name, arg.substring(separator + 1));
+        }
+        return new LoadTestConfig(options);
+    }
+
+    private static int positiveInt(Map<String, String> options, String name, int defaultValue) {
+
+        int value = nonNegativeInt(options, name, defaultValue);
+        if (value == 0) {
+            throw new IllegalArgumentException(name + " must be positive: " + value);
+        }
+        return value;
+    }
+
+    private static int nonNegativeInt(Map<String, String> options, String name, int defaultValue) {
+
+        int value = options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " must not be negative: " + value);
+        }
+        return value;
+    }
+
+    private static double positiveDouble(Map<String, String> options, String name, double defaultValue) {
+
+        double value = options.containsKey(name) ? Double.parseDouble(options.get(name)) : defaultValue;
+        if (!(value > 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException(name + " must be positive: " + value);
+        }
+        return value;
+    }
+
+    int getFeeds() {
+        return feeds;
+    }
+
+    double getStartRate() {
+        return startRate;
+    }
+
+    double getMaxRate() {
+        return maxRate;
+    }
+
+    double getRateFactor() {
+        return rateFactor;
+    }
+
+    int getRefineSteps() {
+        return refineSteps;
+    }
+
+    int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    int getDrainSeconds() {
+        return drainSeconds;
+    }
+
+    double getSloP99Millis() {
+        return sloP99Millis;
+    }
+
+    ServerMode getServerMode() {
+        return serverMode;
+    }
+
+    int getIoThreads() {
+        return ioThreads;
+    }
+
+    StorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    int getReportPeriodSeconds() {
+        return reportPeriodSeconds;
+    }
+
+    String getOutput() {
+        return output;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadTestConfig{" +
+                "feeds=" + feeds +
+                ", startRate=" + startRate +
+                ", maxRate=" + maxRate +
+                ", rateFactor=" + rateFactor +
+                ", refineSteps=" + refineSteps +
+                ", warmupSeconds=" + warmupSeconds +
+                ", durationSeconds=" + durationSeconds +
+                ", drainSeconds=" + drainSeconds +
+                ", sloP99Millis=" + sloP99Millis +
+                ", serverMode=" + serverMode +
+                ", ioThreads=" + ioThreads +
+                ", storageMode=" + storageMode +
+                ", reportPeriodSeconds=" + reportPeriodSeconds +
+                ", output='" + output + '\'' +
+                '}';
+    }
+}
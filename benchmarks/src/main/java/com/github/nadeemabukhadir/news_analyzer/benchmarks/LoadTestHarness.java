@@ -0,0 +1,245 @@
+package com.github.nadeemabukhadir.news_analyzer.benchmarks;
+
+import com.github.nadeemabukhadir.news_analyzer.common.scheduler.ScheduledTaskManager;
+import com.github.nadeemabukhadir.news_analyzer.server.NewsAnalyzerServer;
+import com.github.nadeemabukhadir.news_analyzer.server.config.NewsAnalyzerServerConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.IngestMetrics;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.NewsMessageProcessor;
+import com.github.nadeemabukhadir.news_analyzer.server.ratelimit.IngestRateLimits;
+import com.github.nadeemabukhadir.news_analyzer.server.sentiment.DefaultSentimentClassifier;
+import com.github.nadeemabukhadir.news_analyzer.server.sentiment.SentimentClassifier;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.task.NewsSummaryReporter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * End-to-end load test finding the saturation point of the server: every step starts a {@link NewsAnalyzerServer}
+ * in-process and drives it with {@link OpenLoopFeed}s at a fixed total rate, raising the rate until a step is not
+ * sustainable (see {@link StepResult}) and then bisecting between the last sustainable rate and the failing one.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.github.nadeemabukhadir.news_analyzer.benchmarks.LoadTestHarness \
+ *     --feeds=8 --server-mode=nio --output=nio.json
+ * </pre>
+ * Ingest-to-storage latencies are corrected for coordinated omission, see {@link LatencyRecorder}. The steps and
+ * the max sustainable rate are written as JSON, so runs can be compared.
+ */
+public final class LoadTestHarness {
+
+    private static final long START_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final long POLL_MILLIS = 10;
+    private final LoadTestConfig config;
+    private final PrintStream out;
+
+    LoadTestHarness(LoadTestConfig config, PrintStream out) {
+
+        this.config = config;
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.fromArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid argument: " + e.getMessage());
+            System.err.println(LoadTestConfig.USAGE);
+            System.exit(2);
+            return;
+        }
+        new LoadTestHarness(config, System.out).run();
+        System.exit(0);
+    }
+
+    /**
+     * Runs the steps and writes the results to the configured output file.
+     */
+    void run() throws IOException, InterruptedException {
+
+        Instant startedAt = Instant.now();
+        out.println("Load test: " + config);
+        List<StepResult> steps = new ArrayList<>();
+        StepResult best = null;
+        double failedRate = 0;
+        for (double rate = config.getStartRate(); rate <= config.getMaxRate(); rate *= config.getRateFactor()) {
+            StepResult step = runAndPrintStep(rate, steps);
+            if (!step.isSustainable()) {
+                failedRate = rate;
+                break;
+            }
+            best = step;
+        }
+        if (failedRate > 0) {
+            double low = best == null ? 0 : best.getTargetRate();
+            double high = failedRate;
+            for (int i = 0; i < config.getRefineSteps(); i++) {
+                double rate = (low + high) / 2;
+                StepResult step = runAndPrintStep(rate, steps);
+                if (step.isSustainable()) {
+                    best = step;
+                    low = rate;
+                } else {
+                    high = rate;
+                }
+            }
+        }
+
+        if (best == null) {
+            out.println("No sustainable rate found");
+        } else {
+            out.printf("Max sustainable rate: %,.0f msg/s (%,.0f msg/s received, p99 %.3f ms)%n", best.getTargetRate(),
+                    best.getReceivedRate(), StepResult.millisOf(best.getCorrectedP99Nanos()));
+        }
+        Path output = Paths.get(config.getOutput());
+        Files.write(output, toJson(startedAt, steps, best).getBytes(UTF_8));
+        out.println("Results written to " + output.toAbsolutePath());
+    }
+
+    private StepResult runAndPrintStep(double rate, List<StepResult> steps) throws IOException, InterruptedException {
+
+        StepResult step = runStep(rate);
+        steps.add(step);
+        out.println(step);
+        return step;
+    }
+
+    private StepResult runStep(double rate) throws IOException, InterruptedException {
+
+        long startNanos = System.nanoTime() + START_DELAY_NANOS;
+        long measureFromNanos = startNanos + TimeUnit.SECONDS.toNanos(config.getWarmupSeconds());
+        long measureToNanos = measureFromNanos + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+        long deadlineNanos = measureToNanos + TimeUnit.SECONDS.toNanos(config.getDrainSeconds());
+
+        LatencyRecorder recorder = new LatencyRecorder(measureFromNanos, measureToNanos);
+        NewsItemStorage storage = config.getStorageMode().createStorage();
+        NewsItemStorage probedStorage = new ProbeRecordingStorage(storage, recorder);
+        SentimentClassifier classifier = new ProbeStrippingClassifier(DefaultSentimentClassifier.INSTANCE);
+        int port = freePort();
+        NewsAnalyzerServer server = new NewsAnalyzerServer(
+                new NewsAnalyzerServerConfig(port, config.getFeeds(), config.getServerMode(), config.getIoThreads()),
+                () -> new NewsMessageProcessor(probedStorage, classifier), IngestRateLimits.unlimited());
+        Thread serverThread = new Thread(server::start, "load-test-server");
+        serverThread.start();
+        int period = config.getReportPeriodSeconds();
+        NewsSummaryReporter reporter = new NewsSummaryReporter(storage, period);
+        ScheduledTaskManager reporting = new ScheduledTaskManager("news-summary-report", reporter::report,
+                period, period, TimeUnit.SECONDS);
+        reporting.start();
+
+        List<OpenLoopFeed> feeds = new ArrayList<>();
+        List<Thread> feedThreads = new ArrayList<>();
+        for (int i = 0; i < config.getFeeds(); i++) {
+            OpenLoopFeed feed = new OpenLoopFeed(port, rate / config.getFeeds(), NewsSamples.items(),
+                    DefaultSentimentClassifier.INSTANCE, startNanos, measureFromNanos, measureToNanos, deadlineNanos);
+            Thread thread = new Thread(feed, "feed-" + i);
+            thread.start();
+            feeds.add(feed);
+            feedThreads.add(thread);
+        }
+
+        try {
+            sleepUntil(measureFromNanos);
+            long[] gcBefore = gcCountAndMillis();
+            long receivedBefore = IngestMetrics.MESSAGES.get();
+            sleepUntil(measureToNanos);
+            long[] gcAfter = gcCountAndMillis();
+            long received = IngestMetrics.MESSAGES.get() - receivedBefore;
+
+            for (Thread thread : feedThreads) {
+                thread.join(); // Feeds give up sending at the deadline.
+            }
+            long scheduled = 0;
+            long sent = 0;
+            long expectedStored = 0;
+            for (OpenLoopFeed feed : feeds) {
+                scheduled += feed.getScheduledCount();
+                sent += feed.getSentCount();
+                expectedStored += feed.getSentPositiveCount();
+            }
+            while (recorder.getCount() < expectedStored && System.nanoTime() - deadlineNanos < 0) {
+                Thread.sleep(POLL_MILLIS);
+            }
+
+            return new StepResult(rate, config.getDurationSeconds(), scheduled, sent, expectedStored,
+                    recorder.getCount(), received, recorder.corrected(), recorder.uncorrected(),
+                    gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1], config.getSloP99Millis());
+        } finally {
+            reporting.stop();
+            server.stop();
+            serverThread.join();
+        }
+    }
+
+    private String toJson(Instant startedAt, List<StepResult> steps, StepResult best) {
+
+        JsonWriter json = new JsonWriter().beginObject()
+                .name("startedAt").value(startedAt.toString())
+                .name("javaVersion").value(System.getProperty("java.version"))
+                .name("availableProcessors").value(Runtime.getRuntime().availableProcessors())
+                .name("maxHeapBytes").value(Runtime.getRuntime().maxMemory());
+        json.name("config").beginObject()
+                .name("feeds").value(config.getFeeds())
+                .name("serverMode").value(config.getServerMode().name().toLowerCase(Locale.ROOT))
+                .name("ioThreads").value(config.getIoThreads())
+                .name("storageMode").value(config.getStorageMode().name().toLowerCase(Locale.ROOT))
+                .name("reportPeriodSeconds").value(config.getReportPeriodSeconds())
+                .name("warmupSeconds").value(config.getWarmupSeconds())
+                .name("durationSeconds").value(config.getDurationSeconds())
+                .name("drainSeconds").value(config.getDrainSeconds())
+                .name("sloP99Millis").value(config.getSloP99Millis())
+                .endObject();
+        json.name("maxSustainableRate");
+        if (best == null) {
+            json.value((String) null);
+        } else {
+            json.value(best.getTargetRate());
+        }
+        json.name("steps").beginArray();
+        steps.forEach(step -> step.writeTo(json));
+        json.endArray();
+        return json.endObject().toString() + System.lineSeparator();
+    }
+
+    private static int freePort() throws IOException {
+
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void sleepUntil(long nanos) throws InterruptedException {
+
+        long remaining = nanos - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    /**
+     * @return the collections count and time of all garbage collectors so far
+     */
+    private static long[] gcCountAndMillis() {
+
+        long[] totals = new long[2];
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            totals[0] += Math.max(0, collector.getCollectionCount());
+            totals[1] += Math.max(0, collector.getCollectionTime());
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.nadeemabukhadir.news_analyzer.benchmarks;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.mapper.NewsItemMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NewsItemMapper} text mapping of a single news message, in both directions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapperBenchmark {
+
+    private final NewsItemMapper mapper = new NewsItemMapper();
+    private NewsItem[] items;
+    private String[] messages;
+    private int next = 0;
+
+    @Setup
+    public void setUp() {
+
+        items = NewsSamples.items();
+        messages = new String[items.length];
+        for (int i = 0; i < items.length; i++) {
+            messages[i] = mapper.toString(items[i]);
+        }
+    }
+
+    @Benchmark
+    public NewsItem fromString() {
+        return mapper.fromString(messages[next++ & (NewsSamples.SIZE - 1)]);
+    }
+
+    @Benchmark
+    public String toStringMessage() {
+        return mapper.toString(items[next++ & (NewsSamples.SIZE - 1)]);
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.nadeemabukhadir.news_analyzer.benchmarks;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.mocknewsfeed.generator.NewsContentGenerator;
+
+/**
+ * Realistic benchmark inputs, made by the {@link NewsContentGenerator} of the mock news feed client:
+ * 3-5 word headlines with the priority distribution of the feed.
+ */
+final class NewsSamples {
+
+    /**
+     * Distinct items cycled through by the benchmarks, a power of two so that indexes can be masked.
+     */
+    static final int SIZE = 1024;
+
+    private NewsSamples() {
+    }
+
+    static NewsItem[] items() {
+
+        NewsContentGenerator generator = new NewsContentGenerator();
+        NewsItem[] items = new NewsItem[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            items[i] = new NewsItem(generator.generateHeadline(), generator.generatePriority());
+        }
+        return items;
+    }
+}
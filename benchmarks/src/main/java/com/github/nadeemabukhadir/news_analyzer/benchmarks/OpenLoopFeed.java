@@ -0,0 +1,178 @@
+package com.github.nadeemabukhadir.news_analyzer.benchmarks;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.sentiment.SentimentClassifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Simulated news feed sending text messages over one connection at a fixed rate, open-loop: message {@code i} is
+ * scheduled at {@code start + i / rate} no matter how fast the server consumes them. A feed that falls behind
+ * (because its writes block) sends the overdue messages back to back, each carrying the time it was scheduled at,
+ * see {@link ProbeTokens}.
+ * <p>
+ * Messages scheduled from {@code measureFrom} (inclusive) to {@code measureTo} (exclusive) are counted; the feed
+ * stops once all of them are sent, or at the deadline.
+ */
+final class OpenLoopFeed implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenLoopFeed.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long CONNECT_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private final int port;
+    private final double intervalNanos;
+    private final byte[][] messages;
+    private final int[] priorities;
+    private final boolean[] positive;
+    private final long startNanos;
+    private final long measureFromNanos;
+    private final long measureToNanos;
+    private final long deadlineNanos;
+    private volatile long sentCount;
+    private volatile long sentPositiveCount;
+
+    /**
+     * @param items      messages to cycle through
+     * @param classifier classifier of the server, telling which of the measured messages will be stored
+     */
+    OpenLoopFeed(int port, double messagesPerSecond, NewsItem[] items, SentimentClassifier classifier,
+                 long startNanos, long measureFromNanos, long measureToNanos, long deadlineNanos) {
+
+        this.port = port;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / messagesPerSecond;
+        this.messages = new byte[items.length][];
+        this.priorities = new int[items.length];
+        this.positive = new boolean[items.length];
+        for (int i = 0; i < items.length; i++) {
+            // The probe and the priority are appended when sending.
+            messages[i] = items[i].getHeadline().getBytes(UTF_8);
+            priorities[i] = items[i].getPriority();
+            positive[i] = classifier.isPositive(items[i].getHeadline());
+        }
+        this.startNanos = startNanos;
+        this.measureFromNanos = measureFromNanos;
+        this.measureToNanos = measureToNanos;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void run() {
+
+        try (Socket socket = connect()) {
+            send(socket.getOutputStream());
+        } catch (IOException e) {
+            logger.error("Feed connection failed: ", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(OutputStream out) throws IOException {
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int length = 0;
+        long sent = 0;
+        long sentPositive = 0;
+        for (long i = 0; ; i++) {
+            long intended = startNanos + (long) (i * intervalNanos);
+            long now = System.nanoTime();
+            if (intended - measureToNanos >= 0 || now - deadlineNanos >= 0) {
+                break;
+            }
+            if (intended - now > 0) {
+                // Caught up: hand the buffered messages over before waiting for the next one.
+                out.write(buffer, 0, length);
+                out.flush();
+                length = 0;
+                sentCount = sent;
+                sentPositiveCount = sentPositive;
+                LockSupport.parkNanos(intended - now);
+                now = System.nanoTime();
+            }
+
+            int sample = (int) (i % messages.length);
+            byte[] headline = messages[sample];
+            if (length + headline.length + ProbeTokens.MAX_LENGTH + 3 > buffer.length) {
+                out.write(buffer, 0, length);
+                length = 0;
+            }
+            System.arraycopy(headline, 0, buffer, length, headline.length);
+            length = ProbeTokens.write(buffer, length + headline.length, intended, now);
+            buffer[length++] = ';';
+            buffer[length++] = (byte) ('0' + priorities[sample]);
+            buffer[length++] = '\n';
+            if (intended - measureFromNanos >= 0) {
+                sent++;
+                if (positive[sample]) {
+                    sentPositive++;
+                }
+            }
+        }
+        out.write(buffer, 0, length);
+        out.flush();
+        sentCount = sent;
+        sentPositiveCount = sentPositive;
+    }
+
+    private Socket connect() throws IOException, InterruptedException {
+
+        long giveUp = System.nanoTime() + CONNECT_TIMEOUT_NANOS;
+        while (true) {
+            Socket socket = new Socket();
+            try {
+                socket.setTcpNoDelay(true);
+                socket.connect(new InetSocketAddress("localhost", port));
+                return socket;
+            } catch (IOException e) {
+                socket.close();
+                if (System.nanoTime() - giveUp >= 0) {
+                    throw e;
+                }
+                Thread.sleep(10); // The server may still be binding its port.
+            }
+        }
+    }
+
+    /**
+     * @return the number of measured messages sent so far
+     */
+    long getSentCount() {
+        return sentCount;
+    }
+
+    /**
+     * @return the number of measured messages sent so far that the server will store
+     */
+    long getSentPositiveCount() {
+        return sentPositiveCount;
+    }
+
+    /**
+     * @return the number of messages scheduled in {@code [measureFrom, measureTo)}
+     */
+    long getScheduledCount() {
+        return firstScheduledFrom(measureToNanos) - firstScheduledFrom(measureFromNanos);
+    }
+
+    // Index of the first message scheduled at or after the given time.
+    private long firstScheduledFrom(long nanos) {
+
+        long i = Math.max(0, (long) Math.ceil((nanos - startNanos) / intervalNanos));
+        while (i > 0 && startNanos + (long) ((i - 1) * intervalNanos) - nanos >= 0) {
+            i--;
+        }
+        while (startNanos + (long) (i * intervalNanos) - nanos < 0) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.nadeemabukhadir.news_analyzer.benchmarks;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsWindow;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * {@link NewsItemStorage} decorator that ends the latency measurement of load test messages: it records the probe
+ * of every item (see {@link ProbeTokens}) when the item is handed to the storage, and stores the item without it.
+ */
+final class ProbeRecordingStorage implements NewsItemStorage {
+
+    private final NewsItemStorage delegate;
+    private final LatencyRecorder recorder;
+
+    ProbeRecordingStorage(NewsItemStorage delegate, LatencyRecorder recorder) {
+
+        this.delegate = delegate;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void add(NewsItem item) {
+
+        if (item != null) {
+            delegate.add(strip(item, System.nanoTime()));
+        }
+    }
+
+    @Override
+    public void addAll(Collection<NewsItem> items) {
+
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        List<NewsItem> stripped = new ArrayList<>(items.size());
+        for (NewsItem item : items) {
+            if (item != null) {
+                stripped.add(strip(item, now));
+            }
+        }
+        delegate.addAll(stripped);
+    }
+
+    @Override
+    public SortedMap<Integer, Deque<NewsItem>> resetAndGetAll() {
+        return delegate.resetAndGetAll();
+    }
+
+    @Override
+    public NewsWindow resetAndGetWindow() {
+        return delegate.resetAndGetWindow();
+    }
+
+    private NewsItem strip(NewsItem item, long now) {
+
+        String headline = item.getHeadline();
+        int probe = ProbeTokens.probeStart(headline);
+        if (probe < 0) {
+            return item;
+        }
+        recorder.record(ProbeTokens.intendedOf(headline, probe), ProbeTokens.sentOf(headline, probe), now);
+        return new NewsItem(headline.substring(0, probe), item.getPriority());
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.nadeemabukhadir.news_analyzer.benchmarks;
+
+import com.github.nadeemabukhadir.news_analyzer.server.sentiment.SentimentClassifier;
+
+/**
+ * {@link SentimentClassifier} that classifies headlines without their latency probe, see {@link ProbeTokens},
+ * so load test messages get the verdicts of the delegate for the headlines the feeds generated.
+ */
+final class ProbeStrippingClassifier implements SentimentClassifier {
+
+    private final SentimentClassifier delegate;
+
+    ProbeStrippingClassifier(SentimentClassifier delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean isPositive(String headline) {
+
+        int probe = ProbeTokens.probeStart(headline);
+        return delegate.isPositive(probe < 0 ? headline : headline.substring(0, probe));
+    }
+
+    @Override
+    public boolean isPositive(byte[] buffer, int from, int to) {
+
+        int probe = ProbeTokens.probeStart(buffer, from, to);
+        return delegate.isPositive(buffer, from, probe < 0 ? to : probe);
+    }
+}
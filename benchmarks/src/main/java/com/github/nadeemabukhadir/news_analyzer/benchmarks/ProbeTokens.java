@@ -0,0 +1,95 @@
+package com.github.nadeemabukhadir.news_analyzer.benchmarks;
+
+/**
+ * Latency probes carried by the load test messages: a last headline word {@code @<intended>/<sent>} holding the
+ * {@link System#nanoTime()} the message was scheduled at and the one it was written at, both relative to
+ * {@link #ORIGIN} so they are never negative. Feeds and server run in the same JVM, so both sides share the clock.
+ * <p>
+ * The probe is removed again before the headline is classified and stored, see {@link ProbeStrippingClassifier}
+ * and {@link ProbeRecordingStorage}, so it changes neither the sentiment verdicts nor the stored headlines.
+ */
+final class ProbeTokens {
+
+    static final long ORIGIN = System.nanoTime();
+    /**
+     * Longest probe written by {@link #write}, leading space included.
+     */
+    static final int MAX_LENGTH = 2 + 19 + 1 + 19;
+    private static final byte MARKER = '@';
+    private static final byte SEPARATOR = '/';
+
+    private ProbeTokens() {
+    }
+
+    /**
+     * Writes the probe of a message, leading space included.
+     *
+     * @return the index after the last written byte
+     */
+    static int write(byte[] buffer, int offset, long intendedNanos, long sentNanos) {
+
+        buffer[offset++] = ' ';
+        buffer[offset++] = MARKER;
+        offset = writeDigits(buffer, offset, intendedNanos - ORIGIN);
+        buffer[offset++] = SEPARATOR;
+        return writeDigits(buffer, offset, sentNanos - ORIGIN);
+    }
+
+    /**
+     * @return the index of the space before the probe of {@code buffer[from, to)}, or -1 if it has none
+     */
+    static int probeStart(byte[] buffer, int from, int to) {
+
+        for (int i = to - 1; i > from; i--) {
+            if (buffer[i] == ' ') {
+                return buffer[i + 1] == MARKER ? i : -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the index of the space before the probe of the headline, or -1 if it has none
+     */
+    static int probeStart(String headline) {
+
+        int space = headline.lastIndexOf(' ');
+        return space >= 0 && space + 1 < headline.length() && headline.charAt(space + 1) == MARKER ? space : -1;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} the message was scheduled at
+     */
+    static long intendedOf(String headline, int probeStart) {
+        return ORIGIN + parseDigits(headline, probeStart + 2, headline.indexOf(SEPARATOR, probeStart));
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} the message was written at
+     */
+    static long sentOf(String headline, int probeStart) {
+        return ORIGIN + parseDigits(headline, headline.indexOf(SEPARATOR, probeStart) + 1, headline.length());
+    }
+
+    private static int writeDigits(byte[] buffer, int offset, long value) {
+
+        int length = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            length++;
+        }
+        for (int i = offset + length - 1; i >= offset; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + length;
+    }
+
+    private static long parseDigits(String text, int from, int to) {
+
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+}
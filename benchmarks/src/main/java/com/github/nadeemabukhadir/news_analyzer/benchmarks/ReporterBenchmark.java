@@ -0,0 +1,65 @@
+package com.github.nadeemabukhadir.news_analyzer.benchmarks;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.config.StorageMode;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.task.NewsSummaryReporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NewsSummaryReporter#report()} of a full window: resetting the storage, counting the window and picking the
+ * top unique headlines, for 10^4 to 10^7 items. Each measured report gets a freshly filled window, so the mode is
+ * single shot.
+ */
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class ReporterBenchmark {
+
+    @Param({"10000", "100000", "1000000", "10000000"})
+    public int windowSize;
+
+    @Param({"striped", "compact"})
+    public String storageMode;
+
+    private NewsItem[] items;
+    private NewsItemStorage storage;
+    private NewsSummaryReporter reporter;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+
+        items = NewsSamples.items();
+        storage = StorageMode.fromProperty(storageMode).createStorage();
+        reporter = new NewsSummaryReporter(storage, 10);
+    }
+
+    @Setup(Level.Iteration)
+    public void fillWindow() {
+
+        for (int i = 0; i < windowSize; i++) {
+            storage.add(items[i & (NewsSamples.SIZE - 1)]);
+        }
+    }
+
+    @Benchmark
+    public int report() {
+        return reporter.report();
+    }
+}
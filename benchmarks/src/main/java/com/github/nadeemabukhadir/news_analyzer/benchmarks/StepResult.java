@@ -0,0 +1,110 @@
+package com.github.nadeemabukhadir.news_analyzer.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of one load test step at a fixed target rate.
+ * <p>
+ * A step is sustainable if every measured message was sent and stored in time and the corrected p99 latency
+ * stayed within the SLO.
+ */
+final class StepResult {
+
+    private final double targetRate;
+    private final double durationSeconds;
+    private final long scheduled;
+    private final long sent;
+    private final long expectedStored;
+    private final long stored;
+    private final long received;
+    private final LatencyRecorder.Histogram corrected;
+    private final LatencyRecorder.Histogram uncorrected;
+    private final long gcCount;
+    private final long gcMillis;
+    private final boolean sustainable;
+
+    StepResult(double targetRate, double durationSeconds, long scheduled, long sent, long expectedStored, long stored,
+               long received, LatencyRecorder.Histogram corrected, LatencyRecorder.Histogram uncorrected,
+               long gcCount, long gcMillis, double sloP99Millis) {
+
+        this.targetRate = targetRate;
+        this.durationSeconds = durationSeconds;
+        this.scheduled = scheduled;
+        this.sent = sent;
+        this.expectedStored = expectedStored;
+        this.stored = stored;
+        this.received = received;
+        this.corrected = corrected;
+        this.uncorrected = uncorrected;
+        this.gcCount = gcCount;
+        this.gcMillis = gcMillis;
+        this.sustainable = sent == scheduled && stored >= expectedStored
+                && millisOf(corrected.quantile(0.99)) <= sloP99Millis;
+    }
+
+    double getTargetRate() {
+        return targetRate;
+    }
+
+    /**
+     * @return messages per second the server received during the measured interval
+     */
+    double getReceivedRate() {
+        return received / durationSeconds;
+    }
+
+    long getCorrectedP99Nanos() {
+        return corrected.quantile(0.99);
+    }
+
+    boolean isSustainable() {
+        return sustainable;
+    }
+
+    void writeTo(JsonWriter json) {
+
+        json.beginObject()
+                .name("targetRate").value(targetRate)
+                .name("sentRate").value(sent / durationSeconds)
+                .name("receivedRate").value(getReceivedRate())
+                .name("storedRate").value(stored / durationSeconds)
+                .name("scheduledMessages").value(scheduled)
+                .name("sentMessages").value(sent)
+                .name("expectedStoredMessages").value(expectedStored)
+                .name("storedMessages").value(stored)
+                .name("sustainable").value(sustainable);
+        json.name("latencyMillis").beginObject();
+        writeLatencies(json.name("corrected"), corrected);
+        writeLatencies(json.name("uncorrected"), uncorrected);
+        json.endObject();
+        json.name("gc").beginObject()
+                .name("collections").value(gcCount)
+                .name("timeMillis").value(gcMillis)
+                .endObject();
+        json.endObject();
+    }
+
+    private static void writeLatencies(JsonWriter json, LatencyRecorder.Histogram histogram) {
+
+        json.beginObject()
+                .name("p50").value(millisOf(histogram.quantile(0.5)))
+                .name("p99").value(millisOf(histogram.quantile(0.99)))
+                .name("p99.9").value(millisOf(histogram.quantile(0.999)))
+                .name("max").value(millisOf(histogram.getMax()))
+                .name("mean").value(histogram.getMean() / TimeUnit.MILLISECONDS.toNanos(1))
+                .endObject();
+    }
+
+    static double millisOf(long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,.0f msg/s target: %,.0f msg/s received, %,d/%,d stored, p50 %.3f ms, p99 %.3f ms, "
+                        + "p99.9 %.3f ms (uncorrected p99 %.3f ms), GC %d ms -> %s",
+                targetRate, getReceivedRate(), stored, expectedStored, millisOf(corrected.quantile(0.5)),
+                millisOf(corrected.quantile(0.99)), millisOf(corrected.quantile(0.999)),
+                millisOf(uncorrected.quantile(0.99)), gcMillis, sustainable ? "sustainable" : "NOT sustainable");
+    }
+}
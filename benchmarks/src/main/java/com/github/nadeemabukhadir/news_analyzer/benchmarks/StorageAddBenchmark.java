@@ -0,0 +1,112 @@
+package com.github.nadeemabukhadir.news_analyzer.benchmarks;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.config.StorageMode;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention benchmark of {@link NewsItemStorage#add}: every benchmark thread adds items of random priorities while
+ * a reporter thread resets the storage every 10 ms, like the server does once per window.
+ * <p>
+ * Run it at one thread count with {@code -t}, or at 1 to 64 threads with {@link #main(String[])}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class StorageAddBenchmark {
+
+    private static final int MAX_THREADS = 64;
+
+    @Param({"striped", "skip_list", "compact", "aggregating"})
+    public String storageMode;
+
+    private NewsItemStorage storage;
+    private NewsItem[] items;
+    private Thread reporter;
+    private volatile boolean running;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+
+        items = NewsSamples.items();
+        storage = StorageMode.fromProperty(storageMode).createStorage();
+        running = true;
+        reporter = new Thread(() -> {
+            while (running) {
+                storage.resetAndGetWindow();
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }, "reporter");
+        reporter.setDaemon(true);
+        reporter.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+
+        running = false;
+        reporter.join();
+    }
+
+    @Benchmark
+    public void add(ProducerState producer) {
+        storage.add(items[producer.next++ & (NewsSamples.SIZE - 1)]);
+    }
+
+    /**
+     * Runs the benchmark at 1, 2, 4, ... 64 threads with the GC profiler, passing on extra JMH arguments such as
+     * {@code -p storageMode=striped}.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        for (int threads = 1; threads <= MAX_THREADS; threads *= 2) {
+            Options options = new OptionsBuilder()
+                    .parent(commandLine)
+                    .include(StorageAddBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+
+    /**
+     * Per-thread position in the samples, each thread starting at its own offset.
+     */
+    @State(Scope.Thread)
+    public static class ProducerState {
+
+        private int next = (int) Thread.currentThread().getId() * 31;
+    }
+}
@@ -4,6 +4,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.util.Properties;
@@ -80,6 +82,27 @@ public final class PropertiesManager {
         }
     }
 
+    /**
+     * Opens a configuration resource other than a properties file (e.g. a lexicon), resolved the same way as the
+     * config files: an external file under {@code config/} first, then the classpath.
+     *
+     * @throws FileNotFoundException if the resource exists in neither place
+     */
+    public static InputStream openResource(String fileName) throws IOException {
+
+        File externalFile = new File(EXTERNAL_CONFIG_DIR + fileName);
+        if (externalFile.exists()) {
+            logger.info("Loading external resource: {}", externalFile.getAbsolutePath());
+            return Files.newInputStream(externalFile.toPath());
+        }
+        InputStream input = PropertiesManager.class.getClassLoader().getResourceAsStream(fileName);
+        if (input == null) {
+            throw new FileNotFoundException("Resource not found: " + fileName);
+        }
+        logger.info("Loading classpath resource: {}", fileName);
+        return input;
+    }
+
     public static String get(String key) {
         return properties.getProperty(key);
     }
@@ -0,0 +1,29 @@
+package com.github.nadeemabukhadir.news_analyzer.common.dto;
+
+/**
+ * Range of the {@link NewsItem} priorities, from 0 (lowest) to {@value #MAX} (highest).
+ */
+public final class Priorities {
+
+    public static final int COUNT = 10;
+    public static final int MAX = COUNT - 1;
+
+    private Priorities() {
+    }
+
+    public static boolean isValid(int priority) {
+        return priority >= 0 && priority < COUNT;
+    }
+
+    /**
+     * @return the priority, if it is valid
+     * @throws IllegalArgumentException otherwise
+     */
+    public static int check(int priority) {
+
+        if (!isValid(priority)) {
+            throw new IllegalArgumentException("Priority must be between 0 and " + MAX + ": " + priority);
+        }
+        return priority;
+    }
+}
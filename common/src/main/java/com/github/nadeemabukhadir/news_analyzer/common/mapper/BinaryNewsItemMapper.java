@@ -0,0 +1,200 @@
+package com.github.nadeemabukhadir.news_analyzer.common.mapper;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.dto.Priorities;
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.BinaryFrame;
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.HeadlineVocabulary;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static com.github.nadeemabukhadir.news_analyzer.common.protocol.HeadlineVocabulary.LITERAL_WORD;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Maps between {@link NewsItem} objects and their {@link BinaryFrame} representation.
+ * Headline words are separated by single spaces once decoded, so the whitespace of a headline is normalized.
+ */
+public class BinaryNewsItemMapper {
+
+    private static final int MAX_LITERAL_LENGTH = 0xFF;
+    private static final int MAX_BATCH_WORDS = 0xFF;
+    private final HeadlineVocabulary vocabulary;
+
+    public BinaryNewsItemMapper() {
+        this(HeadlineVocabulary.DEFAULT);
+    }
+
+    public BinaryNewsItemMapper(HeadlineVocabulary vocabulary) {
+        this.vocabulary = vocabulary;
+    }
+
+    /**
+     * Maps a {@link NewsItem} object to a complete, length-prefixed ITEM frame.
+     *
+     * @param item the NewsItem to map
+     * @return the frame bytes
+     * @throws IllegalArgumentException if the input item is null or cannot be encoded
+     */
+    public byte[] toBytes(NewsItem item) {
+
+        validate(item);
+        ByteArrayOutputStream body = new ByteArrayOutputStream(16);
+        body.write(BinaryFrame.tag(BinaryFrame.TYPE_ITEM, item.getPriority()));
+        for (String word : wordsOf(item)) {
+            writeWord(body, word);
+        }
+        return frame(body);
+    }
+
+    /**
+     * Maps a batch of {@link NewsItem} objects to a single, length-prefixed BATCH frame.
+     *
+     * @param items the NewsItems to map, in sending order
+     * @return the frame bytes
+     * @throws IllegalArgumentException if the batch is null, empty, or any item cannot be encoded
+     */
+    public byte[] toBatchBytes(List<NewsItem> items) {
+
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("NewsItem batch cannot be empty");
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(items.size() * 8);
+        body.write(BinaryFrame.tag(BinaryFrame.TYPE_BATCH, 0));
+        for (NewsItem item : items) {
+            validate(item);
+            String[] words = wordsOf(item);
+            if (words.length > MAX_BATCH_WORDS) {
+                throw new IllegalArgumentException("Too many words for binary encoding: " + item.getHeadline());
+            }
+            body.write(item.getPriority());
+            body.write(words.length);
+            for (String word : words) {
+                writeWord(body, word);
+            }
+        }
+        return frame(body);
+    }
+
+    /**
+     * Parses an ITEM frame body (without its length prefix) into a {@link NewsItem} object.
+     *
+     * @throws IllegalArgumentException if the frame is not a valid ITEM frame
+     */
+    public NewsItem fromBytes(byte[] body, int from, int to) {
+
+        if (to <= from || BinaryFrame.typeOf(body[from]) != BinaryFrame.TYPE_ITEM) {
+            throw new IllegalArgumentException("Invalid frame type");
+        }
+
+        StringJoiner headline = new StringJoiner(" ");
+        readWords(body, from + 1, to, Integer.MAX_VALUE, headline);
+        return new NewsItem(headline.toString(), Priorities.check(BinaryFrame.priorityOf(body[from])));
+    }
+
+    /**
+     * Parses a BATCH frame body (without its length prefix) into its {@link NewsItem} objects.
+     *
+     * @throws IllegalArgumentException if the frame is not a valid BATCH frame
+     */
+    public List<NewsItem> fromBatchBytes(byte[] body, int from, int to) {
+
+        if (to <= from || BinaryFrame.typeOf(body[from]) != BinaryFrame.TYPE_BATCH) {
+            throw new IllegalArgumentException("Invalid frame type");
+        }
+
+        List<NewsItem> items = new ArrayList<>();
+        int position = from + 1;
+        while (position < to) {
+            if (to - position < 2) {
+                throw new IllegalArgumentException("Truncated batch item");
+            }
+            int priority = Priorities.check(body[position] & 0xFF);
+            int wordsCount = body[position + 1] & 0xFF;
+            StringJoiner headline = new StringJoiner(" ");
+            position = readWords(body, position + 2, to, wordsCount, headline);
+            items.add(new NewsItem(headline.toString(), priority));
+        }
+        return items;
+    }
+
+    /**
+     * Reads up to {@code maxWords} words from {@code body[from, to)} into the headline.
+     *
+     * @return the index after the last word read
+     */
+    private int readWords(byte[] body, int from, int to, int maxWords, StringJoiner headline) {
+
+        int wordsCount = 0;
+        int position = from;
+        while (position < to && wordsCount < maxWords) {
+            wordsCount++;
+            int id = body[position++] & 0xFF;
+            if (id != LITERAL_WORD) {
+                if (id >= vocabulary.size()) {
+                    throw new IllegalArgumentException("Unknown word id: " + id);
+                }
+                headline.add(vocabulary.wordOf(id));
+                continue;
+            }
+            if (position >= to) {
+                throw new IllegalArgumentException("Truncated literal word");
+            }
+            int length = body[position++] & 0xFF;
+            if (position + length > to) {
+                throw new IllegalArgumentException("Truncated literal word");
+            }
+            headline.add(new String(body, position, length, UTF_8));
+            position += length;
+        }
+        if (maxWords != Integer.MAX_VALUE && wordsCount < maxWords) {
+            throw new IllegalArgumentException("Truncated batch item");
+        }
+        return position;
+    }
+
+    private static void validate(NewsItem item) {
+
+        if (item == null) {
+            throw new IllegalArgumentException("NewsItem cannot be null");
+        }
+        Priorities.check(item.getPriority());
+    }
+
+    private static String[] wordsOf(NewsItem item) {
+
+        String headline = item.getHeadline() == null ? "" : item.getHeadline().trim();
+        return headline.isEmpty() ? new String[0] : headline.split("\\s+");
+    }
+
+    private static byte[] frame(ByteArrayOutputStream body) {
+
+        if (body.size() > BinaryFrame.MAX_BODY_LENGTH) {
+            throw new IllegalArgumentException("Frame too large: " + body.size() + " bytes");
+        }
+        byte[] frame = new byte[BinaryFrame.varintLength(body.size()) + body.size()];
+        int offset = BinaryFrame.writeVarint(frame, 0, body.size());
+        System.arraycopy(body.toByteArray(), 0, frame, offset, body.size());
+        return frame;
+    }
+
+    private void writeWord(ByteArrayOutputStream body, String word) {
+
+        int id = vocabulary.idOf(word);
+        if (id != LITERAL_WORD) {
+            body.write(id);
+            return;
+        }
+
+        byte[] utf8 = word.getBytes(UTF_8);
+        if (utf8.length > MAX_LITERAL_LENGTH) {
+            throw new IllegalArgumentException("Word too long for binary encoding: " + word);
+        }
+        body.write(LITERAL_WORD);
+        body.write(utf8.length);
+        body.write(utf8, 0, utf8.length);
+    }
+}
@@ -1,6 +1,7 @@
 package com.github.nadeemabukhadir.news_analyzer.common.mapper;
 
 import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.dto.Priorities;
 
 import static com.github.nadeemabukhadir.news_analyzer.common.Constants.NEWS_HEADLINE_SEPARATOR;
 import static java.util.Objects.isNull;
@@ -49,8 +50,8 @@ public class NewsItemMapper {
         try {
             int priority = Integer.parseInt(parts[1].trim());
 
-            if (priority < 0 || priority > 9) {
-                throw new IllegalArgumentException("Priority must be between 0 and 9: " + message);
+            if (!Priorities.isValid(priority)) {
+                throw new IllegalArgumentException("Priority must be between 0 and " + Priorities.MAX + ": " + message);
             }
 
             return new NewsItem(parts[0].trim(), priority);
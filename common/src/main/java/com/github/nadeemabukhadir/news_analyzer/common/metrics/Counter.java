@@ -0,0 +1,27 @@
+package com.github.nadeemabukhadir.news_analyzer.common.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter striped over per-thread cells ({@link LongAdder}), so concurrent increments do not contend
+ * on a single cache line. Reading sums the cells.
+ */
+public final class Counter {
+
+    private final LongAdder value = new LongAdder();
+
+    Counter() {
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
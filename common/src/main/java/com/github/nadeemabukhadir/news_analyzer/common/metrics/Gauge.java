@@ -0,0 +1,10 @@
+package com.github.nadeemabukhadir.news_analyzer.common.metrics;
+
+/**
+ * Value sampled whenever the metrics are read, e.g. a queue fill level or the size of the last window.
+ */
+@FunctionalInterface
+public interface Gauge {
+
+    double getValue();
+}
@@ -0,0 +1,94 @@
+package com.github.nadeemabukhadir.news_analyzer.common.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of durations in nanoseconds over fixed power-of-two buckets, from 1 ns up to about 1100 seconds.
+ * <p>
+ * The bucket of a value is the position of its highest bit, so recording costs a leading-zeros count and two
+ * striped increments, without locks, search or allocation. Bucket {@code i} counts the values of
+ * {@code (2^(i-1), 2^i]} nanoseconds, the last one also everything above.
+ */
+public final class LatencyHistogram {
+
+    public static final int BUCKETS_COUNT = 41;
+    private final LongAdder[] buckets = new LongAdder[BUCKETS_COUNT];
+    private final LongAdder sum = new LongAdder();
+
+    LatencyHistogram() {
+
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a duration; negative durations count as 0.
+     */
+    public void record(long nanos) {
+
+        long value = Math.max(0, nanos);
+        int bucket = value <= 1 ? 0 : Math.min(BUCKETS_COUNT - 1, 64 - Long.numberOfLeadingZeros(value - 1));
+        buckets[bucket].increment();
+        sum.add(value);
+    }
+
+    /**
+     * Records the time elapsed since a {@link System#nanoTime()} reading.
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return the inclusive upper bound (in nanoseconds) of a bucket, {@link Long#MAX_VALUE} for the last one
+     */
+    public static long upperBoundOf(int bucket) {
+        return bucket == BUCKETS_COUNT - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    public long getBucketCount(int bucket) {
+        return buckets[bucket].sum();
+    }
+
+    public long getCount() {
+
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * @return the sum of the recorded durations, in nanoseconds
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * @return the upper bound (in nanoseconds) of the bucket holding the given quantile, or 0 if nothing was recorded
+     */
+    public long quantile(double quantile) {
+
+        long[] counts = new long[BUCKETS_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank && counts[i] > 0) {
+                return upperBoundOf(i);
+            }
+        }
+        return upperBoundOf(BUCKETS_COUNT - 1);
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.nadeemabukhadir.news_analyzer.common.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Metrics sharing a name, help text and type, one per set of label values.
+ * Metrics are keyed by their labels in the Prometheus text form, e.g. {@code priority="5"}, empty without labels.
+ */
+public final class MetricFamily {
+
+    private final String name;
+    private final String help;
+    private final MetricType type;
+    private final Map<String, Object> metrics = new ConcurrentSkipListMap<>();
+
+    MetricFamily(String name, String help, MetricType type) {
+
+        this.name = name;
+        this.help = help;
+        this.type = type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+
+    public MetricType getType() {
+        return type;
+    }
+
+    /**
+     * @return the {@link Counter}s, {@link Gauge}s or {@link LatencyHistogram}s of the family by labels, sorted
+     */
+    public Map<String, Object> getMetrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    Map<String, Object> metrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.nadeemabukhadir.news_analyzer.common.metrics;
+
+/**
+ * Kind of the metrics of a {@link MetricFamily}, named as in the Prometheus text format.
+ */
+public enum MetricType {
+
+    COUNTER("counter"),
+    GAUGE("gauge"),
+    HISTOGRAM("histogram");
+
+    private final String value;
+
+    MetricType(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
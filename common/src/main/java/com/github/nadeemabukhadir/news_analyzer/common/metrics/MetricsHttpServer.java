@@ -0,0 +1,64 @@
+package com.github.nadeemabukhadir.news_analyzer.common.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Plain-text scrape endpoint serving a {@link MetricsRegistry} in the {@link PrometheusTextFormat} on
+ * {@code GET /metrics}, with the HTTP server built into the JDK on a single background thread.
+ */
+public class MetricsHttpServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsHttpServer.class);
+    public static final String PATH = "/metrics";
+    private final HttpServer server;
+
+    /**
+     * @param port listening port, 0 for an ephemeral one
+     */
+    public MetricsHttpServer(MetricsRegistry registry, int port) throws IOException {
+
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext(PATH, exchange -> respond(exchange, registry));
+    }
+
+    public void start() {
+
+        server.start();
+        logger.info("Metrics endpoint listening on port {}{}", getPort(), PATH);
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private static void respond(HttpExchange exchange, MetricsRegistry registry) throws IOException {
+
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = PrometheusTextFormat.format(registry).getBytes(UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", PrometheusTextFormat.CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.github.nadeemabukhadir.news_analyzer.common.metrics;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Read-only JMX view of a {@link MetricsRegistry}, with one attribute per metric, named like the
+ * {@link PrometheusTextFormat} samples, e.g. {@code news_window_items{priority="5"}}. Histograms expose their
+ * {@code _count}, {@code _sum_seconds} and the {@code _p50_seconds}, {@code _p99_seconds} bucket bounds.
+ * Attributes are listed anew on every {@link #getMBeanInfo()}, so metrics registered later show up too.
+ */
+public class MetricsMBean implements DynamicMBean {
+
+    public static final String DEFAULT_OBJECT_NAME = "com.github.nadeemabukhadir.news_analyzer:type=Metrics";
+    private static final double NANOS_PER_SECOND = 1e9;
+    private final MetricsRegistry registry;
+
+    public MetricsMBean(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Registers a view of the registry with the platform MBean server, under {@value #DEFAULT_OBJECT_NAME}.
+     */
+    public static void register(MetricsRegistry registry) {
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(new MetricsMBean(registry), new ObjectName(DEFAULT_OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException | MBeanRegistrationException | NotCompliantMBeanException
+                 | MalformedObjectNameException e) {
+            throw new IllegalStateException("Failed to register the metrics MBean", e);
+        }
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+
+        Supplier<Object> value = attributes().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value.get();
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] names) {
+
+        Map<String, Supplier<Object>> attributes = attributes();
+        AttributeList list = new AttributeList();
+        for (String name : names) {
+            Supplier<Object> value = attributes.get(name);
+            if (value != null) {
+                list.add(new Attribute(name, value.get()));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName), "Metrics have no operations");
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+
+        List<MBeanAttributeInfo> infos = new ArrayList<>();
+        for (Map.Entry<String, Supplier<Object>> attribute : attributes().entrySet()) {
+            String type = attribute.getValue().get() instanceof Long ? Long.class.getName() : Double.class.getName();
+            infos.add(new MBeanAttributeInfo(attribute.getKey(), type, attribute.getKey(), true, false, false));
+        }
+        return new MBeanInfo(MetricsMBean.class.getName(), "News analyzer metrics",
+                infos.toArray(new MBeanAttributeInfo[0]), null, null, null);
+    }
+
+    private Map<String, Supplier<Object>> attributes() {
+
+        Map<String, Supplier<Object>> attributes = new LinkedHashMap<>();
+        for (MetricFamily family : registry.getFamilies()) {
+            for (Map.Entry<String, Object> metric : family.getMetrics().entrySet()) {
+                String labels = metric.getKey().isEmpty() ? "" : "{" + metric.getKey() + "}";
+                Object value = metric.getValue();
+                switch (family.getType()) {
+                    case COUNTER:
+                        attributes.put(family.getName() + labels, () -> ((Counter) value).get());
+                        break;
+                    case GAUGE:
+                        attributes.put(family.getName() + labels, () -> ((Gauge) value).getValue());
+                        break;
+                    default:
+                        LatencyHistogram histogram = (LatencyHistogram) value;
+                        attributes.put(family.getName() + "_count" + labels, () -> histogram.getCount());
+                        attributes.put(family.getName() + "_sum_seconds" + labels,
+                                () -> histogram.getSum() / NANOS_PER_SECOND);
+                        attributes.put(family.getName() + "_p50_seconds" + labels,
+                                () -> histogram.quantile(0.5) / NANOS_PER_SECOND);
+                        attributes.put(family.getName() + "_p99_seconds" + labels,
+                                () -> histogram.quantile(0.99) / NANOS_PER_SECOND);
+                }
+            }
+        }
+        return attributes;
+    }
+}
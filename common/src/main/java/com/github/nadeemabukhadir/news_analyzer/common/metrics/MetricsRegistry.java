@@ -0,0 +1,89 @@
+package com.github.nadeemabukhadir.news_analyzer.common.metrics;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Registry of named {@link Counter}s, {@link Gauge}s and {@link LatencyHistogram}s, read by the exporters
+ * ({@link PrometheusTextFormat}, {@link MetricsHttpServer}, {@link MetricsMBean}).
+ * <p>
+ * Registration looks metrics up in a map and is meant to happen once, when a component is created: components keep
+ * the returned metric and only touch its striped cells on the hot path. Registering the same name and labels again
+ * returns the existing counter or histogram, and replaces the gauge.
+ */
+public final class MetricsRegistry {
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+    private static final Pattern NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+    private final Map<String, MetricFamily> families = new ConcurrentSkipListMap<>();
+
+    /**
+     * @return the registry shared by the components of the application
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @param labels label names and values, alternating
+     */
+    public Counter counter(String name, String help, String... labels) {
+        return (Counter) familyOf(name, help, MetricType.COUNTER).metrics().computeIfAbsent(labelsOf(labels),
+                key -> new Counter());
+    }
+
+    /**
+     * @param labels label names and values, alternating
+     */
+    public LatencyHistogram histogram(String name, String help, String... labels) {
+        return (LatencyHistogram) familyOf(name, help, MetricType.HISTOGRAM).metrics().computeIfAbsent(
+                labelsOf(labels), key -> new LatencyHistogram());
+    }
+
+    /**
+     * @param labels label names and values, alternating
+     */
+    public void gauge(String name, String help, Gauge gauge, String... labels) {
+        familyOf(name, help, MetricType.GAUGE).metrics().put(labelsOf(labels), gauge);
+    }
+
+    /**
+     * @return the registered families, sorted by name
+     */
+    public Collection<MetricFamily> getFamilies() {
+        return Collections.unmodifiableCollection(families.values());
+    }
+
+    private MetricFamily familyOf(String name, String help, MetricType type) {
+
+        if (!NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid metric name: " + name);
+        }
+        MetricFamily family = families.computeIfAbsent(name, key -> new MetricFamily(name, help, type));
+        if (family.getType() != type) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a "
+                    + family.getType().getValue());
+        }
+        return family;
+    }
+
+    private static String labelsOf(String[] labels) {
+
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name and value pairs: " + labels.length);
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (!NAME.matcher(labels[i]).matches()) {
+                throw new IllegalArgumentException("Invalid label name: " + labels[i]);
+            }
+            text.append(i == 0 ? "" : ",").append(labels[i]).append("=\"")
+                    .append(labels[i + 1].replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+                    .append('"');
+        }
+        return text.toString();
+    }
+}
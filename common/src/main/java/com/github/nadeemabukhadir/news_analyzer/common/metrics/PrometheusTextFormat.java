@@ -0,0 +1,82 @@
+package com.github.nadeemabukhadir.news_analyzer.common.metrics;
+
+import java.util.Map;
+
+/**
+ * Writes a {@link MetricsRegistry} in the Prometheus text exposition format (version 0.0.4).
+ * Histograms are exposed in seconds, with cumulative {@code le} buckets.
+ */
+public final class PrometheusTextFormat {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private PrometheusTextFormat() {
+    }
+
+    public static String format(MetricsRegistry registry) {
+
+        StringBuilder text = new StringBuilder();
+        for (MetricFamily family : registry.getFamilies()) {
+            text.append("# HELP ").append(family.getName()).append(' ')
+                    .append(family.getHelp().replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+            text.append("# TYPE ").append(family.getName()).append(' ').append(family.getType().getValue())
+                    .append('\n');
+            for (Map.Entry<String, Object> metric : family.getMetrics().entrySet()) {
+                String labels = metric.getKey();
+                switch (family.getType()) {
+                    case COUNTER:
+                        sample(text, family.getName(), labels, ((Counter) metric.getValue()).get());
+                        break;
+                    case GAUGE:
+                        sample(text, family.getName(), labels, ((Gauge) metric.getValue()).getValue());
+                        break;
+                    default:
+                        histogram(text, family.getName(), labels, (LatencyHistogram) metric.getValue());
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    private static void histogram(StringBuilder text, String name, String labels, LatencyHistogram histogram) {
+
+        String separator = labels.isEmpty() ? "" : labels + ",";
+        long cumulative = 0;
+        for (int bucket = 0; bucket < LatencyHistogram.BUCKETS_COUNT; bucket++) {
+            cumulative += histogram.getBucketCount(bucket);
+            String bound = bucket == LatencyHistogram.BUCKETS_COUNT - 1
+                    ? "+Inf"
+                    : Double.toString(LatencyHistogram.upperBoundOf(bucket) / NANOS_PER_SECOND);
+            sample(text, name + "_bucket", separator + "le=\"" + bound + '"', cumulative);
+        }
+        sample(text, name + "_sum", labels, histogram.getSum() / NANOS_PER_SECOND);
+        sample(text, name + "_count", labels, cumulative);
+    }
+
+    private static void sample(StringBuilder text, String name, String labels, long value) {
+        startSample(text, name, labels).append(value).append('\n');
+    }
+
+    private static void sample(StringBuilder text, String name, String labels, double value) {
+
+        StringBuilder line = startSample(text, name, labels);
+        if (Double.isInfinite(value)) {
+            line.append(value > 0 ? "+Inf" : "-Inf");
+        } else if (value == (long) value) {
+            line.append((long) value);
+        } else {
+            line.append(value);
+        }
+        line.append('\n');
+    }
+
+    private static StringBuilder startSample(StringBuilder text, String name, String labels) {
+
+        text.append(name);
+        if (!labels.isEmpty()) {
+            text.append('{').append(labels).append('}');
+        }
+        return text.append(' ');
+    }
+}
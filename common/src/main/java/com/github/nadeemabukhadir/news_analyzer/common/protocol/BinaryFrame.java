@@ -0,0 +1,61 @@
+package com.github.nadeemabukhadir.news_analyzer.common.protocol;
+
+/**
+ * Layout of the {@link WireFormat#BINARY} frames.
+ * <pre>
+ * frame  := length(varint) body
+ * body   := tag(1 byte) payload
+ * tag    := frame type (high nibble) | priority (low nibble)
+ * ITEM   := word*                         where word := id(1 byte) | 0xFF length(1 byte) utf8-bytes
+ * BATCH  := (priority(1 byte) count(1 byte) word{count})*      (tag priority nibble unused)
+ * </pre>
+ * The length counts the body bytes only. A typical "up rise success" item takes 5 bytes instead of 18 as text,
+ * and 5 bytes per item inside a batch.
+ */
+public final class BinaryFrame {
+
+    public static final int TYPE_ITEM = 1;
+    public static final int TYPE_BATCH = 2;
+    public static final int MAX_BODY_LENGTH = 64 * 1024;
+    public static final int MAX_VARINT_LENGTH = 3;
+
+    private BinaryFrame() {
+    }
+
+    public static int tag(int type, int priority) {
+        return (type << 4) | (priority & 0x0F);
+    }
+
+    public static int typeOf(byte tag) {
+        return (tag & 0xF0) >>> 4;
+    }
+
+    public static int priorityOf(byte tag) {
+        return tag & 0x0F;
+    }
+
+    /**
+     * Writes {@code value} as an unsigned LEB128 varint.
+     *
+     * @return the index after the last written byte
+     */
+    public static int writeVarint(byte[] buffer, int offset, int value) {
+
+        while ((value & ~0x7F) != 0) {
+            buffer[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[offset++] = (byte) value;
+        return offset;
+    }
+
+    public static int varintLength(int value) {
+
+        int length = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            length++;
+        }
+        return length;
+    }
+}
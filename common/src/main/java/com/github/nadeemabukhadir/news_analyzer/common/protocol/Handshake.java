@@ -0,0 +1,42 @@
+package com.github.nadeemabukhadir.news_analyzer.common.protocol;
+
+/**
+ * Per-connection wire format negotiation.
+ * <p>
+ * A client that wants anything but plain text opens the connection with a 4-byte hello:
+ * {@code 0x00 'N' 'F' <format id>}. The leading zero byte can never start a text message, so servers
+ * tell both kinds of clients apart from the very first byte. The server answers with the same 4-byte layout
+ * carrying the format it accepted; {@link WireFormat#TEXT} means the client has to fall back to text.
+ * Clients that send no hello are text clients, exactly as before.
+ */
+public final class Handshake {
+
+    public static final int LENGTH = 4;
+    public static final byte MARKER = 0x00;
+    private static final byte MAGIC_1 = 'N';
+    private static final byte MAGIC_2 = 'F';
+
+    private Handshake() {
+    }
+
+    /**
+     * Builds the hello (client) or reply (server) message for the given format.
+     */
+    public static byte[] encode(WireFormat format) {
+        return new byte[]{MARKER, MAGIC_1, MAGIC_2, format.getId()};
+    }
+
+    /**
+     * Decodes a hello or reply message.
+     *
+     * @param message a buffer holding at least {@link #LENGTH} bytes from {@code offset}
+     * @return the requested/accepted format, or null if the bytes are not a valid handshake or the format is unknown
+     */
+    public static WireFormat decode(byte[] message, int offset) {
+
+        if (message[offset] != MARKER || message[offset + 1] != MAGIC_1 || message[offset + 2] != MAGIC_2) {
+            return null;
+        }
+        return WireFormat.fromId(message[offset + 3]);
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.nadeemabukhadir.news_analyzer.common.protocol;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Fixed word table shared by clients and servers to encode headline words as one-byte ids on the wire.
+ * The word order defines the ids, so it must only ever be appended to.
+ */
+public final class HeadlineVocabulary {
+
+    /**
+     * Escape code for words outside the vocabulary, followed by a one-byte length and the word's UTF-8 bytes.
+     */
+    public static final int LITERAL_WORD = 0xFF;
+    public static final int MAX_SIZE = LITERAL_WORD;
+
+    public static final HeadlineVocabulary DEFAULT = new HeadlineVocabulary(Arrays.asList("up", "down", "rise",
+            "fall", "good", "bad", "success", "failure", "high", "low", "über", "unter"));
+
+    private final List<String> words;
+    private final byte[][] wordsUtf8;
+    private final Map<String, Integer> idsByWord;
+
+    public HeadlineVocabulary(List<String> words) {
+
+        if (words.size() > MAX_SIZE) {
+            throw new IllegalArgumentException("Vocabulary cannot hold more than " + MAX_SIZE + " words");
+        }
+
+        this.words = Collections.unmodifiableList(words);
+        this.wordsUtf8 = new byte[words.size()][];
+        this.idsByWord = new HashMap<>(words.size() * 2);
+        for (int id = 0; id < words.size(); id++) {
+            wordsUtf8[id] = words.get(id).getBytes(UTF_8);
+            idsByWord.put(words.get(id), id);
+        }
+    }
+
+    /**
+     * @return the id of the word, or {@link #LITERAL_WORD} if it is not part of the vocabulary
+     */
+    public int idOf(String word) {
+        return idsByWord.getOrDefault(word, LITERAL_WORD);
+    }
+
+    public String wordOf(int id) {
+        return words.get(id);
+    }
+
+    public byte[] wordUtf8Of(int id) {
+        return wordsUtf8[id];
+    }
+
+    public int size() {
+        return words.size();
+    }
+}
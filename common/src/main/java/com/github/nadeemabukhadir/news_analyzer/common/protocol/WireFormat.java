@@ -0,0 +1,61 @@
+package com.github.nadeemabukhadir.news_analyzer.common.protocol;
+
+import java.util.Locale;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Wire formats a news feed connection can speak.
+ * <ul>
+ *   <li>{@link #TEXT} - newline-delimited UTF-8 "headline;priority" lines (default, no handshake).</li>
+ *   <li>{@link #BINARY} - length-prefixed frames with vocabulary-encoded headlines, agreed through a {@link Handshake}.</li>
+ * </ul>
+ */
+public enum WireFormat {
+
+    TEXT((byte) 0),
+    BINARY((byte) 1);
+
+    private final byte id;
+
+    WireFormat(byte id) {
+        this.id = id;
+    }
+
+    public byte getId() {
+        return id;
+    }
+
+    /**
+     * @return the wire format with the given handshake id, or null if unknown
+     */
+    public static WireFormat fromId(byte id) {
+
+        for (WireFormat format : values()) {
+            if (format.id == id) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolves a wire format from its (case-insensitive) property value.
+     *
+     * @param value the configured value, e.g. "text" or "binary"
+     * @return the matching format, or {@link #TEXT} if the value is missing
+     * @throws IllegalArgumentException if the value does not match any format
+     */
+    public static WireFormat fromProperty(String value) {
+
+        if (isNull(value) || value.trim().isEmpty()) {
+            return TEXT;
+        }
+
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown wire format: " + value, e);
+        }
+    }
+}
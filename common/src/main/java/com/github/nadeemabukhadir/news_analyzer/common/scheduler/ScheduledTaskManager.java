@@ -1,5 +1,7 @@
 package com.github.nadeemabukhadir.news_analyzer.common.scheduler;
 
+import com.github.nadeemabukhadir.news_analyzer.common.metrics.LatencyHistogram;
+import com.github.nadeemabukhadir.news_analyzer.common.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,6 +14,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 /**
  * Manages periodic execution of a task using single thread ScheduledExecutorService.
  * Ensures thread-safety and prevents duplicate scheduling via AtomicBoolean running flag.
+ * The lateness of every run against its fixed-rate schedule is recorded in the
+ * {@code scheduled_task_lateness_seconds} histogram of the default {@link MetricsRegistry}, labeled by task name.
  */
 public class ScheduledTaskManager {
 
@@ -24,8 +28,16 @@ public class ScheduledTaskManager {
     private final long period;
     private final TimeUnit periodTimeUnit;
     private final AtomicBoolean running;
+    private final LatencyHistogram lateness;
 
     public ScheduledTaskManager(Runnable task, long initialDelay, long period, TimeUnit periodTimeUnit) {
+        this("task", task, initialDelay, period, periodTimeUnit);
+    }
+
+    /**
+     * @param name name of the task in the metrics
+     */
+    public ScheduledTaskManager(String name, Runnable task, long initialDelay, long period, TimeUnit periodTimeUnit) {
 
         this.scheduler = Executors.newSingleThreadScheduledExecutor();
         this.task = task;
@@ -33,6 +45,8 @@ public class ScheduledTaskManager {
         this.period = period;
         this.periodTimeUnit = periodTimeUnit;
         this.running = new AtomicBoolean(false);
+        this.lateness = MetricsRegistry.getDefault().histogram("scheduled_task_lateness_seconds",
+                "Delay between the scheduled and the actual start of periodic task runs.", "task", name);
     }
 
     /**
@@ -42,7 +56,7 @@ public class ScheduledTaskManager {
 
         if (running.compareAndSet(false, true)) {
             try {
-                scheduler.scheduleAtFixedRate(task, initialDelay, period, periodTimeUnit);
+                scheduler.scheduleAtFixedRate(new MeasuredTask(), initialDelay, period, periodTimeUnit);
                 logger.info("Scheduled task started (Initial delay: {} {}, Period: {} {})",
                         initialDelay, periodTimeUnit, period, periodTimeUnit);
             } catch (RejectedExecutionException e) {
@@ -79,4 +93,20 @@ public class ScheduledTaskManager {
             logger.warn("Scheduled task is not running.");
         }
     }
+
+    /**
+     * Runs the task, recording how late each run started. Only ever run by the single scheduler thread.
+     */
+    private final class MeasuredTask implements Runnable {
+
+        private long nextRunNanos = System.nanoTime() + periodTimeUnit.toNanos(initialDelay);
+
+        @Override
+        public void run() {
+
+            lateness.recordSince(nextRunNanos);
+            nextRunNanos += periodTimeUnit.toNanos(period);
+            task.run();
+        }
+    }
 }
@@ -0,0 +1,106 @@
+package com.github.nadeemabukhadir.news_analyzer.common.mapper;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.BinaryFrame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryNewsItemMapperTest {
+
+    private BinaryNewsItemMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+
+        mapper = new BinaryNewsItemMapper();
+    }
+
+    @Test
+    @DisplayName("Should encode vocabulary words as one byte each")
+    void toBytes_VocabularyWords_ReturnsCompactFrame() {
+
+        byte[] frame = mapper.toBytes(new NewsItem("up rise success", 5));
+
+        // length + tag + 3 word ids
+        assertThat(frame).hasSize(5);
+        assertThat(frame[0]).isEqualTo((byte) 4);
+        assertThat(BinaryFrame.typeOf(frame[1])).isEqualTo(BinaryFrame.TYPE_ITEM);
+        assertThat(BinaryFrame.priorityOf(frame[1])).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should round-trip headlines with vocabulary and unknown words")
+    void toBytes_ThenFromBytes_ReturnsSameNewsItem() {
+
+        NewsItem original = new NewsItem("über rise unknownword good", 9);
+
+        byte[] frame = mapper.toBytes(original);
+        NewsItem decoded = mapper.fromBytes(frame, 1, frame.length);
+
+        assertThat(decoded.getHeadline()).isEqualTo(original.getHeadline());
+        assertThat(decoded.getPriority()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException when mapping null NewsItem to bytes")
+    void toBytes_NullNewsItem_ThrowsException() {
+
+        assertThatThrownBy(() -> mapper.toBytes(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("NewsItem cannot be null");
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException when priority does not fit the frame")
+    void toBytes_InvalidPriority_ThrowsException() {
+
+        assertThatThrownBy(() -> mapper.toBytes(new NewsItem("up", 10)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Priority must be between 0 and 9");
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException when a literal word is truncated")
+    void fromBytes_TruncatedLiteral_ThrowsException() {
+
+        byte[] frame = mapper.toBytes(new NewsItem("unknownword", 1));
+
+        assertThatThrownBy(() -> mapper.fromBytes(frame, 1, frame.length - 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated literal word");
+    }
+
+    @Test
+    @DisplayName("Should round-trip a batch of news items in one frame")
+    void toBatchBytes_ThenFromBatchBytes_ReturnsSameNewsItems() {
+
+        List<NewsItem> items = Arrays.asList(new NewsItem("up rise success", 5), new NewsItem("fall unknownword", 0),
+                new NewsItem("über", 9));
+
+        byte[] frame = mapper.toBatchBytes(items);
+        List<NewsItem> decoded = mapper.fromBatchBytes(frame, 1, frame.length);
+
+        assertThat(frame[0]).isEqualTo((byte) (frame.length - 1));
+        assertThat(decoded).extracting(NewsItem::getHeadline)
+                .containsExactly("up rise success", "fall unknownword", "über");
+        assertThat(decoded).extracting(NewsItem::getPriority).containsExactly(5, 0, 9);
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException when a batch item is truncated")
+    void fromBatchBytes_TruncatedItem_ThrowsException() {
+
+        byte[] frame = mapper.toBatchBytes(Arrays.asList(new NewsItem("up rise success", 5), new NewsItem("up rise", 1)));
+
+        assertThatThrownBy(() -> mapper.fromBatchBytes(frame, 1, frame.length - 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated batch item");
+    }
+}
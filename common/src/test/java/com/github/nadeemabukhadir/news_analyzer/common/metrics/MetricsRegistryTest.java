@@ -0,0 +1,145 @@
+package com.github.nadeemabukhadir.news_analyzer.common.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.management.Attribute;
+import javax.management.AttributeNotFoundException;
+import javax.management.ReflectionException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MetricsRegistryTest {
+
+    @Test
+    @DisplayName("Should write counters and labeled gauges in the Prometheus text format")
+    void format_CountersAndGauges_WritesSamples() {
+
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("requests_total", "Requests.").add(3);
+        registry.counter("requests_total", "Requests.").increment();
+        registry.gauge("window_items", "Items.", () -> 7, "priority", "9");
+        registry.gauge("window_items", "Items.", () -> 0.5, "priority", "a\"b");
+
+        assertThat(PrometheusTextFormat.format(registry)).isEqualTo(
+                "# HELP requests_total Requests.\n"
+                        + "# TYPE requests_total counter\n"
+                        + "requests_total 4\n"
+                        + "# HELP window_items Items.\n"
+                        + "# TYPE window_items gauge\n"
+                        + "window_items{priority=\"9\"} 7\n"
+                        + "window_items{priority=\"a\\\"b\"} 0.5\n");
+    }
+
+    @Test
+    @DisplayName("Should count durations in power-of-two buckets exposed cumulatively in seconds")
+    void format_Histogram_WritesCumulativeBuckets() {
+
+        MetricsRegistry registry = new MetricsRegistry();
+        LatencyHistogram histogram = registry.histogram("duration_seconds", "Duration.", "task", "report");
+        for (long nanos : new long[]{-5, 1, 2, 3, 4, 5, 1_000_000_000L, Long.MAX_VALUE}) {
+            histogram.record(nanos);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(8);
+        assertThat(histogram.getBucketCount(0)).isEqualTo(2);
+        assertThat(histogram.getBucketCount(1)).isEqualTo(1);
+        assertThat(histogram.getBucketCount(2)).isEqualTo(2);
+        assertThat(histogram.getBucketCount(3)).isEqualTo(1);
+        assertThat(histogram.getBucketCount(30)).isEqualTo(1);
+        assertThat(histogram.getBucketCount(LatencyHistogram.BUCKETS_COUNT - 1)).isEqualTo(1);
+        assertThat(histogram.quantile(0.5)).isEqualTo(4);
+        assertThat(histogram.quantile(0.75)).isEqualTo(8);
+
+        String text = PrometheusTextFormat.format(registry);
+        assertThat(text)
+                .contains("# TYPE duration_seconds histogram\n")
+                .contains("duration_seconds_bucket{task=\"report\",le=\"1.0E-9\"} 2\n")
+                .contains("duration_seconds_bucket{task=\"report\",le=\"4.0E-9\"} 5\n")
+                .contains("duration_seconds_bucket{task=\"report\",le=\"+Inf\"} 8\n")
+                .contains("duration_seconds_count{task=\"report\"} 8\n");
+    }
+
+    @Test
+    @DisplayName("Should expose every metric as a read-only JMX attribute")
+    void getAttribute_RegisteredMetrics_ReturnsValues() throws Exception {
+
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("requests_total", "Requests.").add(2);
+        registry.histogram("duration_seconds", "Duration.").record(1_000);
+        MetricsMBean bean = new MetricsMBean(registry);
+
+        assertThat(Arrays.stream(bean.getMBeanInfo().getAttributes()).map(info -> info.getName())
+                .collect(Collectors.toList()))
+                .containsExactly("duration_seconds_count", "duration_seconds_sum_seconds",
+                        "duration_seconds_p50_seconds", "duration_seconds_p99_seconds", "requests_total");
+        assertThat(bean.getAttribute("requests_total")).isEqualTo(2L);
+        assertThat(bean.getAttribute("duration_seconds_count")).isEqualTo(1L);
+        assertThat(bean.getAttribute("duration_seconds_p99_seconds")).isEqualTo(1024 / 1e9);
+        assertThatThrownBy(() -> bean.setAttribute(new Attribute("requests_total", 0L)))
+                .isInstanceOf(AttributeNotFoundException.class);
+        assertThatThrownBy(() -> bean.invoke("reset", new Object[0], new String[0]))
+                .isInstanceOf(ReflectionException.class)
+                .hasCauseInstanceOf(NoSuchMethodException.class);
+    }
+
+    @Test
+    @DisplayName("Should serve the metrics on the scrape endpoint")
+    void metricsHttpServer_Get_ServesTextFormat() throws IOException {
+
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("requests_total", "Requests.").increment();
+        MetricsHttpServer server = new MetricsHttpServer(registry, 0);
+        server.start();
+        try {
+            URL url = new URL("http://localhost:" + server.getPort() + MetricsHttpServer.PATH);
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+
+            assertThat(connection.getResponseCode()).isEqualTo(200);
+            assertThat(connection.getContentType()).isEqualTo(PrometheusTextFormat.CONTENT_TYPE);
+            assertThat(read(connection.getInputStream())).contains("requests_total 1\n");
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject invalid names, unpaired labels and type conflicts")
+    void counter_InvalidArguments_Throws() {
+
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("requests_total", "Requests.");
+
+        assertThatThrownBy(() -> registry.counter("requests-total", "Requests."))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("metric name");
+        assertThatThrownBy(() -> registry.counter("requests_total", "Requests.", "priority"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("pairs");
+        assertThatThrownBy(() -> registry.histogram("requests_total", "Requests."))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("counter");
+    }
+
+    private static String read(InputStream input) throws IOException {
+
+        try (InputStream in = input) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            return new String(bytes.toByteArray(), UTF_8);
+        }
+    }
+}
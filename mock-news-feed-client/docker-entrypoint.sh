@@ -5,7 +5,9 @@ cat > ./config/config.properties <<EOF
 # Client Configuration
 news.analyze.server.host=${NEWS_ANALYZE_SERVER_HOST}
 news.analyze.server.port=${NEWS_ANALYZE_SERVER_PORT}
+news.analyze.server.wireFormat=${NEWS_ANALYZE_WIRE_FORMAT:-text}
 scheduler.message-send.intervalInMs=${SEND_MESSAGE_INTERVAL_IN_MS}
+scheduler.message-send.batchSize=${SEND_MESSAGE_BATCH_SIZE:-1}
 EOF
 
 #exec java -jar app.jar
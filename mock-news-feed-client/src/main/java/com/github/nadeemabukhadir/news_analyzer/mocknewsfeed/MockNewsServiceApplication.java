@@ -1,7 +1,9 @@
 package com.github.nadeemabukhadir.news_analyzer.mocknewsfeed;
 
 import com.github.nadeemabukhadir.news_analyzer.common.config.PropertiesManager;
+import com.github.nadeemabukhadir.news_analyzer.common.mapper.BinaryNewsItemMapper;
 import com.github.nadeemabukhadir.news_analyzer.common.mapper.NewsItemMapper;
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.WireFormat;
 import com.github.nadeemabukhadir.news_analyzer.mocknewsfeed.client.MockNewsClient;
 import com.github.nadeemabukhadir.news_analyzer.mocknewsfeed.config.MockNewsClientConfig;
 import com.github.nadeemabukhadir.news_analyzer.mocknewsfeed.generator.NewsContentGenerator;
@@ -16,11 +18,14 @@ public class MockNewsServiceApplication {
         final int serverPort = PropertiesManager.getInt("news.analyze.server.port", 8080);
         final String serverHost = PropertiesManager.get("news.analyze.server.host", "localhost");
         final int messageSendIntervalInMs = PropertiesManager.getInt("scheduler.message-send.intervalInMs", 200);
+        final WireFormat wireFormat = WireFormat.fromProperty(PropertiesManager.get("news.analyze.server.wireFormat"));
+        final int batchSize = PropertiesManager.getInt("scheduler.message-send.batchSize", 1);
 
         NewsItemMapper mapper = new NewsItemMapper();
+        BinaryNewsItemMapper binaryMapper = new BinaryNewsItemMapper();
         NewsContentGenerator generator = new NewsContentGenerator();
-        MockNewsClientConfig config = new MockNewsClientConfig(serverHost, serverPort, messageSendIntervalInMs, TimeUnit.MILLISECONDS);
-        MockNewsClient client = new MockNewsClient(config, mapper, generator);
+        MockNewsClientConfig config = new MockNewsClientConfig(serverHost, serverPort, messageSendIntervalInMs, TimeUnit.MILLISECONDS, wireFormat, batchSize);
+        MockNewsClient client = new MockNewsClient(config, mapper, binaryMapper, generator);
         client.start();
     }
 }
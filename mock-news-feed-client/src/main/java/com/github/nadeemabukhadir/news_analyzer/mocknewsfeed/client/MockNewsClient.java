@@ -1,30 +1,48 @@
 package com.github.nadeemabukhadir.news_analyzer.mocknewsfeed.client;
 
 import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.mapper.BinaryNewsItemMapper;
 import com.github.nadeemabukhadir.news_analyzer.common.mapper.NewsItemMapper;
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.Handshake;
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.WireFormat;
 import com.github.nadeemabukhadir.news_analyzer.common.scheduler.ScheduledTaskManager;
 import com.github.nadeemabukhadir.news_analyzer.mocknewsfeed.config.MockNewsClientConfig;
 import com.github.nadeemabukhadir.news_analyzer.mocknewsfeed.generator.NewsContentGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Mock News Client - Periodically sends news items to the News Analyzer server.
- * Uses a configurable interval and handles reconnection on failure.
+ * Uses a configurable interval and handles reconnection on failure. Every interval a burst of
+ * {@code batchSize} news items is sent in a single write (a single BATCH frame in the binary format).
+ * <p>
+ * When configured for {@link WireFormat#BINARY}, every connection starts with a {@link Handshake};
+ * the client falls back to the text format if the server does not accept it (or does not answer at all).
  */
 public class MockNewsClient {
 
     private static final Logger logger = LoggerFactory.getLogger(MockNewsClient.class);
+    private static final int HANDSHAKE_TIMEOUT_IN_MS = 2000;
+    private static final byte[] LINE_SEPARATOR = "\n".getBytes(UTF_8);
     private final MockNewsClientConfig config;
     private final NewsItemMapper mapper;
+    private final BinaryNewsItemMapper binaryMapper;
     private final NewsContentGenerator generator;
     private final ScheduledTaskManager scheduledTaskManager;
     private Socket socket;
-    private PrintWriter writer;
+    private OutputStream output;
+    private WireFormat wireFormat = WireFormat.TEXT;
     private boolean connected = false;
 
     /**
@@ -34,8 +52,15 @@ public class MockNewsClient {
      */
     public MockNewsClient(MockNewsClientConfig config, NewsItemMapper mapper, NewsContentGenerator generator) {
 
+        this(config, mapper, new BinaryNewsItemMapper(), generator);
+    }
+
+    public MockNewsClient(MockNewsClientConfig config, NewsItemMapper mapper, BinaryNewsItemMapper binaryMapper,
+                          NewsContentGenerator generator) {
+
         this.config = config;
         this.mapper = mapper;
+        this.binaryMapper = binaryMapper;
         this.generator = generator;
         Runnable task = () -> {
             if (connected) {
@@ -44,7 +69,7 @@ public class MockNewsClient {
                 retryConnection();
             }
         };
-        this.scheduledTaskManager = new ScheduledTaskManager(task, 0, config.getMessageInterval(), config.getMessageIntervalTimeUnit());
+        this.scheduledTaskManager = new ScheduledTaskManager("mock-news-feed", task, 0, config.getMessageInterval(), config.getMessageIntervalTimeUnit());
     }
 
     /**
@@ -68,27 +93,67 @@ public class MockNewsClient {
     private void connectToServer() throws IOException {
         logger.info("Attempting to connect to News Analyzer Server at {}:{}", config.getServerHost(), config.getServerPort());
         socket = new Socket(config.getServerHost(), config.getServerPort());
-        writer = new PrintWriter(socket.getOutputStream(), true);
+        output = new BufferedOutputStream(socket.getOutputStream());
+        wireFormat = negotiateWireFormat();
         connected = true;
-        logger.info("Successfully connected to the server.");
+        logger.info("Successfully connected to the server using the {} wire format.", wireFormat);
         // Once connected, we start scheduling the periodic sendTask
         // TODO: Make sure calling the start method at the correct place.
         scheduledTaskManager.start();
     }
 
     /**
-     * Generates and sends a news item to the server.
+     * Agrees on the wire format for the current connection.
+     */
+    private WireFormat negotiateWireFormat() throws IOException {
+
+        if (config.getWireFormat() == WireFormat.TEXT) {
+            return WireFormat.TEXT;
+        }
+
+        output.write(Handshake.encode(config.getWireFormat()));
+        output.flush();
+
+        byte[] reply = new byte[Handshake.LENGTH];
+        try {
+            socket.setSoTimeout(HANDSHAKE_TIMEOUT_IN_MS);
+            new DataInputStream(socket.getInputStream()).readFully(reply);
+        } catch (SocketTimeoutException e) {
+            // A text-only server swallowed the hello as part of a line; terminate that line and speak text.
+            logger.warn("Server did not answer the handshake, falling back to the text wire format.");
+            output.write(LINE_SEPARATOR);
+            return WireFormat.TEXT;
+        } finally {
+            socket.setSoTimeout(0);
+        }
+
+        WireFormat accepted = Handshake.decode(reply, 0);
+        return accepted == null ? WireFormat.TEXT : accepted;
+    }
+
+    /**
+     * Generates and sends a batch of news items to the server.
      */
     private void sendMessage() {
 
-        NewsItem newsItem = new NewsItem(generator.generateHeadline(), generator.generatePriority());
-        String asString = mapper.toString(newsItem);
+        List<NewsItem> newsItems = new ArrayList<>(config.getBatchSize());
+        for (int i = 0; i < config.getBatchSize(); i++) {
+            newsItems.add(new NewsItem(generator.generateHeadline(), generator.generatePriority()));
+        }
 
         try {
-            writer.println(asString);
-            logger.info("Sent news item: {}", asString);
+            if (wireFormat == WireFormat.BINARY) {
+                output.write(newsItems.size() == 1 ? binaryMapper.toBytes(newsItems.get(0)) : binaryMapper.toBatchBytes(newsItems));
+            } else {
+                for (NewsItem newsItem : newsItems) {
+                    output.write(mapper.toString(newsItem).getBytes(UTF_8));
+                    output.write(LINE_SEPARATOR);
+                }
+            }
+            output.flush();
+            logger.info("Sent news items: {}", newsItems);
         } catch (Exception e) {
-            logger.error("Error sending news item: ", e);
+            logger.error("Error sending news items: ", e);
             connected = false;
         }
     }
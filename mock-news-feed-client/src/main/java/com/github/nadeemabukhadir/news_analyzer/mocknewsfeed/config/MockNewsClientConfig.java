@@ -1,12 +1,14 @@
 package com.github.nadeemabukhadir.news_analyzer.mocknewsfeed.config;
 
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.WireFormat;
 import com.github.nadeemabukhadir.news_analyzer.mocknewsfeed.client.MockNewsClient;
 
 import java.util.concurrent.TimeUnit;
 
 /**
  * Immutable configuration class for {@link MockNewsClient}.
- * Stores configurable properties such as server host, port, and message interval.
+ * Stores configurable properties such as server host, port, message interval, preferred wire format
+ * and the number of news items sent per interval (batch size).
  */
 public final class MockNewsClientConfig {
 
@@ -14,13 +16,22 @@ public final class MockNewsClientConfig {
     private final int serverPort;
     private final int messageInterval;
     private final TimeUnit messageIntervalTimeUnit;
+    private final WireFormat wireFormat;
+    private final int batchSize;
 
     public MockNewsClientConfig(String serverHost, int serverPort, int messageInterval,
                                 TimeUnit messageIntervalTimeUnit) {
+        this(serverHost, serverPort, messageInterval, messageIntervalTimeUnit, WireFormat.TEXT, 1);
+    }
+
+    public MockNewsClientConfig(String serverHost, int serverPort, int messageInterval,
+                                TimeUnit messageIntervalTimeUnit, WireFormat wireFormat, int batchSize) {
         this.serverHost = serverHost;
         this.serverPort = serverPort;
         this.messageInterval = messageInterval;
         this.messageIntervalTimeUnit = messageIntervalTimeUnit;
+        this.wireFormat = wireFormat;
+        this.batchSize = batchSize;
     }
 
     public String getServerHost() {
@@ -38,4 +49,12 @@ public final class MockNewsClientConfig {
     public TimeUnit getMessageIntervalTimeUnit() {
         return messageIntervalTimeUnit;
     }
+
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
 }
@@ -4,6 +4,46 @@ mkdir -p ./config
 cat > ./config/config.properties <<EOF
 server.port=${SERVER_PORT}
 server.connectionsPoolSize=${SERVER_CONNECTIONS_POOL_SIZE}
+server.mode=${SERVER_MODE:-blocking}
+server.ioThreads=${SERVER_IO_THREADS:-2}
+rateLimit.connection.messagesPerSecond=${RATE_LIMIT_CONNECTION_MESSAGES_PER_SECOND:-0}
+rateLimit.connection.bytesPerSecond=${RATE_LIMIT_CONNECTION_BYTES_PER_SECOND:-0}
+rateLimit.global.messagesPerSecond=${RATE_LIMIT_GLOBAL_MESSAGES_PER_SECOND:-0}
+rateLimit.global.bytesPerSecond=${RATE_LIMIT_GLOBAL_BYTES_PER_SECOND:-0}
+pipeline.enabled=${PIPELINE_ENABLED:-false}
+pipeline.ringSize=${PIPELINE_RING_SIZE:-4096}
+pipeline.decodeThreads=${PIPELINE_DECODE_THREADS:-1}
+pipeline.sentimentThreads=${PIPELINE_SENTIMENT_THREADS:-2}
+pipeline.storeThreads=${PIPELINE_STORE_THREADS:-1}
+shedding.enabled=${SHEDDING_ENABLED:-false}
+shedding.highWatermarkPercent=${SHEDDING_HIGH_WATERMARK_PERCENT:-80}
+shedding.lowWatermarkPercent=${SHEDDING_LOW_WATERMARK_PERCENT:-50}
+shedding.adjustIntervalMs=${SHEDDING_ADJUST_INTERVAL_IN_MS:-500}
+sentiment.engine=${SENTIMENT_ENGINE:-default}
+sentiment.lexicon.file=${SENTIMENT_LEXICON_FILE:-sentiment-lexicon.txt}
+sentiment.lexicon.threshold=${SENTIMENT_LEXICON_THRESHOLD:-0.5}
+storage.mode=${STORAGE_MODE:-striped}
+storage.heapBudgetMb=${STORAGE_HEAP_BUDGET_MB:-0}
+storage.spillDirectory=${STORAGE_SPILL_DIRECTORY:-spill}
+rollup.enabled=${ROLLUP_ENABLED:-false}
+heavyHitters.enabled=${HEAVY_HITTERS_ENABLED:-false}
+heavyHitters.epsilon=${HEAVY_HITTERS_EPSILON:-0.001}
+heavyHitters.count=${HEAVY_HITTERS_COUNT:-5}
+distinct.enabled=${DISTINCT_ENABLED:-false}
+distinct.precision=${DISTINCT_PRECISION:-12}
+checkpoint.enabled=${CHECKPOINT_ENABLED:-false}
+checkpoint.file=${CHECKPOINT_FILE:-checkpoints/rollups.bin}
+checkpoint.intervalSeconds=${CHECKPOINT_INTERVAL_IN_SECONDS:-60}
+wal.enabled=${WAL_ENABLED:-false}
+wal.directory=${WAL_DIRECTORY:-wal}
+wal.segmentSizeMb=${WAL_SEGMENT_SIZE_MB:-16}
+wal.fsync=${WAL_FSYNC:-interval}
+wal.fsyncIntervalMs=${WAL_FSYNC_INTERVAL_IN_MS:-200}
+history.enabled=${HISTORY_ENABLED:-false}
+history.directory=${HISTORY_DIRECTORY:-history}
+history.indexCapacity=${HISTORY_INDEX_CAPACITY:-4194304}
+metrics.httpPort=${METRICS_HTTP_PORT:-0}
+metrics.jmx.enabled=${METRICS_JMX_ENABLED:-false}
 scheduler.news-summary-report.periodInSeconds=${NEWS_SUMMARY_REPORT_PERIOD_IN_SECONDS}
 EOF
 
@@ -1,34 +1,45 @@
 package com.github.nadeemabukhadir.news_analyzer.server;
 
-import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
-import com.github.nadeemabukhadir.news_analyzer.common.mapper.NewsItemMapper;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.ConnectionDecoder;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.IngestMetrics;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.MessageSink;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.NewsMessageProcessor;
+import com.github.nadeemabukhadir.news_analyzer.server.ratelimit.ConnectionRateLimiter;
+import com.github.nadeemabukhadir.news_analyzer.server.ratelimit.IngestRateLimits;
 import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
-import com.github.nadeemabukhadir.news_analyzer.server.util.NewsHeadlineUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.Socket;
 import java.net.SocketException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Handles an individual client connection, processing incoming news items.
  * Responsible for reading messages, validating headlines, and storing relevant news items.
+ * Reading pauses whenever the connection goes over its {@link ConnectionRateLimiter} limits.
  */
 public class ClientHandler implements Runnable {
 
     private static final Logger logger = LoggerFactory.getLogger(ClientHandler.class);
+    private static final int READ_BUFFER_SIZE = 8192;
     private final Socket clientSocket;
-    private final NewsItemMapper mapper;
-    private final NewsItemStorage storage;
+    private final MessageSink sink;
+    private final ConnectionRateLimiter rateLimiter;
 
-    public ClientHandler(Socket clientSocket, NewsItemMapper mapper, NewsItemStorage storage) {
+    public ClientHandler(Socket clientSocket, NewsItemStorage storage) {
+
+        this(clientSocket, new NewsMessageProcessor(storage), IngestRateLimits.unlimited().newConnectionLimiter());
+    }
+
+    public ClientHandler(Socket clientSocket, MessageSink sink, ConnectionRateLimiter rateLimiter) {
 
         this.clientSocket = clientSocket;
-        this.mapper = mapper;
-        this.storage = storage;
+        this.sink = sink;
+        this.rateLimiter = rateLimiter;
     }
 
     @Override
@@ -36,11 +47,28 @@ public class ClientHandler implements Runnable {
 
         logger.info("Handling new client connection: {}", clientSocket.getInetAddress());
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()))) {
-            String receivedMessage;
-            while ((receivedMessage = reader.readLine()) != null) {
-                processNewsItem(receivedMessage);
+        byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+
+        try (InputStream input = clientSocket.getInputStream()) {
+            OutputStream output = clientSocket.getOutputStream();
+            ConnectionDecoder decoder = new ConnectionDecoder(sink, response -> {
+                output.write(response);
+                output.flush();
+            });
+            int read;
+            while ((read = input.read(readBuffer)) != -1) {
+                decoder.feed(readBuffer, 0, read);
+                sink.onRead(read, readBuffer.length);
+                int messages = sink.takeMessagesCount();
+                IngestMetrics.recordRead(read, messages);
+                long pause = rateLimiter.onRead(read, messages);
+                if (pause > 0) {
+                    // Unread data stays in the socket buffers, so TCP flow control throttles the sender.
+                    TimeUnit.NANOSECONDS.sleep(pause);
+                }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (SocketException e) {
             logger.warn("Client {} disconnected forcefully.", clientSocket.getInetAddress());
         } catch (IOException e) {
@@ -50,26 +78,6 @@ public class ClientHandler implements Runnable {
         }
     }
 
-    /**
-     * Processes an incoming news message.
-     * Converts it into a NewsItem, validates it, and stores it if positive.
-     *
-     * @param receivedMessage the raw message received from the client.
-     */
-    private void processNewsItem(String receivedMessage) {
-
-        try {
-            NewsItem newsItem = mapper.fromString(receivedMessage);
-            if (NewsHeadlineUtil.isPositive(newsItem.getHeadline())) {
-                storage.add(newsItem);
-                logger.debug("Stored positive news item: {}", newsItem);
-            }
-        } catch (IllegalArgumentException e) {
-            logger.warn("Invalid message received: '{}'. Reason: {}", receivedMessage, e.getMessage());
-        }
-    }
-
-
     /**
      * Closes the client connection gracefully.
      */
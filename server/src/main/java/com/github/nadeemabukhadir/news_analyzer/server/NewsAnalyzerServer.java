@@ -1,36 +1,79 @@
 package com.github.nadeemabukhadir.news_analyzer.server;
 
-import com.github.nadeemabukhadir.news_analyzer.common.mapper.NewsItemMapper;
 import com.github.nadeemabukhadir.news_analyzer.server.config.NewsAnalyzerServerConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.config.ServerMode;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.MessageSink;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.NewsMessageProcessor;
+import com.github.nadeemabukhadir.news_analyzer.server.nio.NioEventLoop;
+import com.github.nadeemabukhadir.news_analyzer.server.ratelimit.IngestRateLimits;
 import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.util.VirtualThreadExecutors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 /**
  * News Analyzer Server - Listens for client connections, processes and store incoming news,
+ * either with a thread per connection ({@link ServerMode#BLOCKING}), a virtual thread per connection
+ * ({@link ServerMode#VIRTUAL}) or with a few selector-based I/O threads multiplexing all connections
+ * ({@link ServerMode#NIO}). Every connection is metered by the server's {@link IngestRateLimits}.
+ * Framed messages go to a {@link MessageSink} per connection (or event loop), processing them inline
+ * by default or handing them over to the ingest pipeline.
  */
 public class NewsAnalyzerServer {
 
     private static final Logger logger = LoggerFactory.getLogger(NewsAnalyzerServer.class);
     private static final int AWAIT_TERMINATION_TIMEOUT = 5;
-    private boolean running = true;
+    private volatile boolean running = true;
     private final NewsAnalyzerServerConfig config;
     private final ExecutorService clientHandlerPool;
-    private final NewsItemMapper mapper;
-    private final NewsItemStorage storage;
+    private final Supplier<? extends MessageSink> sinkFactory;
+    private final IngestRateLimits rateLimits;
+    private final List<NioEventLoop> eventLoops = new ArrayList<>();
+    private volatile Closeable listener;
 
-    public NewsAnalyzerServer(NewsAnalyzerServerConfig config, NewsItemMapper mapper, NewsItemStorage storage) {
+    public NewsAnalyzerServer(NewsAnalyzerServerConfig config, NewsItemStorage storage) {
 
-        this.clientHandlerPool = Executors.newFixedThreadPool(config.getConnectionsPoolSize());
+        this(config, storage, IngestRateLimits.unlimited());
+    }
+
+    public NewsAnalyzerServer(NewsAnalyzerServerConfig config, NewsItemStorage storage, IngestRateLimits rateLimits) {
+
+        this(config, () -> new NewsMessageProcessor(storage), rateLimits);
+    }
+
+    public NewsAnalyzerServer(NewsAnalyzerServerConfig config, Supplier<? extends MessageSink> sinkFactory,
+                              IngestRateLimits rateLimits) {
+
+        this.clientHandlerPool = createClientHandlerPool(config);
         this.config = config;
-        this.mapper = mapper;
-        this.storage = storage;
+        this.sinkFactory = sinkFactory;
+        this.rateLimits = rateLimits;
+    }
+
+    private static ExecutorService createClientHandlerPool(NewsAnalyzerServerConfig config) {
+
+        switch (config.getMode()) {
+            case NIO:
+                return Executors.newFixedThreadPool(config.getIoThreads());
+            case VIRTUAL:
+                // Blocking handlers parked in a blocking read cost a few KB of heap each instead of a platform stack.
+                return VirtualThreadExecutors.newVirtualThreadPerTaskExecutor();
+            default:
+                return Executors.newFixedThreadPool(config.getConnectionsPoolSize());
+        }
     }
 
     /**
@@ -38,9 +81,15 @@ public class NewsAnalyzerServer {
      */
     public void start() {
 
-        logger.info("News analyzer server is starting on port {}...", config.getPort());
+        logger.info("News analyzer server is starting on port {} ({} mode)...", config.getPort(), config.getMode());
+
+        if (config.getMode() == ServerMode.NIO) {
+            startNio();
+            return;
+        }
 
         try (ServerSocket serverSocket = new ServerSocket(config.getPort())) {
+            listener = serverSocket;
             while (running) {
                 acceptConnection(serverSocket);
             }
@@ -56,6 +105,7 @@ public class NewsAnalyzerServer {
      */
     public void stop() {
         running = false;
+        closeListener();
         shutdown();
     }
 
@@ -65,6 +115,9 @@ public class NewsAnalyzerServer {
     private void shutdown() {
 
         logger.info("Shutting down the news analyzer server...");
+        synchronized (eventLoops) {
+            eventLoops.forEach(NioEventLoop::stop);
+        }
         clientHandlerPool.shutdown();
         try {
             if (!clientHandlerPool.awaitTermination(AWAIT_TERMINATION_TIMEOUT, java.util.concurrent.TimeUnit.SECONDS)) {
@@ -90,9 +143,77 @@ public class NewsAnalyzerServer {
         try {
             Socket clientSocket = serverSocket.accept();
             logger.info("New client connected: {}", clientSocket.getInetAddress());
-            clientHandlerPool.execute(new ClientHandler(clientSocket, mapper, storage));
+            clientHandlerPool.execute(new ClientHandler(clientSocket, sinkFactory.get(),
+                    rateLimits.newConnectionLimiter()));
+        } catch (IOException e) {
+            if (running) {
+                logger.error("Error accepting client connection: ", e);
+            }
+        }
+    }
+
+    /**
+     * Runs the accept loop on the calling thread and spreads accepted channels
+     * round-robin over {@code ioThreads} selector event loops.
+     */
+    private void startNio() {
+
+        try (ServerSocketChannel serverChannel = ServerSocketChannel.open()) {
+            serverChannel.bind(new InetSocketAddress(config.getPort()));
+            listener = serverChannel;
+            startEventLoops();
+
+            int next = 0;
+            while (running) {
+                SocketChannel channel = acceptChannel(serverChannel);
+                if (channel != null) {
+                    eventLoops.get(next).register(channel);
+                    next = (next + 1) % eventLoops.size();
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Server failed to start: ", e);
+        } finally {
+            shutdown();
+        }
+    }
+
+    private void startEventLoops() throws IOException {
+
+        synchronized (eventLoops) {
+            for (int i = 0; i < config.getIoThreads(); i++) {
+                // Each loop gets its own sink since a loop is confined to a single thread.
+                NioEventLoop eventLoop = new NioEventLoop(sinkFactory.get(), rateLimits);
+                eventLoops.add(eventLoop);
+                clientHandlerPool.execute(eventLoop);
+            }
+        }
+    }
+
+    private SocketChannel acceptChannel(ServerSocketChannel serverChannel) {
+
+        try {
+            SocketChannel channel = serverChannel.accept();
+            logger.info("New client connected: {}", channel.getRemoteAddress());
+            return channel;
+        } catch (IOException e) {
+            if (running) {
+                logger.error("Error accepting client connection: ", e);
+            }
+            return null;
+        }
+    }
+
+    private void closeListener() {
+
+        Closeable current = listener;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.close();
         } catch (IOException e) {
-            logger.error("Error accepting client connection: ", e);
+            logger.error("Error closing server listener: ", e);
         }
     }
-}
\ No newline at end of file
+}
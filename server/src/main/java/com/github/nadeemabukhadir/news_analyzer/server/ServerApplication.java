@@ -1,38 +1,328 @@
 package com.github.nadeemabukhadir.news_analyzer.server;
 
 import com.github.nadeemabukhadir.news_analyzer.common.config.PropertiesManager;
-import com.github.nadeemabukhadir.news_analyzer.common.mapper.NewsItemMapper;
+import com.github.nadeemabukhadir.news_analyzer.common.metrics.MetricsHttpServer;
+import com.github.nadeemabukhadir.news_analyzer.common.metrics.MetricsMBean;
+import com.github.nadeemabukhadir.news_analyzer.common.metrics.MetricsRegistry;
 import com.github.nadeemabukhadir.news_analyzer.common.scheduler.ScheduledTaskManager;
+import com.github.nadeemabukhadir.news_analyzer.server.cardinality.DistinctHeadlineCounter;
+import com.github.nadeemabukhadir.news_analyzer.server.config.CheckpointConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.config.DistinctConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.config.FsyncPolicy;
+import com.github.nadeemabukhadir.news_analyzer.server.config.HeavyHitterConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.config.HistoryConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.config.MetricsConfig;
 import com.github.nadeemabukhadir.news_analyzer.server.config.NewsAnalyzerServerConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.config.PipelineConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.config.RateLimitConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.config.SentimentConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.config.SentimentEngine;
+import com.github.nadeemabukhadir.news_analyzer.server.config.SheddingConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.config.ServerMode;
+import com.github.nadeemabukhadir.news_analyzer.server.config.SpillConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.config.StorageMode;
+import com.github.nadeemabukhadir.news_analyzer.server.config.WalConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.heavyhitters.HeavyHitterTracker;
+import com.github.nadeemabukhadir.news_analyzer.server.history.ReportHistory;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.MessageSink;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.NewsMessageProcessor;
+import com.github.nadeemabukhadir.news_analyzer.server.pipeline.IngestPipeline;
+import com.github.nadeemabukhadir.news_analyzer.server.ratelimit.IngestRateLimits;
+import com.github.nadeemabukhadir.news_analyzer.server.rollup.NewsRollups;
+import com.github.nadeemabukhadir.news_analyzer.server.rollup.RollupCheckpoint;
+import com.github.nadeemabukhadir.news_analyzer.server.sentiment.SentimentClassifier;
+import com.github.nadeemabukhadir.news_analyzer.server.sentiment.SentimentClassifiers;
+import com.github.nadeemabukhadir.news_analyzer.server.shedding.LoadShedder;
+import com.github.nadeemabukhadir.news_analyzer.server.shedding.SheddingSink;
 import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.ObservingNewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.SpillingNewsItemStorage;
 import com.github.nadeemabukhadir.news_analyzer.server.task.NewsSummaryReporter;
+import com.github.nadeemabukhadir.news_analyzer.server.task.ReportContributor;
+import com.github.nadeemabukhadir.news_analyzer.server.task.WindowReportListener;
+import com.github.nadeemabukhadir.news_analyzer.server.wal.WalNewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.wal.WriteAheadLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 public class ServerApplication {
 
+    private static final Logger logger = LoggerFactory.getLogger(ServerApplication.class);
+
     public static void main(String[] args) {
 
         PropertiesManager.initialize("config.properties");
         final int port = PropertiesManager.getInt("server.port", 8080);
         final int threadPoolSize = PropertiesManager.getInt("server.connectionsPoolSize", 10);
         final int periodInSeconds = PropertiesManager.getInt("scheduler.news-summary-report.periodInSeconds", 10);
+        final ServerMode mode = ServerMode.fromProperty(PropertiesManager.get("server.mode"));
+        final int ioThreads = PropertiesManager.getInt("server.ioThreads", NewsAnalyzerServerConfig.DEFAULT_IO_THREADS);
+
+        NewsAnalyzerServerConfig config = new NewsAnalyzerServerConfig(port, threadPoolSize, mode, ioThreads);
+        RateLimitConfig rateLimitConfig = new RateLimitConfig(
+                PropertiesManager.getInt("rateLimit.connection.messagesPerSecond", 0),
+                PropertiesManager.getInt("rateLimit.connection.bytesPerSecond", 0),
+                PropertiesManager.getInt("rateLimit.global.messagesPerSecond", 0),
+                PropertiesManager.getInt("rateLimit.global.bytesPerSecond", 0));
+        PipelineConfig pipelineConfig = new PipelineConfig(
+                Boolean.parseBoolean(PropertiesManager.get("pipeline.enabled", "false")),
+                PropertiesManager.getInt("pipeline.ringSize", 4096),
+                PropertiesManager.getInt("pipeline.decodeThreads", 1),
+                PropertiesManager.getInt("pipeline.sentimentThreads", 2),
+                PropertiesManager.getInt("pipeline.storeThreads", 1));
+        SheddingConfig sheddingConfig = new SheddingConfig(
+                Boolean.parseBoolean(PropertiesManager.get("shedding.enabled", "false")),
+                PropertiesManager.getInt("shedding.highWatermarkPercent", 80),
+                PropertiesManager.getInt("shedding.lowWatermarkPercent", 50),
+                PropertiesManager.getInt("shedding.adjustIntervalMs", 500));
+        SentimentConfig sentimentConfig = new SentimentConfig(
+                SentimentEngine.fromProperty(PropertiesManager.get("sentiment.engine")),
+                PropertiesManager.get("sentiment.lexicon.file", "sentiment-lexicon.txt"),
+                Double.parseDouble(PropertiesManager.get("sentiment.lexicon.threshold", "0.5")));
+        final StorageMode storageMode = StorageMode.fromProperty(PropertiesManager.get("storage.mode"));
+        SpillConfig spillConfig = new SpillConfig(
+                PropertiesManager.getInt("storage.heapBudgetMb", 0) * 1024L * 1024L,
+                PropertiesManager.get("storage.spillDirectory", "spill"));
+        final boolean rollupEnabled = Boolean.parseBoolean(PropertiesManager.get("rollup.enabled", "false"));
+        HeavyHitterConfig heavyHitterConfig = new HeavyHitterConfig(
+                Boolean.parseBoolean(PropertiesManager.get("heavyHitters.enabled", "false")),
+                Double.parseDouble(PropertiesManager.get("heavyHitters.epsilon", "0.001")),
+                PropertiesManager.getInt("heavyHitters.count", 5));
+        DistinctConfig distinctConfig = new DistinctConfig(
+                Boolean.parseBoolean(PropertiesManager.get("distinct.enabled", "false")),
+                PropertiesManager.getInt("distinct.precision", 12));
+        WalConfig walConfig = new WalConfig(
+                Boolean.parseBoolean(PropertiesManager.get("wal.enabled", "false")),
+                PropertiesManager.get("wal.directory", "wal"),
+                PropertiesManager.getInt("wal.segmentSizeMb", 16) * 1024 * 1024,
+                FsyncPolicy.fromProperty(PropertiesManager.get("wal.fsync")),
+                PropertiesManager.getInt("wal.fsyncIntervalMs", 200));
+
+        CheckpointConfig checkpointConfig = new CheckpointConfig(
+                Boolean.parseBoolean(PropertiesManager.get("checkpoint.enabled", "false")),
+                PropertiesManager.get("checkpoint.file", "checkpoints/rollups.bin"),
+                PropertiesManager.getInt("checkpoint.intervalSeconds", 60));
+        HistoryConfig historyConfig = new HistoryConfig(
+                Boolean.parseBoolean(PropertiesManager.get("history.enabled", "false")),
+                PropertiesManager.get("history.directory", "history"),
+                PropertiesManager.getInt("history.indexCapacity", 4 * 1024 * 1024));
+        MetricsConfig metricsConfig = new MetricsConfig(
+                PropertiesManager.getInt("metrics.httpPort", 0),
+                Boolean.parseBoolean(PropertiesManager.get("metrics.jmx.enabled", "false")));
+
+        exposeMetrics(metricsConfig);
 
-        NewsAnalyzerServer server = buildNewsAnalyzerServer(periodInSeconds, port, threadPoolSize);
-        server.start();
+        NewsRollups rollups = rollupEnabled ? new NewsRollups(NewsSummaryReporter.TOP_HEADLINES_MAX_COUNT) : null;
+        if (rollups != null && checkpointConfig.isEnabled()) {
+            startCheckpoints(checkpointConfig, rollups);
+        }
+        NewsItemStorage storage = storageMode.createStorage();
+        if (spillConfig.isEnabled()) {
+            storage = openSpillingStorage(spillConfig, storage);
+        }
+        // Per-window statistics over the stored items, each adding a line to the report
+        List<ReportContributor> storageContributors = new ArrayList<>();
+        if (heavyHitterConfig.isEnabled()) {
+            HeavyHitterTracker heavyHitters = new HeavyHitterTracker(heavyHitterConfig);
+            storage = new ObservingNewsItemStorage(storage, heavyHitters);
+            storageContributors.add(heavyHitters);
+        }
+        if (distinctConfig.isEnabled()) {
+            DistinctHeadlineCounter distinctHeadlines = new DistinctHeadlineCounter(distinctConfig.getPrecision());
+            storage = new ObservingNewsItemStorage(storage, distinctHeadlines);
+            storageContributors.add(distinctHeadlines);
+        }
+        // Right below the write-ahead log, so its replay can leave out the rollups for the checkpointed items
+        NewsItemStorage unrolledStorage = storage;
+        if (rollups != null) {
+            storage = new ObservingNewsItemStorage(storage, rollups);
+        }
+        WalNewsItemStorage walStorage = null;
+        List<WindowReportListener> reportListeners = new ArrayList<>();
+        if (historyConfig.isEnabled()) {
+            reportListeners.add(openReportHistory(historyConfig));
+        }
+        if (walConfig.isEnabled()) {
+            // Outermost, so replayed items go through every other decorator without being logged again
+            long rolledUpTo = rollups != null ? rollups.getRolledLogPosition() : WriteAheadLog.NO_POSITION;
+            WriteAheadLog wal = openWriteAheadLog(walConfig, storage, unrolledStorage, rolledUpTo);
+            walStorage = new WalNewsItemStorage(storage, wal);
+            storage = walStorage;
+            // Last, so a window's items stay logged until its report is saved
+            reportListeners.add(report -> wal.deleteReportedWindow());
+        }
+        if (rollups != null) {
+            startRolling(rollups, walStorage);
+        }
+        SentimentClassifier classifier = SentimentClassifiers.create(sentimentConfig);
+        IngestPipeline pipeline = pipelineConfig.isEnabled()
+                ? new IngestPipeline(pipelineConfig, storage, classifier)
+                : null;
+        NewsAnalyzerServer server = buildNewsAnalyzerServer(periodInSeconds, config, rateLimitConfig, sheddingConfig,
+                storage, classifier, pipeline, rollups, storageContributors,
+                reportListeners);
+        if (pipeline == null) {
+            server.start();
+            return;
+        }
+        pipeline.start();
+        try {
+            server.start();
+        } finally {
+            pipeline.stop();
+        }
     }
 
-    private static NewsAnalyzerServer buildNewsAnalyzerServer(int periodInSeconds, int port, int threadPoolSize) {
+    private static void exposeMetrics(MetricsConfig metricsConfig) {
 
-        NewsItemStorage storage = new NewsItemStorage();
+        if (metricsConfig.isJmxEnabled()) {
+            MetricsMBean.register(MetricsRegistry.getDefault());
+        }
+        if (metricsConfig.isHttpEnabled()) {
+            try {
+                new MetricsHttpServer(MetricsRegistry.getDefault(), metricsConfig.getHttpPort()).start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open the metrics endpoint on port "
+                        + metricsConfig.getHttpPort(), e);
+            }
+        }
+    }
 
-        NewsSummaryReporter newsSummaryReporter = new NewsSummaryReporter(storage, periodInSeconds);
-        ScheduledTaskManager scheduledTaskManager = new ScheduledTaskManager(newsSummaryReporter::report, 10, periodInSeconds, TimeUnit.SECONDS);
-        scheduledTaskManager.start();
+    private static NewsItemStorage openSpillingStorage(SpillConfig spillConfig, NewsItemStorage storage) {
+
+        Path directory = Paths.get(spillConfig.getDirectory());
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create the spill directory " + directory, e);
+        }
+        return new SpillingNewsItemStorage(storage, spillConfig.getHeapBudgetBytes(), directory);
+    }
+
+    /**
+     * Opens the write-ahead log and replays the items of the unreported windows into the storage. The items logged
+     * up to the position of the restored rollups checkpoint are already rolled up, and replayed into the storage
+     * below the rollups.
+     */
+    private static WriteAheadLog openWriteAheadLog(WalConfig walConfig, NewsItemStorage storage,
+                                                   NewsItemStorage unrolledStorage, long rolledUpTo) {
+
+        WriteAheadLog wal;
+        try {
+            wal = new WriteAheadLog(walConfig);
+            wal.replay(rolledUpTo, unrolledStorage::add, storage::add);
+            wal.continueAfter(rolledUpTo);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open the write-ahead log in " + walConfig.getDirectory(), e);
+        }
+        if (walConfig.getFsyncPolicy() == FsyncPolicy.INTERVAL) {
+            long interval = walConfig.getFsyncIntervalMillis();
+            new ScheduledTaskManager("wal-sync", () -> syncWriteAheadLog(wal), interval, interval,
+                    TimeUnit.MILLISECONDS).start();
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(wal::close));
+        return wal;
+    }
+
+    /**
+     * Group commit of the write-ahead log. A failure is logged and the records forced again by the next run, instead
+     * of cancelling the periodic task.
+     */
+    private static void syncWriteAheadLog(WriteAheadLog wal) {
+
+        try {
+            wal.sync();
+        } catch (UncheckedIOException e) {
+            logger.error("Failed to sync the write-ahead log", e);
+        }
+    }
 
-        NewsAnalyzerServerConfig config = new NewsAnalyzerServerConfig(port, threadPoolSize);
-        NewsItemMapper mapper = new NewsItemMapper();
+    /**
+     * Rolls the rollups every second. With a write-ahead log, rolling waits for the in-flight adds, so that the
+     * rollups know the log position their items were logged up to.
+     */
+    private static void startRolling(NewsRollups rollups, WalNewsItemStorage walStorage) {
+
+        Runnable roll = walStorage == null ? rollups::roll : () -> walStorage.atLogPosition(rollups::rollUpTo);
+        new ScheduledTaskManager("rollups-roll", roll, 1, 1, TimeUnit.SECONDS).start();
+    }
+
+    /**
+     * Restores the latest rollups checkpoint, then takes one every interval and on shutdown.
+     * A checkpoint that cannot be read is ignored, the rollups then start empty.
+     */
+    private static void startCheckpoints(CheckpointConfig checkpointConfig, NewsRollups rollups) {
+
+        RollupCheckpoint checkpoint = new RollupCheckpoint(Paths.get(checkpointConfig.getFile()), rollups);
+        try {
+            checkpoint.restore();
+        } catch (IOException e) {
+            logger.warn("Ignoring rollups checkpoint {}", checkpointConfig.getFile(), e);
+        }
+        long interval = checkpointConfig.getIntervalSeconds();
+        new ScheduledTaskManager("rollups-checkpoint", checkpoint::checkpoint, interval, interval, TimeUnit.SECONDS)
+                .start();
+        Runtime.getRuntime().addShutdownHook(new Thread(checkpoint::checkpoint));
+    }
+
+    private static ReportHistory openReportHistory(HistoryConfig historyConfig) {
+
+        try {
+            return ReportHistory.open(Paths.get(historyConfig.getDirectory()), historyConfig.getIndexCapacity());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open the report history in " + historyConfig.getDirectory(), e);
+        }
+    }
+
+    private static NewsAnalyzerServer buildNewsAnalyzerServer(int periodInSeconds, NewsAnalyzerServerConfig config,
+                                                              RateLimitConfig rateLimitConfig, SheddingConfig sheddingConfig,
+                                                              NewsItemStorage storage, SentimentClassifier classifier,
+                                                              IngestPipeline pipeline, NewsRollups rollups,
+                                                              List<ReportContributor> storageContributors,
+                                                              List<WindowReportListener> reportListeners) {
+
+        IngestRateLimits rateLimits = new IngestRateLimits(rateLimitConfig);
+        List<ReportContributor> reportContributors = new ArrayList<>();
+        reportContributors.add(rateLimits.getStats());
+        if (pipeline != null) {
+            reportContributors.add(pipeline);
+        }
+        if (rollups != null) {
+            reportContributors.add(rollups);
+        }
+        reportContributors.addAll(storageContributors);
+
+        Supplier<MessageSink> sinkFactory = pipeline != null
+                ? pipeline::newPublisher
+                : () -> new NewsMessageProcessor(storage, classifier);
+        if (sheddingConfig.isEnabled()) {
+            LoadShedder shedder = pipeline != null
+                    ? new LoadShedder(sheddingConfig, pipeline::getLoadPercent)
+                    : new LoadShedder(sheddingConfig);
+            reportContributors.add(shedder);
+            long interval = sheddingConfig.getAdjustIntervalMillis();
+            new ScheduledTaskManager("load-shedding", shedder::adjust, interval, interval,
+                    TimeUnit.MILLISECONDS).start();
+            Supplier<MessageSink> unshedSinkFactory = sinkFactory;
+            sinkFactory = () -> new SheddingSink(unshedSinkFactory.get(), shedder);
+        }
+
+        NewsSummaryReporter newsSummaryReporter = new NewsSummaryReporter(storage, periodInSeconds, reportContributors,
+                reportListeners);
+        ScheduledTaskManager scheduledTaskManager = new ScheduledTaskManager("news-summary-report",
+                newsSummaryReporter::report, 10, periodInSeconds, TimeUnit.SECONDS);
+        scheduledTaskManager.start();
 
-        return new NewsAnalyzerServer(config, mapper, storage);
+        return new NewsAnalyzerServer(config, sinkFactory, rateLimits);
     }
 }
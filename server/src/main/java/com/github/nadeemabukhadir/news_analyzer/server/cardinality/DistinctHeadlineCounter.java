@@ -0,0 +1,124 @@
+package com.github.nadeemabukhadir.news_analyzer.server.cardinality;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.dto.Priorities;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemObserver;
+import com.github.nadeemabukhadir.news_analyzer.server.task.ReportContributor;
+import com.github.nadeemabukhadir.news_analyzer.server.util.HeadlineSignatureSet;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Estimates the number of distinct headline signatures (word sets) of every window, in total and per priority,
+ * with one {@link HyperLogLog} per priority. The total is the estimate of their merge.
+ * <p>
+ * Signatures are computed with a {@link HeadlineSignatureSet} of the calling thread and counted lock-free.
+ * Draining a window moves the registers out atomically, so no concurrent add is lost between two windows.
+ * Observing a storage, the window is drained when the storage is reset and reported by the next summary.
+ */
+public class DistinctHeadlineCounter implements NewsItemObserver, ReportContributor {
+
+    private static final int PRIORITIES_COUNT = Priorities.COUNT;
+    private final HyperLogLog[] priorities = new HyperLogLog[PRIORITIES_COUNT];
+    private final ThreadLocal<HeadlineSignatureSet> signatures = ThreadLocal.withInitial(HeadlineSignatureSet::new);
+    private final int precision;
+    // Window drained by the last storage reset, until it is reported
+    private final AtomicReference<HyperLogLog[]> closedWindow = new AtomicReference<>();
+
+    public DistinctHeadlineCounter(int precision) {
+
+        this.precision = precision;
+        for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+            priorities[priority] = new HyperLogLog(precision);
+        }
+    }
+
+    @Override
+    public void add(NewsItem item) {
+
+        if (item != null) {
+            offer(signatures.get(), item);
+        }
+    }
+
+    @Override
+    public void addAll(Collection<NewsItem> items) {
+
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+        HeadlineSignatureSet threadSignatures = signatures.get();
+        for (NewsItem item : items) {
+            if (item != null) {
+                offer(threadSignatures, item);
+            }
+        }
+    }
+
+    /**
+     * Moves the estimators of the window that just ended out and starts a new one.
+     *
+     * @return the estimators of the window, indexed by priority
+     */
+    public HyperLogLog[] drainWindow() {
+
+        HyperLogLog[] window = new HyperLogLog[PRIORITIES_COUNT];
+        for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+            window[priority] = priorities[priority].drain();
+        }
+        return window;
+    }
+
+    @Override
+    public void onWindowReset() {
+        closedWindow.set(drainWindow());
+    }
+
+    /**
+     * Reports the window drained by the last {@link #onWindowReset()}.
+     */
+    @Override
+    public String drainWindowSummary() {
+
+        HyperLogLog[] window = closedWindow.getAndSet(null);
+        if (window == null) {
+            return null;
+        }
+        HyperLogLog total = new HyperLogLog(precision);
+        StringBuilder perPriority = new StringBuilder();
+        for (int priority = PRIORITIES_COUNT - 1; priority >= 0; priority--) {
+            long estimate = window[priority].estimate();
+            if (estimate > 0) {
+                perPriority.append(", ").append(priority).append(": ").append(estimate);
+                total.mergeFrom(window[priority]);
+            }
+        }
+        if (perPriority.length() == 0) {
+            return null;
+        }
+        return "Distinct headlines -> Total: " + total.estimate() + perPriority;
+    }
+
+    private void offer(HeadlineSignatureSet threadSignatures, NewsItem item) {
+
+        int priority = Priorities.check(item.getPriority());
+        threadSignatures.computeSignature(item.getHeadline());
+        priorities[priority].offer(hashOf(threadSignatures.getSignatureHigh(), threadSignatures.getSignatureLow()));
+    }
+
+    /**
+     * Mixes both halves of a signature into a uniformly distributed hash, as the vocabulary bitmask form of a
+     * signature is not.
+     */
+    static long hashOf(long high, long low) {
+        return mix(high ^ mix(low + 0x9E3779B97F4A7C15L));
+    }
+
+    private static long mix(long value) {
+
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,156 @@
+package com.github.nadeemabukhadir.news_analyzer.server.cardinality;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * HyperLogLog estimator of the number of distinct 64-bit hashes, in {@code 2^precision} bytes.
+ * <p>
+ * The top {@code precision} bits of a hash select a register, which keeps the maximum rank (position of the
+ * first set bit) of the remaining bits. Registers are bytes packed eight per {@code long} and raised with a CAS,
+ * so {@link #offer(long)} is lock-free and, once the registers have filled up, mostly a plain read.
+ * The standard error of the estimate is about {@code 1.04 / sqrt(2^precision)}, e.g. 1.6% with 4 KB.
+ * <p>
+ * Estimators of the same precision merge by taking the maximum of every register, which yields the estimator of
+ * the union of their streams, so they can be combined across threads, priorities and windows.
+ */
+public class HyperLogLog {
+
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 16;
+    private static final int REGISTERS_PER_WORD = 8;
+    private final int precision;
+    private final AtomicLongArray words;
+
+    public HyperLogLog(int precision) {
+
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("HyperLogLog precision must be between " + MIN_PRECISION + " and "
+                    + MAX_PRECISION + ": " + precision);
+        }
+        this.precision = precision;
+        this.words = new AtomicLongArray((1 << precision) / REGISTERS_PER_WORD);
+    }
+
+    /**
+     * Counts a hash, which must be uniformly distributed over all 64 bits.
+     */
+    public void offer(long hash) {
+
+        int register = (int) (hash >>> (64 - precision));
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        int word = register / REGISTERS_PER_WORD;
+        int shift = (register % REGISTERS_PER_WORD) * 8;
+        while (true) {
+            long current = words.get(word);
+            if (((current >>> shift) & 0xFF) >= rank) {
+                return;
+            }
+            long next = (current & ~(0xFFL << shift)) | ((long) rank << shift);
+            if (words.compareAndSet(word, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the estimated number of distinct hashes offered
+     */
+    public long estimate() {
+
+        int registers = 1 << precision;
+        double sum = 0;
+        int zeros = 0;
+        for (int word = 0; word < words.length(); word++) {
+            long value = words.get(word);
+            for (int i = 0; i < REGISTERS_PER_WORD; i++) {
+                int rank = (int) (value >>> (i * 8)) & 0xFF;
+                sum += Double.longBitsToDouble((1023L - rank) << 52); // 2^-rank
+                if (rank == 0) {
+                    zeros++;
+                }
+            }
+        }
+        double alpha = 0.7213 / (1 + 1.079 / registers);
+        double estimate = alpha * registers * registers / sum;
+        if (estimate <= 2.5 * registers && zeros > 0) {
+            estimate = registers * Math.log((double) registers / zeros); // Linear counting of small cardinalities
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Adds the hashes counted by another estimator of the same precision to this one.
+     */
+    public void mergeFrom(HyperLogLog other) {
+
+        checkPrecision(other.precision);
+        for (int word = 0; word < words.length(); word++) {
+            long merged = other.words.get(word);
+            long current;
+            long next;
+            do {
+                current = words.get(word);
+                next = maxPerByte(current, merged);
+            } while (next != current && !words.compareAndSet(word, current, next));
+        }
+    }
+
+    /**
+     * Atomically moves the registers into a new estimator, word by word: every concurrent offer is counted either
+     * in the returned estimator or in this one, which starts over empty.
+     */
+    public HyperLogLog drain() {
+
+        HyperLogLog drained = new HyperLogLog(precision);
+        for (int word = 0; word < words.length(); word++) {
+            drained.words.set(word, words.getAndSet(word, 0));
+        }
+        return drained;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+
+        out.writeByte(precision);
+        for (int word = 0; word < words.length(); word++) {
+            out.writeLong(words.get(word));
+        }
+    }
+
+    /**
+     * Reads registers written by {@link #writeTo(DataOutput)} with the same precision.
+     */
+    public void readFrom(DataInput in) throws IOException {
+
+        int written = in.readByte();
+        if (written != precision) {
+            throw new IOException("HyperLogLog precision " + written + " does not match " + precision);
+        }
+        for (int word = 0; word < words.length(); word++) {
+            words.set(word, in.readLong());
+        }
+    }
+
+    private void checkPrecision(int otherPrecision) {
+
+        if (otherPrecision != precision) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLog precision " + otherPrecision + " into "
+                    + precision);
+        }
+    }
+
+    private static long maxPerByte(long a, long b) {
+
+        long max = 0;
+        for (int shift = 0; shift < 64; shift += 8) {
+            max |= Math.max((a >>> shift) & 0xFF, (b >>> shift) & 0xFF) << shift;
+        }
+        return max;
+    }
+}
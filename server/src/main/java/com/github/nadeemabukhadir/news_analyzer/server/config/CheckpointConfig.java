@@ -0,0 +1,47 @@
+package com.github.nadeemabukhadir.news_analyzer.server.config;
+
+import com.github.nadeemabukhadir.news_analyzer.server.rollup.RollupCheckpoint;
+
+/**
+ * Immutable configuration class for {@link RollupCheckpoint}.
+ * Stores whether checkpoints are taken, the checkpoint file and the interval between two checkpoints.
+ */
+public class CheckpointConfig {
+
+    public static final CheckpointConfig DISABLED = new CheckpointConfig(false, "checkpoints/rollups.bin", 60);
+
+    private final boolean enabled;
+    private final String file;
+    private final int intervalSeconds;
+
+    public CheckpointConfig(boolean enabled, String file, int intervalSeconds) {
+
+        if (intervalSeconds < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive: " + intervalSeconds);
+        }
+        this.enabled = enabled;
+        this.file = file;
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public int getIntervalSeconds() {
+        return intervalSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "CheckpointConfig{" +
+                "enabled=" + enabled +
+                ", file='" + file + '\'' +
+                ", intervalSeconds=" + intervalSeconds +
+                '}';
+    }
+}
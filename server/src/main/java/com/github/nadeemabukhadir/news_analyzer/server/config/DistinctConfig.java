@@ -0,0 +1,42 @@
+package com.github.nadeemabukhadir.news_analyzer.server.config;
+
+import com.github.nadeemabukhadir.news_analyzer.server.cardinality.DistinctHeadlineCounter;
+import com.github.nadeemabukhadir.news_analyzer.server.cardinality.HyperLogLog;
+
+/**
+ * Immutable configuration class for {@link DistinctHeadlineCounter}.
+ * Stores whether distinct headlines are counted and the precision of their {@link HyperLogLog} estimators.
+ */
+public class DistinctConfig {
+
+    public static final DistinctConfig DISABLED = new DistinctConfig(false, 12);
+
+    private final boolean enabled;
+    private final int precision;
+
+    public DistinctConfig(boolean enabled, int precision) {
+
+        if (precision < HyperLogLog.MIN_PRECISION || precision > HyperLogLog.MAX_PRECISION) {
+            throw new IllegalArgumentException("Distinct headlines precision must be between "
+                    + HyperLogLog.MIN_PRECISION + " and " + HyperLogLog.MAX_PRECISION + ": " + precision);
+        }
+        this.enabled = enabled;
+        this.precision = precision;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    @Override
+    public String toString() {
+        return "DistinctConfig{" +
+                "enabled=" + enabled +
+                ", precision=" + precision +
+                '}';
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.nadeemabukhadir.news_analyzer.server.config;
+
+import java.util.Locale;
+
+import static java.util.Objects.isNull;
+
+/**
+ * When the write-ahead log forces its mapped segment to disk. Appends only write to memory, so every policy
+ * survives a crash of the server process; the policy bounds what a crash of the machine can lose.
+ * <ul>
+ *   <li>{@link #NONE} - never explicitly, the operating system writes dirty pages back on its own.</li>
+ *   <li>{@link #INTERVAL} - group commit: everything appended since the last fsync, once per interval.</li>
+ *   <li>{@link #ALWAYS} - after every appended item or batch, before it is stored.</li>
+ * </ul>
+ */
+public enum FsyncPolicy {
+
+    NONE,
+    INTERVAL,
+    ALWAYS;
+
+    /**
+     * Resolves an fsync policy from its (case-insensitive) property value.
+     *
+     * @param value the configured value, e.g. "none", "interval" or "always"
+     * @return the matching policy, or {@link #INTERVAL} if the value is missing
+     * @throws IllegalArgumentException if the value does not match any policy
+     */
+    public static FsyncPolicy fromProperty(String value) {
+
+        if (isNull(value) || value.trim().isEmpty()) {
+            return INTERVAL;
+        }
+
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown fsync policy: " + value, e);
+        }
+    }
+}
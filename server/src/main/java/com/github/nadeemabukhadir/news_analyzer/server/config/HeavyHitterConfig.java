@@ -0,0 +1,51 @@
+package com.github.nadeemabukhadir.news_analyzer.server.config;
+
+import com.github.nadeemabukhadir.news_analyzer.server.heavyhitters.HeavyHitterTracker;
+
+/**
+ * Immutable configuration class for {@link HeavyHitterTracker}.
+ * Stores whether heavy hitters are tracked, the error bound of their counts as a fraction of the window count and the
+ * number of heavy hitters reported per window.
+ */
+public class HeavyHitterConfig {
+
+    public static final HeavyHitterConfig DISABLED = new HeavyHitterConfig(false, 0.001, 5);
+
+    private final boolean enabled;
+    private final double epsilon;
+    private final int reportedCount;
+
+    public HeavyHitterConfig(boolean enabled, double epsilon, int reportedCount) {
+
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("Heavy hitters epsilon must be between 0 and 1 (exclusive): " + epsilon);
+        }
+        if (reportedCount < 1) {
+            throw new IllegalArgumentException("Reported heavy hitters count must be positive: " + reportedCount);
+        }
+        this.enabled = enabled;
+        this.epsilon = epsilon;
+        this.reportedCount = reportedCount;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    public int getReportedCount() {
+        return reportedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "HeavyHitterConfig{" +
+                "enabled=" + enabled +
+                ", epsilon=" + epsilon +
+                ", reportedCount=" + reportedCount +
+                '}';
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.nadeemabukhadir.news_analyzer.server.config;
+
+import com.github.nadeemabukhadir.news_analyzer.server.history.ReportHistory;
+
+/**
+ * Immutable configuration class for {@link ReportHistory}.
+ * Stores whether window reports are recorded, the directory of the history files and the capacity of its index.
+ */
+public class HistoryConfig {
+
+    public static final HistoryConfig DISABLED = new HistoryConfig(false, "history", 4 * 1024 * 1024);
+
+    private final boolean enabled;
+    private final String directory;
+    private final int indexCapacity;
+
+    public HistoryConfig(boolean enabled, String directory, int indexCapacity) {
+
+        if (indexCapacity < 1) {
+            throw new IllegalArgumentException("History index capacity must be positive: " + indexCapacity);
+        }
+        this.enabled = enabled;
+        this.directory = directory;
+        this.indexCapacity = indexCapacity;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public int getIndexCapacity() {
+        return indexCapacity;
+    }
+
+    @Override
+    public String toString() {
+        return "HistoryConfig{" +
+                "enabled=" + enabled +
+                ", directory='" + directory + '\'' +
+                ", indexCapacity=" + indexCapacity +
+                '}';
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.nadeemabukhadir.news_analyzer.server.config;
+
+import com.github.nadeemabukhadir.news_analyzer.common.metrics.MetricsHttpServer;
+import com.github.nadeemabukhadir.news_analyzer.common.metrics.MetricsMBean;
+
+/**
+ * Immutable configuration class for the metrics exposition.
+ * Stores the port of the {@link MetricsHttpServer} scrape endpoint (0 for none) and whether the metrics are
+ * registered as a {@link MetricsMBean}.
+ */
+public class MetricsConfig {
+
+    public static final MetricsConfig DISABLED = new MetricsConfig(0, false);
+
+    private final int httpPort;
+    private final boolean jmxEnabled;
+
+    public MetricsConfig(int httpPort, boolean jmxEnabled) {
+
+        if (httpPort < 0 || httpPort > 65535) {
+            throw new IllegalArgumentException("Metrics port must be between 0 and 65535: " + httpPort);
+        }
+        this.httpPort = httpPort;
+        this.jmxEnabled = jmxEnabled;
+    }
+
+    public boolean isHttpEnabled() {
+        return httpPort > 0;
+    }
+
+    public int getHttpPort() {
+        return httpPort;
+    }
+
+    public boolean isJmxEnabled() {
+        return jmxEnabled;
+    }
+
+    @Override
+    public String toString() {
+        return "MetricsConfig{" +
+                "httpPort=" + httpPort +
+                ", jmxEnabled=" + jmxEnabled +
+                '}';
+    }
+}
@@ -4,16 +4,26 @@ import com.github.nadeemabukhadir.news_analyzer.server.NewsAnalyzerServer;
 
 /**
  * Immutable configuration class for {@link NewsAnalyzerServer}.
- * Stores configurable properties such as server port, server connections pool size.
+ * Stores configurable properties such as server port, server connections pool size and connection handling mode.
  */
 public class NewsAnalyzerServerConfig {
 
+    public static final int DEFAULT_IO_THREADS = 2;
+
     private final int port;
     private final int connectionsPoolSize;
+    private final ServerMode mode;
+    private final int ioThreads;
 
     public NewsAnalyzerServerConfig(int port, int connectionsPoolSize) {
+        this(port, connectionsPoolSize, ServerMode.BLOCKING, DEFAULT_IO_THREADS);
+    }
+
+    public NewsAnalyzerServerConfig(int port, int connectionsPoolSize, ServerMode mode, int ioThreads) {
         this.port = port;
         this.connectionsPoolSize = connectionsPoolSize;
+        this.mode = mode;
+        this.ioThreads = ioThreads;
     }
 
     public int getPort() {
@@ -24,11 +34,21 @@ public class NewsAnalyzerServerConfig {
         return connectionsPoolSize;
     }
 
+    public ServerMode getMode() {
+        return mode;
+    }
+
+    public int getIoThreads() {
+        return ioThreads;
+    }
+
     @Override
     public String toString() {
         return "NewsAnalyzerServerConfig{" +
                 "port=" + port +
                 ", connectionsPoolSize=" + connectionsPoolSize +
+                ", mode=" + mode +
+                ", ioThreads=" + ioThreads +
                 '}';
     }
 }
@@ -0,0 +1,57 @@
+package com.github.nadeemabukhadir.news_analyzer.server.config;
+
+import com.github.nadeemabukhadir.news_analyzer.server.pipeline.IngestPipeline;
+
+/**
+ * Immutable configuration class for {@link IngestPipeline}.
+ * Stores whether the pipeline is used, the capacity of its rings and the number of worker threads per stage.
+ */
+public class PipelineConfig {
+
+    public static final PipelineConfig DISABLED = new PipelineConfig(false, 4096, 1, 1, 1);
+
+    private final boolean enabled;
+    private final int ringSize;
+    private final int decodeThreads;
+    private final int sentimentThreads;
+    private final int storeThreads;
+
+    public PipelineConfig(boolean enabled, int ringSize, int decodeThreads, int sentimentThreads, int storeThreads) {
+        this.enabled = enabled;
+        this.ringSize = ringSize;
+        this.decodeThreads = decodeThreads;
+        this.sentimentThreads = sentimentThreads;
+        this.storeThreads = storeThreads;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getRingSize() {
+        return ringSize;
+    }
+
+    public int getDecodeThreads() {
+        return decodeThreads;
+    }
+
+    public int getSentimentThreads() {
+        return sentimentThreads;
+    }
+
+    public int getStoreThreads() {
+        return storeThreads;
+    }
+
+    @Override
+    public String toString() {
+        return "PipelineConfig{" +
+                "enabled=" + enabled +
+                ", ringSize=" + ringSize +
+                ", decodeThreads=" + decodeThreads +
+                ", sentimentThreads=" + sentimentThreads +
+                ", storeThreads=" + storeThreads +
+                '}';
+    }
+}
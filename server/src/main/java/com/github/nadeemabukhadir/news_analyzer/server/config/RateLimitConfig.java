@@ -0,0 +1,51 @@
+package com.github.nadeemabukhadir.news_analyzer.server.config;
+
+import com.github.nadeemabukhadir.news_analyzer.server.ratelimit.IngestRateLimits;
+
+/**
+ * Immutable configuration class for {@link IngestRateLimits}.
+ * Stores per-connection and server-wide limits in messages/second and bytes/second; zero (or less) disables a limit.
+ */
+public class RateLimitConfig {
+
+    public static final RateLimitConfig UNLIMITED = new RateLimitConfig(0, 0, 0, 0);
+
+    private final long connectionMessagesPerSecond;
+    private final long connectionBytesPerSecond;
+    private final long globalMessagesPerSecond;
+    private final long globalBytesPerSecond;
+
+    public RateLimitConfig(long connectionMessagesPerSecond, long connectionBytesPerSecond,
+                           long globalMessagesPerSecond, long globalBytesPerSecond) {
+        this.connectionMessagesPerSecond = connectionMessagesPerSecond;
+        this.connectionBytesPerSecond = connectionBytesPerSecond;
+        this.globalMessagesPerSecond = globalMessagesPerSecond;
+        this.globalBytesPerSecond = globalBytesPerSecond;
+    }
+
+    public long getConnectionMessagesPerSecond() {
+        return connectionMessagesPerSecond;
+    }
+
+    public long getConnectionBytesPerSecond() {
+        return connectionBytesPerSecond;
+    }
+
+    public long getGlobalMessagesPerSecond() {
+        return globalMessagesPerSecond;
+    }
+
+    public long getGlobalBytesPerSecond() {
+        return globalBytesPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimitConfig{" +
+                "connectionMessagesPerSecond=" + connectionMessagesPerSecond +
+                ", connectionBytesPerSecond=" + connectionBytesPerSecond +
+                ", globalMessagesPerSecond=" + globalMessagesPerSecond +
+                ", globalBytesPerSecond=" + globalBytesPerSecond +
+                '}';
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.nadeemabukhadir.news_analyzer.server.config;
+
+import com.github.nadeemabukhadir.news_analyzer.server.sentiment.SentimentClassifiers;
+
+/**
+ * Immutable configuration class for {@link SentimentClassifiers}.
+ * Stores the sentiment engine, and for the lexicon engine the lexicon file name and the score threshold.
+ */
+public class SentimentConfig {
+
+    public static final SentimentConfig DEFAULT = new SentimentConfig(SentimentEngine.DEFAULT, null, 0.5);
+
+    private final SentimentEngine engine;
+    private final String lexiconFile;
+    private final double threshold;
+
+    public SentimentConfig(SentimentEngine engine, String lexiconFile, double threshold) {
+        this.engine = engine;
+        this.lexiconFile = lexiconFile;
+        this.threshold = threshold;
+    }
+
+    public SentimentEngine getEngine() {
+        return engine;
+    }
+
+    public String getLexiconFile() {
+        return lexiconFile;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    @Override
+    public String toString() {
+        return "SentimentConfig{" +
+                "engine=" + engine +
+                ", lexiconFile='" + lexiconFile + '\'' +
+                ", threshold=" + threshold +
+                '}';
+    }
+}
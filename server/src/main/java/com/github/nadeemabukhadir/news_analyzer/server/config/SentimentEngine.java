@@ -0,0 +1,38 @@
+package com.github.nadeemabukhadir.news_analyzer.server.config;
+
+import java.util.Locale;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Sentiment engine used to classify headlines.
+ * <ul>
+ *   <li>{@link #DEFAULT} - the built-in rule, at least 50% of the words are predefined positive words.</li>
+ *   <li>{@link #LEXICON} - a weighted lexicon of terms and phrases loaded from a file, with a score threshold.</li>
+ * </ul>
+ */
+public enum SentimentEngine {
+
+    DEFAULT,
+    LEXICON;
+
+    /**
+     * Resolves a sentiment engine from its (case-insensitive) property value.
+     *
+     * @param value the configured value, e.g. "default" or "lexicon"
+     * @return the matching engine, or {@link #DEFAULT} if the value is missing
+     * @throws IllegalArgumentException if the value does not match any engine
+     */
+    public static SentimentEngine fromProperty(String value) {
+
+        if (isNull(value) || value.trim().isEmpty()) {
+            return DEFAULT;
+        }
+
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sentiment engine: " + value, e);
+        }
+    }
+}
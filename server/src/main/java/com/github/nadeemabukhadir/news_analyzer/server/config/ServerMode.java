@@ -0,0 +1,40 @@
+package com.github.nadeemabukhadir.news_analyzer.server.config;
+
+import java.util.Locale;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Connection handling strategy used by the news analyzer server.
+ * <ul>
+ *   <li>{@link #BLOCKING} - one {@code ClientHandler} per connection on a fixed thread pool.</li>
+ *   <li>{@link #NIO} - a few selector-based I/O threads multiplexing all connections.</li>
+ *   <li>{@link #VIRTUAL} - one {@code ClientHandler} per connection, each on its own virtual thread (Java 21+).</li>
+ * </ul>
+ */
+public enum ServerMode {
+
+    BLOCKING,
+    NIO,
+    VIRTUAL;
+
+    /**
+     * Resolves a server mode from its (case-insensitive) property value.
+     *
+     * @param value the configured value, e.g. "blocking", "nio" or "virtual"
+     * @return the matching mode, or {@link #BLOCKING} if the value is missing
+     * @throws IllegalArgumentException if the value does not match any mode
+     */
+    public static ServerMode fromProperty(String value) {
+
+        if (isNull(value) || value.trim().isEmpty()) {
+            return BLOCKING;
+        }
+
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown server mode: " + value, e);
+        }
+    }
+}
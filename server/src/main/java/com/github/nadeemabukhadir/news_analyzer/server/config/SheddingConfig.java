@@ -0,0 +1,55 @@
+package com.github.nadeemabukhadir.news_analyzer.server.config;
+
+import com.github.nadeemabukhadir.news_analyzer.server.shedding.LoadShedder;
+
+/**
+ * Immutable configuration class for {@link LoadShedder}.
+ * Stores whether load shedding is enabled, the load watermarks (in percent) raising and lowering the shedding
+ * threshold, and how often the threshold is adjusted.
+ */
+public class SheddingConfig {
+
+    public static final SheddingConfig DISABLED = new SheddingConfig(false, 80, 50, 500);
+
+    private final boolean enabled;
+    private final int highWatermarkPercent;
+    private final int lowWatermarkPercent;
+    private final long adjustIntervalMillis;
+
+    public SheddingConfig(boolean enabled, int highWatermarkPercent, int lowWatermarkPercent, long adjustIntervalMillis) {
+
+        if (lowWatermarkPercent > highWatermarkPercent) {
+            throw new IllegalArgumentException("Low watermark must not exceed the high watermark");
+        }
+        this.enabled = enabled;
+        this.highWatermarkPercent = highWatermarkPercent;
+        this.lowWatermarkPercent = lowWatermarkPercent;
+        this.adjustIntervalMillis = adjustIntervalMillis;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getHighWatermarkPercent() {
+        return highWatermarkPercent;
+    }
+
+    public int getLowWatermarkPercent() {
+        return lowWatermarkPercent;
+    }
+
+    public long getAdjustIntervalMillis() {
+        return adjustIntervalMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "SheddingConfig{" +
+                "enabled=" + enabled +
+                ", highWatermarkPercent=" + highWatermarkPercent +
+                ", lowWatermarkPercent=" + lowWatermarkPercent +
+                ", adjustIntervalMillis=" + adjustIntervalMillis +
+                '}';
+    }
+}
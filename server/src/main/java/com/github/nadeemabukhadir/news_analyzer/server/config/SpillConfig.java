@@ -0,0 +1,44 @@
+package com.github.nadeemabukhadir.news_analyzer.server.config;
+
+import com.github.nadeemabukhadir.news_analyzer.server.storage.SpillingNewsItemStorage;
+
+/**
+ * Immutable configuration class for {@link SpillingNewsItemStorage}.
+ * Stores the estimated heap budget of a window (0 for unbounded) and the directory of the spill files.
+ */
+public class SpillConfig {
+
+    public static final SpillConfig DISABLED = new SpillConfig(0, "spill");
+
+    private final long heapBudgetBytes;
+    private final String directory;
+
+    public SpillConfig(long heapBudgetBytes, String directory) {
+
+        if (heapBudgetBytes < 0) {
+            throw new IllegalArgumentException("Heap budget must not be negative: " + heapBudgetBytes);
+        }
+        this.heapBudgetBytes = heapBudgetBytes;
+        this.directory = directory;
+    }
+
+    public boolean isEnabled() {
+        return heapBudgetBytes > 0;
+    }
+
+    public long getHeapBudgetBytes() {
+        return heapBudgetBytes;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public String toString() {
+        return "SpillConfig{" +
+                "heapBudgetBytes=" + heapBudgetBytes +
+                ", directory='" + directory + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.nadeemabukhadir.news_analyzer.server.config;
+
+import com.github.nadeemabukhadir.news_analyzer.server.storage.AggregatingNewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.CompactNewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.SkipListNewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.StripedNewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.task.NewsSummaryReporter;
+
+import java.util.Locale;
+
+import static java.util.Objects.isNull;
+
+/**
+ * How the news items of a report window are kept in memory.
+ * <ul>
+ *   <li>{@link #STRIPED} - {@code NewsItem} objects in fixed per-priority slots of striped lock-free stacks.</li>
+ *   <li>{@link #SKIP_LIST} - {@code NewsItem} objects in a concurrent skip list map of priorities to deques.</li>
+ *   <li>{@link #COMPACT} - headlines dictionary-encoded as word ids, rebuilt only when they are reported.</li>
+ *   <li>{@link #AGGREGATING} - no items at all, only the window count and the candidates of the reported
+ *   top headlines, updated as items arrive.</li>
+ * </ul>
+ */
+public enum StorageMode {
+
+    STRIPED,
+    SKIP_LIST,
+    COMPACT,
+    AGGREGATING;
+
+    /**
+     * Resolves a storage mode from its (case-insensitive) property value.
+     *
+     * @param value the configured value, e.g. "striped", "skip_list", "compact" or "aggregating"
+     * @return the matching mode, or {@link #STRIPED} if the value is missing
+     * @throws IllegalArgumentException if the value does not match any mode
+     */
+    public static StorageMode fromProperty(String value) {
+
+        if (isNull(value) || value.trim().isEmpty()) {
+            return STRIPED;
+        }
+
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown storage mode: " + value, e);
+        }
+    }
+
+    /**
+     * Creates an empty storage of this mode, the one place mapping modes to implementations.
+     */
+    public NewsItemStorage createStorage() {
+
+        switch (this) {
+            case SKIP_LIST:
+                return new SkipListNewsItemStorage();
+            case COMPACT:
+                return new CompactNewsItemStorage();
+            case AGGREGATING:
+                return new AggregatingNewsItemStorage(NewsSummaryReporter.TOP_HEADLINES_MAX_COUNT);
+            default:
+                return new StripedNewsItemStorage();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.nadeemabukhadir.news_analyzer.server.config;
+
+import com.github.nadeemabukhadir.news_analyzer.server.wal.WriteAheadLog;
+
+/**
+ * Immutable configuration class for {@link WriteAheadLog}.
+ * Stores whether the log is used, the directory of its segment files, their size, and when they are forced to disk.
+ */
+public class WalConfig {
+
+    public static final WalConfig DISABLED = new WalConfig(false, "wal", 16 * 1024 * 1024, FsyncPolicy.INTERVAL, 200);
+    public static final int MIN_SEGMENT_SIZE_BYTES = 4096;
+
+    private final boolean enabled;
+    private final String directory;
+    private final int segmentSizeBytes;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalMillis;
+
+    public WalConfig(boolean enabled, String directory, int segmentSizeBytes, FsyncPolicy fsyncPolicy,
+                     long fsyncIntervalMillis) {
+
+        if (segmentSizeBytes < MIN_SEGMENT_SIZE_BYTES) {
+            throw new IllegalArgumentException("WAL segments must be at least " + MIN_SEGMENT_SIZE_BYTES
+                    + " bytes: " + segmentSizeBytes);
+        }
+        if (fsyncPolicy == FsyncPolicy.INTERVAL && fsyncIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Fsync interval must be positive: " + fsyncIntervalMillis);
+        }
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSizeBytes = segmentSizeBytes;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public int getSegmentSizeBytes() {
+        return segmentSizeBytes;
+    }
+
+    public FsyncPolicy getFsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    public long getFsyncIntervalMillis() {
+        return fsyncIntervalMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "WalConfig{" +
+                "enabled=" + enabled +
+                ", directory='" + directory + '\'' +
+                ", segmentSizeBytes=" + segmentSizeBytes +
+                ", fsyncPolicy=" + fsyncPolicy +
+                ", fsyncIntervalMillis=" + fsyncIntervalMillis +
+                '}';
+    }
+}
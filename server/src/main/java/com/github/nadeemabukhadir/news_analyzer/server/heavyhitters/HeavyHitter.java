@@ -0,0 +1,48 @@
+package com.github.nadeemabukhadir.news_analyzer.server.heavyhitters;
+
+/**
+ * Immutable frequent headline signature of a {@link SpaceSavingSketch}, represented by its newest headline.
+ * <p>
+ * The count never underestimates the number of occurrences, and overestimates it by at most the error.
+ */
+public class HeavyHitter {
+
+    private final String headline;
+    private final long count;
+    private final long error;
+
+    public HeavyHitter(String headline, long count, long error) {
+
+        this.headline = headline;
+        this.count = count;
+        this.error = error;
+    }
+
+    public String getHeadline() {
+        return headline;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getError() {
+        return error;
+    }
+
+    /**
+     * @return the number of occurrences the signature had at least
+     */
+    public long getGuaranteedCount() {
+        return count - error;
+    }
+
+    @Override
+    public String toString() {
+        return "HeavyHitter{" +
+                "headline='" + headline + '\'' +
+                ", count=" + count +
+                ", error=" + error +
+                '}';
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.nadeemabukhadir.news_analyzer.server.heavyhitters;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.config.HeavyHitterConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemObserver;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.WindowEpochs;
+import com.github.nadeemabukhadir.news_analyzer.server.task.ReportContributor;
+import com.github.nadeemabukhadir.news_analyzer.server.util.HeadlineSignatureSet;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tracks the most frequent headline signatures (word sets) of every window in fixed memory.
+ * <p>
+ * Each writer thread counts into the {@link SpaceSavingSketch} of its own shard, and the shards are merged into
+ * a window sketch and cleared when the window is drained, so every item is counted in exactly one window.
+ * Observing a storage, the window is drained when the storage is reset and reported by the next summary.
+ * Window sketches can be merged further, e.g. into longer periods.
+ */
+public class HeavyHitterTracker implements NewsItemObserver, ReportContributor {
+
+    private final int capacity;
+    private final int reportedCount;
+    private final Shard[] shards;
+    // Window drained by the last storage reset, until it is reported
+    private final AtomicReference<SpaceSavingSketch> closedWindow = new AtomicReference<>();
+
+    public HeavyHitterTracker(HeavyHitterConfig config) {
+
+        this.capacity = SpaceSavingSketch.capacityOf(config.getEpsilon());
+        this.reportedCount = config.getReportedCount();
+        this.shards = new Shard[WindowEpochs.defaultStripes()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(capacity);
+        }
+    }
+
+    @Override
+    public void add(NewsItem item) {
+
+        if (item == null) {
+            return;
+        }
+        Shard shard = shardOfCurrentThread();
+        synchronized (shard) {
+            shard.offer(item.getHeadline());
+        }
+    }
+
+    @Override
+    public void addAll(Collection<NewsItem> items) {
+
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+        Shard shard = shardOfCurrentThread();
+        synchronized (shard) {
+            for (NewsItem item : items) {
+                if (item != null) {
+                    shard.offer(item.getHeadline());
+                }
+            }
+        }
+    }
+
+    /**
+     * Merges the shards into the sketch of the window that just ended and starts a new one.
+     */
+    public SpaceSavingSketch drainWindow() {
+
+        SpaceSavingSketch window = new SpaceSavingSketch(capacity);
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                window.mergeFrom(shard.sketch);
+                shard.sketch.clear();
+            }
+        }
+        return window;
+    }
+
+    @Override
+    public void onWindowReset() {
+        closedWindow.set(drainWindow());
+    }
+
+    /**
+     * Reports the window drained by the last {@link #onWindowReset()}.
+     */
+    @Override
+    public String drainWindowSummary() {
+
+        SpaceSavingSketch window = closedWindow.getAndSet(null);
+        if (window == null || window.getTotal() == 0) {
+            return null;
+        }
+        List<HeavyHitter> top = window.top(reportedCount);
+        StringBuilder summary = new StringBuilder("Heavy hitters ->");
+        for (int i = 0; i < top.size(); i++) {
+            HeavyHitter hitter = top.get(i);
+            summary.append(i == 0 ? " " : ", ").append(hitter.getHeadline()).append(": ").append(hitter.getCount());
+        }
+        return summary.append(" (counts up to ").append(window.getMaxError()).append(" too high, of ")
+                .append(window.getTotal()).append(" items)").toString();
+    }
+
+    private Shard shardOfCurrentThread() {
+        return shards[WindowEpochs.stripeOfCurrentThread(shards.length)];
+    }
+
+    private static final class Shard {
+
+        private final SpaceSavingSketch sketch;
+        private final HeadlineSignatureSet signatures = new HeadlineSignatureSet();
+
+        private Shard(int capacity) {
+            this.sketch = new SpaceSavingSketch(capacity);
+        }
+
+        private void offer(String headline) {
+
+            signatures.computeSignature(headline);
+            sketch.offer(signatures.getSignatureHigh(), signatures.getSignatureLow(), headline, 1);
+        }
+    }
+}
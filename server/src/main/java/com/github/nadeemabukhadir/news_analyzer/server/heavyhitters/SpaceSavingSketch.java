@@ -0,0 +1,293 @@
+package com.github.nadeemabukhadir.news_analyzer.server.heavyhitters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Space-Saving summary of the most frequent headline signatures, in fixed memory.
+ * <p>
+ * At most {@code capacity} signatures are monitored, each with a count and the maximum overestimation of that
+ * count. An unmonitored signature replaces the one with the lowest count and inherits that count as its error.
+ * Every count is therefore at least the true number of occurrences and at most {@code total / capacity} above it,
+ * and every signature occurring more than {@code total / capacity} times is monitored.
+ * <p>
+ * Counters are plain arrays: an open-addressing index from signature to slot and a min-heap of slots by count,
+ * so counting allocates nothing. Sketches are merged by adding the counts of common signatures and the minimum
+ * count of the other (full) sketch to the others, which keeps the same error bound for the merged total.
+ * Instances are not thread-safe.
+ */
+public class SpaceSavingSketch {
+
+    private final int capacity;
+    private final long[] highs;
+    private final long[] lows;
+    private final long[] counts;
+    private final long[] errors;
+    private final String[] headlines;
+    // Min-heap of slots by count, and the heap position of every slot
+    private final int[] heap;
+    private final int[] heapPositions;
+    // Open-addressing index of slot + 1 by signature, 0 for empty
+    private final int[] table;
+    private final int mask;
+    private int size = 0;
+    private long total = 0;
+
+    public SpaceSavingSketch(int capacity) {
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Heavy hitters capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.highs = new long[capacity];
+        this.lows = new long[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.headlines = new String[capacity];
+        this.heap = new int[capacity];
+        this.heapPositions = new int[capacity];
+        this.table = new int[Integer.highestOneBit(capacity) * 4];
+        this.mask = table.length - 1;
+    }
+
+    /**
+     * @return the capacity keeping counts within {@code epsilon} times the total of their true value
+     */
+    public static int capacityOf(double epsilon) {
+
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("Heavy hitters epsilon must be between 0 and 1 (exclusive): " + epsilon);
+        }
+        return (int) Math.min(Integer.MAX_VALUE / 4, Math.ceil(1 / epsilon));
+    }
+
+    /**
+     * Counts occurrences of a signature, keeping {@code headline} as its newest representative.
+     */
+    public void offer(long high, long low, String headline, long count) {
+
+        total += count;
+        int slot = find(high, low);
+        if (slot >= 0) {
+            counts[slot] += count;
+            headlines[slot] = headline;
+            siftDown(heapPositions[slot]);
+            return;
+        }
+        if (size < capacity) {
+            slot = size++;
+            set(slot, high, low, headline, count, 0);
+            heap[slot] = slot;
+            heapPositions[slot] = slot;
+            siftUp(slot);
+            return;
+        }
+        slot = heap[0];
+        unindex(highs[slot], lows[slot]);
+        long min = counts[slot];
+        set(slot, high, low, headline, min + count, min);
+        siftDown(0);
+    }
+
+    /**
+     * Adds the counts of another sketch, of any capacity, to this one.
+     */
+    public void mergeFrom(SpaceSavingSketch other) {
+
+        if (other.total == 0) {
+            return;
+        }
+        long minThis = size == capacity ? counts[heap[0]] : 0;
+        long minOther = other.size == other.capacity ? other.counts[other.heap[0]] : 0;
+        int merged = 0;
+        int entries = size + other.size;
+        long[] mergedHighs = new long[entries];
+        long[] mergedLows = new long[entries];
+        long[] mergedCounts = new long[entries];
+        long[] mergedErrors = new long[entries];
+        String[] mergedHeadlines = new String[entries];
+        for (int slot = 0; slot < size; slot++) {
+            int otherSlot = other.find(highs[slot], lows[slot]);
+            mergedHighs[merged] = highs[slot];
+            mergedLows[merged] = lows[slot];
+            if (otherSlot >= 0) {
+                mergedCounts[merged] = counts[slot] + other.counts[otherSlot];
+                mergedErrors[merged] = errors[slot] + other.errors[otherSlot];
+                mergedHeadlines[merged] = other.headlines[otherSlot];
+            } else {
+                mergedCounts[merged] = counts[slot] + minOther;
+                mergedErrors[merged] = errors[slot] + minOther;
+                mergedHeadlines[merged] = headlines[slot];
+            }
+            merged++;
+        }
+        for (int slot = 0; slot < other.size; slot++) {
+            if (find(other.highs[slot], other.lows[slot]) < 0) {
+                mergedHighs[merged] = other.highs[slot];
+                mergedLows[merged] = other.lows[slot];
+                mergedCounts[merged] = other.counts[slot] + minThis;
+                mergedErrors[merged] = other.errors[slot] + minThis;
+                mergedHeadlines[merged] = other.headlines[slot];
+                merged++;
+            }
+        }
+
+        long mergedTotal = total + other.total;
+        clear();
+        total = mergedTotal;
+        Integer[] order = byDescendingCount(mergedCounts, merged);
+        for (int i = 0; i < Math.min(capacity, merged); i++) {
+            int entry = order[i];
+            int slot = size++;
+            set(slot, mergedHighs[entry], mergedLows[entry], mergedHeadlines[entry], mergedCounts[entry],
+                    mergedErrors[entry]);
+            heap[slot] = slot;
+            heapPositions[slot] = slot;
+            siftUp(slot);
+        }
+    }
+
+    /**
+     * @return the most frequent signatures, by descending count
+     */
+    public List<HeavyHitter> top(int n) {
+
+        Integer[] order = byDescendingCount(counts, size);
+        List<HeavyHitter> top = new ArrayList<>(Math.min(n, size));
+        for (int i = 0; i < Math.min(n, size); i++) {
+            int slot = order[i];
+            top.add(new HeavyHitter(headlines[slot], counts[slot], errors[slot]));
+        }
+        return top;
+    }
+
+    /**
+     * @return the number of occurrences counted, exactly
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the maximum overestimation of any count
+     */
+    public long getMaxError() {
+        return total / capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void clear() {
+
+        Arrays.fill(table, 0);
+        Arrays.fill(headlines, 0, size, null);
+        size = 0;
+        total = 0;
+    }
+
+    private void set(int slot, long high, long low, String headline, long count, long error) {
+
+        highs[slot] = high;
+        lows[slot] = low;
+        headlines[slot] = headline;
+        counts[slot] = count;
+        errors[slot] = error;
+        int index = indexOf(high, low);
+        while (table[index] != 0) {
+            index = (index + 1) & mask;
+        }
+        table[index] = slot + 1;
+    }
+
+    private int find(long high, long low) {
+
+        for (int index = indexOf(high, low); table[index] != 0; index = (index + 1) & mask) {
+            int slot = table[index] - 1;
+            if (highs[slot] == high && lows[slot] == low) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes a signature from the index, shifting back the entries of its probe sequence.
+     */
+    private void unindex(long high, long low) {
+
+        int index = indexOf(high, low);
+        while (highs[table[index] - 1] != high || lows[table[index] - 1] != low) {
+            index = (index + 1) & mask;
+        }
+        int hole = index;
+        for (index = (hole + 1) & mask; table[index] != 0; index = (index + 1) & mask) {
+            int slot = table[index] - 1;
+            int home = indexOf(highs[slot], lows[slot]);
+            // Move the entry into the hole unless its home lies cyclically in (hole, index]
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                table[hole] = table[index];
+                hole = index;
+            }
+        }
+        table[hole] = 0;
+    }
+
+    private int indexOf(long high, long low) {
+
+        long hash = (high ^ Long.rotateLeft(low, 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 40) & mask;
+    }
+
+    private void siftUp(int position) {
+
+        int slot = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (counts[heap[parent]] <= counts[slot]) {
+                break;
+            }
+            place(heap[parent], position);
+            position = parent;
+        }
+        place(slot, position);
+    }
+
+    private void siftDown(int position) {
+
+        int slot = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && counts[heap[child + 1]] < counts[heap[child]]) {
+                child++;
+            }
+            if (counts[slot] <= counts[heap[child]]) {
+                break;
+            }
+            place(heap[child], position);
+            position = child;
+        }
+        place(slot, position);
+    }
+
+    private void place(int slot, int position) {
+
+        heap[position] = slot;
+        heapPositions[slot] = position;
+    }
+
+    private static Integer[] byDescendingCount(long[] counts, int length) {
+
+        Integer[] order = new Integer[length];
+        for (int i = 0; i < length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(counts[b], counts[a]));
+        return order;
+    }
+}
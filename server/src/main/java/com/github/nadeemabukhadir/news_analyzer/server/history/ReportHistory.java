@@ -0,0 +1,345 @@
+package com.github.nadeemabukhadir.news_analyzer.server.history;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.dto.Priorities;
+import com.github.nadeemabukhadir.news_analyzer.server.task.NewsSummaryReporter;
+import com.github.nadeemabukhadir.news_analyzer.server.task.WindowReport;
+import com.github.nadeemabukhadir.news_analyzer.server.task.WindowReportListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Append-only history of the {@link WindowReport}s, with a memory-mapped time index.
+ * <p>
+ * Reports are appended to {@value #DATA_FILE} as
+ * {@code [int length][long start][long end][long total][long count x 10][byte headlines]} followed by
+ * {@code [byte priority][int length][UTF-8 headline]} per top headline (times in epoch milliseconds).
+ * {@value #INDEX_FILE} is a fixed-size file mapped into memory: a {@code [int magic][int version][long count]} header
+ * followed by one {@code [long end][long offset]} entry per report, in time order. A report is only visible once its
+ * index entry and then the count are written, so a crash never exposes a partial report.
+ * <p>
+ * A time-range query binary searches the index for the first report ending in the range and then reads the
+ * following reports sequentially, so its cost depends on the length of the range and not of the history.
+ */
+public class ReportHistory implements WindowReportListener, Closeable {
+
+    public static final String DATA_FILE = "reports.dat";
+    public static final String INDEX_FILE = "reports.idx";
+    private static final Logger logger = LoggerFactory.getLogger(ReportHistory.class);
+    private static final int MAGIC = 0x4E524849; // "NRHI"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int ENTRY_SIZE = 16;
+    private static final int PRIORITIES_COUNT = Priorities.COUNT;
+    private final Path dataPath;
+    private final boolean readOnly;
+    private final FileChannel data;
+    private final FileChannel indexChannel;
+    private final MappedByteBuffer index;
+    private final int capacity;
+    private long dataEnd;
+    private boolean fullLogged = false;
+
+    private ReportHistory(Path directory, int capacity, boolean readOnly) throws IOException {
+
+        this.dataPath = directory.resolve(DATA_FILE);
+        this.readOnly = readOnly;
+        Path indexPath = directory.resolve(INDEX_FILE);
+        if (readOnly) {
+            this.data = FileChannel.open(dataPath, StandardOpenOption.READ);
+            this.indexChannel = FileChannel.open(indexPath, StandardOpenOption.READ);
+            this.index = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, indexChannel.size());
+        } else {
+            Files.createDirectories(directory);
+            this.data = FileChannel.open(dataPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.indexChannel = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            long size = Math.max(indexChannel.size(), HEADER_SIZE + (long) capacity * ENTRY_SIZE);
+            this.index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (index.getInt(0) == 0) {
+                index.putInt(0, MAGIC).putInt(4, VERSION).putLong(8, 0);
+            }
+        }
+        if (index.capacity() < HEADER_SIZE || index.getInt(0) != MAGIC || index.getInt(4) != VERSION) {
+            close();
+            throw new IOException("Not a report history index: " + indexPath);
+        }
+        this.capacity = (index.capacity() - HEADER_SIZE) / ENTRY_SIZE;
+        this.dataEnd = endOfLastReport();
+        if (!readOnly) {
+            data.truncate(dataEnd); // Drops a report whose index entry was not written before a crash
+        }
+    }
+
+    /**
+     * Opens the history in the directory for appending, creating it if needed.
+     *
+     * @param capacity maximum number of reports of a new index, e.g. 4 million: about 15 months of 10-second windows
+     */
+    public static ReportHistory open(Path directory, int capacity) throws IOException {
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException("History capacity must be positive: " + capacity);
+        }
+        return new ReportHistory(directory, capacity, false);
+    }
+
+    /**
+     * Opens an existing history for queries only, e.g. while a server is appending to it.
+     */
+    public static ReportHistory openReadOnly(Path directory) throws IOException {
+        return new ReportHistory(directory, 0, true);
+    }
+
+    @Override
+    public void onReport(WindowReport report) {
+
+        try {
+            append(report);
+        } catch (IOException e) {
+            logger.error("Failed to append the report of window ending {} to the history", report.getEnd(), e);
+        }
+    }
+
+    /**
+     * Appends a report; its end must not be before the end of the previous one, or it is indexed at that end.
+     */
+    public synchronized void append(WindowReport report) throws IOException {
+
+        if (readOnly) {
+            throw new IllegalStateException("Report history opened read-only");
+        }
+        long count = count();
+        if (count == capacity) {
+            if (!fullLogged) {
+                logger.error("Report history index is full ({} reports), new reports are not recorded", capacity);
+                fullLogged = true;
+            }
+            return;
+        }
+
+        ByteBuffer record = ByteBuffer.wrap(encode(report));
+        long offset = dataEnd;
+        while (record.hasRemaining()) {
+            data.write(record, offset + record.position());
+        }
+        data.force(false);
+        dataEnd = offset + record.capacity();
+
+        long end = report.getEnd().toEpochMilli();
+        if (count > 0) {
+            end = Math.max(end, endOf(count - 1));
+        }
+        int entry = HEADER_SIZE + (int) count * ENTRY_SIZE;
+        index.putLong(entry, end).putLong(entry + 8, offset);
+        index.putLong(8, count + 1);
+        index.force();
+    }
+
+    /**
+     * @return the number of recorded reports
+     */
+    public long count() {
+        return index.getLong(8);
+    }
+
+    /**
+     * Aggregates the reports of the windows ending between {@code from} and {@code to} (both inclusive): the total
+     * and per-priority counts, and the top unique headlines the combined windows would have reported.
+     *
+     * @return the aggregate, from the start of its first window to the end of its last one,
+     * or an empty one spanning the query if no window ended in the range
+     */
+    public WindowReport query(Instant from, Instant to, int topK) throws IOException {
+
+        long fromMillis = from.toEpochMilli();
+        long toMillis = to.toEpochMilli();
+        long count = count();
+        long first = firstEndingAtOrAfter(fromMillis, count);
+        HeadlineMerger merger = new HeadlineMerger(topK);
+        long total = 0;
+        long[] priorityCounts = new long[PRIORITIES_COUNT];
+        Instant start = from;
+        Instant end = to;
+        if (first < count && endOf(first) <= toMillis) {
+            try (FileChannel reader = FileChannel.open(dataPath, StandardOpenOption.READ)) {
+                reader.position(offsetOf(first));
+                DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(reader), 64 * 1024));
+                for (long i = first; i < count && endOf(i) <= toMillis; i++) {
+                    in.readInt(); // Record length
+                    long windowStart = in.readLong();
+                    long windowEnd = in.readLong();
+                    if (i == first) {
+                        start = Instant.ofEpochMilli(windowStart);
+                    }
+                    end = Instant.ofEpochMilli(windowEnd);
+                    total += in.readLong();
+                    for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+                        priorityCounts[priority] += in.readLong();
+                    }
+                    int headlinesCount = in.readUnsignedByte();
+                    List<NewsItem> headlines = new ArrayList<>(headlinesCount);
+                    for (int j = 0; j < headlinesCount; j++) {
+                        int priority = in.readUnsignedByte();
+                        byte[] headline = new byte[in.readInt()];
+                        in.readFully(headline);
+                        headlines.add(new NewsItem(new String(headline, UTF_8), priority));
+                    }
+                    merger.addWindow(headlines);
+                }
+            }
+        }
+        return new WindowReport(start, end, total, priorityCounts, merger.topHeadlines());
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        try {
+            data.close();
+        } finally {
+            indexChannel.close();
+        }
+    }
+
+    private long firstEndingAtOrAfter(long millis, long count) {
+
+        long low = 0;
+        long high = count;
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (endOf(middle) < millis) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long endOf(long entry) {
+        return index.getLong(HEADER_SIZE + (int) entry * ENTRY_SIZE);
+    }
+
+    private long offsetOf(long entry) {
+        return index.getLong(HEADER_SIZE + (int) entry * ENTRY_SIZE + 8);
+    }
+
+    private long endOfLastReport() throws IOException {
+
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        long offset = offsetOf(count - 1);
+        ByteBuffer length = ByteBuffer.allocate(4);
+        while (length.hasRemaining()) {
+            if (data.read(length, offset + length.position()) < 0) {
+                throw new IOException("Report history data is shorter than its index: " + dataPath);
+            }
+        }
+        return offset + length.getInt(0);
+    }
+
+    private static byte[] encode(WindowReport report) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0); // Length, set below
+            out.writeLong(report.getStart().toEpochMilli());
+            out.writeLong(report.getEnd().toEpochMilli());
+            out.writeLong(report.getTotalNewsCount());
+            for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+                out.writeLong(report.getPriorityCount(priority));
+            }
+            out.writeByte(report.getTopHeadlines().size());
+            for (NewsItem item : report.getTopHeadlines()) {
+                byte[] headline = item.getHeadline().getBytes(UTF_8);
+                out.writeByte(item.getPriority());
+                out.writeInt(headline.length);
+                out.write(headline);
+            }
+        }
+        byte[] record = bytes.toByteArray();
+        ByteBuffer.wrap(record).putInt(0, record.length);
+        return record;
+    }
+
+    /**
+     * Merges the top headlines of consecutive windows into the top headlines of the combined window: by descending
+     * priority, newer windows first, unique word sets. As in a single window, a priority can only contribute one of
+     * its {@code 2 * topK - 1} most recent word sets, so only those are kept.
+     */
+    private static final class HeadlineMerger {
+
+        private final int topK;
+        private final List<LinkedHashMap<Set<String>, NewsItem>> newestLast = new ArrayList<>(PRIORITIES_COUNT);
+
+        private HeadlineMerger(int topK) {
+
+            this.topK = topK;
+            for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+                newestLast.add(new LinkedHashMap<>());
+            }
+        }
+
+        /**
+         * @param headlines top headlines of the next window, newest first within a priority
+         */
+        private void addWindow(List<NewsItem> headlines) {
+
+            for (int i = headlines.size() - 1; i >= 0; i--) {
+                NewsItem item = headlines.get(i);
+                Map<Set<String>, NewsItem> priorityItems = newestLast.get(item.getPriority());
+                Set<String> signature = NewsSummaryReporter.buildHeadlineSignature(item.getHeadline());
+                priorityItems.remove(signature);
+                priorityItems.put(signature, item);
+                if (priorityItems.size() > 2 * topK - 1) {
+                    Iterator<NewsItem> oldest = priorityItems.values().iterator();
+                    oldest.next();
+                    oldest.remove();
+                }
+            }
+        }
+
+        private List<NewsItem> topHeadlines() {
+
+            List<NewsItem> top = new ArrayList<>(topK);
+            Set<Set<String>> seen = new HashSet<>();
+            for (int priority = PRIORITIES_COUNT - 1; priority >= 0 && top.size() < topK; priority--) {
+                List<Map.Entry<Set<String>, NewsItem>> entries = new ArrayList<>(newestLast.get(priority).entrySet());
+                for (int i = entries.size() - 1; i >= 0 && top.size() < topK; i--) {
+                    if (seen.add(entries.get(i).getKey())) {
+                        top.add(entries.get(i).getValue());
+                    }
+                }
+            }
+            return top;
+        }
+    }
+}
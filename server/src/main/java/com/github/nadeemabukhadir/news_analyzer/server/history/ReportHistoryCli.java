@@ -0,0 +1,73 @@
+package com.github.nadeemabukhadir.news_analyzer.server.history;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.dto.Priorities;
+import com.github.nadeemabukhadir.news_analyzer.server.task.NewsSummaryReporter;
+import com.github.nadeemabukhadir.news_analyzer.server.task.WindowReport;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Prints the top headlines and counts of a time range of a {@link ReportHistory}, read-only, so it can run next to
+ * the server appending to it:
+ * <pre>
+ * java -cp app.jar com.github.nadeemabukhadir.news_analyzer.server.history.ReportHistoryCli \
+ *     history 2025-01-01T00:00:00Z 2025-01-31T23:59:59Z [topK]
+ * </pre>
+ */
+public final class ReportHistoryCli {
+
+    private ReportHistoryCli() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /**
+     * @return the process exit code
+     */
+    static int run(String[] args, PrintStream out, PrintStream err) {
+
+        if (args.length < 3 || args.length > 4) {
+            err.println("Usage: ReportHistoryCli <history directory> <from ISO-8601 instant> <to ISO-8601 instant> [topK]");
+            return 2;
+        }
+
+        Path directory = Paths.get(args[0]);
+        if (!Files.exists(directory.resolve(ReportHistory.INDEX_FILE))) {
+            err.println("No report history in " + directory.toAbsolutePath());
+            return 1;
+        }
+        try (ReportHistory history = ReportHistory.openReadOnly(directory)) {
+            int topK = args.length == 4 ? Integer.parseInt(args[3]) : NewsSummaryReporter.TOP_HEADLINES_MAX_COUNT;
+            long start = System.nanoTime();
+            WindowReport report = history.query(Instant.parse(args[1]), Instant.parse(args[2]), topK);
+            long micros = (System.nanoTime() - start) / 1_000;
+
+            out.printf("Windows [%s - %s] -> Total News: %d (%d us)%n", report.getStart(), report.getEnd(),
+                    report.getTotalNewsCount(), micros);
+            for (int priority = Priorities.MAX; priority >= 0; priority--) {
+                if (report.getPriorityCount(priority) > 0) {
+                    out.printf("Priority %d: %d%n", priority, report.getPriorityCount(priority));
+                }
+            }
+            for (NewsItem item : report.getTopHeadlines()) {
+                out.printf("Priority: %d, Headline: %s%n", item.getPriority(), item.getHeadline());
+            }
+            return 0;
+        } catch (DateTimeParseException | NumberFormatException e) {
+            err.println("Invalid argument: " + e.getMessage());
+            return 2;
+        } catch (IOException e) {
+            err.println("Failed to read the report history: " + e.getMessage());
+            return 1;
+        }
+    }
+}
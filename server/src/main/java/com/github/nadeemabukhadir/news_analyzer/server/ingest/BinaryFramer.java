@@ -0,0 +1,92 @@
+package com.github.nadeemabukhadir.news_analyzer.server.ingest;
+
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.BinaryFrame;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Splits a {@link com.github.nadeemabukhadir.news_analyzer.common.protocol.WireFormat#BINARY} stream into
+ * length-prefixed frames and passes every frame body to the {@link MessageSink}.
+ * <p>
+ * Frames fully contained in a read are passed as slices of the caller's buffer; only frames split
+ * across reads are copied into a reusable pending buffer.
+ */
+public class BinaryFramer implements MessageFramer {
+
+    private static final int INITIAL_PENDING_CAPACITY = 256;
+    private final MessageSink sink;
+    private byte[] pending = new byte[INITIAL_PENDING_CAPACITY];
+    private int pendingLength = 0;
+
+    public BinaryFramer(MessageSink sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public void feed(byte[] data, int offset, int length) throws IOException {
+
+        if (pendingLength > 0) {
+            append(data, offset, length);
+            int consumed = drain(pending, 0, pendingLength);
+            pendingLength -= consumed;
+            System.arraycopy(pending, consumed, pending, 0, pendingLength);
+            return;
+        }
+
+        int consumed = drain(data, offset, offset + length);
+        append(data, offset + consumed, length - consumed);
+    }
+
+    /**
+     * Processes every complete frame in {@code buffer[from, to)}.
+     *
+     * @return the number of bytes consumed
+     */
+    private int drain(byte[] buffer, int from, int to) throws IOException {
+
+        int position = from;
+        while (position < to) {
+            int bodyLength = 0;
+            int shift = 0;
+            int cursor = position;
+            boolean complete = false;
+            while (cursor < to) {
+                byte b = buffer[cursor++];
+                bodyLength |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    complete = true;
+                    break;
+                }
+                shift += 7;
+                if (cursor - position >= BinaryFrame.MAX_VARINT_LENGTH) {
+                    throw new IOException("Malformed frame length");
+                }
+            }
+            if (!complete) {
+                break;
+            }
+            if (bodyLength > BinaryFrame.MAX_BODY_LENGTH) {
+                throw new IOException("Frame too large: " + bodyLength + " bytes");
+            }
+            if (to - cursor < bodyLength) {
+                break;
+            }
+            sink.processFrame(buffer, cursor, cursor + bodyLength);
+            position = cursor + bodyLength;
+        }
+        return position - from;
+    }
+
+    private void append(byte[] data, int from, int length) {
+
+        if (length == 0) {
+            return;
+        }
+        if (pendingLength + length > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + length));
+        }
+        System.arraycopy(data, from, pending, pendingLength, length);
+        pendingLength += length;
+    }
+}
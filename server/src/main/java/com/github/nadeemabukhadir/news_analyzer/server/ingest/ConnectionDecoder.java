@@ -0,0 +1,94 @@
+package com.github.nadeemabukhadir.news_analyzer.server.ingest;
+
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.Handshake;
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.WireFormat;
+
+import java.io.IOException;
+
+/**
+ * Decodes the byte stream of one client connection.
+ * <p>
+ * Looks at the very first byte to tell text clients from clients opening with a {@link Handshake};
+ * after a handshake the accepted {@link WireFormat} is echoed back and all following bytes go to the matching
+ * {@link MessageFramer}. Text clients never send a handshake and keep working unchanged.
+ */
+public class ConnectionDecoder {
+
+    /**
+     * Sends the handshake reply back to the client.
+     */
+    @FunctionalInterface
+    public interface HandshakeResponder {
+
+        void reply(byte[] response) throws IOException;
+    }
+
+    private final MessageSink sink;
+    private final HandshakeResponder responder;
+    private final byte[] hello = new byte[Handshake.LENGTH];
+    private int helloLength = 0;
+    private MessageFramer framer;
+    private WireFormat format;
+
+    public ConnectionDecoder(MessageSink sink, HandshakeResponder responder) {
+
+        this.sink = sink;
+        this.responder = responder;
+    }
+
+    /**
+     * Feeds the next chunk read from the connection.
+     * All messages completed by the chunk are passed to the {@link MessageSink} and flushed before returning.
+     *
+     * @throws IOException if the handshake reply cannot be sent or the stream is malformed
+     */
+    public void feed(byte[] data, int offset, int length) throws IOException {
+
+        if (framer == null && length > 0) {
+            int consumed = negotiate(data, offset, length);
+            offset += consumed;
+            length -= consumed;
+        }
+        if (framer != null && length > 0) {
+            try {
+                framer.feed(data, offset, length);
+            } finally {
+                sink.flush();
+            }
+        }
+    }
+
+    /**
+     * @return the negotiated wire format, or null while the handshake is still incomplete
+     */
+    public WireFormat getFormat() {
+        return format;
+    }
+
+    private int negotiate(byte[] data, int offset, int length) throws IOException {
+
+        if (helloLength == 0 && data[offset] != Handshake.MARKER) {
+            select(WireFormat.TEXT);
+            return 0;
+        }
+
+        int consumed = Math.min(Handshake.LENGTH - helloLength, length);
+        System.arraycopy(data, offset, hello, helloLength, consumed);
+        helloLength += consumed;
+        if (helloLength < Handshake.LENGTH) {
+            return consumed;
+        }
+
+        WireFormat requested = Handshake.decode(hello, 0);
+        WireFormat accepted = requested == null ? WireFormat.TEXT : requested;
+        responder.reply(Handshake.encode(accepted));
+        select(accepted);
+        return consumed;
+    }
+
+    private void select(WireFormat accepted) {
+
+        format = accepted;
+        framer = accepted == WireFormat.BINARY ? new BinaryFramer(sink) : new LineFramer(sink);
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.nadeemabukhadir.news_analyzer.server.ingest;
+
+import com.github.nadeemabukhadir.news_analyzer.common.metrics.Counter;
+import com.github.nadeemabukhadir.news_analyzer.common.metrics.MetricsRegistry;
+
+/**
+ * Ingest counters of the default {@link MetricsRegistry}, shared by every connection handling mode.
+ * <p>
+ * Messages and bytes are counted once per read from a connection, invalid messages and positive items as they are
+ * found. Counters are striped, so the per-item increments stay cheap under many connections.
+ */
+public final class IngestMetrics {
+
+    public static final Counter MESSAGES = MetricsRegistry.getDefault().counter("news_messages_total",
+            "News messages (text lines or binary items, valid or not) received.");
+    public static final Counter BYTES = MetricsRegistry.getDefault().counter("news_received_bytes_total",
+            "Bytes read from client connections.");
+    public static final Counter INVALID_MESSAGES = MetricsRegistry.getDefault().counter("news_invalid_messages_total",
+            "News messages or frames rejected as malformed.");
+    public static final Counter POSITIVE_ITEMS = MetricsRegistry.getDefault().counter("news_positive_items_total",
+            "News items classified as positive and stored.");
+
+    static {
+        MetricsRegistry.getDefault().gauge("news_positive_ratio", "Share of the received messages that were positive.",
+                () -> {
+                    long messages = MESSAGES.get();
+                    return messages == 0 ? 0 : (double) POSITIVE_ITEMS.get() / messages;
+                });
+    }
+
+    private IngestMetrics() {
+    }
+
+    /**
+     * Counts one read from a connection and the messages it completed.
+     */
+    public static void recordRead(int bytes, int messages) {
+
+        BYTES.add(bytes);
+        MESSAGES.add(messages);
+    }
+}
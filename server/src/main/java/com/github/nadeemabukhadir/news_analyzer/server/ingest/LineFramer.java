@@ -0,0 +1,64 @@
+package com.github.nadeemabukhadir.news_analyzer.server.ingest;
+
+import java.util.Arrays;
+
+/**
+ * Splits a raw byte stream into newline-delimited messages without decoding it.
+ * <p>
+ * Complete lines are passed to the {@link MessageSink} as slices of the caller's read buffer;
+ * only a line split across two reads is copied into a reusable pending buffer.
+ * Instances keep per-connection state and are not thread-safe.
+ */
+public class LineFramer implements MessageFramer {
+
+    private static final int INITIAL_PENDING_CAPACITY = 256;
+    private final MessageSink sink;
+    private byte[] pending = new byte[INITIAL_PENDING_CAPACITY];
+    private int pendingLength = 0;
+
+    public LineFramer(MessageSink sink) {
+        this.sink = sink;
+    }
+
+    @Override
+    public void feed(byte[] data, int offset, int length) {
+
+        int end = offset + length;
+        int lineStart = offset;
+        for (int i = offset; i < end; i++) {
+            if (data[i] != '\n') {
+                continue;
+            }
+            if (pendingLength == 0) {
+                emit(data, lineStart, i);
+            } else {
+                append(data, lineStart, i);
+                emit(pending, 0, pendingLength);
+                pendingLength = 0;
+            }
+            lineStart = i + 1;
+        }
+        append(data, lineStart, end);
+    }
+
+    private void emit(byte[] data, int from, int to) {
+
+        if (to > from && data[to - 1] == '\r') {
+            to--; // Same line terminator handling as BufferedReader.readLine()
+        }
+        sink.process(data, from, to);
+    }
+
+    private void append(byte[] data, int from, int to) {
+
+        int length = to - from;
+        if (length == 0) {
+            return;
+        }
+        if (pendingLength + length > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + length));
+        }
+        System.arraycopy(data, from, pending, pendingLength, length);
+        pendingLength += length;
+    }
+}
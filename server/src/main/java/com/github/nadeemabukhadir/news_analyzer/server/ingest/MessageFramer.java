@@ -0,0 +1,17 @@
+package com.github.nadeemabukhadir.news_analyzer.server.ingest;
+
+import java.io.IOException;
+
+/**
+ * Splits the raw bytes of one connection into messages for the {@link MessageSink}.
+ * Implementations keep per-connection state and are not thread-safe.
+ */
+public interface MessageFramer {
+
+    /**
+     * Feeds the next chunk read from the connection.
+     *
+     * @throws IOException if the stream violates the wire format and the connection should be dropped
+     */
+    void feed(byte[] data, int offset, int length) throws IOException;
+}
@@ -0,0 +1,41 @@
+package com.github.nadeemabukhadir.news_analyzer.server.ingest;
+
+/**
+ * Receives the messages cut out of a connection's byte stream by a {@link MessageFramer}.
+ * <p>
+ * Either processes them inline ({@link NewsMessageProcessor}) or hands them over to other threads
+ * (e.g. the ingest pipeline). Message slices are only valid for the duration of the call.
+ * Implementations are confined to a single thread (one per connection or event loop).
+ */
+public interface MessageSink {
+
+    /**
+     * Accepts one text message, line terminator excluded.
+     */
+    void process(byte[] buffer, int from, int to);
+
+    /**
+     * Accepts one binary frame body, length prefix excluded.
+     */
+    void processFrame(byte[] buffer, int from, int to);
+
+    /**
+     * Called after every chunk read from the connection, once all messages it completed were passed in.
+     */
+    void flush();
+
+    /**
+     * Called after every read from the connection.
+     * A read that fills the whole read buffer means more data was already waiting in the socket.
+     *
+     * @param bytes    number of bytes read
+     * @param capacity size of the read buffer
+     */
+    default void onRead(int bytes, int capacity) {
+    }
+
+    /**
+     * Returns the number of messages (text lines or binary items, valid or not) accepted since the last call.
+     */
+    int takeMessagesCount();
+}
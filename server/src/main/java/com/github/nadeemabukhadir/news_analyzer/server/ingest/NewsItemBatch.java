@@ -0,0 +1,73 @@
+package com.github.nadeemabukhadir.news_analyzer.server.ingest;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.dto.Priorities;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accepted items waiting to be published to the {@link NewsItemStorage}, grouped per priority
+ * so every flush is one {@link NewsItemStorage#addAll} per priority.
+ * Not thread-safe.
+ */
+public class NewsItemBatch {
+
+    public static final int MAX_SIZE = 256;
+    private static final int PRIORITIES_COUNT = Priorities.COUNT;
+    private final List<List<NewsItem>> itemsByPriority = new ArrayList<>(PRIORITIES_COUNT);
+    private int size = 0;
+
+    public NewsItemBatch() {
+
+        for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+            itemsByPriority.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * @return true once the batch holds {@value #MAX_SIZE} items and should be flushed
+     */
+    public boolean add(NewsItem newsItem) {
+
+        itemsByPriority.get(newsItem.getPriority()).add(newsItem);
+        return ++size >= MAX_SIZE;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Hands every priority group over to the storage and empties the batch. A group the storage fails to take
+     * (e.g. an {@link java.io.UncheckedIOException} of a full disk) is dropped, the other groups are still stored,
+     * and the first failure is rethrown, so a batch shared by many connections never retries a failing group.
+     */
+    public void flushTo(NewsItemStorage storage) {
+
+        if (size == 0) {
+            return;
+        }
+        RuntimeException failure = null;
+        for (List<NewsItem> group : itemsByPriority) {
+            if (!group.isEmpty()) {
+                try {
+                    storage.addAll(group);
+                } catch (RuntimeException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                } finally {
+                    group.clear();
+                }
+            }
+        }
+        size = 0;
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
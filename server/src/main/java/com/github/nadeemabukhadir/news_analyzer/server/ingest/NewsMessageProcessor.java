@@ -0,0 +1,222 @@
+package com.github.nadeemabukhadir.news_analyzer.server.ingest;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.dto.Priorities;
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.BinaryFrame;
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.HeadlineVocabulary;
+import com.github.nadeemabukhadir.news_analyzer.server.sentiment.DefaultSentimentClassifier;
+import com.github.nadeemabukhadir.news_analyzer.server.sentiment.SentimentClassifier;
+import com.github.nadeemabukhadir.news_analyzer.server.sentiment.WordSentimentClassifier;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Turns raw news messages into stored {@link NewsItem}s.
+ * Shared by every connection handling mode so parsing, filtering and storing stay identical.
+ * <p>
+ * Messages (text lines as well as binary frames) are parsed and classified directly on their bytes;
+ * a {@link String} headline is only created for items that are actually stored.
+ * Accepted items are collected per priority and handed to {@link NewsItemStorage#addAll} in batches
+ * on {@link #flush()} (or once {@value NewsItemBatch#MAX_SIZE} items are pending).
+ * Instances hold a reusable parser and batch, and must be confined to a single thread (one per connection or event loop).
+ */
+public class NewsMessageProcessor implements MessageSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(NewsMessageProcessor.class);
+    private final NewsItemStorage storage;
+    private final TextMessageParser parser = new TextMessageParser();
+    private final HeadlineVocabulary vocabulary;
+    private final SentimentClassifier classifier;
+    // Only set for word based classifiers, whose verdict can be computed from per-word-id results.
+    private final WordSentimentClassifier wordClassifier;
+    private final boolean[] positiveWordIds;
+    private final NewsItemBatch batch = new NewsItemBatch();
+    private int messagesCount = 0;
+
+    public NewsMessageProcessor(NewsItemStorage storage) {
+        this(storage, DefaultSentimentClassifier.INSTANCE);
+    }
+
+    public NewsMessageProcessor(NewsItemStorage storage, SentimentClassifier classifier) {
+
+        this.storage = storage;
+        this.vocabulary = HeadlineVocabulary.DEFAULT;
+        this.classifier = classifier;
+        this.wordClassifier = classifier instanceof WordSentimentClassifier ? (WordSentimentClassifier) classifier : null;
+        this.positiveWordIds = new boolean[vocabulary.size()];
+        for (int id = 0; wordClassifier != null && id < vocabulary.size(); id++) {
+            byte[] word = vocabulary.wordUtf8Of(id);
+            positiveWordIds[id] = wordClassifier.isPositiveWord(word, 0, word.length);
+        }
+    }
+
+    /**
+     * Processes an incoming news message.
+     * Parses it, validates it, and queues it for storage as a NewsItem if positive.
+     *
+     * @param buffer buffer holding the raw message received from the client
+     * @param from   index of the first message byte
+     * @param to     index after the last message byte (line terminator excluded)
+     */
+    @Override
+    public void process(byte[] buffer, int from, int to) {
+
+        messagesCount++;
+        if (!parser.parse(buffer, from, to)) {
+            IngestMetrics.INVALID_MESSAGES.increment();
+            logger.warn("Invalid message received: '{}'. Reason: {}", new String(buffer, from, to - from, UTF_8),
+                    parser.getError());
+            return;
+        }
+
+        int headlineFrom = parser.getHeadlineFrom();
+        int headlineTo = parser.getHeadlineTo();
+        if (classifier.isPositive(buffer, headlineFrom, headlineTo)) {
+            String headline = new String(buffer, headlineFrom, headlineTo - headlineFrom, UTF_8);
+            store(new NewsItem(headline, parser.getPriority()));
+        }
+    }
+
+    /**
+     * Processes an incoming binary frame body (length prefix excluded), either a single item or a batch.
+     * With a word based {@link SentimentClassifier}, words are classified by their vocabulary id, so known words
+     * are never decoded for rejected items.
+     *
+     * @param buffer buffer holding the frame received from the client
+     * @param from   index of the frame tag byte
+     * @param to     index after the last frame byte
+     */
+    @Override
+    public void processFrame(byte[] buffer, int from, int to) {
+
+        int type = to > from ? BinaryFrame.typeOf(buffer[from]) : -1;
+        if (type == BinaryFrame.TYPE_ITEM) {
+            messagesCount++;
+            processBinaryItem(buffer, BinaryFrame.priorityOf(buffer[from]), from + 1, to, Integer.MAX_VALUE);
+        } else if (type == BinaryFrame.TYPE_BATCH) {
+            int position = from + 1;
+            while (position > 0 && position < to) {
+                if (to - position < 2) {
+                    IngestMetrics.INVALID_MESSAGES.increment();
+                    logger.warn("Invalid frame received. Reason: Truncated batch item");
+                    return;
+                }
+                int priority = buffer[position] & 0xFF;
+                int wordsCount = buffer[position + 1] & 0xFF;
+                messagesCount++;
+                position = processBinaryItem(buffer, priority, position + 2, to, wordsCount);
+            }
+        } else {
+            IngestMetrics.INVALID_MESSAGES.increment();
+            logger.warn("Invalid frame received. Reason: Invalid frame type");
+        }
+    }
+
+    /**
+     * Publishes all pending accepted items to the storage, one {@link NewsItemStorage#addAll} per priority.
+     */
+    @Override
+    public void flush() {
+        batch.flushTo(storage);
+    }
+
+    @Override
+    public int takeMessagesCount() {
+
+        int count = messagesCount;
+        messagesCount = 0;
+        return count;
+    }
+
+    /**
+     * Classifies the words of one binary item in {@code buffer[from, to)}, reading at most {@code maxWords} words.
+     *
+     * @return the index after the item's last word, or -1 if the item is invalid
+     */
+    private int processBinaryItem(byte[] buffer, int priority, int from, int to, int maxWords) {
+
+        if (!Priorities.isValid(priority)) {
+            IngestMetrics.INVALID_MESSAGES.increment();
+            logger.warn("Invalid frame received. Reason: Priority must be between 0 and " + Priorities.MAX + ": {}",
+                    priority);
+            return -1;
+        }
+
+        int wordsCount = 0;
+        int positiveWordsCount = 0;
+        int position = from;
+        while (position < to && wordsCount < maxWords) {
+            int id = buffer[position++] & 0xFF;
+            if (id == HeadlineVocabulary.LITERAL_WORD) {
+                int length = position < to ? buffer[position++] & 0xFF : -1;
+                if (length < 0 || position + length > to) {
+                    IngestMetrics.INVALID_MESSAGES.increment();
+                    logger.warn("Invalid frame received. Reason: Truncated literal word");
+                    return -1;
+                }
+                if (wordClassifier != null && wordClassifier.isPositiveWord(buffer, position, position + length)) {
+                    positiveWordsCount++;
+                }
+                position += length;
+            } else if (id >= positiveWordIds.length) {
+                IngestMetrics.INVALID_MESSAGES.increment();
+                logger.warn("Invalid frame received. Reason: Unknown word id: {}", id);
+                return -1;
+            } else if (positiveWordIds[id]) {
+                positiveWordsCount++;
+            }
+            wordsCount++;
+        }
+
+        if (maxWords != Integer.MAX_VALUE && wordsCount < maxWords) {
+            IngestMetrics.INVALID_MESSAGES.increment();
+            logger.warn("Invalid frame received. Reason: Truncated batch item");
+            return -1;
+        }
+
+        if (wordClassifier != null) {
+            if (wordClassifier.isPositive(wordsCount, positiveWordsCount)) {
+                store(new NewsItem(decodeHeadline(buffer, from, position), priority));
+            }
+        } else if (wordsCount > 0) {
+            // Phrase or weight based engines need the whole headline.
+            String headline = decodeHeadline(buffer, from, position);
+            if (classifier.isPositive(headline)) {
+                store(new NewsItem(headline, priority));
+            }
+        }
+        return position;
+    }
+
+    private void store(NewsItem newsItem) {
+
+        logger.debug("Accepted positive news item: {}", newsItem);
+        IngestMetrics.POSITIVE_ITEMS.increment();
+        if (batch.add(newsItem)) {
+            flush();
+        }
+    }
+
+    private String decodeHeadline(byte[] buffer, int from, int to) {
+
+        StringBuilder headline = new StringBuilder(32);
+        int position = from;
+        while (position < to) {
+            if (position > from) {
+                headline.append(' ');
+            }
+            int id = buffer[position++] & 0xFF;
+            if (id == HeadlineVocabulary.LITERAL_WORD) {
+                int length = buffer[position++] & 0xFF;
+                headline.append(new String(buffer, position, length, UTF_8));
+                position += length;
+            } else {
+                headline.append(vocabulary.wordOf(id));
+            }
+        }
+        return headline.toString();
+    }
+}
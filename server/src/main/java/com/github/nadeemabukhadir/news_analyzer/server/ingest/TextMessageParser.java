@@ -0,0 +1,157 @@
+package com.github.nadeemabukhadir.news_analyzer.server.ingest;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.Priorities;
+import com.github.nadeemabukhadir.news_analyzer.common.mapper.NewsItemMapper;
+
+/**
+ * Allocation-free parser for the "headline;priority" text format, working directly on UTF-8 bytes.
+ * <p>
+ * Accepts and rejects exactly the same messages as {@link NewsItemMapper#fromString(String)} for ASCII priorities,
+ * but instead of creating a {@code NewsItem} it exposes the parsed priority and the (trimmed) headline bounds,
+ * so callers decide whether the headline is worth turning into a {@link String} at all.
+ * <p>
+ * Instances are reusable and not thread-safe.
+ */
+public class TextMessageParser {
+
+    private static final byte SEPARATOR = ';';
+    private int priority;
+    private int headlineFrom;
+    private int headlineTo;
+    private String error;
+
+    /**
+     * Parses the message in {@code buffer[from, to)}.
+     *
+     * @return true if the message is valid; otherwise {@link #getError()} describes the problem
+     */
+    public boolean parse(byte[] buffer, int from, int to) {
+
+        error = null;
+        int separator = indexOf(buffer, from, to, SEPARATOR);
+        if (separator < 0) {
+            return fail("Invalid message format");
+        }
+
+        // Mirror String.split(";"): exactly two parts, where trailing empty parts are dropped.
+        int priorityTo = indexOf(buffer, separator + 1, to, SEPARATOR);
+        if (priorityTo < 0) {
+            priorityTo = to;
+        } else if (!onlySeparators(buffer, priorityTo, to)) {
+            return fail("Invalid message format");
+        }
+        if (priorityTo == separator + 1) {
+            return fail("Invalid message format");
+        }
+
+        if (!parsePriority(buffer, separator + 1, priorityTo)) {
+            return false;
+        }
+
+        headlineFrom = skipLeadingWhitespace(buffer, from, separator);
+        headlineTo = skipTrailingWhitespace(buffer, headlineFrom, separator);
+        return true;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public int getHeadlineFrom() {
+        return headlineFrom;
+    }
+
+    public int getHeadlineTo() {
+        return headlineTo;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    private boolean parsePriority(byte[] buffer, int from, int to) {
+
+        from = skipLeadingWhitespace(buffer, from, to);
+        to = skipTrailingWhitespace(buffer, from, to);
+        if (from == to) {
+            return fail("Invalid priority value in message");
+        }
+
+        boolean negative = buffer[from] == '-';
+        if (negative || buffer[from] == '+') {
+            from++;
+            if (from == to) {
+                return fail("Invalid priority value in message");
+            }
+        }
+
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return fail("Invalid priority value in message");
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L) {
+                return fail("Invalid priority value in message");
+            }
+        }
+        if (negative) {
+            value = -value;
+        }
+        if (value > Integer.MAX_VALUE) {
+            return fail("Invalid priority value in message");
+        }
+        if (!Priorities.isValid((int) value)) {
+            return fail("Priority must be between 0 and " + Priorities.MAX);
+        }
+
+        priority = (int) value;
+        return true;
+    }
+
+    private boolean fail(String reason) {
+
+        error = reason;
+        return false;
+    }
+
+    private static int indexOf(byte[] buffer, int from, int to, byte value) {
+
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean onlySeparators(byte[] buffer, int from, int to) {
+
+        for (int i = from; i < to; i++) {
+            if (buffer[i] != SEPARATOR) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Same whitespace definition as {@link String#trim()}: every byte up to and including ' '.
+     */
+    private static int skipLeadingWhitespace(byte[] buffer, int from, int to) {
+
+        while (from < to && (buffer[from] & 0xFF) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private static int skipTrailingWhitespace(byte[] buffer, int from, int to) {
+
+        while (to > from && (buffer[to - 1] & 0xFF) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+}
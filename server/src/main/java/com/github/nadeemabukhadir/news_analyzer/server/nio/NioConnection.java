@@ -0,0 +1,103 @@
+package com.github.nadeemabukhadir.news_analyzer.server.nio;
+
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.ConnectionDecoder;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.IngestMetrics;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.MessageSink;
+import com.github.nadeemabukhadir.news_analyzer.server.ratelimit.ConnectionRateLimiter;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * State of a single non-blocking client connection.
+ * Reassembles messages that may be split across several reads and hands every complete message
+ * to the {@link MessageSink} via a {@link ConnectionDecoder}.
+ * Reading stops early when the {@link ConnectionRateLimiter} asks for a pause; the event loop then
+ * parks the connection until {@link #getResumeAtNanos()}.
+ * <p>
+ * Instances are confined to the {@link NioEventLoop} thread that owns their channel.
+ */
+class NioConnection {
+
+    private final SocketChannel channel;
+    private final SocketAddress remoteAddress;
+    private final MessageSink sink;
+    private final ConnectionDecoder decoder;
+    private final ConnectionRateLimiter rateLimiter;
+    private long resumeAtNanos;
+
+    NioConnection(SocketChannel channel, SocketAddress remoteAddress, MessageSink sink,
+                  ConnectionRateLimiter rateLimiter) {
+
+        this.channel = channel;
+        this.remoteAddress = remoteAddress;
+        this.sink = sink;
+        this.decoder = new ConnectionDecoder(sink, this::reply);
+        this.rateLimiter = rateLimiter;
+    }
+
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    SocketAddress getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} at which reading may resume, only meaningful while {@link #isPaused()}
+     */
+    long getResumeAtNanos() {
+        return resumeAtNanos;
+    }
+
+    boolean isPaused() {
+        return resumeAtNanos != 0;
+    }
+
+    void resume() {
+        resumeAtNanos = 0;
+    }
+
+    /**
+     * Drains the channel into the given (shared, heap) read buffer and processes every complete message,
+     * until the channel is empty or the connection has to pause because of its rate limits.
+     *
+     * @param readBuffer event loop owned scratch buffer
+     * @return false once the client has closed its side of the connection
+     */
+    boolean onReadable(ByteBuffer readBuffer) throws IOException {
+
+        while (true) {
+            readBuffer.clear();
+            int read = channel.read(readBuffer);
+            if (read < 0) {
+                return false;
+            }
+            if (read == 0) {
+                return true;
+            }
+            decoder.feed(readBuffer.array(), 0, read);
+            sink.onRead(read, readBuffer.capacity());
+            int messages = sink.takeMessagesCount();
+            IngestMetrics.recordRead(read, messages);
+            long pause = rateLimiter.onRead(read, messages);
+            if (pause > 0) {
+                resumeAtNanos = System.nanoTime() + pause;
+                return true;
+            }
+        }
+    }
+
+    private void reply(byte[] response) throws IOException {
+
+        // A handshake reply is a few bytes on a fresh connection, so the socket send buffer always has room.
+        ByteBuffer buffer = ByteBuffer.wrap(response);
+        channel.write(buffer);
+        if (buffer.hasRemaining()) {
+            throw new IOException("Unable to send handshake reply");
+        }
+    }
+}
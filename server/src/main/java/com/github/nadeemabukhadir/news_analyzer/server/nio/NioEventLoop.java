@@ -0,0 +1,199 @@
+package com.github.nadeemabukhadir.news_analyzer.server.nio;
+
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.MessageSink;
+import com.github.nadeemabukhadir.news_analyzer.server.ratelimit.IngestRateLimits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single selector thread multiplexing many client connections.
+ * <p>
+ * Accepted channels are handed over through {@link #register(SocketChannel)}, which is safe to call from
+ * any thread; all reads and message processing then happen on the event loop thread itself,
+ * so the number of connections is no longer tied to the number of threads.
+ * <p>
+ * A connection that goes over its rate limits loses its read interest until its pause is over,
+ * which turns the limit into TCP backpressure without blocking the other connections of the loop.
+ */
+public class NioEventLoop implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(NioEventLoop.class);
+    private static final int READ_BUFFER_SIZE = 8192;
+    private final Selector selector;
+    private final MessageSink sink;
+    private final IngestRateLimits rateLimits;
+    private final Queue<SocketChannel> pendingRegistrations = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private final PriorityQueue<SelectionKey> pausedKeys =
+            new PriorityQueue<>(Comparator.comparingLong(key -> ((NioConnection) key.attachment()).getResumeAtNanos()));
+    private volatile boolean running = true;
+
+    public NioEventLoop(MessageSink sink) throws IOException {
+
+        this(sink, IngestRateLimits.unlimited());
+    }
+
+    public NioEventLoop(MessageSink sink, IngestRateLimits rateLimits) throws IOException {
+
+        this.selector = Selector.open();
+        this.sink = sink;
+        this.rateLimits = rateLimits;
+    }
+
+    /**
+     * Queues an accepted channel to be registered with this event loop's selector.
+     */
+    public void register(SocketChannel channel) {
+
+        pendingRegistrations.add(channel);
+        selector.wakeup();
+    }
+
+    /**
+     * Stops the event loop and closes all of its connections.
+     */
+    public void stop() {
+
+        running = false;
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+
+        try {
+            while (running) {
+                select();
+                registerPendingChannels();
+                processSelectedKeys();
+                resumePausedKeys();
+            }
+        } catch (IOException e) {
+            logger.error("Event loop failed: ", e);
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void select() throws IOException {
+
+        SelectionKey nextResume = pausedKeys.peek();
+        if (nextResume == null) {
+            selector.select();
+            return;
+        }
+        long waitNanos = ((NioConnection) nextResume.attachment()).getResumeAtNanos() - System.nanoTime();
+        // Round up so a sub-millisecond pause does not turn into a busy selectNow() spin.
+        long waitMillis = TimeUnit.NANOSECONDS.toMillis(waitNanos + TimeUnit.MILLISECONDS.toNanos(1) - 1);
+        if (waitMillis > 0) {
+            selector.select(waitMillis);
+        } else {
+            selector.selectNow();
+        }
+    }
+
+    private void registerPendingChannels() {
+
+        SocketChannel channel;
+        while ((channel = pendingRegistrations.poll()) != null) {
+            try {
+                SocketAddress remoteAddress = channel.getRemoteAddress();
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ, new NioConnection(channel, remoteAddress, sink,
+                        rateLimits.newConnectionLimiter()));
+                logger.info("Handling new client connection: {}", remoteAddress);
+            } catch (IOException e) {
+                logger.error("Error registering client connection: ", e);
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    private void processSelectedKeys() {
+
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+
+            NioConnection connection = (NioConnection) key.attachment();
+            try {
+                if (key.isValid() && key.isReadable()) {
+                    if (!connection.onReadable(readBuffer)) {
+                        close(key, connection);
+                    } else if (connection.isPaused()) {
+                        key.interestOps(0);
+                        pausedKeys.add(key);
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("Client {} disconnected forcefully.", connection.getRemoteAddress());
+                close(key, connection);
+            } catch (RuntimeException e) {
+                // E.g. a storage failing to persist; only this connection is dropped, the loop keeps serving.
+                logger.error("Error processing messages of client {}, closing the connection: ",
+                        connection.getRemoteAddress(), e);
+                close(key, connection);
+            }
+        }
+    }
+
+    private void resumePausedKeys() {
+
+        long now = System.nanoTime();
+        SelectionKey key;
+        while ((key = pausedKeys.peek()) != null) {
+            NioConnection connection = (NioConnection) key.attachment();
+            if (connection.getResumeAtNanos() - now > 0) {
+                return;
+            }
+            pausedKeys.poll();
+            connection.resume();
+            if (key.isValid()) {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+    }
+
+    private void close(SelectionKey key, NioConnection connection) {
+
+        key.cancel();
+        closeQuietly(connection.getChannel());
+        logger.info("Client disconnected: {}", connection.getRemoteAddress());
+    }
+
+    private void closeAll() {
+
+        for (SelectionKey key : selector.keys()) {
+            closeQuietly(key.channel());
+        }
+        SocketChannel channel;
+        while ((channel = pendingRegistrations.poll()) != null) {
+            closeQuietly(channel);
+        }
+        closeQuietly(selector);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            logger.error("Error closing resource: ", e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.github.nadeemabukhadir.news_analyzer.server.pipeline;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.Priorities;
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.BinaryFrame;
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.HeadlineVocabulary;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.IngestMetrics;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.TextMessageParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * {@link PipelineStage#DECODE} worker: validates raw text lines and binary frames and passes every valid item
+ * on as priority plus UTF-8 headline bytes. Binary word ids are expanded back into their words here.
+ */
+class DecodeWorker extends StageWorker<RawMessage> {
+
+    private static final Logger logger = LoggerFactory.getLogger(DecodeWorker.class);
+    private final RingBuffer<DecodedItem> output;
+    private final TextMessageParser parser = new TextMessageParser();
+    private final HeadlineVocabulary vocabulary = HeadlineVocabulary.DEFAULT;
+    // Items are assembled here first, an output slot must not be claimed for an item that may turn out invalid.
+    private final DecodedItem scratch = new DecodedItem();
+
+    DecodeWorker(RingBuffer<RawMessage> input, RingBuffer<DecodedItem> output) {
+
+        super(input);
+        this.output = output;
+    }
+
+    @Override
+    void handle(RawMessage message) {
+
+        if (message.binaryFrame) {
+            decodeFrame(message.data, message.length);
+            return;
+        }
+        if (!parser.parse(message.data, 0, message.length)) {
+            IngestMetrics.INVALID_MESSAGES.increment();
+            logger.warn("Invalid message received: '{}'. Reason: {}", new String(message.data, 0, message.length, UTF_8),
+                    parser.getError());
+            return;
+        }
+        scratch.reset(parser.getPriority());
+        scratch.append(message.data, parser.getHeadlineFrom(), parser.getHeadlineTo());
+        emit();
+    }
+
+    private void decodeFrame(byte[] buffer, int to) {
+
+        int type = to > 0 ? BinaryFrame.typeOf(buffer[0]) : -1;
+        if (type == BinaryFrame.TYPE_ITEM) {
+            decodeItem(buffer, BinaryFrame.priorityOf(buffer[0]), 1, to, Integer.MAX_VALUE);
+        } else if (type == BinaryFrame.TYPE_BATCH) {
+            int position = 1;
+            while (position > 0 && position < to) {
+                if (to - position < 2) {
+                    IngestMetrics.INVALID_MESSAGES.increment();
+                    logger.warn("Invalid frame received. Reason: Truncated batch item");
+                    return;
+                }
+                int priority = buffer[position] & 0xFF;
+                int wordsCount = buffer[position + 1] & 0xFF;
+                position = decodeItem(buffer, priority, position + 2, to, wordsCount);
+            }
+        } else {
+            IngestMetrics.INVALID_MESSAGES.increment();
+            logger.warn("Invalid frame received. Reason: Invalid frame type");
+        }
+    }
+
+    /**
+     * Decodes the words of one binary item in {@code buffer[from, to)}, reading at most {@code maxWords} words.
+     *
+     * @return the index after the item's last word, or -1 if the item is invalid
+     */
+    private int decodeItem(byte[] buffer, int priority, int from, int to, int maxWords) {
+
+        if (!Priorities.isValid(priority)) {
+            IngestMetrics.INVALID_MESSAGES.increment();
+            logger.warn("Invalid frame received. Reason: Priority must be between 0 and " + Priorities.MAX + ": {}",
+                    priority);
+            return -1;
+        }
+
+        scratch.reset(priority);
+        int wordsCount = 0;
+        int position = from;
+        while (position < to && wordsCount < maxWords) {
+            if (wordsCount > 0) {
+                scratch.append((byte) ' ');
+            }
+            int id = buffer[position++] & 0xFF;
+            if (id == HeadlineVocabulary.LITERAL_WORD) {
+                int length = position < to ? buffer[position++] & 0xFF : -1;
+                if (length < 0 || position + length > to) {
+                    IngestMetrics.INVALID_MESSAGES.increment();
+                    logger.warn("Invalid frame received. Reason: Truncated literal word");
+                    return -1;
+                }
+                scratch.append(buffer, position, position + length);
+                position += length;
+            } else if (id >= vocabulary.size()) {
+                IngestMetrics.INVALID_MESSAGES.increment();
+                logger.warn("Invalid frame received. Reason: Unknown word id: {}", id);
+                return -1;
+            } else {
+                byte[] word = vocabulary.wordUtf8Of(id);
+                scratch.append(word, 0, word.length);
+            }
+            wordsCount++;
+        }
+
+        if (maxWords != Integer.MAX_VALUE && wordsCount < maxWords) {
+            IngestMetrics.INVALID_MESSAGES.increment();
+            logger.warn("Invalid frame received. Reason: Truncated batch item");
+            return -1;
+        }
+        if (wordsCount > 0) {
+            emit();
+        }
+        return position;
+    }
+
+    private void emit() {
+
+        long sequence = output.claim();
+        if (sequence >= 0) {
+            output.get(sequence).copyFrom(scratch);
+            output.publish(sequence);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.nadeemabukhadir.news_analyzer.server.pipeline;
+
+import java.util.Arrays;
+
+/**
+ * Reusable ring entry holding one validated item: its priority and the UTF-8 bytes of its headline.
+ */
+class DecodedItem {
+
+    private static final int INITIAL_CAPACITY = 64;
+    byte[] headline = new byte[INITIAL_CAPACITY];
+    int headlineLength;
+    int priority;
+
+    void reset(int priority) {
+
+        this.priority = priority;
+        this.headlineLength = 0;
+    }
+
+    void append(byte[] buffer, int from, int to) {
+
+        int length = to - from;
+        ensureCapacity(headlineLength + length);
+        System.arraycopy(buffer, from, headline, headlineLength, length);
+        headlineLength += length;
+    }
+
+    void append(byte b) {
+
+        ensureCapacity(headlineLength + 1);
+        headline[headlineLength++] = b;
+    }
+
+    void copyFrom(DecodedItem other) {
+
+        reset(other.priority);
+        append(other.headline, 0, other.headlineLength);
+    }
+
+    private void ensureCapacity(int capacity) {
+
+        if (capacity > headline.length) {
+            headline = Arrays.copyOf(headline, Math.max(headline.length * 2, capacity));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.github.nadeemabukhadir.news_analyzer.server.pipeline;
+
+import com.github.nadeemabukhadir.news_analyzer.server.config.PipelineConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.MessageSink;
+import com.github.nadeemabukhadir.news_analyzer.server.sentiment.DefaultSentimentClassifier;
+import com.github.nadeemabukhadir.news_analyzer.server.sentiment.SentimentClassifier;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.task.ReportContributor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-stage ingest pipeline decoupling connection handling from message processing.
+ * <pre>
+ * I/O threads --frame--> [decode ring] --> decode workers --> [sentiment ring] --> sentiment workers
+ *             --positive--> [store ring] --> store workers --> NewsItemStorage
+ * </pre>
+ * I/O threads only frame bytes and copy every message into the decode ring ({@link #newPublisher()});
+ * each {@link PipelineStage} runs its own number of worker threads, so the CPU-heavy stages scale independently
+ * from the number of connections. All rings are bounded and pre-allocated: a slow stage fills the rings in front
+ * of it until the I/O threads stop reading, instead of growing the heap.
+ * <p>
+ * The current and peak depth of every ring is exposed as queue-depth metrics and logged with every report window.
+ */
+public class IngestPipeline implements ReportContributor {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestPipeline.class);
+    private final PipelineConfig config;
+    private final Map<PipelineStage, RingBuffer<?>> rings = new EnumMap<>(PipelineStage.class);
+    private final Map<PipelineStage, List<StageWorker<?>>> workers = new EnumMap<>(PipelineStage.class);
+    private final Map<PipelineStage, List<Thread>> threads = new EnumMap<>(PipelineStage.class);
+    private final RingBuffer<RawMessage> decodeRing;
+
+    public IngestPipeline(PipelineConfig config, NewsItemStorage storage) {
+        this(config, storage, DefaultSentimentClassifier.INSTANCE);
+    }
+
+    public IngestPipeline(PipelineConfig config, NewsItemStorage storage, SentimentClassifier classifier) {
+
+        this.config = config;
+        this.decodeRing = new RingBuffer<>(config.getRingSize(), RawMessage::new);
+        RingBuffer<DecodedItem> sentimentRing = new RingBuffer<>(config.getRingSize(), DecodedItem::new);
+        RingBuffer<DecodedItem> storeRing = new RingBuffer<>(config.getRingSize(), DecodedItem::new);
+        rings.put(PipelineStage.DECODE, decodeRing);
+        rings.put(PipelineStage.SENTIMENT, sentimentRing);
+        rings.put(PipelineStage.STORE, storeRing);
+
+        List<StageWorker<?>> decodeWorkers = new ArrayList<>();
+        for (int i = 0; i < config.getDecodeThreads(); i++) {
+            decodeWorkers.add(new DecodeWorker(decodeRing, sentimentRing));
+        }
+        List<StageWorker<?>> sentimentWorkers = new ArrayList<>();
+        for (int i = 0; i < config.getSentimentThreads(); i++) {
+            sentimentWorkers.add(new SentimentWorker(sentimentRing, storeRing, classifier));
+        }
+        List<StageWorker<?>> storeWorkers = new ArrayList<>();
+        for (int i = 0; i < config.getStoreThreads(); i++) {
+            storeWorkers.add(new StoreWorker(storeRing, storage));
+        }
+        workers.put(PipelineStage.DECODE, decodeWorkers);
+        workers.put(PipelineStage.SENTIMENT, sentimentWorkers);
+        workers.put(PipelineStage.STORE, storeWorkers);
+    }
+
+    /**
+     * Starts the worker threads of every stage.
+     */
+    public void start() {
+
+        logger.info("Starting ingest pipeline: {}", config);
+        for (Map.Entry<PipelineStage, List<StageWorker<?>>> entry : workers.entrySet()) {
+            List<Thread> stageThreads = new ArrayList<>();
+            for (StageWorker<?> worker : entry.getValue()) {
+                Thread thread = new Thread(worker, "pipeline-" + entry.getKey().getLabel() + "-" + (stageThreads.size() + 1));
+                thread.setDaemon(true);
+                stageThreads.add(thread);
+                thread.start();
+            }
+            threads.put(entry.getKey(), stageThreads);
+        }
+    }
+
+    /**
+     * Stops accepting messages and stops the stages in order, each one after draining its input ring.
+     */
+    public void stop() {
+
+        decodeRing.close();
+        for (PipelineStage stage : PipelineStage.values()) {
+            workers.get(stage).forEach(StageWorker::stop);
+            threads.getOrDefault(stage, Collections.emptyList()).forEach(IngestPipeline::join);
+        }
+        logger.info("Ingest pipeline stopped.");
+    }
+
+    /**
+     * Creates the {@link MessageSink} of a connection or event loop, feeding this pipeline.
+     * Like any sink, the returned instance must be confined to a single thread.
+     */
+    public MessageSink newPublisher() {
+        return new PipelinePublisher(decodeRing);
+    }
+
+    /**
+     * @return the number of entries waiting in the input ring of the given stage
+     */
+    public int getQueueDepth(PipelineStage stage) {
+        return rings.get(stage).depth();
+    }
+
+    /**
+     * @return the fill level of the fullest ring, in percent of its capacity
+     */
+    public int getLoadPercent() {
+
+        int maxDepth = 0;
+        for (RingBuffer<?> ring : rings.values()) {
+            maxDepth = Math.max(maxDepth, ring.depth());
+        }
+        return maxDepth * 100 / config.getRingSize();
+    }
+
+    public int getQueueCapacity() {
+        return config.getRingSize();
+    }
+
+    @Override
+    public String drainWindowSummary() {
+
+        StringBuilder summary = new StringBuilder("Pipeline queue depth (capacity ").append(getQueueCapacity()).append(") ->");
+        boolean active = false;
+        for (PipelineStage stage : PipelineStage.values()) {
+            RingBuffer<?> ring = rings.get(stage);
+            int depth = ring.depth();
+            int peak = ring.drainPeakDepth();
+            active |= depth > 0 || peak > 0;
+            summary.append(stage == PipelineStage.DECODE ? " " : ", ")
+                    .append(stage.getLabel()).append(": ").append(depth).append(" (peak ").append(peak).append(')');
+        }
+        return active ? summary.toString() : null;
+    }
+
+    private static void join(Thread thread) {
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
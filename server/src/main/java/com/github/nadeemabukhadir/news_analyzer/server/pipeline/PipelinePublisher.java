@@ -0,0 +1,79 @@
+package com.github.nadeemabukhadir.news_analyzer.server.pipeline;
+
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.BinaryFrame;
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.HeadlineVocabulary;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.MessageSink;
+
+/**
+ * The I/O side of the {@link IngestPipeline}: copies every framed message into the pipeline's input ring
+ * without decoding it. When the ring is full the calling I/O thread waits, which stops reading from its
+ * connection(s) until the workers catch up.
+ */
+class PipelinePublisher implements MessageSink {
+
+    private final RingBuffer<RawMessage> ring;
+    private int messagesCount = 0;
+
+    PipelinePublisher(RingBuffer<RawMessage> ring) {
+        this.ring = ring;
+    }
+
+    @Override
+    public void process(byte[] buffer, int from, int to) {
+
+        messagesCount++;
+        publish(buffer, from, to, false);
+    }
+
+    @Override
+    public void processFrame(byte[] buffer, int from, int to) {
+
+        messagesCount += itemsCount(buffer, from, to);
+        publish(buffer, from, to, true);
+    }
+
+    @Override
+    public void flush() {
+        // Every message is published as soon as it is framed.
+    }
+
+    @Override
+    public int takeMessagesCount() {
+
+        int count = messagesCount;
+        messagesCount = 0;
+        return count;
+    }
+
+    private void publish(byte[] buffer, int from, int to, boolean binaryFrame) {
+
+        long sequence = ring.claim();
+        if (sequence >= 0) {
+            ring.get(sequence).set(buffer, from, to, binaryFrame);
+            ring.publish(sequence);
+        }
+    }
+
+    /**
+     * Counts the items of a frame by skipping over their words; no validation, that is left to the decode stage.
+     */
+    private static int itemsCount(byte[] buffer, int from, int to) {
+
+        if (to <= from || BinaryFrame.typeOf(buffer[from]) != BinaryFrame.TYPE_BATCH) {
+            return 1;
+        }
+        int count = 0;
+        int position = from + 1;
+        while (position + 1 < to) {
+            int wordsCount = buffer[position + 1] & 0xFF;
+            position += 2;
+            count++;
+            for (int word = 0; word < wordsCount && position < to; word++) {
+                if ((buffer[position++] & 0xFF) == HeadlineVocabulary.LITERAL_WORD && position < to) {
+                    position += 1 + (buffer[position] & 0xFF);
+                }
+            }
+        }
+        return Math.max(count, 1);
+    }
+}
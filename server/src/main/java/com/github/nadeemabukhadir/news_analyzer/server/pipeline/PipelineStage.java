@@ -0,0 +1,22 @@
+package com.github.nadeemabukhadir.news_analyzer.server.pipeline;
+
+/**
+ * The worker stages of the {@link IngestPipeline}, in processing order.
+ * Each stage consumes from its own input ring.
+ */
+public enum PipelineStage {
+
+    DECODE("decode"),
+    SENTIMENT("sentiment"),
+    STORE("store");
+
+    private final String label;
+
+    PipelineStage(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
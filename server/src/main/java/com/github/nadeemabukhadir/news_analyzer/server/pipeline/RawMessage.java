@@ -0,0 +1,24 @@
+package com.github.nadeemabukhadir.news_analyzer.server.pipeline;
+
+import java.util.Arrays;
+
+/**
+ * Reusable ring entry holding one framed, still undecoded message copied off a connection.
+ */
+class RawMessage {
+
+    private static final int INITIAL_CAPACITY = 128;
+    byte[] data = new byte[INITIAL_CAPACITY];
+    int length;
+    boolean binaryFrame;
+
+    void set(byte[] buffer, int from, int to, boolean binaryFrame) {
+
+        length = to - from;
+        if (length > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length));
+        }
+        System.arraycopy(buffer, from, data, 0, length);
+        this.binaryFrame = binaryFrame;
+    }
+}
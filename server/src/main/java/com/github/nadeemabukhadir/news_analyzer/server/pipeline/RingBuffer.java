@@ -0,0 +1,157 @@
+package com.github.nadeemabukhadir.news_analyzer.server.pipeline;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Bounded ring of pre-allocated, reusable entries handing work from one pipeline stage to the next.
+ * <p>
+ * Every slot carries a sequence number telling whether it is free, published or being consumed
+ * (the bounded queue algorithm by D. Vyukov). Producers claim slots with a CAS on the tail, consumers with a CAS on
+ * the head, so any number of threads may produce and consume; an uncontended claim costs a single CAS.
+ * Entries are filled and read in place, so the steady state allocates nothing:
+ * <pre>
+ * long sequence = ring.claim();           long sequence = ring.tryTake();
+ * fill(ring.get(sequence));               if (sequence >= 0) {
+ * ring.publish(sequence);                     use(ring.get(sequence));
+ *                                             ring.release(sequence);
+ *                                         }
+ * </pre>
+ */
+class RingBuffer<E> {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long PARK_NANOS = 50_000;
+    private final E[] entries;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAccumulator peakDepth = new LongAccumulator(Math::max, 0);
+    private volatile boolean closed = false;
+
+    @SuppressWarnings("unchecked")
+    RingBuffer(int capacity, Supplier<E> entryFactory) {
+
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two: " + capacity);
+        }
+        this.entries = (E[]) new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            entries[i] = entryFactory.get();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Claims the next free slot, backing off while the ring is full (which in turn stalls the producer's connection).
+     *
+     * @return the claimed sequence, or -1 if the ring was closed while waiting
+     */
+    long claim() {
+
+        int idleCount = 0;
+        while (!closed) {
+            long position = tail.get();
+            long sequence = sequences.get(index(position));
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+            } else if (sequence < position) {
+                backOff(idleCount++); // Full: the slot still holds an entry from the previous lap.
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Makes a claimed and filled slot visible to consumers.
+     */
+    void publish(long sequence) {
+
+        sequences.lazySet(index(sequence), sequence + 1);
+        peakDepth.accumulate(sequence + 1 - head.get());
+    }
+
+    /**
+     * Takes the oldest published slot, if any.
+     *
+     * @return the taken sequence, or -1 if the ring is empty
+     */
+    long tryTake() {
+
+        while (true) {
+            long position = head.get();
+            long sequence = sequences.get(index(position));
+            if (sequence == position + 1) {
+                if (head.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+            } else if (sequence <= position) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Hands a consumed slot back to producers; its entry must not be used afterwards.
+     */
+    void release(long sequence) {
+        sequences.lazySet(index(sequence), sequence + entries.length);
+    }
+
+    E get(long sequence) {
+        return entries[index(sequence)];
+    }
+
+    /**
+     * Wakes up producers waiting for a free slot; they give up instead of publishing.
+     */
+    void close() {
+        closed = true;
+    }
+
+    int capacity() {
+        return entries.length;
+    }
+
+    /**
+     * @return the number of claimed but not yet taken entries
+     */
+    int depth() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    /**
+     * @return the highest depth seen at publish time since the last call
+     */
+    int drainPeakDepth() {
+        return (int) peakDepth.getThenReset();
+    }
+
+    /**
+     * Progressive back-off for threads waiting on a full or empty ring: spin, then yield, then park briefly.
+     */
+    static void backOff(int idleCount) {
+
+        if (idleCount < SPIN_TRIES) {
+            return;
+        }
+        if (idleCount < YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+
+    private int index(long sequence) {
+        return (int) sequence & mask;
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.nadeemabukhadir.news_analyzer.server.pipeline;
+
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.IngestMetrics;
+import com.github.nadeemabukhadir.news_analyzer.server.sentiment.SentimentClassifier;
+
+/**
+ * {@link PipelineStage#SENTIMENT} worker: passes on positive items only.
+ */
+class SentimentWorker extends StageWorker<DecodedItem> {
+
+    private final RingBuffer<DecodedItem> output;
+    private final SentimentClassifier classifier;
+
+    SentimentWorker(RingBuffer<DecodedItem> input, RingBuffer<DecodedItem> output, SentimentClassifier classifier) {
+
+        super(input);
+        this.output = output;
+        this.classifier = classifier;
+    }
+
+    @Override
+    void handle(DecodedItem item) {
+
+        if (!classifier.isPositive(item.headline, 0, item.headlineLength)) {
+            return;
+        }
+        IngestMetrics.POSITIVE_ITEMS.increment();
+        long sequence = output.claim();
+        if (sequence >= 0) {
+            output.get(sequence).copyFrom(item);
+            output.publish(sequence);
+        }
+    }
+}
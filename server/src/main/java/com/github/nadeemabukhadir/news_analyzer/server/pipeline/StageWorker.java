@@ -0,0 +1,59 @@
+package com.github.nadeemabukhadir.news_analyzer.server.pipeline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A worker thread of one pipeline stage: takes entries off the stage's input ring and handles them in place.
+ * Once stopped, a worker keeps going until its input ring is empty, so no accepted message is lost on shutdown.
+ */
+abstract class StageWorker<E> implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StageWorker.class);
+    private final RingBuffer<E> input;
+    private volatile boolean running = true;
+
+    StageWorker(RingBuffer<E> input) {
+        this.input = input;
+    }
+
+    /**
+     * Handles one entry; the entry is handed back to the ring right after.
+     */
+    abstract void handle(E entry);
+
+    /**
+     * Called whenever the input ring is found empty.
+     */
+    void onIdle() {
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    @Override
+    public void run() {
+
+        int idleCount = 0;
+        while (true) {
+            long sequence = input.tryTake();
+            if (sequence < 0) {
+                onIdle();
+                if (!running) {
+                    return;
+                }
+                RingBuffer.backOff(idleCount++);
+                continue;
+            }
+            idleCount = 0;
+            try {
+                handle(input.get(sequence));
+            } catch (RuntimeException e) {
+                logger.error("Pipeline stage failed to handle an entry: ", e);
+            } finally {
+                input.release(sequence);
+            }
+        }
+    }
+}
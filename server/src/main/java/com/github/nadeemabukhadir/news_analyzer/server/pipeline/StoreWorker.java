@@ -0,0 +1,41 @@
+package com.github.nadeemabukhadir.news_analyzer.server.pipeline;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.NewsItemBatch;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * {@link PipelineStage#STORE} worker: creates the {@link NewsItem}s and publishes them to the storage in batches,
+ * whenever a batch is full or the input ring runs empty.
+ */
+class StoreWorker extends StageWorker<DecodedItem> {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoreWorker.class);
+    private final NewsItemStorage storage;
+    private final NewsItemBatch batch = new NewsItemBatch();
+
+    StoreWorker(RingBuffer<DecodedItem> input, NewsItemStorage storage) {
+
+        super(input);
+        this.storage = storage;
+    }
+
+    @Override
+    void handle(DecodedItem item) {
+
+        NewsItem newsItem = new NewsItem(new String(item.headline, 0, item.headlineLength, UTF_8), item.priority);
+        logger.debug("Accepted positive news item: {}", newsItem);
+        if (batch.add(newsItem)) {
+            batch.flushTo(storage);
+        }
+    }
+
+    @Override
+    void onIdle() {
+        batch.flushTo(storage);
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.nadeemabukhadir.news_analyzer.server.ratelimit;
+
+/**
+ * Meters the input of a single connection against its own limits and the server-wide budget.
+ * <p>
+ * Instead of dropping a connection that goes over a limit, the read loop asks how long to stop reading;
+ * while a connection is paused its data stays in the socket buffers, so TCP flow control slows the sender down.
+ * Confined to the thread currently serving the connection; the shared global buckets are thread-safe.
+ */
+public class ConnectionRateLimiter {
+
+    private final TokenBucket connectionMessages;
+    private final TokenBucket connectionBytes;
+    private final TokenBucket globalMessages;
+    private final TokenBucket globalBytes;
+    private final RateLimitStats stats;
+
+    ConnectionRateLimiter(TokenBucket connectionMessages, TokenBucket connectionBytes,
+                          TokenBucket globalMessages, TokenBucket globalBytes, RateLimitStats stats) {
+
+        this.connectionMessages = connectionMessages;
+        this.connectionBytes = connectionBytes;
+        this.globalMessages = globalMessages;
+        this.globalBytes = globalBytes;
+        this.stats = stats;
+    }
+
+    /**
+     * Accounts for one read of {@code bytes} bytes that completed {@code messages} messages.
+     *
+     * @return nanoseconds to pause reading from the connection, 0 to keep reading
+     */
+    public long onRead(int bytes, int messages) {
+
+        long pause = 0;
+        pause = Math.max(pause, consume(connectionBytes, bytes, RateLimit.CONNECTION_BYTES));
+        pause = Math.max(pause, consume(globalBytes, bytes, RateLimit.GLOBAL_BYTES));
+        if (messages > 0) {
+            pause = Math.max(pause, consume(connectionMessages, messages, RateLimit.CONNECTION_MESSAGES));
+            pause = Math.max(pause, consume(globalMessages, messages, RateLimit.GLOBAL_MESSAGES));
+        }
+        if (pause > 0) {
+            stats.recordPause(pause);
+        }
+        return pause;
+    }
+
+    private long consume(TokenBucket bucket, int amount, RateLimit limit) {
+
+        if (bucket == null) {
+            return 0;
+        }
+        long pause = bucket.consume(amount);
+        if (pause > 0) {
+            stats.recordTrigger(limit);
+        }
+        return pause;
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.nadeemabukhadir.news_analyzer.server.ratelimit;
+
+import com.github.nadeemabukhadir.news_analyzer.server.config.RateLimitConfig;
+
+/**
+ * Server-wide rate limiting state: the global message/byte budgets shared by all connections,
+ * the trigger counters and the factory for per-connection limiters.
+ */
+public class IngestRateLimits {
+
+    private final RateLimitConfig config;
+    private final TokenBucket globalMessages;
+    private final TokenBucket globalBytes;
+    private final RateLimitStats stats = new RateLimitStats();
+
+    public IngestRateLimits(RateLimitConfig config) {
+
+        this.config = config;
+        this.globalMessages = newBucket(config.getGlobalMessagesPerSecond());
+        this.globalBytes = newBucket(config.getGlobalBytesPerSecond());
+    }
+
+    /**
+     * @return rate limits that never pause a connection
+     */
+    public static IngestRateLimits unlimited() {
+        return new IngestRateLimits(RateLimitConfig.UNLIMITED);
+    }
+
+    /**
+     * Creates the limiter of a newly accepted connection.
+     */
+    public ConnectionRateLimiter newConnectionLimiter() {
+
+        return new ConnectionRateLimiter(newBucket(config.getConnectionMessagesPerSecond()),
+                newBucket(config.getConnectionBytesPerSecond()), globalMessages, globalBytes, stats);
+    }
+
+    public RateLimitStats getStats() {
+        return stats;
+    }
+
+    private static TokenBucket newBucket(long perSecond) {
+        return perSecond > 0 ? new TokenBucket(perSecond) : null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.nadeemabukhadir.news_analyzer.server.ratelimit;
+
+/**
+ * The individual limits enforced on the ingest path.
+ */
+public enum RateLimit {
+
+    CONNECTION_MESSAGES("connection messages"),
+    CONNECTION_BYTES("connection bytes"),
+    GLOBAL_MESSAGES("global messages"),
+    GLOBAL_BYTES("global bytes");
+
+    private final String label;
+
+    RateLimit(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
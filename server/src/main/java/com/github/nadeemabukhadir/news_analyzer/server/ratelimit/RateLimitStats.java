@@ -0,0 +1,60 @@
+package com.github.nadeemabukhadir.news_analyzer.server.ratelimit;
+
+import com.github.nadeemabukhadir.news_analyzer.server.task.ReportContributor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how often each {@link RateLimit} paused reading, both in total and per report window.
+ * Updated concurrently by every connection, so all counters are {@link LongAdder}s.
+ */
+public class RateLimitStats implements ReportContributor {
+
+    private static final RateLimit[] LIMITS = RateLimit.values();
+    private final LongAdder[] totalTriggers = newAdders();
+    private final LongAdder[] windowTriggers = newAdders();
+    private final LongAdder windowPausedNanos = new LongAdder();
+
+    void recordTrigger(RateLimit limit) {
+
+        totalTriggers[limit.ordinal()].increment();
+        windowTriggers[limit.ordinal()].increment();
+    }
+
+    void recordPause(long nanos) {
+        windowPausedNanos.add(nanos);
+    }
+
+    /**
+     * @return how many times the given limit paused a connection since startup
+     */
+    public long getTriggerCount(RateLimit limit) {
+        return totalTriggers[limit.ordinal()].sum();
+    }
+
+    @Override
+    public String drainWindowSummary() {
+
+        StringBuilder summary = new StringBuilder("Rate limits triggered ->");
+        long triggered = 0;
+        for (RateLimit limit : LIMITS) {
+            long count = windowTriggers[limit.ordinal()].sumThenReset();
+            triggered += count;
+            summary.append(limit == LIMITS[0] ? " " : ", ").append(limit.getLabel()).append(": ").append(count);
+        }
+        long pausedMillis = windowPausedNanos.sumThenReset() / 1_000_000;
+        if (triggered == 0) {
+            return null;
+        }
+        return summary.append(", paused: ").append(pausedMillis).append(" ms").toString();
+    }
+
+    private static LongAdder[] newAdders() {
+
+        LongAdder[] adders = new LongAdder[LIMITS.length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.nadeemabukhadir.news_analyzer.server.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket, implemented as a virtual scheduling (GCRA) clock in a single {@link AtomicLong}.
+ * <p>
+ * The bucket holds up to one second worth of tokens. Consuming never blocks and may overdraw the bucket:
+ * the caller is told how long it has to pause instead, which keeps the accounting exact even when the
+ * amount to consume is only known after the fact (e.g. the number of messages in a network read).
+ * Safe to share between threads; uncontended use costs a single CAS.
+ */
+public class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private final double nanosPerToken;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    // Theoretical time at which the bucket is full again.
+    private final AtomicLong fullAt;
+
+    public TokenBucket(long tokensPerSecond) {
+        this(tokensPerSecond, System::nanoTime);
+    }
+
+    TokenBucket(long tokensPerSecond, LongSupplier clock) {
+
+        if (tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + tokensPerSecond);
+        }
+        this.nanosPerToken = (double) NANOS_PER_SECOND / tokensPerSecond;
+        this.burstNanos = NANOS_PER_SECOND;
+        this.clock = clock;
+        this.fullAt = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Takes {@code tokens} out of the bucket.
+     *
+     * @return how many nanoseconds the caller should pause before consuming again, 0 if the bucket was not overdrawn
+     */
+    public long consume(long tokens) {
+
+        long cost = (long) (tokens * nanosPerToken);
+        while (true) {
+            long now = clock.getAsLong();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + cost;
+            if (fullAt.compareAndSet(current, next)) {
+                long debt = next - now - burstNanos;
+                return Math.max(0, debt);
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.github.nadeemabukhadir.news_analyzer.server.rollup;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.AggregatingNewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemObserver;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.WindowAggregate;
+import com.github.nadeemabukhadir.news_analyzer.server.task.ReportContributor;
+import com.github.nadeemabukhadir.news_analyzer.server.wal.WriteAheadLog;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Multi-resolution rollups of the ingested news, answering sliding-window queries without keeping any item.
+ * <p>
+ * Items are aggregated online per second by an {@link AggregatingNewsItemStorage}. Every {@link #roll()}, scheduled
+ * once per second, takes the {@link WindowAggregate} of the second that just ended and merges it into the open bucket
+ * of every {@link RollupResolution}; a bucket is closed into its resolution's ring once a later second arrives.
+ * Buckets hold the counts per priority and the candidates for the top {@code topK} unique headlines, so a query
+ * merges at most a few dozen buckets, and the memory used is fixed whatever the ingest rate.
+ * <p>
+ * A query is answered at the finest resolution retaining the requested window, rounded up to whole buckets:
+ * up to a minute by the second, up to 10 minutes by 10 seconds, up to an hour by the minute and up to a day by
+ * the hour. The current, not yet rolled second is never included.
+ * <p>
+ * A roll may record the write-ahead log position its items were logged up to; it is part of the snapshot, so that
+ * the items a restored checkpoint already holds are not added again when the log is replayed.
+ */
+public class NewsRollups implements NewsItemObserver, ReportContributor {
+
+    public static final long NO_LOG_POSITION = WriteAheadLog.NO_POSITION;
+    private static final RollupResolution[] RESOLUTIONS = RollupResolution.values();
+    private final int topK;
+    private final AggregatingNewsItemStorage currentSecond;
+    private final RollupRing[] rings = new RollupRing[RESOLUTIONS.length];
+    private long latestSecond = Long.MIN_VALUE;
+    private long rolledLogPosition = NO_LOG_POSITION;
+
+    /**
+     * @param topK number of unique headlines answered per query
+     */
+    public NewsRollups(int topK) {
+
+        this.topK = topK;
+        this.currentSecond = new AggregatingNewsItemStorage(topK);
+        for (int i = 0; i < rings.length; i++) {
+            rings[i] = new RollupRing(RESOLUTIONS[i], topK);
+        }
+    }
+
+    @Override
+    public void add(NewsItem item) {
+        currentSecond.add(item);
+    }
+
+    @Override
+    public void addAll(Collection<NewsItem> items) {
+        currentSecond.addAll(items);
+    }
+
+    /**
+     * Closes the second that just ended, to be called once per second.
+     */
+    public void roll() {
+        roll(Instant.now().getEpochSecond() - 1);
+    }
+
+    /**
+     * {@link #roll()} of the items logged up to the given {@link WriteAheadLog#position()}, while none is being added.
+     */
+    public void rollUpTo(long logPosition) {
+        roll(Instant.now().getEpochSecond() - 1, logPosition);
+    }
+
+    /**
+     * Closes the current second as the given epoch second. A second before the latest rolled one (after the clock
+     * was set back) is merged into the latest one instead.
+     */
+    public void roll(long second) {
+        roll(second, NO_LOG_POSITION);
+    }
+
+    /**
+     * {@link #roll(long)} recording the log position the rolled items were logged up to, or {@link #NO_LOG_POSITION}.
+     */
+    public synchronized void roll(long second, long logPosition) {
+
+        WindowAggregate aggregate = currentSecond.resetAndGetAggregate();
+        rolledLogPosition = logPosition;
+        latestSecond = Math.max(latestSecond, second);
+        for (RollupRing ring : rings) {
+            ring.add(latestSecond, aggregate);
+        }
+    }
+
+    /**
+     * @return the write-ahead log position the rolled items were logged up to, or {@link #NO_LOG_POSITION}
+     */
+    public synchronized long getRolledLogPosition() {
+        return rolledLogPosition;
+    }
+
+    /**
+     * @param seconds length of the sliding window, ending with the latest rolled second
+     * @return the aggregate of at least the last {@code seconds} seconds, see the class documentation
+     */
+    public synchronized WindowAggregate query(int seconds) {
+
+        if (seconds < 1 || seconds > RESOLUTIONS[RESOLUTIONS.length - 1].getRetentionSeconds()) {
+            throw new IllegalArgumentException("Window must be between 1 and "
+                    + RESOLUTIONS[RESOLUTIONS.length - 1].getRetentionSeconds() + " seconds: " + seconds);
+        }
+
+        WindowAggregate result = new WindowAggregate(topK);
+        if (latestSecond == Long.MIN_VALUE) {
+            return result;
+        }
+        int resolution = 0;
+        while (RESOLUTIONS[resolution].getRetentionSeconds() < seconds) {
+            resolution++;
+        }
+        rings[resolution].mergeInto(result, latestSecond - seconds + 1);
+        return result;
+    }
+
+    /**
+     * Copies the rolled buckets, so that they can be written while rolling goes on. The current second is not part
+     * of the snapshot.
+     *
+     * @return the buckets in the binary form read by {@link #restore(byte[])}
+     */
+    public synchronized byte[] snapshot() {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(topK);
+            out.writeLong(latestSecond);
+            out.writeLong(rolledLogPosition);
+            for (RollupRing ring : rings) {
+                ring.writeTo(out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Not thrown by in-memory streams
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Replaces the rolled buckets with a {@link #snapshot()}, e.g. of a previous run of the server.
+     *
+     * @throws IOException if the snapshot is truncated or was taken with another top K
+     */
+    public synchronized void restore(byte[] snapshot) throws IOException {
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot))) {
+            int snapshotTopK = in.readInt();
+            if (snapshotTopK != topK) {
+                throw new IOException("Rollups snapshot of top " + snapshotTopK + " headlines, expected " + topK);
+            }
+            long snapshotSecond = in.readLong();
+            long snapshotLogPosition = in.readLong();
+            RollupRing[] restoredRings = new RollupRing[rings.length];
+            for (int i = 0; i < rings.length; i++) {
+                restoredRings[i] = new RollupRing(RESOLUTIONS[i], topK);
+                restoredRings[i].readFrom(in);
+            }
+            // Only replaced once the whole snapshot was read
+            latestSecond = snapshotSecond;
+            rolledLogPosition = snapshotLogPosition;
+            System.arraycopy(restoredRings, 0, rings, 0, rings.length);
+        }
+
+        // New items must be newer than every restored candidate.
+        WindowAggregate restored = new WindowAggregate(topK);
+        for (RollupRing ring : rings) {
+            ring.mergeInto(restored, Long.MIN_VALUE);
+        }
+        currentSecond.resumeAfter(restored);
+    }
+
+    @Override
+    public String drainWindowSummary() {
+
+        return String.format("Rollups -> Last minute: %d, Last hour: %d, Last day: %d",
+                query(RollupResolution.SECOND.getRetentionSeconds()).getCount(),
+                query(RollupResolution.MINUTE.getRetentionSeconds()).getCount(),
+                query(RollupResolution.HOUR.getRetentionSeconds()).getCount());
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.nadeemabukhadir.news_analyzer.server.rollup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Periodic checkpoints of {@link NewsRollups}, so that a restarted server is back with its rollups in milliseconds
+ * instead of losing up to a day of history.
+ * <p>
+ * The rollups are copied into a {@link NewsRollups#snapshot()} under their lock, which only takes as long as
+ * serializing their fixed number of buckets; the file is then written without blocking rolling or ingest.
+ * A checkpoint is written to a temporary file, forced to disk and atomically moved over the previous one, so the
+ * checkpoint file is always complete. Its format is {@code [int magic][int version][int length][int CRC32][snapshot]}.
+ */
+public class RollupCheckpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollupCheckpoint.class);
+    private static final int MAGIC = 0x4E524350; // "NRCP"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 16;
+    private final Path file;
+    private final NewsRollups rollups;
+
+    public RollupCheckpoint(Path file, NewsRollups rollups) {
+
+        this.file = file;
+        this.rollups = rollups;
+    }
+
+    /**
+     * Loads the latest checkpoint into the rollups, if there is one.
+     *
+     * @return true if a checkpoint was restored
+     * @throws IOException if the checkpoint cannot be read or is corrupt
+     */
+    public boolean restore() throws IOException {
+
+        if (!Files.exists(file)) {
+            return false;
+        }
+
+        long start = System.nanoTime();
+        byte[] bytes = Files.readAllBytes(file);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (bytes.length < HEADER_SIZE || in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a rollups checkpoint: " + file);
+            }
+            int length = in.readInt();
+            int checksum = in.readInt();
+            if (length != bytes.length - HEADER_SIZE || checksumOf(bytes, HEADER_SIZE, length) != checksum) {
+                throw new IOException("Corrupt rollups checkpoint: " + file);
+            }
+        }
+        byte[] snapshot = new byte[bytes.length - HEADER_SIZE];
+        System.arraycopy(bytes, HEADER_SIZE, snapshot, 0, snapshot.length);
+        rollups.restore(snapshot);
+        logger.info("Restored rollups checkpoint {} ({} bytes) in {} ms", file, bytes.length,
+                (System.nanoTime() - start) / 1_000_000);
+        return true;
+    }
+
+    /**
+     * Writes a checkpoint of the current rollups.
+     */
+    public void write() throws IOException {
+
+        byte[] snapshot = rollups.snapshot();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(snapshot.length).putInt(checksumOf(snapshot, 0, snapshot.length));
+        header.flip();
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = parent.resolve(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer body = ByteBuffer.wrap(snapshot);
+            while (header.hasRemaining() || body.hasRemaining()) {
+                channel.write(new ByteBuffer[]{header, body});
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * {@link #write()} for scheduled execution, logging failures instead of ending the schedule.
+     */
+    public void checkpoint() {
+
+        try {
+            write();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to write rollups checkpoint {}", file, e);
+        }
+    }
+
+    private static int checksumOf(byte[] bytes, int from, int length) {
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes, from, length);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,39 @@
+package com.github.nadeemabukhadir.news_analyzer.server.rollup;
+
+/**
+ * Bucket sizes kept by {@link NewsRollups}, each in a ring of a fixed number of buckets.
+ */
+public enum RollupResolution {
+
+    SECOND(1, 60),
+    TEN_SECONDS(10, 60),
+    MINUTE(60, 60),
+    HOUR(3600, 24);
+
+    private final int seconds;
+    private final int bucketsCount;
+
+    RollupResolution(int seconds, int bucketsCount) {
+
+        this.seconds = seconds;
+        this.bucketsCount = bucketsCount;
+    }
+
+    /**
+     * @return the width of a bucket
+     */
+    public int getSeconds() {
+        return seconds;
+    }
+
+    public int getBucketsCount() {
+        return bucketsCount;
+    }
+
+    /**
+     * @return the longest sliding window answered at this resolution
+     */
+    public int getRetentionSeconds() {
+        return seconds * bucketsCount;
+    }
+}
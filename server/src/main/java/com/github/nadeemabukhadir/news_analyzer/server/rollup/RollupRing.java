@@ -0,0 +1,105 @@
+package com.github.nadeemabukhadir.news_analyzer.server.rollup;
+
+import com.github.nadeemabukhadir.news_analyzer.server.storage.WindowAggregate;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * The buckets of one {@link RollupResolution}: the open bucket the current seconds are merged into, and a ring of
+ * the latest closed ones. Bucket aggregates are allocated once and recycled, the oldest bucket making room for the
+ * one being closed.
+ */
+final class RollupRing {
+
+    private static final long NONE = Long.MIN_VALUE;
+    private final int seconds;
+    private final WindowAggregate[] buckets;
+    // Bucket index (start second / seconds) of every ring slot, NONE while the slot was never used.
+    private final long[] bucketIndexes;
+    private WindowAggregate open;
+    private long openIndex = NONE;
+    private int next = 0;
+
+    RollupRing(RollupResolution resolution, int topK) {
+
+        this.seconds = resolution.getSeconds();
+        this.buckets = new WindowAggregate[resolution.getBucketsCount()];
+        this.bucketIndexes = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new WindowAggregate(topK);
+            bucketIndexes[i] = NONE;
+        }
+        this.open = new WindowAggregate(topK);
+    }
+
+    /**
+     * Merges the aggregate of a second into its bucket, closing the open bucket if the second belongs to a later one.
+     * Seconds must not go backwards.
+     */
+    void add(long second, WindowAggregate aggregate) {
+
+        long index = Math.floorDiv(second, seconds);
+        if (index != openIndex) {
+            if (openIndex != NONE) {
+                close();
+            }
+            openIndex = index;
+        }
+        open.mergeFrom(aggregate);
+    }
+
+    /**
+     * Merges every bucket overlapping the seconds from {@code fromSecond} on into the result.
+     */
+    void mergeInto(WindowAggregate result, long fromSecond) {
+
+        long fromIndex = Math.floorDiv(fromSecond, seconds);
+        if (openIndex != NONE && openIndex >= fromIndex) {
+            result.mergeFrom(open);
+        }
+        for (int i = 0; i < buckets.length; i++) {
+            if (bucketIndexes[i] != NONE && bucketIndexes[i] >= fromIndex) {
+                result.mergeFrom(buckets[i]);
+            }
+        }
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+
+        out.writeLong(openIndex);
+        open.writeTo(out);
+        out.writeInt(next);
+        for (int i = 0; i < buckets.length; i++) {
+            out.writeLong(bucketIndexes[i]);
+            buckets[i].writeTo(out);
+        }
+    }
+
+    /**
+     * Replaces the buckets with the ones written by {@link #writeTo(DataOutput)}.
+     */
+    void readFrom(DataInput in) throws IOException {
+
+        openIndex = in.readLong();
+        open.clear();
+        open.readFrom(in);
+        next = in.readInt();
+        for (int i = 0; i < buckets.length; i++) {
+            bucketIndexes[i] = in.readLong();
+            buckets[i].clear();
+            buckets[i].readFrom(in);
+        }
+    }
+
+    private void close() {
+
+        WindowAggregate oldest = buckets[next];
+        buckets[next] = open;
+        bucketIndexes[next] = openIndex;
+        oldest.clear();
+        open = oldest;
+        next = (next + 1) % buckets.length;
+    }
+}
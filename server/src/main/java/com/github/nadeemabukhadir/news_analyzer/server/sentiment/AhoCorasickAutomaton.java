@@ -0,0 +1,133 @@
+package com.github.nadeemabukhadir.news_analyzer.server.sentiment;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Aho-Corasick automaton over UTF-8 bytes, scoring a text by the summed weights of all (possibly overlapping)
+ * patterns it contains, in a single pass.
+ * <p>
+ * Compiled once into flat arrays: the root has a dense 256-entry transition table, every other node keeps its
+ * sorted outgoing edges in one shared edge array, so even lexicons of tens of thousands of terms stay compact.
+ * The weight of a node already includes the weights of all patterns ending at its failure-link suffixes, so
+ * matching costs one transition and one addition per byte. Immutable and thread-safe.
+ */
+final class AhoCorasickAutomaton {
+
+    static final int ROOT = 0;
+    private static final int ALPHABET_SIZE = 256;
+    private final int[] rootTransitions;
+    private final int[] edgeStart;
+    private final byte[] edgeKeys;
+    private final int[] edgeTargets;
+    private final int[] failure;
+    private final double[] weight;
+
+    private AhoCorasickAutomaton(int[] rootTransitions, int[] edgeStart, byte[] edgeKeys, int[] edgeTargets,
+                                 int[] failure, double[] weight) {
+
+        this.rootTransitions = rootTransitions;
+        this.edgeStart = edgeStart;
+        this.edgeKeys = edgeKeys;
+        this.edgeTargets = edgeTargets;
+        this.failure = failure;
+        this.weight = weight;
+    }
+
+    /**
+     * Compiles the given patterns; a pattern listed twice keeps its last weight.
+     */
+    static AhoCorasickAutomaton compile(Map<String, Double> patterns) {
+
+        List<TreeMap<Integer, Integer>> children = new ArrayList<>();
+        List<Double> ownWeights = new ArrayList<>();
+        children.add(new TreeMap<>());
+        ownWeights.add(0.0);
+
+        for (Map.Entry<String, Double> pattern : patterns.entrySet()) {
+            int node = ROOT;
+            for (byte b : pattern.getKey().getBytes(UTF_8)) {
+                // Keyed by the signed byte value, so edge keys end up in Arrays.binarySearch order.
+                Integer child = children.get(node).get((int) b);
+                if (child == null) {
+                    child = children.size();
+                    children.get(node).put((int) b, child);
+                    children.add(new TreeMap<>());
+                    ownWeights.add(0.0);
+                }
+                node = child;
+            }
+            ownWeights.set(node, pattern.getValue());
+        }
+
+        int nodesCount = children.size();
+        int[] edgeStart = new int[nodesCount + 1];
+        for (int node = 0; node < nodesCount; node++) {
+            edgeStart[node + 1] = edgeStart[node] + children.get(node).size();
+        }
+        byte[] edgeKeys = new byte[edgeStart[nodesCount]];
+        int[] edgeTargets = new int[edgeStart[nodesCount]];
+        for (int node = 0; node < nodesCount; node++) {
+            int edge = edgeStart[node];
+            for (Map.Entry<Integer, Integer> child : children.get(node).entrySet()) {
+                edgeKeys[edge] = (byte) (int) child.getKey();
+                edgeTargets[edge++] = child.getValue();
+            }
+        }
+        int[] rootTransitions = new int[ALPHABET_SIZE];
+        for (Map.Entry<Integer, Integer> child : children.get(ROOT).entrySet()) {
+            rootTransitions[child.getKey() & 0xFF] = child.getValue();
+        }
+
+        int[] failure = new int[nodesCount];
+        double[] weight = new double[nodesCount];
+        AhoCorasickAutomaton automaton =
+                new AhoCorasickAutomaton(rootTransitions, edgeStart, edgeKeys, edgeTargets, failure, weight);
+
+        // Breadth-first, so the failure target of a node (always shallower) is complete before the node itself.
+        Deque<Integer> queue = new ArrayDeque<>(children.get(ROOT).values());
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            weight[node] = ownWeights.get(node) + weight[failure[node]];
+            for (Map.Entry<Integer, Integer> child : children.get(node).entrySet()) {
+                int target = child.getValue();
+                failure[target] = node == ROOT ? ROOT : automaton.next(failure[node], (byte) (int) child.getKey());
+                queue.add(target);
+            }
+        }
+        return automaton;
+    }
+
+    /**
+     * Advances {@code state} by one byte, following failure links where needed.
+     */
+    int next(int state, byte b) {
+
+        while (state != ROOT) {
+            int edge = Arrays.binarySearch(edgeKeys, edgeStart[state], edgeStart[state + 1], b);
+            if (edge >= 0) {
+                return edgeTargets[edge];
+            }
+            state = failure[state];
+        }
+        return rootTransitions[b & 0xFF];
+    }
+
+    /**
+     * @return the summed weight of all patterns ending at {@code state}
+     */
+    double weightOf(int state) {
+        return weight[state];
+    }
+
+    int nodesCount() {
+        return failure.length;
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.nadeemabukhadir.news_analyzer.server.sentiment;
+
+import com.github.nadeemabukhadir.news_analyzer.server.util.NewsHeadlineUtil;
+
+/**
+ * The built-in rule: a headline is positive if at least 50% of its words are one of the predefined positive words.
+ * See {@link NewsHeadlineUtil}.
+ */
+public final class DefaultSentimentClassifier implements WordSentimentClassifier {
+
+    public static final DefaultSentimentClassifier INSTANCE = new DefaultSentimentClassifier();
+
+    private DefaultSentimentClassifier() {
+    }
+
+    @Override
+    public boolean isPositive(String headline) {
+        return NewsHeadlineUtil.isPositive(headline);
+    }
+
+    @Override
+    public boolean isPositive(byte[] buffer, int from, int to) {
+        return NewsHeadlineUtil.isPositive(buffer, from, to);
+    }
+
+    @Override
+    public boolean isPositiveWord(byte[] buffer, int from, int to) {
+        return NewsHeadlineUtil.isPositiveWord(buffer, from, to);
+    }
+
+    @Override
+    public boolean isPositive(int wordsCount, int positiveWordsCount) {
+        return wordsCount > 0 && (positiveWordsCount * 100 / wordsCount) >= 50;
+    }
+}
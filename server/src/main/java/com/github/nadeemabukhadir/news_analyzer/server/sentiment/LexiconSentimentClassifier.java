@@ -0,0 +1,80 @@
+package com.github.nadeemabukhadir.news_analyzer.server.sentiment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Scores headlines against a weighted {@link SentimentLexicon} compiled into an {@link AhoCorasickAutomaton}.
+ * <p>
+ * The score of a headline is the sum of the weights of every lexicon term and phrase it contains as whole words,
+ * divided by its number of words; the headline is positive if the score reaches the threshold.
+ * Overlapping entries all count, so a phrase weight acts as a correction on top of the weights of its words
+ * (e.g. {@code good;1} and {@code not good;-2}). A lexicon of the six default words with weight 1 and a threshold
+ * of 0.5 behaves like the {@link DefaultSentimentClassifier}.
+ * <p>
+ * Word boundaries are part of the compiled patterns: each entry is compiled as {@code " " + term + " "} and the
+ * headline is fed with a leading and trailing space and its whitespace runs collapsed to one space.
+ */
+public final class LexiconSentimentClassifier implements SentimentClassifier {
+
+    private static final byte SPACE = ' ';
+    private final AhoCorasickAutomaton automaton;
+    private final double threshold;
+
+    public LexiconSentimentClassifier(SentimentLexicon lexicon, double threshold) {
+
+        Map<String, Double> patterns = new LinkedHashMap<>();
+        lexicon.getWeights().forEach((term, weight) -> patterns.put(" " + term + " ", weight));
+        this.automaton = AhoCorasickAutomaton.compile(patterns);
+        this.threshold = threshold;
+    }
+
+    @Override
+    public boolean isPositive(String headline) {
+
+        if (headline == null) {
+            return false;
+        }
+        byte[] bytes = headline.getBytes(UTF_8);
+        return isPositive(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public boolean isPositive(byte[] buffer, int from, int to) {
+
+        int state = automaton.next(AhoCorasickAutomaton.ROOT, SPACE);
+        double score = 0;
+        int wordsCount = 0;
+        boolean afterSpace = true;
+
+        for (int i = from; i < to; i++) {
+            byte b = buffer[i];
+            if (isWhitespace(b)) {
+                if (!afterSpace) {
+                    state = automaton.next(state, SPACE);
+                    score += automaton.weightOf(state);
+                    afterSpace = true;
+                }
+                continue;
+            }
+            if (afterSpace) {
+                wordsCount++;
+                afterSpace = false;
+            }
+            state = automaton.next(state, b);
+            score += automaton.weightOf(state);
+        }
+        if (!afterSpace) {
+            state = automaton.next(state, SPACE);
+            score += automaton.weightOf(state);
+        }
+
+        return wordsCount > 0 && score / wordsCount >= threshold;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == 0x0B || b == '\f' || b == '\r';
+    }
+}
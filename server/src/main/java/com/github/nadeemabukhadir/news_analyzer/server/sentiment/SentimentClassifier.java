@@ -0,0 +1,21 @@
+package com.github.nadeemabukhadir.news_analyzer.server.sentiment;
+
+/**
+ * Decides whether a news headline is positive.
+ * <p>
+ * Implementations are immutable once built and shared by every connection and pipeline worker, so they must be
+ * thread-safe. The engine in use is selected by configuration, see {@link SentimentClassifiers}.
+ */
+public interface SentimentClassifier {
+
+    /**
+     * @param headline the news headline string to analyze
+     * @return true if the headline is positive
+     */
+    boolean isPositive(String headline);
+
+    /**
+     * Same as {@link #isPositive(String)} for a trimmed, UTF-8 encoded headline in {@code buffer[from, to)}.
+     */
+    boolean isPositive(byte[] buffer, int from, int to);
+}
@@ -0,0 +1,47 @@
+package com.github.nadeemabukhadir.news_analyzer.server.sentiment;
+
+import com.github.nadeemabukhadir.news_analyzer.common.config.PropertiesManager;
+import com.github.nadeemabukhadir.news_analyzer.server.config.SentimentConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Creates the {@link SentimentClassifier} selected by configuration.
+ */
+public final class SentimentClassifiers {
+
+    private static final Logger logger = LoggerFactory.getLogger(SentimentClassifiers.class);
+
+    private SentimentClassifiers() {
+    }
+
+    /**
+     * @throws UncheckedIOException     if the lexicon file cannot be read
+     * @throws IllegalArgumentException if the lexicon file is malformed
+     */
+    public static SentimentClassifier create(SentimentConfig config) {
+
+        switch (config.getEngine()) {
+            case LEXICON:
+                SentimentLexicon lexicon = loadLexicon(config.getLexiconFile());
+                logger.info("Using lexicon sentiment engine: {} entries from {}, threshold {}",
+                        lexicon.size(), config.getLexiconFile(), config.getThreshold());
+                return new LexiconSentimentClassifier(lexicon, config.getThreshold());
+            default:
+                return DefaultSentimentClassifier.INSTANCE;
+        }
+    }
+
+    private static SentimentLexicon loadLexicon(String fileName) {
+
+        try (InputStream input = PropertiesManager.openResource(fileName)) {
+            return SentimentLexicon.parse(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load sentiment lexicon " + fileName, e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.nadeemabukhadir.news_analyzer.server.sentiment;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Weighted sentiment terms and phrases, parsed from a UTF-8 text file with one entry per line:
+ * <pre>
+ * # comment
+ * good;1.0
+ * record high;2
+ * not good;-2
+ * success              (weight defaults to 1)
+ * </pre>
+ * Whitespace inside a phrase is normalized to single spaces, matching is case-sensitive.
+ */
+public final class SentimentLexicon {
+
+    private static final String SEPARATOR = ";";
+    private static final double DEFAULT_WEIGHT = 1.0;
+    private final Map<String, Double> weights;
+
+    private SentimentLexicon(Map<String, Double> weights) {
+        this.weights = Collections.unmodifiableMap(weights);
+    }
+
+    public static SentimentLexicon of(Map<String, Double> weights) {
+
+        Map<String, Double> normalized = new LinkedHashMap<>();
+        weights.forEach((term, weight) -> normalized.put(normalize(term), weight));
+        return new SentimentLexicon(normalized);
+    }
+
+    /**
+     * Parses a lexicon; the stream is not closed.
+     *
+     * @throws IllegalArgumentException if an entry is malformed
+     */
+    public static SentimentLexicon parse(InputStream input) throws IOException {
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, UTF_8));
+        Map<String, Double> weights = new LinkedHashMap<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.lastIndexOf(SEPARATOR);
+            String term = normalize(separator < 0 ? line : line.substring(0, separator));
+            if (term.isEmpty()) {
+                throw new IllegalArgumentException("Empty lexicon term at line " + lineNumber);
+            }
+            weights.put(term, separator < 0 ? DEFAULT_WEIGHT : parseWeight(line.substring(separator + 1), lineNumber));
+        }
+        return new SentimentLexicon(weights);
+    }
+
+    public Map<String, Double> getWeights() {
+        return weights;
+    }
+
+    public int size() {
+        return weights.size();
+    }
+
+    private static double parseWeight(String value, int lineNumber) {
+
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid lexicon weight at line " + lineNumber + ": " + value.trim());
+        }
+    }
+
+    private static String normalize(String term) {
+        return term.trim().replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.nadeemabukhadir.news_analyzer.server.sentiment;
+
+/**
+ * A {@link SentimentClassifier} whose verdict only depends on how many words of a headline are positive on
+ * their own, as opposed to phrases or weights. This lets binary clients' vocabulary word ids be classified once
+ * up front instead of decoding every headline.
+ */
+public interface WordSentimentClassifier extends SentimentClassifier {
+
+    /**
+     * Checks a single UTF-8 encoded word in {@code buffer[from, to)}.
+     */
+    boolean isPositiveWord(byte[] buffer, int from, int to);
+
+    /**
+     * Applies the classifier's rule to the word counts of a headline.
+     */
+    boolean isPositive(int wordsCount, int positiveWordsCount);
+}
@@ -0,0 +1,113 @@
+package com.github.nadeemabukhadir.news_analyzer.server.shedding;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.Priorities;
+import com.github.nadeemabukhadir.news_analyzer.server.config.SheddingConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.task.ReportContributor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Decides which priorities are dropped while the server is overloaded.
+ * <p>
+ * The load is the higher of two signals, both in percent:
+ * <ul>
+ *   <li>the read backlog: the share of reads that filled the whole read buffer, i.e. found more data already
+ *   waiting in the socket because the server did not keep up;</li>
+ *   <li>an optional queue signal, e.g. the fill level of the ingest pipeline rings.</li>
+ * </ul>
+ * {@link #adjust()} runs periodically and raises the minimum accepted priority by one while the load is above
+ * the high watermark, and lowers it by one while it is below the low watermark. Priority 9 is never shed.
+ * Shed items are counted per priority and reported per window.
+ */
+public class LoadShedder implements ReportContributor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadShedder.class);
+    private static final int PRIORITIES_COUNT = Priorities.COUNT;
+    private static final int MAX_MIN_PRIORITY = PRIORITIES_COUNT - 1;
+    private final SheddingConfig config;
+    private final IntSupplier queueLoadPercent;
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder fullReads = new LongAdder();
+    private final LongAdder[] windowShed = new LongAdder[PRIORITIES_COUNT];
+    private volatile int minPriority = 0;
+
+    public LoadShedder(SheddingConfig config) {
+        this(config, () -> 0);
+    }
+
+    public LoadShedder(SheddingConfig config, IntSupplier queueLoadPercent) {
+
+        this.config = config;
+        this.queueLoadPercent = queueLoadPercent;
+        for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+            windowShed[priority] = new LongAdder();
+        }
+    }
+
+    /**
+     * @return true if an item of the given priority should be dropped right now
+     */
+    public boolean shouldShed(int priority) {
+        return priority < minPriority;
+    }
+
+    void recordShed(int priority) {
+        windowShed[priority].increment();
+    }
+
+    void recordRead(int bytes, int capacity) {
+
+        reads.increment();
+        if (bytes >= capacity) {
+            fullReads.increment();
+        }
+    }
+
+    /**
+     * Samples the load since the last call and moves the shedding threshold one step accordingly.
+     */
+    public void adjust() {
+
+        long readsCount = reads.sumThenReset();
+        long fullReadsCount = fullReads.sumThenReset();
+        int backlogPercent = readsCount == 0 ? 0 : (int) (fullReadsCount * 100 / readsCount);
+        int load = Math.max(backlogPercent, queueLoadPercent.getAsInt());
+
+        int current = minPriority;
+        int next = current;
+        if (load > config.getHighWatermarkPercent() && current < MAX_MIN_PRIORITY) {
+            next = current + 1;
+        } else if (load < config.getLowWatermarkPercent() && current > 0) {
+            next = current - 1;
+        }
+        if (next != current) {
+            minPriority = next;
+            logger.info("Load at {}% -> shedding items below priority {}", load, next);
+        }
+    }
+
+    public int getMinPriority() {
+        return minPriority;
+    }
+
+    @Override
+    public String drainWindowSummary() {
+
+        StringBuilder summary = new StringBuilder("Shed items per priority ->");
+        long total = 0;
+        for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+            long count = windowShed[priority].sumThenReset();
+            if (count > 0) {
+                summary.append(total == 0 ? " " : ", ").append(priority).append(": ").append(count);
+                total += count;
+            }
+        }
+        if (total == 0) {
+            return null;
+        }
+        return summary.append(" (currently shedding below priority ").append(minPriority).append(')').toString();
+    }
+}
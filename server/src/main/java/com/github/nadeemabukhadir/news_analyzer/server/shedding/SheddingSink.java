@@ -0,0 +1,162 @@
+package com.github.nadeemabukhadir.news_analyzer.server.shedding;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.Priorities;
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.BinaryFrame;
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.HeadlineVocabulary;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.MessageSink;
+
+import java.util.Arrays;
+
+/**
+ * {@link MessageSink} decorator dropping low-priority messages while the {@link LoadShedder} asks for it.
+ * <p>
+ * Only the priority is looked at: the trailing digit of a text line, the tag of a binary item or the per-item
+ * priority byte inside a batch. Shed messages never reach headline decoding or sentiment analysis.
+ * Messages whose priority cannot be found this cheaply are passed on, the delegate validates them as usual.
+ */
+public class SheddingSink implements MessageSink {
+
+    private static final int INITIAL_SCRATCH_CAPACITY = 256;
+    private final MessageSink delegate;
+    private final LoadShedder shedder;
+    private byte[] scratch = new byte[INITIAL_SCRATCH_CAPACITY];
+    private int shedCount = 0;
+
+    public SheddingSink(MessageSink delegate, LoadShedder shedder) {
+
+        this.delegate = delegate;
+        this.shedder = shedder;
+    }
+
+    @Override
+    public void process(byte[] buffer, int from, int to) {
+
+        int priority = trailingPriority(buffer, from, to);
+        if (priority >= 0 && shedder.shouldShed(priority)) {
+            shed(priority);
+            return;
+        }
+        delegate.process(buffer, from, to);
+    }
+
+    @Override
+    public void processFrame(byte[] buffer, int from, int to) {
+
+        int type = to > from ? BinaryFrame.typeOf(buffer[from]) : -1;
+        if (type == BinaryFrame.TYPE_ITEM) {
+            int priority = BinaryFrame.priorityOf(buffer[from]);
+            if (shedder.shouldShed(priority)) {
+                shed(priority);
+                return;
+            }
+        } else if (type == BinaryFrame.TYPE_BATCH && shedder.getMinPriority() > 0) {
+            processBatch(buffer, from, to);
+            return;
+        }
+        delegate.processFrame(buffer, from, to);
+    }
+
+    @Override
+    public void flush() {
+        delegate.flush();
+    }
+
+    @Override
+    public void onRead(int bytes, int capacity) {
+
+        shedder.recordRead(bytes, capacity);
+        delegate.onRead(bytes, capacity);
+    }
+
+    @Override
+    public int takeMessagesCount() {
+
+        int count = delegate.takeMessagesCount() + shedCount;
+        shedCount = 0;
+        return count;
+    }
+
+    /**
+     * Copies the batch items that are kept into a new batch body and passes it on, if any item is left.
+     * Malformed batches are passed on unchanged for the delegate to reject.
+     */
+    private void processBatch(byte[] buffer, int from, int to) {
+
+        if (to - from > scratch.length) {
+            scratch = Arrays.copyOf(scratch, Math.max(scratch.length * 2, to - from));
+        }
+        scratch[0] = buffer[from];
+        int length = 1;
+        int position = from + 1;
+        while (position < to) {
+            int itemEnd = itemEnd(buffer, position, to);
+            if (itemEnd < 0) {
+                delegate.processFrame(buffer, from, to);
+                return;
+            }
+            int priority = buffer[position] & 0xFF;
+            if (priority < Priorities.COUNT && shedder.shouldShed(priority)) {
+                shed(priority);
+            } else {
+                System.arraycopy(buffer, position, scratch, length, itemEnd - position);
+                length += itemEnd - position;
+            }
+            position = itemEnd;
+        }
+        if (length > 1) {
+            delegate.processFrame(scratch, 0, length);
+        }
+    }
+
+    private void shed(int priority) {
+
+        shedder.recordShed(priority);
+        shedCount++;
+    }
+
+    /**
+     * @return the index after the batch item starting at {@code from}, or -1 if it is truncated
+     */
+    private static int itemEnd(byte[] buffer, int from, int to) {
+
+        if (to - from < 2) {
+            return -1;
+        }
+        int wordsCount = buffer[from + 1] & 0xFF;
+        int position = from + 2;
+        for (int word = 0; word < wordsCount; word++) {
+            if (position >= to) {
+                return -1;
+            }
+            if ((buffer[position++] & 0xFF) == HeadlineVocabulary.LITERAL_WORD) {
+                if (position >= to) {
+                    return -1;
+                }
+                position += 1 + (buffer[position] & 0xFF);
+            }
+        }
+        return position <= to ? position : -1;
+    }
+
+    /**
+     * Reads the priority of a {@code headline;priority} line from its last digit, skipping trailing whitespace.
+     *
+     * @return the priority, or -1 if the line does not end in a single digit right after the separator
+     */
+    private static int trailingPriority(byte[] buffer, int from, int to) {
+
+        int position = to - 1;
+        while (position >= from && (buffer[position] & 0xFF) <= ' ') {
+            position--;
+        }
+        if (position < from || buffer[position] < '0' || buffer[position] > '9') {
+            return -1;
+        }
+        int digit = buffer[position] - '0';
+        position--;
+        while (position >= from && (buffer[position] & 0xFF) <= ' ') {
+            position--;
+        }
+        return position >= from && buffer[position] == ';' ? digit : -1;
+    }
+}
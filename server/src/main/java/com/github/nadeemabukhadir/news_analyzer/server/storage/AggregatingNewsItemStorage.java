@@ -0,0 +1,158 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.dto.Priorities;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Comparator.reverseOrder;
+
+/**
+ * {@link NewsItemStorage} that aggregates every window online instead of retaining its items:
+ * it only counts items and keeps the candidates for the first {@code topK} unique headlines of the report,
+ * so window memory is O(topK) and reading a window costs the same no matter how many items it holds.
+ * <p>
+ * The report visits priorities in descending order, newest first, and skips headlines whose word set was already
+ * seen. Higher priorities can therefore hide at most {@code topK - 1} word sets of a priority before the report is
+ * complete, so for every priority only the newest occurrence of its {@code 2 * topK - 1} most recently seen word sets
+ * is kept. Each writer thread updates the candidates of its own shard, which are merged by recency when the
+ * window is read, and windows are handed over through {@link WindowEpochs}.
+ * <p>
+ * The returned windows count every added item but only visit the retained candidates, and so does
+ * {@link #resetAndGetAll()}.
+ */
+public class AggregatingNewsItemStorage implements NewsItemStorage {
+
+    private static final int PRIORITIES_COUNT = Priorities.COUNT;
+    private static final int PADDING = 16;
+    private final int candidatesPerPriority;
+    private final int shardsCount;
+    // Shards of both epoch parities: [parity * shardsCount + shard]
+    private final HeadlineCandidates[] shards;
+    // Counts of both epoch parities: [parity * PRIORITIES_COUNT + priority]
+    private final LongAdder[] counts = new LongAdder[2 * PRIORITIES_COUNT];
+    private final AtomicLongArray sequences = new AtomicLongArray(PRIORITIES_COUNT * PADDING);
+    private final WindowEpochs epochs = new WindowEpochs();
+
+    /**
+     * @param topK number of unique headlines reported per window
+     */
+    public AggregatingNewsItemStorage(int topK) {
+
+        this.candidatesPerPriority = WindowAggregate.candidatesCountOf(topK);
+        this.shardsCount = WindowEpochs.defaultStripes();
+        this.shards = new HeadlineCandidates[2 * shardsCount];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new HeadlineCandidates(candidatesPerPriority);
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void add(NewsItem item) {
+
+        if (item == null) {
+            return; // avoid adding null values
+        }
+
+        int priority = Priorities.check(item.getPriority());
+        int ticket = epochs.enter();
+        try {
+            int parity = WindowEpochs.parityOf(ticket);
+            counts[parity * PRIORITIES_COUNT + priority].increment();
+            shardOf(parity).offer(item, priority, sequences.getAndIncrement(priority * PADDING));
+        } finally {
+            epochs.exit(ticket);
+        }
+    }
+
+    @Override
+    public void addAll(Collection<NewsItem> items) {
+
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+
+        int ticket = epochs.enter();
+        try {
+            int parity = WindowEpochs.parityOf(ticket);
+            HeadlineCandidates shard = shardOf(parity);
+            synchronized (shard) {
+                for (NewsItem item : items) {
+                    if (item != null) {
+                        int priority = Priorities.check(item.getPriority());
+                        counts[parity * PRIORITIES_COUNT + priority].increment();
+                        shard.offer(item, priority, sequences.getAndIncrement(priority * PADDING));
+                    }
+                }
+            }
+        } finally {
+            epochs.exit(ticket);
+        }
+    }
+
+    /**
+     * Returns the retained candidates only, see the class documentation.
+     */
+    @Override
+    public SortedMap<Integer, Deque<NewsItem>> resetAndGetAll() {
+
+        SortedMap<Integer, Deque<NewsItem>> items = new TreeMap<>(reverseOrder());
+        resetAndGetWindow().visit(item -> {
+            items.computeIfAbsent(item.getPriority(), priority -> new ArrayDeque<>()).addLast(item.toNewsItem());
+            return true;
+        });
+        return items;
+    }
+
+    @Override
+    public NewsWindow resetAndGetWindow() {
+        return resetAndGetAggregate().asWindow();
+    }
+
+    /**
+     * Waits for in-flight adds of the closing window, see {@link WindowEpochs#advance()}, then merges the candidates
+     * of its shards and resets them for reuse.
+     *
+     * @return the aggregate of the window, mergeable with the other aggregates of this storage
+     */
+    public synchronized WindowAggregate resetAndGetAggregate() {
+
+        int parity = epochs.advance();
+        long[] windowCounts = new long[PRIORITIES_COUNT];
+        for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+            windowCounts[priority] = counts[parity * PRIORITIES_COUNT + priority].sumThenReset();
+        }
+        HeadlineCandidates merged = new HeadlineCandidates(candidatesPerPriority);
+        for (int shard = 0; shard < shardsCount; shard++) {
+            HeadlineCandidates closed = shards[parity * shardsCount + shard];
+            merged.mergeFrom(closed);
+            closed.clear();
+        }
+        return new WindowAggregate(windowCounts, merged);
+    }
+
+    /**
+     * Numbers the items added from now on after the candidates of the aggregate, so that they are newer when merged
+     * with it. Used for aggregates restored from a checkpoint of another instance.
+     */
+    public void resumeAfter(WindowAggregate aggregate) {
+
+        for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+            long next = aggregate.maxSequence(priority) + 1;
+            sequences.accumulateAndGet(priority * PADDING, next, Math::max);
+        }
+    }
+
+    private HeadlineCandidates shardOf(int parity) {
+        return shards[parity * shardsCount + WindowEpochs.stripeOfCurrentThread(shardsCount)];
+    }
+}
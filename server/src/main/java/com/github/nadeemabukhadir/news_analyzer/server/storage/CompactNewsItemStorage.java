@@ -0,0 +1,139 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.HeadlineVocabulary;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+import static java.util.Comparator.reverseOrder;
+
+/**
+ * {@link NewsItemStorage} that keeps headlines dictionary-encoded instead of as {@link NewsItem} objects.
+ * <p>
+ * Words are interned once in a {@link HeadlineDictionary} shared by all windows, and every item is appended to the
+ * {@link WordIdLog} of its priority as a few varint word ids (a single byte per word for the first 128 words),
+ * instead of a {@link NewsItem}, its {@link String} headline and a deque node.
+ * Headlines are only rebuilt for the items a reader actually asks for (see {@link NewsItemView#getHeadline()}),
+ * with single spaces between words.
+ */
+public class CompactNewsItemStorage implements NewsItemStorage {
+
+    private final HeadlineDictionary dictionary = new HeadlineDictionary(HeadlineVocabulary.DEFAULT);
+    // One map of logs per epoch parity, handed over losslessly like in SkipListNewsItemStorage.
+    private final AtomicReferenceArray<ConcurrentSkipListMap<Integer, WordIdLog>> logs = new AtomicReferenceArray<>(2);
+    private final WindowEpochs epochs = new WindowEpochs();
+
+    public CompactNewsItemStorage() {
+        logs.set(epochs.currentParity(), new ConcurrentSkipListMap<>(reverseOrder()));
+    }
+
+    @Override
+    public void add(NewsItem item) {
+
+        if (item == null) {
+            return; // avoid adding null values
+        }
+
+        int ticket = epochs.enter();
+        try {
+            priorityLog(logs.get(WindowEpochs.parityOf(ticket)), item.getPriority()).append(item.getHeadline());
+        } finally {
+            epochs.exit(ticket);
+        }
+    }
+
+    @Override
+    public void addAll(Collection<NewsItem> items) {
+
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+
+        int ticket = epochs.enter();
+        try {
+            ConcurrentSkipListMap<Integer, WordIdLog> priorityLogs = logs.get(WindowEpochs.parityOf(ticket));
+            if (PriorityGroups.isSinglePriority(items)) {
+                WordIdLog log = priorityLog(priorityLogs, items.iterator().next().getPriority());
+                synchronized (log) {
+                    items.forEach(item -> log.append(item.getHeadline()));
+                }
+                return;
+            }
+            for (NewsItem item : items) {
+                if (item != null) {
+                    priorityLog(priorityLogs, item.getPriority()).append(item.getHeadline());
+                }
+            }
+        } finally {
+            epochs.exit(ticket);
+        }
+    }
+
+    /**
+     * Same as {@link NewsItemStorage#resetAndGetAll()}, rebuilding every stored item.
+     * Prefer {@link #resetAndGetWindow()}, which only rebuilds the headlines that are read.
+     */
+    @Override
+    public SortedMap<Integer, Deque<NewsItem>> resetAndGetAll() {
+
+        SortedMap<Integer, Deque<NewsItem>> items = new TreeMap<>(reverseOrder());
+        resetAndGetWindow().visit(item -> {
+            items.computeIfAbsent(item.getPriority(), priority -> new ArrayDeque<>()).addLast(item.toNewsItem());
+            return true;
+        });
+        return items;
+    }
+
+    /**
+     * Waits for in-flight adds of the closing window, see {@link WindowEpochs#advance()}.
+     */
+    @Override
+    public synchronized NewsWindow resetAndGetWindow() {
+
+        logs.set(1 - epochs.currentParity(), new ConcurrentSkipListMap<>(reverseOrder()));
+        ConcurrentSkipListMap<Integer, WordIdLog> closedLogs = logs.getAndSet(epochs.advance(), null);
+        return new NewsWindow() {
+
+            @Override
+            public int size() {
+                return closedLogs.values().stream().mapToInt(WordIdLog::size).sum();
+            }
+
+            @Override
+            public int size(int priority) {
+
+                WordIdLog log = closedLogs.get(priority);
+                return log == null ? 0 : log.size();
+            }
+
+            @Override
+            public void visit(Predicate<? super NewsItemView> visitor) {
+
+                for (Map.Entry<Integer, WordIdLog> entry : closedLogs.entrySet()) {
+                    if (!entry.getValue().visit(entry.getKey(), visitor)) {
+                        return;
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * @return the number of distinct words interned so far
+     */
+    public int getDictionarySize() {
+        return dictionary.size();
+    }
+
+    private WordIdLog priorityLog(ConcurrentSkipListMap<Integer, WordIdLog> logs, int priority) {
+        return logs.computeIfAbsent(priority, key -> new WordIdLog(dictionary));
+    }
+}
@@ -0,0 +1,179 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.dto.Priorities;
+import com.github.nadeemabukhadir.news_analyzer.server.util.HeadlineSignatureSet;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Per priority, the newest item of each of the {@code capacity} most recently seen headline word sets,
+ * in small arrays scanned linearly. Recency is given by per-priority sequence numbers, so only candidates
+ * numbered by the same storage can be merged.
+ */
+final class HeadlineCandidates {
+
+    private static final int PRIORITIES_COUNT = Priorities.COUNT;
+    private final int capacity;
+    private final HeadlineSignatureSet signatures = new HeadlineSignatureSet();
+    private final long[] highs;
+    private final long[] lows;
+    private final long[] sequences;
+    private final NewsItem[] items;
+    private final int[] sizes = new int[PRIORITIES_COUNT];
+
+    HeadlineCandidates(int capacity) {
+
+        this.capacity = capacity;
+        this.highs = new long[PRIORITIES_COUNT * capacity];
+        this.lows = new long[PRIORITIES_COUNT * capacity];
+        this.sequences = new long[PRIORITIES_COUNT * capacity];
+        this.items = new NewsItem[PRIORITIES_COUNT * capacity];
+    }
+
+    synchronized void offer(NewsItem item, int priority, long sequence) {
+
+        signatures.computeSignature(item.getHeadline());
+        offer(item, priority, sequence, signatures.getSignatureHigh(), signatures.getSignatureLow());
+    }
+
+    private void offer(NewsItem item, int priority, long sequence, long high, long low) {
+
+        int from = priority * capacity;
+        int to = from + sizes[priority];
+        int oldest = from;
+        for (int i = from; i < to; i++) {
+            if (highs[i] == high && lows[i] == low) {
+                if (sequence > sequences[i]) {
+                    sequences[i] = sequence;
+                    items[i] = item;
+                }
+                return;
+            }
+            if (sequences[i] < sequences[oldest]) {
+                oldest = i;
+            }
+        }
+
+        int index;
+        if (sizes[priority] < capacity) {
+            index = to;
+            sizes[priority]++;
+        } else if (sequence > sequences[oldest]) {
+            index = oldest; // The evicted word set has capacity newer ones, it can never be reported.
+        } else {
+            return;
+        }
+        highs[index] = high;
+        lows[index] = low;
+        sequences[index] = sequence;
+        items[index] = item;
+    }
+
+    synchronized void mergeFrom(HeadlineCandidates candidates) {
+
+        synchronized (candidates) {
+            for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+                int from = priority * capacity;
+                for (int i = from; i < from + candidates.sizes[priority]; i++) {
+                    offer(candidates.items[i], priority, candidates.sequences[i], candidates.highs[i], candidates.lows[i]);
+                }
+            }
+        }
+    }
+
+    synchronized void clear() {
+
+        Arrays.fill(sizes, 0);
+        Arrays.fill(items, null);
+    }
+
+    /**
+     * @return the highest sequence number of the priority's candidates, or -1 if it has none
+     */
+    synchronized long maxSequence(int priority) {
+
+        long max = -1;
+        for (int i = priority * capacity; i < priority * capacity + sizes[priority]; i++) {
+            max = Math.max(max, sequences[i]);
+        }
+        return max;
+    }
+
+    /**
+     * Writes the candidates of every priority as their count followed by
+     * {@code [long signature high][long signature low][long sequence][int length][UTF-8 headline]} entries.
+     */
+    synchronized void writeTo(DataOutput out) throws IOException {
+
+        for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+            out.writeInt(sizes[priority]);
+            for (int i = priority * capacity; i < priority * capacity + sizes[priority]; i++) {
+                byte[] headline = items[i].getHeadline().getBytes(UTF_8);
+                out.writeLong(highs[i]);
+                out.writeLong(lows[i]);
+                out.writeLong(sequences[i]);
+                out.writeInt(headline.length);
+                out.write(headline);
+            }
+        }
+    }
+
+    /**
+     * Merges candidates written by {@link #writeTo(DataOutput)}.
+     */
+    synchronized void readFrom(DataInput in) throws IOException {
+
+        for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long high = in.readLong();
+                long low = in.readLong();
+                long sequence = in.readLong();
+                byte[] headline = new byte[in.readInt()];
+                in.readFully(headline);
+                offer(new NewsItem(new String(headline, UTF_8), priority), priority, sequence, high, low);
+            }
+        }
+    }
+
+    /**
+     * @return the candidates of the priority, newest first
+     */
+    private NewsItem[] newestFirst(int priority) {
+
+        int from = priority * capacity;
+        Integer[] order = new Integer[sizes[priority]];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = from + i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(sequences[b], sequences[a]));
+        NewsItem[] sorted = new NewsItem[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sorted[i] = items[order[i]];
+        }
+        return sorted;
+    }
+
+    /**
+     * Visits the candidates by descending priority, newest first, see {@link NewsWindow#visit}.
+     */
+    synchronized void visit(Predicate<? super NewsItemView> visitor) {
+
+        ObjectItemView view = new ObjectItemView();
+        for (int priority = PRIORITIES_COUNT - 1; priority >= 0; priority--) {
+            for (NewsItem item : newestFirst(priority)) {
+                view.setItem(item);
+                if (!visitor.test(view)) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.HeadlineVocabulary;
+import com.github.nadeemabukhadir.news_analyzer.server.util.HeadlineSignatureSet;
+
+/**
+ * Shared, growing dictionary of headline words, assigning every distinct word a dense int id.
+ * It is seeded with a {@link HeadlineVocabulary}, so vocabulary words keep their vocabulary ids and get the
+ * smallest encodings.
+ * <p>
+ * Lookups are lock-free and do not extract the word from the headline; only a new word takes the lock
+ * (and one substring). Ids are never reused, and the dictionary stops growing at {@link #MAX_SIZE} words
+ * so a stream of unique words cannot grow it forever.
+ */
+final class HeadlineDictionary {
+
+    static final int MAX_SIZE = 1 << 20;
+    static final int FULL = -1;
+    private static final int INITIAL_CAPACITY = 256;
+    private final int vocabularySize;
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+
+    HeadlineDictionary(HeadlineVocabulary vocabulary) {
+
+        this.vocabularySize = vocabulary.size();
+        for (int id = 0; id < vocabulary.size(); id++) {
+            String word = vocabulary.wordOf(id);
+            idOf(word, 0, word.length());
+        }
+    }
+
+    /**
+     * @return the id of the word {@code headline[from, to)}, adding it if needed, or {@link #FULL}
+     * if it is a new word and the dictionary is full
+     */
+    int idOf(String headline, int from, int to) {
+
+        int hash = hashOf(headline, from, to);
+        int id = find(table, hash, headline, from, to);
+        return id >= 0 ? id : add(hash, headline, from, to);
+    }
+
+    String wordOf(int id) {
+        return table.words[id];
+    }
+
+    /**
+     * @return the {@link HeadlineSignatureSet#wordHashOf} of the word
+     */
+    long signatureHashOf(int id) {
+        return table.signatureHashes[id];
+    }
+
+    /**
+     * @return the id of the word in the seeding vocabulary, or -1 if it is not part of it
+     */
+    int vocabularyIdOf(int id) {
+        return id < vocabularySize ? id : -1;
+    }
+
+    int size() {
+        return table.size;
+    }
+
+    private synchronized int add(int hash, String headline, int from, int to) {
+
+        Table current = table;
+        int id = find(current, hash, headline, from, to);
+        if (id >= 0) {
+            return id;
+        }
+
+        id = current.size;
+        if (id == MAX_SIZE) {
+            return FULL;
+        }
+        if (id == current.words.length) {
+            current = current.grow();
+            table = current;
+        }
+        String word = headline.substring(from, to);
+        current.words[id] = word;
+        current.signatureHashes[id] = HeadlineSignatureSet.wordHashOf(word);
+        // Publishes the word before its slot: readers only trust slots of ids below the size they read.
+        current.size = id + 1;
+        current.place(hash, id);
+        return id;
+    }
+
+    private static int find(Table table, int hash, String headline, int from, int to) {
+
+        int[] slots = table.slots;
+        int mask = slots.length - 1;
+        for (int slot = spread(hash) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int id = slots[slot] - 1;
+            if (id < table.size) {
+                String word = table.words[id];
+                if (word.length() == to - from && headline.regionMatches(from, word, 0, to - from)) {
+                    return id;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Same as {@link String#hashCode()} of the word.
+     */
+    private static int hashOf(String headline, int from, int to) {
+
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + headline.charAt(i);
+        }
+        return hash;
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) * 0x9E3779B9;
+    }
+
+    /**
+     * Words and an open-addressing table of {@code id + 1} (0 for empty slots), kept at most half full.
+     * Only the thread holding the dictionary lock writes to it; a full table is copied into a larger one.
+     */
+    private static final class Table {
+
+        private final String[] words;
+        private final long[] signatureHashes;
+        private final int[] slots;
+        private volatile int size;
+
+        private Table(int capacity) {
+
+            this.words = new String[capacity];
+            this.signatureHashes = new long[capacity];
+            this.slots = new int[capacity * 2];
+        }
+
+        private Table grow() {
+
+            Table grown = new Table(words.length * 2);
+            System.arraycopy(words, 0, grown.words, 0, size);
+            System.arraycopy(signatureHashes, 0, grown.signatureHashes, 0, size);
+            for (int id = 0; id < size; id++) {
+                grown.place(words[id].hashCode(), id);
+            }
+            grown.size = size;
+            return grown;
+        }
+
+        private void place(int hash, int id) {
+
+            int mask = slots.length - 1;
+            int slot = spread(hash) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+
+import java.util.Collection;
+
+/**
+ * Receives every item stored through an {@link ObservingNewsItemStorage}, e.g. to keep statistics over them.
+ * Called concurrently by the adding threads.
+ */
+public interface NewsItemObserver {
+
+    void add(NewsItem item);
+
+    /**
+     * Observes a batch; implementations may override it to observe the batch at once.
+     */
+    default void addAll(Collection<NewsItem> items) {
+
+        for (NewsItem item : items) {
+            if (item != null) {
+                add(item);
+            }
+        }
+    }
+
+    /**
+     * Called by the resetting thread right after the observed storage handed its window over, so per-window
+     * statistics can close their window at the same point.
+     */
+    default void onWindowReset() {
+    }
+}
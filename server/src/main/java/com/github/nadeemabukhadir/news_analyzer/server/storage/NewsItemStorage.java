@@ -2,50 +2,36 @@ package com.github.nadeemabukhadir.news_analyzer.server.storage;
 
 import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
 
+import java.util.Collection;
 import java.util.Deque;
 import java.util.SortedMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.ConcurrentSkipListMap;
-import java.util.concurrent.atomic.AtomicReference;
 
-import static java.util.Comparator.reverseOrder;
-
-public class NewsItemStorage {
-
-    // Store the map in an AtomicReference to swap it easily.
-    private final AtomicReference<ConcurrentSkipListMap<Integer, Deque<NewsItem>>> storageRef;
-
-    public NewsItemStorage() {
-        // Descending order for priorities
-        // Key  : News Priority
-        // Value: News Aggregated by priority in a LIFO Deque where the newest stored in the front
-        ConcurrentSkipListMap<Integer, Deque<NewsItem>> initialMap = new ConcurrentSkipListMap<>(reverseOrder());
-        this.storageRef = new AtomicReference<>(initialMap);
-    }
+/**
+ * Thread-safe storage of the accepted news items of the current report window, by priority.
+ * Items are handed over (and removed) once per window, by descending priority and newest first within a priority.
+ */
+public interface NewsItemStorage {
 
     /**
-     * Adds a NewsItem to the thread-safe data structure.
+     * Adds a NewsItem to the thread-safe data structure; null items are ignored.
      */
-    public void add(NewsItem item) {
-
-        if (item == null) {
-            return; // avoid adding null values
-        }
+    void add(NewsItem item);
 
-        ConcurrentSkipListMap<Integer, Deque<NewsItem>> map = storageRef.get();
-        map.computeIfAbsent(item.getPriority(), priority -> new ConcurrentLinkedDeque<>())
-                .push(item);
-    }
+    /**
+     * Adds a batch of NewsItems, as if they were added one by one in iteration order.
+     */
+    void addAll(Collection<NewsItem> items);
 
     /**
-     * Atomically replaces the internal map with a brand-new empty one
-     * and returns the old map (snapshot).
+     * Removes all stored items and returns them (snapshot), by descending priority,
+     * with the newest item of every priority at the front.
      */
-    public SortedMap<Integer, Deque<NewsItem>> resetAndGetAll() {
+    SortedMap<Integer, Deque<NewsItem>> resetAndGetAll();
 
-        // Map Cleanup: Assign a new empty map, and hand it over to the task for reporting
-        ConcurrentSkipListMap<Integer, Deque<NewsItem>> newMap = new ConcurrentSkipListMap<>(reverseOrder());
-        // Atomically swap: getAndSet returns the old map.
-        return storageRef.getAndSet(newMap);
+    /**
+     * Removes all stored items like {@link #resetAndGetAll()}, and returns them as a {@link NewsWindow}.
+     */
+    default NewsWindow resetAndGetWindow() {
+        return NewsWindow.of(resetAndGetAll());
     }
 }
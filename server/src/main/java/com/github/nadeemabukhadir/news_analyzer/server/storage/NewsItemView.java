@@ -0,0 +1,29 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.util.HeadlineSignatureSet;
+
+/**
+ * Read-only view of a stored news item, visited through {@link NewsWindow#visit}.
+ * Depending on the storage, the headline may only exist as word ids and is rebuilt on demand.
+ */
+public interface NewsItemView {
+
+    int getPriority();
+
+    /**
+     * @return the headline, possibly rebuilt from its words on every call
+     */
+    String getHeadline();
+
+    /**
+     * Adds the word-order-insensitive signature of the headline, without rebuilding it when possible.
+     *
+     * @return true if no headline with the same set of words was added before
+     */
+    boolean addSignatureTo(HeadlineSignatureSet signatures);
+
+    default NewsItem toNewsItem() {
+        return new NewsItem(getHeadline(), getPriority());
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+
+import java.util.Deque;
+import java.util.SortedMap;
+import java.util.function.Predicate;
+
+/**
+ * The news items of one reporting window, as handed over by {@link NewsItemStorage#resetAndGetWindow()}.
+ */
+public interface NewsWindow {
+
+    /**
+     * @return the number of items in the window
+     */
+    int size();
+
+    /**
+     * @return the number of items of the priority in the window
+     */
+    default int size(int priority) {
+
+        int[] count = {0};
+        visit(item -> {
+            if (item.getPriority() == priority) {
+                count[0]++;
+            }
+            return true;
+        });
+        return count[0];
+    }
+
+    /**
+     * Visits the items by descending priority, newest first within a priority, until the visitor returns false.
+     * The visited {@link NewsItemView} may be reused between items and must not be retained.
+     */
+    void visit(Predicate<? super NewsItemView> visitor);
+
+    /**
+     * Wraps a snapshot as returned by {@link NewsItemStorage#resetAndGetAll()}.
+     */
+    static NewsWindow of(SortedMap<Integer, Deque<NewsItem>> items) {
+        return new ObjectNewsWindow(items);
+    }
+}
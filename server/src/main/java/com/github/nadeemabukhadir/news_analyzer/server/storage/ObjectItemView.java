@@ -0,0 +1,36 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.util.HeadlineSignatureSet;
+
+/**
+ * Reusable {@link NewsItemView} of stored {@link NewsItem} objects.
+ */
+final class ObjectItemView implements NewsItemView {
+
+    private NewsItem item;
+
+    void setItem(NewsItem item) {
+        this.item = item;
+    }
+
+    @Override
+    public int getPriority() {
+        return item.getPriority();
+    }
+
+    @Override
+    public String getHeadline() {
+        return item.getHeadline();
+    }
+
+    @Override
+    public boolean addSignatureTo(HeadlineSignatureSet signatures) {
+        return signatures.add(item.getHeadline());
+    }
+
+    @Override
+    public NewsItem toNewsItem() {
+        return item;
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+
+import java.util.Deque;
+import java.util.SortedMap;
+import java.util.function.Predicate;
+
+/**
+ * {@link NewsWindow} over stored {@link NewsItem} objects.
+ */
+final class ObjectNewsWindow implements NewsWindow {
+
+    private final SortedMap<Integer, Deque<NewsItem>> items;
+
+    ObjectNewsWindow(SortedMap<Integer, Deque<NewsItem>> items) {
+        this.items = items;
+    }
+
+    @Override
+    public int size() {
+        return items.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    @Override
+    public int size(int priority) {
+
+        Deque<NewsItem> priorityItems = items.get(priority);
+        return priorityItems == null ? 0 : priorityItems.size();
+    }
+
+    @Override
+    public void visit(Predicate<? super NewsItemView> visitor) {
+
+        ObjectItemView view = new ObjectItemView();
+        for (Deque<NewsItem> priorityItems : items.values()) {
+            for (NewsItem item : priorityItems) {
+                view.setItem(item);
+                if (!visitor.test(view)) {
+                    return;
+                }
+            }
+        }
+    }
+
+}
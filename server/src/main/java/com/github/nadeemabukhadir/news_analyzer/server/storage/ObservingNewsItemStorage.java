@@ -0,0 +1,61 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+
+import java.util.Collection;
+import java.util.Deque;
+import java.util.SortedMap;
+
+/**
+ * {@link NewsItemStorage} decorator also feeding every stored item into a {@link NewsItemObserver}.
+ * <p>
+ * The observer's window is closed right after the storage's one. An item is observed after it is stored, so an add
+ * racing with a reset may be observed in the window after the one it is stored in.
+ */
+public class ObservingNewsItemStorage implements NewsItemStorage {
+
+    private final NewsItemStorage storage;
+    private final NewsItemObserver observer;
+
+    public ObservingNewsItemStorage(NewsItemStorage storage, NewsItemObserver observer) {
+
+        this.storage = storage;
+        this.observer = observer;
+    }
+
+    @Override
+    public void add(NewsItem item) {
+
+        if (item == null) {
+            return; // avoid adding null values
+        }
+        storage.add(item);
+        observer.add(item);
+    }
+
+    @Override
+    public void addAll(Collection<NewsItem> items) {
+
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+        storage.addAll(items);
+        observer.addAll(items);
+    }
+
+    @Override
+    public SortedMap<Integer, Deque<NewsItem>> resetAndGetAll() {
+
+        SortedMap<Integer, Deque<NewsItem>> items = storage.resetAndGetAll();
+        observer.onWindowReset();
+        return items;
+    }
+
+    @Override
+    public NewsWindow resetAndGetWindow() {
+
+        NewsWindow window = storage.resetAndGetWindow();
+        observer.onWindowReset();
+        return window;
+    }
+}
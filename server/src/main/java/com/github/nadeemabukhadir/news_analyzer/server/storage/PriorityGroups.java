@@ -0,0 +1,31 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+final class PriorityGroups {
+
+    private PriorityGroups() {
+    }
+
+    /**
+     * @return true if the non-empty batch holds no null item and all its items share the same priority
+     */
+    static boolean isSinglePriority(Collection<NewsItem> items) {
+
+        Iterator<NewsItem> iterator = items.iterator();
+        NewsItem first = iterator.next();
+        if (first == null) {
+            return false;
+        }
+        while (iterator.hasNext()) {
+            NewsItem item = iterator.next();
+            if (item == null || item.getPriority() != first.getPriority()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
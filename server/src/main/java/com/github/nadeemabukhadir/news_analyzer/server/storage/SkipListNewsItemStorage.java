@@ -0,0 +1,118 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.util.Comparator.reverseOrder;
+
+/**
+ * {@link NewsItemStorage} over a {@link ConcurrentSkipListMap} of priorities to {@link ConcurrentLinkedDeque}s,
+ * replaced by a new map on every reset.
+ * <p>
+ * Writers enter a {@link WindowEpochs} epoch and add to the map of its parity, so a reset only hands over
+ * the old map once no add is in flight on it anymore, and items are never lost to a map that was already reported.
+ */
+public class SkipListNewsItemStorage implements NewsItemStorage {
+
+    // Descending order for priorities
+    // Key  : News Priority
+    // Value: News Aggregated by priority in arrival order, so whole batches can be appended with a single splice
+    // One map per epoch parity, see WindowEpochs.
+    private final AtomicReferenceArray<ConcurrentSkipListMap<Integer, Deque<NewsItem>>> maps = new AtomicReferenceArray<>(2);
+    private final WindowEpochs epochs = new WindowEpochs();
+
+    public SkipListNewsItemStorage() {
+        maps.set(epochs.currentParity(), new ConcurrentSkipListMap<>(reverseOrder()));
+    }
+
+    @Override
+    public void add(NewsItem item) {
+
+        if (item == null) {
+            return; // avoid adding null values
+        }
+
+        int ticket = epochs.enter();
+        try {
+            ConcurrentSkipListMap<Integer, Deque<NewsItem>> map = maps.get(WindowEpochs.parityOf(ticket));
+            priorityDeque(map, item.getPriority()).offerLast(item);
+        } finally {
+            epochs.exit(ticket);
+        }
+    }
+
+    /**
+     * Items are grouped by priority, and each group costs a single priority lookup and is published
+     * with a single append of the whole group (see {@link ConcurrentLinkedDeque#addAll(Collection)}).
+     * Callers that already grouped their batch by priority skip the grouping step entirely.
+     */
+    @Override
+    public void addAll(Collection<NewsItem> items) {
+
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, List<NewsItem>> groups = null;
+        if (!PriorityGroups.isSinglePriority(items)) {
+            groups = new HashMap<>();
+            for (NewsItem item : items) {
+                if (item != null) {
+                    groups.computeIfAbsent(item.getPriority(), priority -> new ArrayList<>()).add(item);
+                }
+            }
+        }
+
+        int ticket = epochs.enter();
+        try {
+            ConcurrentSkipListMap<Integer, Deque<NewsItem>> map = maps.get(WindowEpochs.parityOf(ticket));
+            if (groups == null) {
+                priorityDeque(map, items.iterator().next().getPriority()).addAll(items);
+            } else {
+                groups.forEach((priority, group) -> priorityDeque(map, priority).addAll(group));
+            }
+        } finally {
+            epochs.exit(ticket);
+        }
+    }
+
+    /**
+     * Replaces the internal map with a brand-new empty one, waits for the adds still in flight on the old map,
+     * and returns the old map (snapshot), with the newest item of every priority at the front.
+     */
+    @Override
+    public synchronized SortedMap<Integer, Deque<NewsItem>> resetAndGetAll() {
+
+        // Map Cleanup: Assign a new empty map to the next epoch, and hand the closed one over to the task for reporting
+        maps.set(1 - epochs.currentParity(), new ConcurrentSkipListMap<>(reverseOrder()));
+        ConcurrentSkipListMap<Integer, Deque<NewsItem>> oldMap = maps.getAndSet(epochs.advance(), null);
+        oldMap.replaceAll((priority, items) -> newestFirst(items));
+        return oldMap;
+    }
+
+    private static Deque<NewsItem> priorityDeque(ConcurrentSkipListMap<Integer, Deque<NewsItem>> map, int priority) {
+        return map.computeIfAbsent(priority, key -> new ConcurrentLinkedDeque<>());
+    }
+
+    private static Deque<NewsItem> newestFirst(Deque<NewsItem> items) {
+
+        Deque<NewsItem> reversed = new ArrayDeque<>();
+        Iterator<NewsItem> iterator = items.descendingIterator();
+        while (iterator.hasNext()) {
+            reversed.addLast(iterator.next());
+        }
+        return reversed;
+    }
+}
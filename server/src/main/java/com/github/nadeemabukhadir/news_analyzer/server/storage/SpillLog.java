@@ -0,0 +1,150 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.server.util.HeadlineSignatureSet;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Headlines of one priority spilled out of the heap into a temporary file, mapped into memory in chunks.
+ * <p>
+ * Each entry is the UTF-8 headline followed by its {@code int} length, so the chunks are read backwards, newest
+ * entry first. The file is created on the first append and deleted by {@link #delete()}.
+ */
+final class SpillLog {
+
+    private static final int CHUNK_SIZE = 1024 * 1024;
+    private final Path directory;
+    private final int priority;
+    private final List<MappedByteBuffer> chunks = new ArrayList<>();
+    private Path file;
+    private FileChannel channel;
+    private long fileSize = 0;
+    private int size = 0;
+
+    SpillLog(Path directory, int priority) {
+
+        this.directory = directory;
+        this.priority = priority;
+    }
+
+    synchronized void append(String headline) {
+
+        byte[] bytes = headline.getBytes(UTF_8);
+        int entrySize = bytes.length + 4;
+        try {
+            MappedByteBuffer chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+            if (chunk == null || chunk.remaining() < entrySize) {
+                chunk = newChunk(Math.max(CHUNK_SIZE, entrySize));
+            }
+            chunk.put(bytes).putInt(bytes.length);
+            size++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spill a news item to " + directory, e);
+        }
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Visits the entries newest first, see {@link NewsWindow#visit}.
+     *
+     * @return false if the visitor asked to stop
+     */
+    synchronized boolean visit(Predicate<? super NewsItemView> visitor) {
+
+        SpilledItemView view = new SpilledItemView(priority);
+        byte[] headline = new byte[64];
+        for (int i = chunks.size() - 1; i >= 0; i--) {
+            MappedByteBuffer chunk = chunks.get(i);
+            int position = chunk.position();
+            while (position > 0) {
+                int length = chunk.getInt(position - 4);
+                position -= 4 + length;
+                if (length > headline.length) {
+                    headline = new byte[length];
+                }
+                for (int j = 0; j < length; j++) {
+                    headline[j] = chunk.get(position + j);
+                }
+                view.setHeadline(new String(headline, 0, length, UTF_8));
+                if (!visitor.test(view)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Deletes the file; the log must not be used anymore.
+     */
+    synchronized void delete() {
+
+        chunks.clear();
+        if (file == null) {
+            return;
+        }
+        try {
+            channel.close();
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete spill file " + file, e);
+        }
+    }
+
+    private MappedByteBuffer newChunk(int chunkSize) throws IOException {
+
+        if (file == null) {
+            Files.createDirectories(directory);
+            file = Files.createTempFile(directory, "news-spill-p" + priority + "-", ".tmp");
+            file.toFile().deleteOnExit();
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_WRITE, fileSize, chunkSize);
+        fileSize += chunkSize;
+        chunks.add(chunk);
+        return chunk;
+    }
+
+    private static final class SpilledItemView implements NewsItemView {
+
+        private final int priority;
+        private String headline;
+
+        private SpilledItemView(int priority) {
+            this.priority = priority;
+        }
+
+        private void setHeadline(String headline) {
+            this.headline = headline;
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public String getHeadline() {
+            return headline;
+        }
+
+        @Override
+        public boolean addSignatureTo(HeadlineSignatureSet signatures) {
+            return signatures.add(headline);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.dto.Priorities;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+
+import static java.util.Comparator.reverseOrder;
+
+/**
+ * {@link NewsItemStorage} decorator bounding the heap used by a window.
+ * <p>
+ * Every item is charged an estimate of its heap footprint. Once a window is over the budget, its further items
+ * are spilled into per-priority {@link SpillLog}s, temporary files mapped into memory, instead of the decorated
+ * storage. Spilled items of a priority are always newer than its stored ones, so the window visits them first,
+ * interleaved lazily with the stored items in priority order: a report stopping at its top headlines never reads the
+ * spill files of the lower priorities. Every item is counted, so totals stay exact.
+ * <p>
+ * Windows are handed over through {@link WindowEpochs}. The decorated storage is reset once the closed epoch is
+ * drained; until then, the items of the new epoch go to per-priority gap logs, so that none of them lands in the
+ * closed window. Gap items of a priority are always older than its stored ones and are visited after them.
+ * The spill and gap files of a window are deleted on the reset after the next one, so a window must be read before
+ * the storage is reset again.
+ */
+public class SpillingNewsItemStorage implements NewsItemStorage {
+
+    private static final int PRIORITIES_COUNT = Priorities.COUNT;
+    // String, char/byte array, NewsItem and stack node headers and references, besides the headline characters
+    private static final int ITEM_OVERHEAD_BYTES = 96;
+    private static final int PADDING = 16;
+    private final NewsItemStorage storage;
+    private final long heapBudgetBytes;
+    private final Path spillDirectory;
+    // Spill logs of both epoch parities: [parity * PRIORITIES_COUNT + priority]
+    private final SpillLog[] spillLogs = new SpillLog[2 * PRIORITIES_COUNT];
+    // Items added before the decorated storage was reset for their epoch, indexed like spillLogs
+    private final SpillLog[] gapLogs = new SpillLog[2 * PRIORITIES_COUNT];
+    // Estimated heap bytes per epoch parity, at indexes 0 and PADDING
+    private final AtomicLongArray usedBytes = new AtomicLongArray(2 * PADDING);
+    private final WindowEpochs epochs = new WindowEpochs();
+    // Parity whose items may be stored in the decorated storage, switched once it was reset
+    private volatile int storingParity;
+
+    public SpillingNewsItemStorage(NewsItemStorage storage, long heapBudgetBytes, Path spillDirectory) {
+
+        if (heapBudgetBytes < 1) {
+            throw new IllegalArgumentException("Heap budget must be positive: " + heapBudgetBytes);
+        }
+        this.storage = storage;
+        this.heapBudgetBytes = heapBudgetBytes;
+        this.spillDirectory = spillDirectory;
+        this.storingParity = epochs.currentParity();
+        createSpillLogs(storingParity);
+    }
+
+    /**
+     * @return the estimated heap footprint of a stored item
+     */
+    static long footprintOf(NewsItem item) {
+        return ITEM_OVERHEAD_BYTES + 2L * item.getHeadline().length();
+    }
+
+    @Override
+    public void add(NewsItem item) {
+
+        if (item == null) {
+            return; // avoid adding null values
+        }
+
+        int priority = Priorities.check(item.getPriority());
+        int ticket = epochs.enter();
+        try {
+            int parity = WindowEpochs.parityOf(ticket);
+            if (parity != storingParity) {
+                gapLogs[parity * PRIORITIES_COUNT + priority].append(item.getHeadline());
+            } else if (usedBytes.addAndGet(parity * PADDING, footprintOf(item)) <= heapBudgetBytes) {
+                storage.add(item);
+            } else {
+                spillLogs[parity * PRIORITIES_COUNT + priority].append(item.getHeadline());
+            }
+        } finally {
+            epochs.exit(ticket);
+        }
+    }
+
+    /**
+     * A batch is stored as a whole if it fits into the budget, otherwise it is spilled item by item.
+     */
+    @Override
+    public void addAll(Collection<NewsItem> items) {
+
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+
+        long footprint = 0;
+        for (NewsItem item : items) {
+            if (item != null) {
+                Priorities.check(item.getPriority());
+                footprint += footprintOf(item);
+            }
+        }
+        int ticket = epochs.enter();
+        try {
+            int parity = WindowEpochs.parityOf(ticket);
+            boolean gap = parity != storingParity;
+            if (!gap && usedBytes.addAndGet(parity * PADDING, footprint) <= heapBudgetBytes) {
+                storage.addAll(items);
+                return;
+            }
+            SpillLog[] logs = gap ? gapLogs : spillLogs;
+            for (NewsItem item : items) {
+                if (item != null) {
+                    logs[parity * PRIORITIES_COUNT + item.getPriority()].append(item.getHeadline());
+                }
+            }
+        } finally {
+            epochs.exit(ticket);
+        }
+    }
+
+    @Override
+    public SortedMap<Integer, Deque<NewsItem>> resetAndGetAll() {
+
+        SortedMap<Integer, Deque<NewsItem>> items = new TreeMap<>(reverseOrder());
+        resetAndGetWindow().visit(item -> {
+            items.computeIfAbsent(item.getPriority(), priority -> new ArrayDeque<>()).addLast(item.toNewsItem());
+            return true;
+        });
+        return items;
+    }
+
+    /**
+     * Waits for in-flight adds of the closing window, see {@link WindowEpochs#advance()}, so that they all reached
+     * the decorated storage or the spill logs before the decorated storage is reset. Adds of the new window go to
+     * its gap logs until the decorated storage was reset.
+     */
+    @Override
+    public synchronized NewsWindow resetAndGetWindow() {
+
+        int next = 1 - epochs.currentParity();
+        for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+            int index = next * PRIORITIES_COUNT + priority;
+            if (spillLogs[index] != null) {
+                spillLogs[index].delete(); // The window before the last one, read by now
+                gapLogs[index].delete();
+            }
+        }
+        createSpillLogs(next);
+        usedBytes.set(next * PADDING, 0);
+
+        int parity = epochs.advance();
+        NewsWindow stored = storage.resetAndGetWindow();
+        storingParity = next;
+        SpillLog[] spilled = new SpillLog[PRIORITIES_COUNT];
+        SpillLog[] gap = new SpillLog[PRIORITIES_COUNT];
+        System.arraycopy(spillLogs, parity * PRIORITIES_COUNT, spilled, 0, PRIORITIES_COUNT);
+        System.arraycopy(gapLogs, parity * PRIORITIES_COUNT, gap, 0, PRIORITIES_COUNT);
+        return new SpillingWindow(stored, spilled, gap);
+    }
+
+    private void createSpillLogs(int parity) {
+
+        for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+            spillLogs[parity * PRIORITIES_COUNT + priority] = new SpillLog(spillDirectory, priority);
+            gapLogs[parity * PRIORITIES_COUNT + priority] = new SpillLog(spillDirectory, priority);
+        }
+    }
+
+    /**
+     * Visits the spilled items of each priority right before its stored items, and its gap items right after them.
+     */
+    private static final class SpillingWindow implements NewsWindow {
+
+        private final NewsWindow stored;
+        private final SpillLog[] spilled;
+        private final SpillLog[] gap;
+
+        private SpillingWindow(NewsWindow stored, SpillLog[] spilled, SpillLog[] gap) {
+
+            this.stored = stored;
+            this.spilled = spilled;
+            this.gap = gap;
+        }
+
+        @Override
+        public int size() {
+
+            int size = stored.size();
+            for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+                size += spilled[priority].size() + gap[priority].size();
+            }
+            return size;
+        }
+
+        @Override
+        public int size(int priority) {
+
+            if (!Priorities.isValid(priority)) {
+                return 0;
+            }
+            return stored.size(priority) + spilled[priority].size() + gap[priority].size();
+        }
+
+        @Override
+        public void visit(Predicate<? super NewsItemView> visitor) {
+
+            Cursor cursor = new Cursor(visitor);
+            stored.visit(cursor);
+            if (!cursor.stopped) {
+                cursor.finishDownTo(0);
+            }
+        }
+
+        /**
+         * Interleaves the logs with the stored items, which are visited in descending priority order.
+         */
+        private final class Cursor implements Predicate<NewsItemView> {
+
+            private final Predicate<? super NewsItemView> visitor;
+            // Next priority whose spilled items, and whose gap items, were not visited yet
+            private int nextSpilled = PRIORITIES_COUNT - 1;
+            private int nextGap = PRIORITIES_COUNT - 1;
+            private boolean stopped = false;
+
+            private Cursor(Predicate<? super NewsItemView> visitor) {
+                this.visitor = visitor;
+            }
+
+            @Override
+            public boolean test(NewsItemView item) {
+
+                int priority = item.getPriority();
+                if (!finishDownTo(priority + 1) || !visitSpilledDownTo(priority)) {
+                    return false;
+                }
+                if (!visitor.test(item)) {
+                    stopped = true;
+                    return false;
+                }
+                return true;
+            }
+
+            /**
+             * Visits the rest of the priorities down to the given one, whose stored items were all visited.
+             */
+            private boolean finishDownTo(int priority) {
+
+                while (nextGap >= priority) {
+                    if (!visitSpilledDownTo(nextGap) || !visitLog(gap[nextGap--])) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            private boolean visitSpilledDownTo(int priority) {
+
+                while (nextSpilled >= priority) {
+                    if (!visitLog(spilled[nextSpilled--])) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            private boolean visitLog(SpillLog log) {
+
+                if (!log.visit(visitor)) {
+                    stopped = true;
+                    return false;
+                }
+                return true;
+            }
+        }
+    }
+}
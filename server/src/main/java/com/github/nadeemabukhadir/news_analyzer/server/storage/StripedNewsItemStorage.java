@@ -0,0 +1,255 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.dto.Priorities;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+import static java.util.Comparator.reverseOrder;
+
+/**
+ * {@link NewsItemStorage} with one fixed slot per priority (0-9), each made of several lock-free (Treiber) stacks.
+ * <p>
+ * Every thread pushes onto the stack of its own stripe, so concurrent producers rarely retry a CAS on the same head,
+ * and adding an item costs no map lookup, boxing or {@code computeIfAbsent}. Items are tagged with a per-priority
+ * sequence number taken with a single (wait-free) increment, and the stripes of a priority are merged by descending
+ * sequence when the window is read, which keeps the exact LIFO order of a single stack.
+ * <p>
+ * Stacks come in two sets, one per {@link WindowEpochs} parity: writers push onto the set of the epoch they entered,
+ * and a reset advances the epoch, waits for the writers of the closed one, and takes its stacks instead of allocating
+ * a new map. Every item whose add completed before the reset is in the returned window, and none is lost.
+ */
+public class StripedNewsItemStorage implements NewsItemStorage {
+
+    private static final int PRIORITIES_COUNT = Priorities.COUNT;
+    // Array slots between two heads (or counters) written by different threads, to keep them on distinct cache lines.
+    private static final int PADDING = 16;
+    private final int stripes;
+    private final AtomicReferenceArray<Node> heads;
+    private final AtomicLongArray sequences = new AtomicLongArray(PRIORITIES_COUNT * PADDING);
+    private final WindowEpochs epochs = new WindowEpochs();
+
+    public StripedNewsItemStorage() {
+        this(WindowEpochs.defaultStripes());
+    }
+
+    /**
+     * @param stripes number of stacks per priority, a power of two
+     */
+    public StripedNewsItemStorage(int stripes) {
+
+        if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripes must be a power of two: " + stripes);
+        }
+        this.stripes = stripes;
+        this.heads = new AtomicReferenceArray<>(2 * PRIORITIES_COUNT * stripes * PADDING);
+    }
+
+    @Override
+    public void add(NewsItem item) {
+
+        if (item == null) {
+            return; // avoid adding null values
+        }
+
+        int priority = Priorities.check(item.getPriority());
+        Node node = new Node(item, sequences.getAndIncrement(priority * PADDING));
+        push(priority, node, node);
+    }
+
+    /**
+     * Each priority group is linked up front and published with a single CAS,
+     * after reserving its sequence numbers with a single increment.
+     */
+    @Override
+    public void addAll(Collection<NewsItem> items) {
+
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+
+        if (PriorityGroups.isSinglePriority(items)) {
+            pushAll(Priorities.check(items.iterator().next().getPriority()), items);
+            return;
+        }
+
+        List<List<NewsItem>> groups = new ArrayList<>(PRIORITIES_COUNT);
+        for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+            groups.add(null);
+        }
+        for (NewsItem item : items) {
+            if (item != null) {
+                int priority = Priorities.check(item.getPriority());
+                if (groups.get(priority) == null) {
+                    groups.set(priority, new ArrayList<>());
+                }
+                groups.get(priority).add(item);
+            }
+        }
+        for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+            if (groups.get(priority) != null) {
+                pushAll(priority, groups.get(priority));
+            }
+        }
+    }
+
+    @Override
+    public SortedMap<Integer, Deque<NewsItem>> resetAndGetAll() {
+
+        SortedMap<Integer, Deque<NewsItem>> items = new TreeMap<>(reverseOrder());
+        resetAndGetWindow().visit(item -> {
+            items.computeIfAbsent(item.getPriority(), priority -> new ArrayDeque<>()).addLast(item.toNewsItem());
+            return true;
+        });
+        return items;
+    }
+
+    /**
+     * Waits for in-flight adds of the closing window, see {@link WindowEpochs#advance()}.
+     */
+    @Override
+    public synchronized NewsWindow resetAndGetWindow() {
+
+        int parity = epochs.advance();
+        Node[] taken = new Node[PRIORITIES_COUNT * stripes];
+        for (int i = 0; i < taken.length; i++) {
+            int index = (parity * taken.length + i) * PADDING;
+            taken[i] = heads.get(index);
+            heads.set(index, null); // Empty again before this parity is entered next.
+        }
+        return new StripedWindow(taken, stripes);
+    }
+
+    private void pushAll(int priority, Collection<NewsItem> group) {
+
+        long sequence = sequences.getAndAdd(priority * PADDING, group.size());
+        Node bottom = null;
+        Node top = null;
+        for (NewsItem item : group) {
+            Node node = new Node(item, sequence++);
+            node.next = top;
+            top = node;
+            if (bottom == null) {
+                bottom = node;
+            }
+        }
+        push(priority, top, bottom);
+    }
+
+    /**
+     * Pushes the chain {@code top -> ... -> bottom} onto the stack of the calling thread's stripe,
+     * in the current window.
+     */
+    private void push(int priority, Node top, Node bottom) {
+
+        int ticket = epochs.enter();
+        try {
+            int stack = (WindowEpochs.parityOf(ticket) * PRIORITIES_COUNT + priority) * stripes
+                    + WindowEpochs.stripeOfCurrentThread(stripes);
+            int index = stack * PADDING;
+            Node head;
+            do {
+                head = heads.get(index);
+                bottom.next = head;
+            } while (!heads.compareAndSet(index, head, top));
+        } finally {
+            epochs.exit(ticket);
+        }
+    }
+
+    private static final class Node {
+
+        private final NewsItem item;
+        private final long sequence;
+        private Node next;
+
+        private Node(NewsItem item, long sequence) {
+
+            this.item = item;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Window over the taken stacks, merging the stripes of each priority by descending sequence while visiting.
+     */
+    private static final class StripedWindow implements NewsWindow {
+
+        private final Node[] stacks;
+        private final int stripes;
+        private int size = -1;
+
+        private StripedWindow(Node[] stacks, int stripes) {
+
+            this.stacks = stacks;
+            this.stripes = stripes;
+        }
+
+        @Override
+        public int size() {
+
+            if (size < 0) {
+                int count = 0;
+                for (Node stack : stacks) {
+                    for (Node node = stack; node != null; node = node.next) {
+                        count++;
+                    }
+                }
+                size = count;
+            }
+            return size;
+        }
+
+        @Override
+        public int size(int priority) {
+
+            if (priority < 0 || priority >= PRIORITIES_COUNT) {
+                return 0;
+            }
+            int count = 0;
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                for (Node node = stacks[priority * stripes + stripe]; node != null; node = node.next) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public void visit(Predicate<? super NewsItemView> visitor) {
+
+            ObjectItemView view = new ObjectItemView();
+            Node[] cursors = new Node[stripes];
+            for (int priority = PRIORITIES_COUNT - 1; priority >= 0; priority--) {
+                System.arraycopy(stacks, priority * stripes, cursors, 0, stripes);
+                while (true) {
+                    int newest = -1;
+                    for (int stripe = 0; stripe < stripes; stripe++) {
+                        Node node = cursors[stripe];
+                        if (node != null && (newest < 0 || node.sequence > cursors[newest].sequence)) {
+                            newest = stripe;
+                        }
+                    }
+                    if (newest < 0) {
+                        break;
+                    }
+                    view.setItem(cursors[newest].item);
+                    cursors[newest] = cursors[newest].next;
+                    if (!visitor.test(view)) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.Priorities;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Mergeable summary of a window, as built by {@link AggregatingNewsItemStorage#resetAndGetAggregate()}:
+ * the number of items per priority and the candidates for the first {@code topK} unique headlines of its report.
+ * <p>
+ * Merging the aggregates of consecutive windows gives the aggregate of the combined window, with the same top
+ * headlines the combined window would report. Only aggregates of the same storage can be merged, and an aggregate
+ * must not be merged into while it is being read.
+ */
+public final class WindowAggregate {
+
+    private static final int PRIORITIES_COUNT = Priorities.COUNT;
+    private final long[] counts;
+    private final HeadlineCandidates candidates;
+
+    /**
+     * Creates an empty aggregate.
+     *
+     * @param topK number of unique headlines reported per window
+     */
+    public WindowAggregate(int topK) {
+        this(new long[PRIORITIES_COUNT], new HeadlineCandidates(candidatesCountOf(topK)));
+    }
+
+    WindowAggregate(long[] counts, HeadlineCandidates candidates) {
+
+        this.counts = counts;
+        this.candidates = candidates;
+    }
+
+    /**
+     * @return the number of candidates kept per priority for a report of {@code topK} unique headlines
+     */
+    static int candidatesCountOf(int topK) {
+
+        if (topK < 1) {
+            throw new IllegalArgumentException("Top K must be positive: " + topK);
+        }
+        return 2 * topK - 1;
+    }
+
+    /**
+     * @return the number of items of all priorities
+     */
+    public long getCount() {
+
+        long count = 0;
+        for (long priorityCount : counts) {
+            count += priorityCount;
+        }
+        return count;
+    }
+
+    public long getCount(int priority) {
+
+        Priorities.check(priority);
+        return counts[priority];
+    }
+
+    public void mergeFrom(WindowAggregate aggregate) {
+
+        for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+            counts[priority] += aggregate.counts[priority];
+        }
+        candidates.mergeFrom(aggregate.candidates);
+    }
+
+    public void clear() {
+
+        Arrays.fill(counts, 0);
+        candidates.clear();
+    }
+
+    /**
+     * @return the highest sequence number of the priority's candidates, or -1 if it has none
+     */
+    long maxSequence(int priority) {
+        return candidates.maxSequence(priority);
+    }
+
+    /**
+     * Writes the counts and candidates in a compact binary form, read back by {@link #readFrom(DataInput)}.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+
+        for (long count : counts) {
+            out.writeLong(count);
+        }
+        candidates.writeTo(out);
+    }
+
+    /**
+     * Merges an aggregate written by {@link #writeTo(DataOutput)} into this one.
+     */
+    public void readFrom(DataInput in) throws IOException {
+
+        for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+            counts[priority] += in.readLong();
+        }
+        candidates.readFrom(in);
+    }
+
+    /**
+     * @return a window of {@link #getCount()} items visiting the candidates only
+     */
+    public NewsWindow asWindow() {
+
+        int size = (int) Math.min(Integer.MAX_VALUE, getCount());
+        return new NewsWindow() {
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public int size(int priority) {
+                return priority < 0 || priority >= PRIORITIES_COUNT ? 0 : (int) Math.min(Integer.MAX_VALUE, counts[priority]);
+            }
+
+            @Override
+            public void visit(Predicate<? super NewsItemView> visitor) {
+                candidates.visit(visitor);
+            }
+        };
+    }
+}
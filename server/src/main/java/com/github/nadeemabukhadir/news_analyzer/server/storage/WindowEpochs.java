@@ -0,0 +1,109 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Epoch based hand-over of a report window between lock-free writers and the resetting thread.
+ * <p>
+ * Storages keep two sets of window containers, indexed by the parity of the current epoch. A writer
+ * {@link #enter() enters} the current epoch by incrementing an in-flight counter of its thread's shard,
+ * writes into the containers of that epoch's parity, and {@link #exit(int) exits} again. A reset prepares
+ * empty containers for the next parity and {@link #advance() advances} the epoch, which then waits
+ * (spinning, without locks) until no writer of the closed epoch is in flight anymore. After that, the closed
+ * containers hold exactly the items whose add completed in that epoch and nobody writes to them anymore.
+ * <p>
+ * Writers never block: they only retry their entry if the epoch changed between reading it and registering.
+ * The thread striping helpers are shared with the other per-thread sharded structures of the server.
+ */
+public final class WindowEpochs {
+
+    private static final int MAX_SHARDS = 64;
+    // Array slots between two counters written by different threads, to keep them on distinct cache lines.
+    private static final int PADDING = 16;
+    private final int shards;
+    private final AtomicLongArray inFlight;
+    private volatile long epoch = 0;
+
+    WindowEpochs() {
+
+        this.shards = defaultStripes();
+        this.inFlight = new AtomicLongArray(shards * 2 * PADDING);
+    }
+
+    /**
+     * Registers the calling thread as a writer of the current epoch.
+     *
+     * @return a ticket to pass to {@link #parityOf(int)} and {@link #exit(int)}
+     */
+    int enter() {
+
+        int shard = stripeOfCurrentThread(shards);
+        while (true) {
+            long current = epoch;
+            int ticket = (shard * 2 + (int) (current & 1)) * PADDING;
+            inFlight.incrementAndGet(ticket);
+            if (epoch == current) {
+                return ticket;
+            }
+            inFlight.decrementAndGet(ticket); // A reset advanced the epoch meanwhile, register in the new one.
+        }
+    }
+
+    /**
+     * @return the parity (0 or 1) of the epoch the ticket's writer entered
+     */
+    static int parityOf(int ticket) {
+        return (ticket / PADDING) & 1;
+    }
+
+    void exit(int ticket) {
+        inFlight.decrementAndGet(ticket);
+    }
+
+    /**
+     * @return the parity writers currently write to
+     */
+    int currentParity() {
+        return (int) (epoch & 1);
+    }
+
+    /**
+     * Starts the next epoch and waits until every writer of the current one has exited.
+     * The containers of the next parity must be ready (and empty) before calling it.
+     * Only one thread may reset at a time.
+     *
+     * @return the parity of the closed epoch
+     */
+    synchronized int advance() {
+
+        long closed = epoch;
+        epoch = closed + 1;
+        int parity = (int) (closed & 1);
+        for (int shard = 0; shard < shards; shard++) {
+            int index = (shard * 2 + parity) * PADDING;
+            while (inFlight.get(index) != 0) {
+                Thread.yield();
+            }
+        }
+        return parity;
+    }
+
+    /**
+     * @return a stripe in {@code [0, stripes)} for the calling thread, stable over the thread's lifetime
+     */
+    public static int stripeOfCurrentThread(int stripes) {
+
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (hash >>> 16) & (stripes - 1);
+    }
+
+    /**
+     * @return the next power of two of the available processors, at most {@value MAX_SHARDS}
+     */
+    public static int defaultStripes() {
+
+        int processors = Runtime.getRuntime().availableProcessors();
+        return Math.min(MAX_SHARDS, Integer.highestOneBit(Math.max(1, processors * 2 - 1)));
+    }
+}
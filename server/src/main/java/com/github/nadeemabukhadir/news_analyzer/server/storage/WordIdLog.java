@@ -0,0 +1,259 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.server.util.HeadlineSignatureSet;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Append-only log of the headlines of one priority, stored as {@link HeadlineDictionary} word ids in byte chunks.
+ * <p>
+ * Each entry is the varint word ids of a headline followed by a varint trailer of {@code wordsCount << 1}.
+ * If the dictionary is full, the headline is stored as UTF-8 bytes with a trailer of {@code (length << 1) | 1}.
+ * Varints are written least significant group last, so the log is read backwards, newest entry first, exactly
+ * in the order the window is reported in.
+ * <p>
+ * Headlines are split into words like {@code headline.split("\\s+")} and rebuilt with single spaces between words.
+ */
+final class WordIdLog {
+
+    private static final int MIN_CHUNK_SIZE = 256;
+    private static final int MAX_CHUNK_SIZE = 64 * 1024;
+    private final HeadlineDictionary dictionary;
+    private byte[][] chunks = new byte[4][];
+    private int[] chunkLengths = new int[4];
+    private int chunksCount = 0;
+    private int size = 0;
+    private int[] ids = new int[16];
+    private int cursor;
+
+    WordIdLog(HeadlineDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    synchronized void append(String headline) {
+
+        int wordsCount = splitWords(headline);
+        if (wordsCount < 0) {
+            byte[] bytes = headline.getBytes(UTF_8);
+            long trailer = ((long) bytes.length << 1) | 1;
+            int position = reserve(bytes.length + varintSize(trailer));
+            System.arraycopy(bytes, 0, chunks[chunksCount - 1], position, bytes.length);
+            writeVarint(trailer, position + bytes.length);
+        } else {
+            int entrySize = varintSize((long) wordsCount << 1);
+            for (int i = 0; i < wordsCount; i++) {
+                entrySize += varintSize(ids[i]);
+            }
+            int position = reserve(entrySize);
+            for (int i = 0; i < wordsCount; i++) {
+                position = writeVarint(ids[i], position);
+            }
+            writeVarint((long) wordsCount << 1, position);
+        }
+        size++;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Visits the entries newest first, see {@link NewsWindow#visit}.
+     *
+     * @return false if the visitor asked to stop
+     */
+    synchronized boolean visit(int priority, Predicate<? super NewsItemView> visitor) {
+
+        EntryView view = new EntryView(priority);
+        for (int chunk = chunksCount - 1; chunk >= 0; chunk--) {
+            byte[] bytes = chunks[chunk];
+            cursor = chunkLengths[chunk];
+            while (cursor > 0) {
+                long trailer = readVarintBackwards(bytes);
+                if ((trailer & 1) == 1) {
+                    int length = (int) (trailer >>> 1);
+                    cursor -= length;
+                    view.literal(bytes, cursor, length);
+                } else {
+                    int wordsCount = (int) (trailer >>> 1);
+                    view.words(wordsCount);
+                    for (int i = wordsCount - 1; i >= 0; i--) {
+                        view.wordIds[i] = (int) readVarintBackwards(bytes);
+                    }
+                }
+                if (!visitor.test(view)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Puts the word ids of the headline into {@link #ids}.
+     *
+     * @return the number of words, or -1 if a word could not be added to the full dictionary
+     */
+    private int splitWords(String headline) {
+
+        int length = headline.length();
+        int wordsCount = 0;
+        // Same words as split("\\s+"): an empty headline, or a leading separator before a word, yields an empty word.
+        int first = 0;
+        while (first < length && isWhitespace(headline.charAt(first))) {
+            first++;
+        }
+        if (length == 0 || (first > 0 && first < length)) {
+            wordsCount = addWord(wordsCount, headline, 0, 0);
+        }
+        int wordFrom = -1;
+        for (int i = first; i <= length && wordsCount >= 0; i++) {
+            boolean separator = i == length || isWhitespace(headline.charAt(i));
+            if (separator && wordFrom >= 0) {
+                wordsCount = addWord(wordsCount, headline, wordFrom, i);
+                wordFrom = -1;
+            } else if (!separator && wordFrom < 0) {
+                wordFrom = i;
+            }
+        }
+        return wordsCount;
+    }
+
+    private int addWord(int wordsCount, String headline, int from, int to) {
+
+        int id = dictionary.idOf(headline, from, to);
+        if (id == HeadlineDictionary.FULL) {
+            return -1;
+        }
+        if (wordsCount == ids.length) {
+            ids = Arrays.copyOf(ids, wordsCount * 2);
+        }
+        ids[wordsCount] = id;
+        return wordsCount + 1;
+    }
+
+    /**
+     * Makes room for an entry in the last chunk, starting a new one if it does not fit (entries never span chunks).
+     *
+     * @return the index of the entry in the last chunk
+     */
+    private int reserve(int entrySize) {
+
+        if (chunksCount == 0 || chunkLengths[chunksCount - 1] + entrySize > chunks[chunksCount - 1].length) {
+            int chunkSize = chunksCount == 0 ? MIN_CHUNK_SIZE : Math.min(chunks[chunksCount - 1].length * 2, MAX_CHUNK_SIZE);
+            if (chunksCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunksCount * 2);
+                chunkLengths = Arrays.copyOf(chunkLengths, chunksCount * 2);
+            }
+            chunks[chunksCount++] = new byte[Math.max(chunkSize, entrySize)];
+        }
+        int position = chunkLengths[chunksCount - 1];
+        chunkLengths[chunksCount - 1] = position + entrySize;
+        return position;
+    }
+
+    private int writeVarint(long value, int position) {
+
+        byte[] chunk = chunks[chunksCount - 1];
+        int end = position + varintSize(value);
+        for (int i = end - 1; i >= position; i--) {
+            chunk[i] = (byte) ((value & 0x7F) | (i > position ? 0x80 : 0));
+            value >>>= 7;
+        }
+        return end;
+    }
+
+    private long readVarintBackwards(byte[] chunk) {
+
+        int b = chunk[--cursor];
+        long value = b & 0x7F;
+        for (int shift = 7; (b & 0x80) != 0; shift += 7) {
+            b = chunk[--cursor];
+            value |= (long) (b & 0x7F) << shift;
+        }
+        return value;
+    }
+
+    private static int varintSize(long value) {
+
+        int size = 1;
+        while ((value >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Matches the {@code \s} regex class: [ \t\n\x0B\f\r].
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    private final class EntryView implements NewsItemView {
+
+        private final int priority;
+        private int[] wordIds = new int[16];
+        private int wordsCount;
+        private byte[] literal;
+        private int literalFrom;
+        private int literalLength;
+
+        private EntryView(int priority) {
+            this.priority = priority;
+        }
+
+        private void words(int count) {
+
+            if (count > wordIds.length) {
+                wordIds = new int[count];
+            }
+            wordsCount = count;
+            literal = null;
+        }
+
+        private void literal(byte[] bytes, int from, int length) {
+
+            literal = bytes;
+            literalFrom = from;
+            literalLength = length;
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+
+        @Override
+        public String getHeadline() {
+
+            if (literal != null) {
+                return new String(literal, literalFrom, literalLength, UTF_8);
+            }
+            StringBuilder headline = new StringBuilder(wordsCount * 8);
+            for (int i = 0; i < wordsCount; i++) {
+                if (i > 0) {
+                    headline.append(' ');
+                }
+                headline.append(dictionary.wordOf(wordIds[i]));
+            }
+            return headline.toString();
+        }
+
+        @Override
+        public boolean addSignatureTo(HeadlineSignatureSet signatures) {
+
+            if (literal != null) {
+                return signatures.add(getHeadline());
+            }
+            signatures.startHeadline();
+            for (int i = 0; i < wordsCount; i++) {
+                signatures.addWord(dictionary.signatureHashOf(wordIds[i]), dictionary.vocabularyIdOf(wordIds[i]));
+            }
+            return signatures.finishHeadline();
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.github.nadeemabukhadir.news_analyzer.server.task;
 
 import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.dto.Priorities;
+import com.github.nadeemabukhadir.news_analyzer.common.metrics.LatencyHistogram;
+import com.github.nadeemabukhadir.news_analyzer.common.metrics.MetricsRegistry;
 import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsWindow;
+import com.github.nadeemabukhadir.news_analyzer.server.util.HeadlineSignatureSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * {@code NewsSummaryReporter} is responsible for aggregating and reporting
@@ -16,18 +22,48 @@ import java.util.*;
  * <h3>Usage:</h3>
  * This class should be used as part of a scheduled execution
  * where it is periodically triggered to generate news reports.
+ * <p>
+ * Each report records its duration and the per-priority sizes of its window in the default {@link MetricsRegistry}.
  */
 public class NewsSummaryReporter {
 
+    public static final int TOP_HEADLINES_MAX_COUNT = 3;
+    private static final int PRIORITIES_COUNT = Priorities.COUNT;
     private static final Logger logger = LoggerFactory.getLogger(NewsSummaryReporter.class);
-    private static final int TOP_HEADLINES_MAX_COUNT = 3;
     private final NewsItemStorage storage;
     private final int periodInSeconds;
+    private final List<ReportContributor> contributors;
+    private final List<WindowReportListener> listeners;
+    // Reused across windows; report() is only ever run by the single scheduled reporting thread.
+    private final HeadlineSignatureSet seenHeadlineSignatures = new HeadlineSignatureSet();
+    private final LatencyHistogram reportDuration;
+    private final AtomicLongArray windowSizes = new AtomicLongArray(PRIORITIES_COUNT);
 
     public NewsSummaryReporter(NewsItemStorage storage, int periodInSeconds) {
 
+        this(storage, periodInSeconds, Collections.emptyList());
+    }
+
+    public NewsSummaryReporter(NewsItemStorage storage, int periodInSeconds, List<ReportContributor> contributors) {
+
+        this(storage, periodInSeconds, contributors, Collections.emptyList());
+    }
+
+    public NewsSummaryReporter(NewsItemStorage storage, int periodInSeconds, List<ReportContributor> contributors,
+                               List<WindowReportListener> listeners) {
+
         this.storage = storage;
         this.periodInSeconds = periodInSeconds;
+        this.contributors = new ArrayList<>(contributors);
+        this.listeners = new ArrayList<>(listeners);
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        this.reportDuration = metrics.histogram("news_report_duration_seconds",
+                "Time taken to reset the storage and report a window.");
+        for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+            int slot = priority;
+            metrics.gauge("news_window_items", "News items of the last reported window, per priority.",
+                    () -> windowSizes.get(slot), "priority", Integer.toString(priority));
+        }
     }
 
     /**
@@ -39,44 +75,59 @@ public class NewsSummaryReporter {
      * </p>
      * <h3>Process:</h3>
      * <ol>
-     *   <li>Retrieves and clears all stored news from {@link NewsItemStorage}.</li>
-     *   <li>Iterates through the news items map/dequeue, maintaining priority order.</li>
+     *   <li>Retrieves and clears all stored news from {@link NewsItemStorage} as a {@link NewsWindow}.</li>
+     *   <li>Visits the news items of the window, maintaining priority order.</li>
      *   <li>Extracts up to 3 unique positive headlines (ignoring word order).</li>
      *   <li>Logs the time window and top 3 headlines.</li>
+     *   <li>Logs the window summary of every {@link ReportContributor}.</li>
+     *   <li>Hands the {@link WindowReport} over to every {@link WindowReportListener}.</li>
      * </ol>
      *
      * @return totalNewsCount - Total Reported News in current time window.
      */
     public int report() {
 
+        long startNanos = System.nanoTime();
         Instant now = Instant.now();
-        SortedMap<Integer, Deque<NewsItem>> oldMap = storage.resetAndGetAll();
-        int totalNewsCount = oldMap.values().stream().mapToInt(Deque::size).sum();
-        Set<Set<String>> seenHeadlineSignatures = new HashSet<>();
+        NewsWindow window = storage.resetAndGetWindow();
+        int totalNewsCount = window.size();
+        seenHeadlineSignatures.clear();
         List<NewsItem> topUniqueHeadlines = new ArrayList<>();
 
-        outerLoop:
-        for (Map.Entry<Integer, Deque<NewsItem>> entry : oldMap.entrySet()) {
-
-            for (NewsItem item : entry.getValue()) {
-
-                if (topUniqueHeadlines.size() >= TOP_HEADLINES_MAX_COUNT) {
-                    break outerLoop;
-                }
-
-                Set<String> headlineSignature = buildHeadlineSignature(item.getHeadline());
-
-                if (seenHeadlineSignatures.add(headlineSignature)) {
-                    topUniqueHeadlines.add(item); // If headline signature haven't seen yet, cache it.
-                }
+        window.visit(item -> {
+            if (topUniqueHeadlines.size() >= TOP_HEADLINES_MAX_COUNT) {
+                return false;
             }
-        }
+            if (item.addSignatureTo(seenHeadlineSignatures)) {
+                // If headline signature haven't seen yet, cache it. Only the reported headlines are ever rebuilt.
+                topUniqueHeadlines.add(item.toNewsItem());
+            }
+            return true;
+        });
 
         Instant start = now.minus(periodInSeconds, ChronoUnit.SECONDS);
         logger.info("Window [{} - {}] -> Total News: {}", start, now, totalNewsCount);
         for (NewsItem newsItem : topUniqueHeadlines) {
             logger.info("Priority: {}, Headline: {}", newsItem.getPriority(), newsItem.getHeadline());
         }
+        for (ReportContributor contributor : contributors) {
+            String summary = contributor.drainWindowSummary();
+            if (summary != null) {
+                logger.info(summary);
+            }
+        }
+        long[] priorityCounts = new long[PRIORITIES_COUNT];
+        for (int priority = 0; priority < PRIORITIES_COUNT; priority++) {
+            priorityCounts[priority] = window.size(priority);
+            windowSizes.set(priority, priorityCounts[priority]);
+        }
+        if (!listeners.isEmpty()) {
+            WindowReport windowReport = new WindowReport(start, now, totalNewsCount, priorityCounts, topUniqueHeadlines);
+            for (WindowReportListener listener : listeners) {
+                listener.onReport(windowReport);
+            }
+        }
+        reportDuration.recordSince(startNanos);
 
         return totalNewsCount;
     }
@@ -84,6 +135,9 @@ public class NewsSummaryReporter {
     /**
      * Creates a signature Set<String> for a headline, ignoring order of words.
      * e.g. "up rise success" -> {"success","rise","up"}
+     * <p>
+     * Reference definition of a signature; {@link #report()} compares the compact, allocation-free
+     * equivalent kept by {@link HeadlineSignatureSet}.
      */
     public static Set<String> buildHeadlineSignature(String headline) {
 
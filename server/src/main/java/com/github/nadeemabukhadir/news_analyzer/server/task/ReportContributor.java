@@ -0,0 +1,15 @@
+package com.github.nadeemabukhadir.news_analyzer.server.task;
+
+/**
+ * Adds a line of its own figures to every window logged by {@link NewsSummaryReporter}.
+ */
+@FunctionalInterface
+public interface ReportContributor {
+
+    /**
+     * Returns the summary of the window that just ended and starts a new one.
+     *
+     * @return a single log line, or null if there is nothing to report
+     */
+    String drainWindowSummary();
+}
@@ -0,0 +1,64 @@
+package com.github.nadeemabukhadir.news_analyzer.server.task;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable result of one {@link NewsSummaryReporter#report()}: the window bounds, the number of news in total and
+ * per priority, and the top unique headlines.
+ */
+public class WindowReport {
+
+    private final Instant start;
+    private final Instant end;
+    private final long totalNewsCount;
+    private final long[] priorityCounts;
+    private final List<NewsItem> topHeadlines;
+
+    public WindowReport(Instant start, Instant end, long totalNewsCount, long[] priorityCounts,
+                        List<NewsItem> topHeadlines) {
+
+        this.start = start;
+        this.end = end;
+        this.totalNewsCount = totalNewsCount;
+        this.priorityCounts = priorityCounts.clone();
+        this.topHeadlines = Collections.unmodifiableList(new ArrayList<>(topHeadlines));
+    }
+
+    public Instant getStart() {
+        return start;
+    }
+
+    public Instant getEnd() {
+        return end;
+    }
+
+    public long getTotalNewsCount() {
+        return totalNewsCount;
+    }
+
+    /**
+     * @return the number of news of the priority (0-9)
+     */
+    public long getPriorityCount(int priority) {
+        return priorityCounts[priority];
+    }
+
+    public List<NewsItem> getTopHeadlines() {
+        return topHeadlines;
+    }
+
+    @Override
+    public String toString() {
+        return "WindowReport{" +
+                "start=" + start +
+                ", end=" + end +
+                ", totalNewsCount=" + totalNewsCount +
+                ", topHeadlines=" + topHeadlines +
+                '}';
+    }
+}
@@ -0,0 +1,10 @@
+package com.github.nadeemabukhadir.news_analyzer.server.task;
+
+/**
+ * Receives every {@link WindowReport} of {@link NewsSummaryReporter}, on the reporting thread.
+ */
+@FunctionalInterface
+public interface WindowReportListener {
+
+    void onReport(WindowReport report);
+}
@@ -0,0 +1,259 @@
+package com.github.nadeemabukhadir.news_analyzer.server.util;
+
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.HeadlineVocabulary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Set of word-order-insensitive headline signatures, used to tell whether a headline with the same set of words
+ * was already seen. Two headlines have the same signature exactly when {@code headline.split("\\s+")} yields the
+ * same set of words for both.
+ * <p>
+ * Headlines are scanned once, without splitting them or creating substrings, and turned into a 128-bit key:
+ * <ul>
+ *   <li>a {@code long} bitmask of vocabulary word ids when every word is part of the vocabulary,</li>
+ *   <li>otherwise a 128-bit hash of the sorted, distinct 64-bit hashes of its words.</li>
+ * </ul>
+ * Keys are kept in an open-addressing table of {@code long}s, so adding a headline allocates nothing
+ * (apart from an occasional resize). Instances are not thread-safe.
+ */
+public final class HeadlineSignatureSet {
+
+    // Bitmask keys have a zero high half, hash keys always an odd one, and the empty slot is (0, 0).
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long EMPTY_WORD_HASH = mix(FNV_OFFSET_BASIS);
+    private static final int INITIAL_CAPACITY = 16;
+    private final WordTrie vocabularyTrie;
+    private long[] keys = new long[INITIAL_CAPACITY * 2];
+    private int size = 0;
+    // Signature of the headline being added.
+    private long[] wordHashes = new long[16];
+    private int wordsCount;
+    private long mask;
+    private boolean allKnown;
+    private long keyHigh;
+    private long keyLow;
+
+    public HeadlineSignatureSet() {
+        this(HeadlineVocabulary.DEFAULT);
+    }
+
+    public HeadlineSignatureSet(HeadlineVocabulary vocabulary) {
+
+        if (vocabulary.size() > Long.SIZE) {
+            this.vocabularyTrie = null; // Does not fit a bitmask, every signature is hashed.
+        } else {
+            List<String> words = new ArrayList<>(vocabulary.size());
+            for (int id = 0; id < vocabulary.size(); id++) {
+                words.add(vocabulary.wordOf(id));
+            }
+            this.vocabularyTrie = WordTrie.of(words);
+        }
+    }
+
+    /**
+     * Adds the signature of a headline.
+     *
+     * @return true if no headline with the same set of words was added before
+     */
+    public boolean add(String headline) {
+
+        scanWords(headline);
+        return finishHeadline();
+    }
+
+    /**
+     * Computes the signature of a headline without adding it, see {@link #getSignatureHigh()}
+     * and {@link #getSignatureLow()}.
+     */
+    public void computeSignature(String headline) {
+
+        scanWords(headline);
+        computeKey();
+    }
+
+    /**
+     * @return the high half of the last signature computed or added
+     */
+    public long getSignatureHigh() {
+        return keyHigh;
+    }
+
+    /**
+     * @return the low half of the last signature computed or added
+     */
+    public long getSignatureLow() {
+        return keyLow;
+    }
+
+    private void scanWords(String headline) {
+
+        int length = headline.length();
+        boolean nonBlank = false;
+        boolean inWord = false;
+        long hash = FNV_OFFSET_BASIS;
+        int state = WordTrie.ROOT;
+        startHeadline();
+
+        for (int i = 0; i < length; i++) {
+            char c = headline.charAt(i);
+            if (isWhitespace(c)) {
+                if (inWord) {
+                    addWord(mix(hash), allKnown ? vocabularyTrie.wordIdOf(state) : -1);
+                    inWord = false;
+                    hash = FNV_OFFSET_BASIS;
+                    state = WordTrie.ROOT;
+                }
+                continue;
+            }
+            nonBlank = true;
+            inWord = true;
+            hash = (hash ^ c) * FNV_PRIME;
+            if (allKnown) {
+                state = vocabularyTrie.next(state, c);
+            }
+        }
+        if (inWord) {
+            addWord(mix(hash), allKnown ? vocabularyTrie.wordIdOf(state) : -1);
+        }
+        // Same words as split("\\s+"): an empty headline, or a leading separator before a word, yields an empty word.
+        if (length == 0 || (nonBlank && isWhitespace(headline.charAt(0)))) {
+            addWord(EMPTY_WORD_HASH, -1);
+        }
+    }
+
+    /**
+     * Starts the signature of a headline whose words are fed one by one through {@link #addWord(long, int)},
+     * for callers that keep headlines as already split words. {@link #finishHeadline()} adds it to the set.
+     */
+    public void startHeadline() {
+
+        mask = 0;
+        allKnown = vocabularyTrie != null;
+        wordsCount = 0;
+    }
+
+    /**
+     * @param wordHash     the {@link #wordHashOf(CharSequence)} of the word
+     * @param vocabularyId the id of the word in this set's vocabulary, or -1 if it is not part of it
+     */
+    public void addWord(long wordHash, int vocabularyId) {
+
+        allKnown &= vocabularyId >= 0;
+        if (allKnown) {
+            mask |= 1L << vocabularyId;
+        }
+        if (wordsCount == wordHashes.length) {
+            wordHashes = Arrays.copyOf(wordHashes, wordsCount * 2);
+        }
+        wordHashes[wordsCount++] = wordHash;
+    }
+
+    /**
+     * @return true if no headline with the same set of words was added before
+     */
+    public boolean finishHeadline() {
+
+        computeKey();
+        return insert(keyHigh, keyLow);
+    }
+
+    /**
+     * @return the hash a word contributes to the signature of a headline
+     */
+    public static long wordHashOf(CharSequence word) {
+
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < word.length(); i++) {
+            hash = (hash ^ word.charAt(i)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all signatures, keeping the allocated table for reuse.
+     */
+    public void clear() {
+
+        if (size > 0) {
+            Arrays.fill(keys, 0);
+            size = 0;
+        }
+    }
+
+    private void computeKey() {
+
+        if (allKnown && wordsCount > 0) {
+            keyHigh = 0;
+            keyLow = mask;
+            return;
+        }
+        Arrays.sort(wordHashes, 0, wordsCount);
+        long high = 0x9E3779B97F4A7C15L;
+        long low = 0xC2B2AE3D27D4EB4FL;
+        for (int i = 0; i < wordsCount; i++) {
+            long wordHash = wordHashes[i];
+            if (i > 0 && wordHash == wordHashes[i - 1]) {
+                continue; // Repeated words do not change the signature.
+            }
+            high = mix(high ^ wordHash);
+            low = mix(low + Long.rotateLeft(wordHash, 31)) * 31;
+        }
+        keyHigh = high | 1;
+        keyLow = low;
+    }
+
+    private boolean insert(long high, long low) {
+
+        int slotMask = keys.length / 2 - 1;
+        int slot = (int) mix(high ^ low) & slotMask;
+        while (keys[slot * 2] != 0 || keys[slot * 2 + 1] != 0) {
+            if (keys[slot * 2] == high && keys[slot * 2 + 1] == low) {
+                return false;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+        keys[slot * 2] = high;
+        keys[slot * 2 + 1] = low;
+        if (++size * 2 > keys.length / 2) {
+            resize();
+        }
+        return true;
+    }
+
+    private void resize() {
+
+        long[] oldKeys = keys;
+        keys = new long[oldKeys.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i += 2) {
+            if (oldKeys[i] != 0 || oldKeys[i + 1] != 0) {
+                insert(oldKeys[i], oldKeys[i + 1]);
+            }
+        }
+    }
+
+    /**
+     * 64-bit finalizer of MurmurHash3.
+     */
+    private static long mix(long value) {
+
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+    /**
+     * Matches the {@code \s} regex class: [ \t\n\x0B\f\r].
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+}
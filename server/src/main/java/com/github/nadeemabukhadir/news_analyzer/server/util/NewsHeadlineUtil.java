@@ -1,20 +1,17 @@
 package com.github.nadeemabukhadir.news_analyzer.server.util;
 
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
 
 import static java.util.Objects.isNull;
 
 public final class NewsHeadlineUtil {
 
-    private static final Set<String> POSITIVE_WORDS;
-
-    static {
-        Set<String> words = new HashSet<>(6);
-        Collections.addAll(words, "up", "rise", "good", "success", "high", "über");
-        POSITIVE_WORDS = Collections.unmodifiableSet(words);
-    }
+    private static final List<String> POSITIVE_WORDS =
+            Collections.unmodifiableList(Arrays.asList("up", "rise", "good", "success", "high", "über"));
+    // Matches words on the fly while a headline is scanned once, without splitting it or creating substrings.
+    private static final WordTrie POSITIVE_WORDS_TRIE = WordTrie.of(POSITIVE_WORDS);
 
     private NewsHeadlineUtil() {
     }
@@ -27,19 +24,104 @@ public final class NewsHeadlineUtil {
      */
     public static boolean isPositive(String headline) {
 
-        if (isNull(headline) || headline.trim().isEmpty()) {
+        if (isNull(headline)) {
+            return false;
+        }
+
+        // Same word count as headline.split("\\s+"): a leading separator yields an extra empty (never positive) word.
+        int length = headline.length();
+        int wordsCount = length > 0 && isWhitespace(headline.charAt(0)) ? 1 : 0;
+        int positiveWordsCount = 0;
+        boolean blank = true;
+        boolean inWord = false;
+        int state = WordTrie.ROOT;
+
+        for (int i = 0; i < length; i++) {
+            char c = headline.charAt(i);
+            if (c > ' ') {
+                blank = false; // Same as headline.trim().isEmpty()
+            }
+            if (isWhitespace(c)) {
+                if (inWord) {
+                    wordsCount++;
+                    if (POSITIVE_WORDS_TRIE.isWord(state)) {
+                        positiveWordsCount++;
+                    }
+                    inWord = false;
+                    state = WordTrie.ROOT;
+                }
+                continue;
+            }
+            inWord = true;
+            state = POSITIVE_WORDS_TRIE.next(state, c);
+        }
+        if (inWord) {
+            wordsCount++;
+            if (POSITIVE_WORDS_TRIE.isWord(state)) {
+                positiveWordsCount++;
+            }
+        }
+
+        if (blank) {
             return false;
         }
+        return (positiveWordsCount * 100 / wordsCount) >= 50;
+    }
+
+    /**
+     * Same as {@link #isPositive(String)} for a trimmed, UTF-8 encoded headline in {@code buffer[from, to)},
+     * without decoding it or allocating any word substrings.
+     *
+     * @return true if more than 50% of words are positive, false otherwise
+     */
+    public static boolean isPositive(byte[] buffer, int from, int to) {
 
-        String[] words = headline.split("\\s+");
+        int wordsCount = 0;
         int positiveWordsCount = 0;
+        boolean inWord = false;
+        int state = WordTrie.ROOT;
 
-        for (String word : words) {
-            if (POSITIVE_WORDS.contains(word)) {
+        for (int i = from; i < to; i++) {
+            byte b = buffer[i];
+            if (isWhitespace(b)) {
+                if (inWord) {
+                    wordsCount++;
+                    if (POSITIVE_WORDS_TRIE.isWord(state)) {
+                        positiveWordsCount++;
+                    }
+                    inWord = false;
+                    state = WordTrie.ROOT;
+                }
+                continue;
+            }
+            inWord = true;
+            state = POSITIVE_WORDS_TRIE.next(state, b);
+        }
+        if (inWord) {
+            wordsCount++;
+            if (POSITIVE_WORDS_TRIE.isWord(state)) {
                 positiveWordsCount++;
             }
         }
 
-        return (positiveWordsCount * 100 / words.length) >= 50;
+        return wordsCount > 0 && (positiveWordsCount * 100 / wordsCount) >= 50;
+    }
+
+    /**
+     * Checks a single UTF-8 encoded word in {@code buffer[from, to)} against the predefined positive words.
+     */
+    public static boolean isPositiveWord(byte[] buffer, int from, int to) {
+        return POSITIVE_WORDS_TRIE.contains(buffer, from, to);
+    }
+
+    /**
+     * Matches the {@code \s} regex class used by {@link #isPositive(String)}: [ \t\n\x0B\f\r].
+     */
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == 0x0B || b == '\f' || b == '\r';
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
     }
 }
@@ -0,0 +1,105 @@
+package com.github.nadeemabukhadir.news_analyzer.server.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Immutable trie over the UTF-8 bytes of a small, fixed set of words, with a dense 256-entry transition table
+ * per node. Words are matched by walking the trie one byte (or one encoded char) at a time, so callers can
+ * classify words while scanning their input once, without extracting substrings.
+ * <p>
+ * States are plain ints: {@link #ROOT} to start a word, {@link #DEAD} once no word can match anymore.
+ */
+final class WordTrie {
+
+    static final int ROOT = 0;
+    static final int DEAD = -1;
+    private static final int ALPHABET_SIZE = 256;
+    private final int[] transitions;
+    // Index of the word ending at each node in the words collection, or -1.
+    private final int[] wordIds;
+
+    private WordTrie(int[] transitions, int[] wordIds) {
+
+        this.transitions = transitions;
+        this.wordIds = wordIds;
+    }
+
+    static WordTrie of(Collection<String> words) {
+
+        int maxNodes = 1 + words.stream().mapToInt(word -> word.getBytes(UTF_8).length).sum();
+        int[] transitions = new int[maxNodes * ALPHABET_SIZE];
+        Arrays.fill(transitions, DEAD);
+        int[] wordIds = new int[maxNodes];
+        Arrays.fill(wordIds, -1);
+        int nodesCount = 1;
+        int wordId = 0;
+
+        for (String word : words) {
+            int state = ROOT;
+            for (byte b : word.getBytes(UTF_8)) {
+                int index = state * ALPHABET_SIZE + (b & 0xFF);
+                if (transitions[index] == DEAD) {
+                    transitions[index] = nodesCount++;
+                }
+                state = transitions[index];
+            }
+            wordIds[state] = wordId++;
+        }
+        return new WordTrie(Arrays.copyOf(transitions, nodesCount * ALPHABET_SIZE), Arrays.copyOf(wordIds, nodesCount));
+    }
+
+    /**
+     * Advances {@code state} by one UTF-8 byte.
+     */
+    int next(int state, byte b) {
+        return state == DEAD ? DEAD : transitions[state * ALPHABET_SIZE + (b & 0xFF)];
+    }
+
+    /**
+     * Advances {@code state} by the UTF-8 encoding of one UTF-16 char.
+     * Surrogates never match since no word of the trie can contain an unpaired one and
+     * supplementary characters are not expected in words; they move to {@link #DEAD}.
+     */
+    int next(int state, char c) {
+
+        if (c < 0x80) {
+            return next(state, (byte) c);
+        }
+        if (c < 0x800) {
+            return next(next(state, (byte) (0xC0 | (c >> 6))), (byte) (0x80 | (c & 0x3F)));
+        }
+        if (Character.isSurrogate(c)) {
+            return DEAD;
+        }
+        state = next(state, (byte) (0xE0 | (c >> 12)));
+        state = next(state, (byte) (0x80 | ((c >> 6) & 0x3F)));
+        return next(state, (byte) (0x80 | (c & 0x3F)));
+    }
+
+    /**
+     * @return true if the bytes walked from {@link #ROOT} to {@code state} spell a complete word
+     */
+    boolean isWord(int state) {
+        return wordIdOf(state) >= 0;
+    }
+
+    /**
+     * @return the index, in the collection the trie was built from, of the word spelled up to {@code state},
+     * or -1 if it is not a complete word
+     */
+    int wordIdOf(int state) {
+        return state == DEAD ? -1 : wordIds[state];
+    }
+
+    boolean contains(byte[] buffer, int from, int to) {
+
+        int state = ROOT;
+        for (int i = from; i < to && state != DEAD; i++) {
+            state = next(state, buffer[i]);
+        }
+        return isWord(state);
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.nadeemabukhadir.news_analyzer.server.wal;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsWindow;
+
+import java.util.Collection;
+import java.util.Deque;
+import java.util.SortedMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+
+/**
+ * {@link NewsItemStorage} decorator appending every item to a {@link WriteAheadLog} before storing it.
+ * <p>
+ * Adds run concurrently under the read lock, while a reset holds the write lock to start the log's next window and
+ * reset the storage together: an item is always logged in the segments of the window it is stored in, so deleting
+ * the segments of a reported window never drops an item of the next one.
+ */
+public class WalNewsItemStorage implements NewsItemStorage {
+
+    private final NewsItemStorage storage;
+    private final WriteAheadLog wal;
+    private final ReadWriteLock windowLock = new ReentrantReadWriteLock();
+
+    public WalNewsItemStorage(NewsItemStorage storage, WriteAheadLog wal) {
+
+        this.storage = storage;
+        this.wal = wal;
+    }
+
+    @Override
+    public void add(NewsItem item) {
+
+        if (item == null) {
+            return; // avoid adding null values
+        }
+
+        windowLock.readLock().lock();
+        try {
+            wal.append(item);
+            storage.add(item);
+        } finally {
+            windowLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void addAll(Collection<NewsItem> items) {
+
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+
+        windowLock.readLock().lock();
+        try {
+            wal.appendAll(items);
+            storage.addAll(items);
+        } finally {
+            windowLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs the action while no item is being logged or stored, with the log position every stored item was logged
+     * up to, e.g. to roll rollups fed by the decorated storage consistently with the log.
+     */
+    public void atLogPosition(LongConsumer action) {
+
+        windowLock.writeLock().lock();
+        try {
+            action.accept(wal.position());
+        } finally {
+            windowLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public SortedMap<Integer, Deque<NewsItem>> resetAndGetAll() {
+
+        windowLock.writeLock().lock();
+        try {
+            wal.startWindow();
+            return storage.resetAndGetAll();
+        } finally {
+            windowLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public NewsWindow resetAndGetWindow() {
+
+        windowLock.writeLock().lock();
+        try {
+            wal.startWindow();
+            return storage.resetAndGetWindow();
+        } finally {
+            windowLock.writeLock().unlock();
+        }
+    }
+}
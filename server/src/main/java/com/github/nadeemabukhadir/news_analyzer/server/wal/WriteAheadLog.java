@@ -0,0 +1,374 @@
+package com.github.nadeemabukhadir.news_analyzer.server.wal;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.dto.Priorities;
+import com.github.nadeemabukhadir.news_analyzer.server.config.FsyncPolicy;
+import com.github.nadeemabukhadir.news_analyzer.server.config.WalConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Append-only write-ahead log of the accepted news items of the current report window.
+ * <p>
+ * Items are appended to segment files of a fixed size mapped into memory, so an append is a memory copy and never a
+ * system call: the mapped pages belong to the operating system and survive a crash of the server process. When they
+ * are forced to disk is given by the {@link FsyncPolicy}. A full segment is forced and the next one started.
+ * <p>
+ * Every record is {@code [int payload length][int CRC32 of payload][byte priority][UTF-8 headline]}; a zero length
+ * (the zero-filled rest of a segment) ends a segment, and a record with a bad checksum, torn by a crash, or with an
+ * invalid priority ends the replay. Each window starts with a fresh segment, and the segments of the previous window
+ * are kept until {@link #deleteReportedWindow()} is called once its report is done, so the segments on disk at
+ * startup are exactly the items of the windows that were not reported yet.
+ * <p>
+ * A {@link #position()} orders the records across segments and restarts, so that a consumer which already holds the
+ * records up to a position, e.g. a rollups checkpoint, can be left out of their replay.
+ */
+public class WriteAheadLog implements Closeable {
+
+    // Position before every record
+    public static final long NO_POSITION = -1;
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadLog.class);
+    private static final String SEGMENT_PREFIX = "news-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final int HEADER_SIZE = 8;
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    // Segments of the current window, oldest first; the last one is the mapped segment.
+    private final List<Path> windowSegments = new ArrayList<>();
+    // Segments of the window being reported, deleted once its report is done.
+    private final List<Path> reportedSegments = new ArrayList<>();
+    private final List<Path> replaySegments;
+    private long nextSegmentNumber;
+    private long segmentNumber;
+    private MappedByteBuffer segment;
+    private long appendedRecords;
+    // Held while forcing, so an appender waits for a concurrent force covering its records instead of returning
+    private final Object forceLock = new Object();
+    private long forcedRecords;
+
+    /**
+     * Opens the log in the configured directory, creating it if needed. The segments found there are kept for
+     * {@link #replay(Consumer)} and belong to the current window, new items are appended to a new segment.
+     */
+    public WriteAheadLog(WalConfig config) throws IOException {
+
+        this.directory = Paths.get(config.getDirectory());
+        this.segmentSize = config.getSegmentSizeBytes();
+        this.fsyncPolicy = config.getFsyncPolicy();
+        Files.createDirectories(directory);
+        this.replaySegments = listSegments();
+        this.windowSegments.addAll(replaySegments);
+        this.nextSegmentNumber = replaySegments.isEmpty() ? 0 : numberOf(replaySegments.get(replaySegments.size() - 1)) + 1;
+        startSegment();
+    }
+
+    /**
+     * Reads the items of the segments found when the log was opened, oldest first.
+     *
+     * @return the number of replayed items
+     */
+    public int replay(Consumer<NewsItem> consumer) throws IOException {
+        return replay(NO_POSITION, consumer, consumer);
+    }
+
+    /**
+     * Reads the items of the segments found when the log was opened, oldest first, handing the records at or before
+     * the given {@link #position()} to one consumer and the later ones to the other.
+     *
+     * @return the number of replayed items
+     */
+    public int replay(long position, Consumer<NewsItem> upToPosition, Consumer<NewsItem> afterPosition)
+            throws IOException {
+
+        int count = 0;
+        CRC32 crc = new CRC32();
+        for (Path path : replaySegments) {
+            long number = numberOf(path);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                while (buffer.remaining() >= HEADER_SIZE) {
+                    int length = buffer.getInt();
+                    int checksum = buffer.getInt();
+                    if (length < 1 || length > buffer.remaining()) {
+                        break;
+                    }
+                    byte[] payload = new byte[length];
+                    buffer.get(payload);
+                    crc.reset();
+                    crc.update(payload, 0, length);
+                    if ((int) crc.getValue() != checksum) {
+                        logger.warn("Torn WAL record in {}, skipping the rest of the segment", path);
+                        break;
+                    }
+                    if (!Priorities.isValid(payload[0])) {
+                        logger.warn("WAL record with invalid priority {} in {}, skipping the rest of the segment",
+                                payload[0], path);
+                        break;
+                    }
+                    NewsItem item = new NewsItem(new String(payload, 1, length - 1, UTF_8), payload[0]);
+                    if (positionOf(number, buffer.position()) <= position) {
+                        upToPosition.accept(item);
+                    } else {
+                        afterPosition.accept(item);
+                    }
+                    count++;
+                }
+            }
+        }
+        logger.info("Replayed {} news items from {} WAL segments", count, replaySegments.size());
+        return count;
+    }
+
+    public void append(NewsItem item) {
+
+        byte[] record = encode(item);
+        long appended;
+        synchronized (this) {
+            write(record);
+            appended = appendedRecords;
+        }
+        afterAppend(appended);
+    }
+
+    /**
+     * Appends a batch of items with a single lock acquisition and, with {@link FsyncPolicy#ALWAYS}, a single fsync.
+     */
+    public void appendAll(Collection<NewsItem> items) {
+
+        List<byte[]> records = new ArrayList<>(items.size());
+        for (NewsItem item : items) {
+            if (item != null) {
+                records.add(encode(item));
+            }
+        }
+        if (records.isEmpty()) {
+            return;
+        }
+        long appended;
+        synchronized (this) {
+            for (byte[] record : records) {
+                write(record);
+            }
+            appended = appendedRecords;
+        }
+        afterAppend(appended);
+    }
+
+    /**
+     * Starts the segment of a new window. The segments of the previous one are kept until its report is done, see
+     * {@link #deleteReportedWindow()}; those of an earlier window whose report never completed are deleted now.
+     */
+    public void startWindow() {
+
+        List<Path> abandoned;
+        synchronized (this) {
+            abandoned = new ArrayList<>(reportedSegments);
+            reportedSegments.clear();
+            reportedSegments.addAll(windowSegments);
+            windowSegments.clear();
+            rotate();
+        }
+        delete(abandoned);
+    }
+
+    /**
+     * Deletes the segments of the window started before the last {@link #startWindow()}, once its report was logged
+     * and saved: a crash before that replays them at the next startup.
+     */
+    public void deleteReportedWindow() {
+
+        List<Path> reported;
+        synchronized (this) {
+            reported = new ArrayList<>(reportedSegments);
+            reportedSegments.clear();
+        }
+        delete(reported);
+    }
+
+    /**
+     * @return the position after the last appended record, greater than the position of every earlier record, also
+     * of a previous run on the same directory
+     */
+    public synchronized long position() {
+        return positionOf(segmentNumber, segment.position());
+    }
+
+    /**
+     * Continues the segment numbering after the given position, e.g. of a checkpoint taken before the log directory
+     * was emptied, so that the positions of the new records are after it.
+     */
+    public synchronized void continueAfter(long position) {
+
+        if (position >= position()) {
+            nextSegmentNumber = (position >>> 32) + 1;
+            rotate();
+        }
+    }
+
+    /**
+     * Forces what was appended since the last call to disk, for {@link FsyncPolicy#INTERVAL} group commits.
+     * Full segments were already forced when they were rotated.
+     *
+     * @throws UncheckedIOException if the segment could not be forced, the records are then forced by the next call
+     */
+    public void sync() {
+
+        long appended;
+        synchronized (this) {
+            appended = appendedRecords;
+        }
+        forceUpTo(appended);
+    }
+
+    /**
+     * Forces the current segment to disk, unless the policy is {@link FsyncPolicy#NONE}.
+     */
+    @Override
+    public synchronized void close() {
+
+        if (fsyncPolicy != FsyncPolicy.NONE) {
+            segment.force();
+        }
+    }
+
+    private void write(byte[] record) {
+
+        if (segment.remaining() < record.length) {
+            rotate();
+        }
+        segment.put(record);
+        appendedRecords++;
+    }
+
+    private void afterAppend(long appended) {
+
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            forceUpTo(appended);
+        }
+    }
+
+    /**
+     * Returns once the first {@code appended} records are on disk. A single force covers the records of every
+     * appender waiting meanwhile; the segments rotated before were already forced.
+     */
+    private void forceUpTo(long appended) {
+
+        synchronized (forceLock) {
+            if (forcedRecords >= appended) {
+                return;
+            }
+            MappedByteBuffer current;
+            long target;
+            synchronized (this) {
+                current = segment;
+                target = appendedRecords;
+            }
+            current.force();
+            forcedRecords = target;
+        }
+    }
+
+    private void rotate() {
+
+        if (fsyncPolicy != FsyncPolicy.NONE) {
+            segment.force();
+        }
+        try {
+            startSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start a new WAL segment", e);
+        }
+    }
+
+    private void startSegment() throws IOException {
+
+        segmentNumber = nextSegmentNumber++;
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segmentNumber, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid once the channel is closed.
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        windowSegments.add(path);
+    }
+
+    private static void delete(List<Path> segments) {
+
+        for (Path path : segments) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                logger.warn("Failed to delete WAL segment {}", path, e);
+            }
+        }
+    }
+
+    private byte[] encode(NewsItem item) {
+
+        Priorities.check(item.getPriority());
+        byte[] headline = item.getHeadline().getBytes(UTF_8);
+        int length = 1 + headline.length;
+        if (HEADER_SIZE + length > segmentSize) {
+            throw new IllegalArgumentException("News item too large for a WAL segment: " + length + " bytes");
+        }
+        byte[] record = new byte[HEADER_SIZE + length];
+        record[HEADER_SIZE] = (byte) item.getPriority();
+        System.arraycopy(headline, 0, record, HEADER_SIZE + 1, headline.length);
+        CRC32 crc = new CRC32();
+        crc.update(record, HEADER_SIZE, length);
+        writeInt(record, 0, length);
+        writeInt(record, 4, (int) crc.getValue());
+        return record;
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    private List<Path> listSegments() throws IOException {
+
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                segments.add(path);
+            }
+        }
+        Collections.sort(segments); // Zero-padded numbers sort by name
+        return segments;
+    }
+
+    // Segment numbers stay far below 2^31, and offsets below the int segment size.
+    private static long positionOf(long segmentNumber, int offset) {
+        return segmentNumber << 32 | offset;
+    }
+
+    private static long numberOf(Path segment) {
+
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
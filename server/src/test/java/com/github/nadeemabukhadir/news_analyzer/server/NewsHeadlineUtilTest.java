@@ -6,6 +6,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @ExtendWith(MockitoExtension.class)
@@ -82,4 +88,62 @@ class NewsHeadlineUtilTest {
         assertThat(NewsHeadlineUtil.isPositive("")).isFalse();
         assertThat(NewsHeadlineUtil.isPositive("    ")).isFalse();
     }
+
+    @Test
+    @DisplayName("Should classify UTF-8 encoded headlines exactly like their String counterparts")
+    void isPositive_Bytes_MatchesStringClassification() {
+
+        String[] headlines = {"up rise success", "fall bad failure", "up rise bad", "rise success failure low",
+                "fall success bad", "über über unter", "über unter fall", "up\tbad  \u000Bgood fall",
+                "über", "ü", "uber rise", "upup rise fall", "up", "   "};
+
+        for (String headline : headlines) {
+            byte[] framed = ("xx" + headline + "yy").getBytes(StandardCharsets.UTF_8);
+            int to = framed.length - 2;
+            assertThat(NewsHeadlineUtil.isPositive(framed, 2, to))
+                    .as(headline)
+                    .isEqualTo(NewsHeadlineUtil.isPositive(headline));
+        }
+    }
+
+    @Test
+    @DisplayName("Should classify exactly like the previous trim/split/HashSet implementation")
+    void isPositive_MatchesRegexSplitImplementation() {
+
+        String[] edgeCases = {" up rise", "\tup rise fall", "up rise ", " up", "up\u0001", "\u0001", "\u0001 up",
+                "up\u00A0rise", "Über", "über\u00FC", "\uD83D\uDE00 up", "up \uD83D", "success\r\n", "\u000Bup",
+                "high\fgood low bad", "u p", "upp", "ris"};
+        for (String headline : edgeCases) {
+            assertThat(NewsHeadlineUtil.isPositive(headline)).as(headline).isEqualTo(isPositiveWithRegex(headline));
+        }
+
+        String[] tokens = {"up", "rise", "good", "success", "high", "über", "down", "fall", "ü", "ber", "u", " ", "  ",
+                "\t", "\u000B", "\f", "\r", "\n", "\u0001", "\u00A0", "\uD83D\uDE00", "Up"};
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder headline = new StringBuilder();
+            int length = random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                headline.append(tokens[random.nextInt(tokens.length)]);
+            }
+            String value = headline.toString();
+            assertThat(NewsHeadlineUtil.isPositive(value)).as(value).isEqualTo(isPositiveWithRegex(value));
+        }
+    }
+
+    private static boolean isPositiveWithRegex(String headline) {
+
+        Set<String> positiveWords = new HashSet<>(Arrays.asList("up", "rise", "good", "success", "high", "über"));
+        if (headline == null || headline.trim().isEmpty()) {
+            return false;
+        }
+        String[] words = headline.split("\\s+");
+        int positiveWordsCount = 0;
+        for (String word : words) {
+            if (positiveWords.contains(word)) {
+                positiveWordsCount++;
+            }
+        }
+        return (positiveWordsCount * 100 / words.length) >= 50;
+    }
 }
@@ -0,0 +1,123 @@
+package com.github.nadeemabukhadir.news_analyzer.server.cardinality;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    @Test
+    @DisplayName("Should estimate small and large cardinalities within the standard error")
+    void estimate_DistinctHashes_WithinStandardError() {
+
+        for (int cardinality : new int[]{0, 1, 10, 1000, 50_000, 500_000}) {
+            HyperLogLog hll = new HyperLogLog(12);
+            for (int i = 0; i < cardinality; i++) {
+                long hash = DistinctHeadlineCounter.hashOf(i, ~i);
+                hll.offer(hash);
+                hll.offer(hash);
+            }
+
+            // 4 standard errors of 1.04 / sqrt(4096)
+            assertThat((double) hll.estimate()).as("cardinality %d", cardinality)
+                    .isCloseTo(cardinality, within(Math.max(1, cardinality * 4 * 0.01625)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should estimate the union of merged estimators and survive serialization")
+    void mergeFrom_OverlappingStreams_EstimatesUnion() throws IOException {
+
+        HyperLogLog first = new HyperLogLog(12);
+        HyperLogLog second = new HyperLogLog(12);
+        HyperLogLog union = new HyperLogLog(12);
+        for (int i = 0; i < 30_000; i++) {
+            long hash = DistinctHeadlineCounter.hashOf(i, i);
+            (i < 20_000 ? first : second).offer(hash);
+            if (i >= 10_000) {
+                second.offer(hash);
+            }
+            union.offer(hash);
+        }
+        first.mergeFrom(second);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        first.writeTo(new DataOutputStream(bytes));
+        HyperLogLog restored = new HyperLogLog(12);
+        restored.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(restored.estimate()).isEqualTo(union.estimate());
+        assertThatThrownBy(() -> first.mergeFrom(new HyperLogLog(10)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("precision");
+    }
+
+    @Test
+    @DisplayName("Should not lose any offer while windows are drained concurrently")
+    void drain_ConcurrentOffers_LosesNothing() throws InterruptedException {
+
+        HyperLogLog live = new HyperLogLog(8);
+        HyperLogLog expected = new HyperLogLog(8);
+        int threads = 4;
+        int hashesPerThread = 50_000;
+        for (long i = 0; i < (long) threads * hashesPerThread; i++) {
+            expected.offer(DistinctHeadlineCounter.hashOf(i, 0));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            long from = (long) t * hashesPerThread;
+            executor.execute(() -> {
+                for (long i = from; i < from + hashesPerThread; i++) {
+                    live.offer(DistinctHeadlineCounter.hashOf(i, 0));
+                }
+                done.countDown();
+            });
+        }
+
+        HyperLogLog drained = new HyperLogLog(8);
+        while (!done.await(1, TimeUnit.MILLISECONDS)) {
+            drained.mergeFrom(live.drain());
+        }
+        drained.mergeFrom(live.drain());
+        executor.shutdown();
+
+        assertThat(drained.estimate()).isEqualTo(expected.estimate());
+        assertThat(live.estimate()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count word sets regardless of word order, per priority and in total")
+    void drainWindowSummary_RepeatedWordSets_CountsDistinctSignatures() {
+
+        DistinctHeadlineCounter counter = new DistinctHeadlineCounter(12);
+        counter.add(new NewsItem("up rise", 9));
+        counter.add(new NewsItem("rise up", 9));
+        counter.addAll(Arrays.asList(new NewsItem("up rise", 5), new NewsItem("good", 5), null));
+        counter.add(null);
+
+        assertThat(counter.drainWindowSummary()).isNull(); // No window closed yet
+        counter.onWindowReset();
+        counter.add(new NewsItem("next window", 0));
+        assertThat(counter.drainWindowSummary()).isEqualTo("Distinct headlines -> Total: 2, 9: 1, 5: 2");
+        assertThat(counter.drainWindowSummary()).isNull();
+        assertThatThrownBy(() -> new HyperLogLog(3))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("precision");
+    }
+}
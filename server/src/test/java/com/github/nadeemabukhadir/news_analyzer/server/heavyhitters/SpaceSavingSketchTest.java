@@ -0,0 +1,157 @@
+package com.github.nadeemabukhadir.news_analyzer.server.heavyhitters;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.config.HeavyHitterConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SpaceSavingSketchTest {
+
+    @Test
+    @DisplayName("Should keep every count within the error bound of a skewed stream")
+    void offer_SkewedStream_CountsWithinErrorBound() {
+
+        Random random = new Random(3);
+        for (int round = 0; round < 20; round++) {
+            SpaceSavingSketch sketch = new SpaceSavingSketch(1 + random.nextInt(20));
+            Map<Long, Long> exact = new HashMap<>();
+            int itemsCount = random.nextInt(5000);
+            for (int i = 0; i < itemsCount; i++) {
+                // Zipf-like: small keys are much more frequent
+                long key = (long) Math.floor(Math.pow(random.nextDouble(), 3) * 200);
+                sketch.offer(key, ~key, "h" + key, 1);
+                exact.merge(key, 1L, Long::sum);
+            }
+
+            assertCounts(sketch, exact, itemsCount);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the error bound of the merged total when merging sketches")
+    void mergeFrom_ManySketches_CountsWithinErrorBound() {
+
+        Random random = new Random(5);
+        for (int round = 0; round < 20; round++) {
+            SpaceSavingSketch merged = new SpaceSavingSketch(10);
+            Map<Long, Long> exact = new HashMap<>();
+            int total = 0;
+            for (int part = 0; part < 5; part++) {
+                SpaceSavingSketch sketch = new SpaceSavingSketch(10);
+                int itemsCount = random.nextInt(1000);
+                for (int i = 0; i < itemsCount; i++) {
+                    long key = (long) Math.floor(Math.pow(random.nextDouble(), 3) * (50 + 20 * part));
+                    sketch.offer(key, ~key, "h" + key, 1);
+                    exact.merge(key, 1L, Long::sum);
+                }
+                total += itemsCount;
+                merged.mergeFrom(sketch);
+            }
+
+            assertCounts(merged, exact, total);
+        }
+    }
+
+    @Test
+    @DisplayName("Should count exactly and keep the newest headline while under capacity")
+    void top_UnderCapacity_ReturnsExactCounts() {
+
+        SpaceSavingSketch sketch = new SpaceSavingSketch(4);
+        sketch.offer(1, 1, "up rise", 1);
+        sketch.offer(2, 2, "good", 3);
+        sketch.offer(1, 1, "rise up", 1);
+        sketch.offer(1, 1, "up rise", 1);
+
+        assertThat(sketch.top(5))
+                .extracting(HeavyHitter::getHeadline, HeavyHitter::getCount, HeavyHitter::getError)
+                .containsExactly(tuple("up rise", 3L, 0L), tuple("good", 3L, 0L));
+        assertThat(sketch.getTotal()).isEqualTo(6);
+
+        sketch.clear();
+        assertThat(sketch.top(5)).isEmpty();
+        assertThat(sketch.getTotal()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count the word sets added concurrently and drain them per window")
+    void drainWindow_ConcurrentAdds_CountsEveryItemOnce() throws InterruptedException {
+
+        HeavyHitterTracker tracker = new HeavyHitterTracker(new HeavyHitterConfig(true, 0.01, 2));
+        int threads = 4;
+        int itemsPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < itemsPerThread; i++) {
+                    if (i % 2 == 0) {
+                        tracker.add(new NewsItem(i % 4 == 0 ? "markets up" : "up markets", 5));
+                    } else {
+                        tracker.addAll(Arrays.asList(new NewsItem("w" + i, 5)));
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        SpaceSavingSketch total = new SpaceSavingSketch(100);
+        while (!done.await(1, TimeUnit.MILLISECONDS)) {
+            total.mergeFrom(tracker.drainWindow());
+        }
+        total.mergeFrom(tracker.drainWindow());
+        executor.shutdown();
+
+        assertThat(total.getTotal()).isEqualTo((long) threads * itemsPerThread);
+        HeavyHitter top = total.top(1).get(0);
+        assertThat(top.getGuaranteedCount()).isLessThanOrEqualTo(threads * itemsPerThread / 2);
+        assertThat(top.getCount()).isGreaterThanOrEqualTo(threads * itemsPerThread / 2);
+        assertThat(top.getHeadline()).isIn("markets up", "up markets");
+        tracker.onWindowReset();
+        assertThat(tracker.drainWindowSummary()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject invalid capacities and error bounds")
+    void capacityOf_InvalidArguments_Throws() {
+
+        assertThat(SpaceSavingSketch.capacityOf(0.001)).isEqualTo(1000);
+        assertThatThrownBy(() -> SpaceSavingSketch.capacityOf(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("epsilon");
+        assertThatThrownBy(() -> new SpaceSavingSketch(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("capacity");
+    }
+
+    private static void assertCounts(SpaceSavingSketch sketch, Map<Long, Long> exact, long total) {
+
+        assertThat(sketch.getTotal()).isEqualTo(total);
+        List<HeavyHitter> top = sketch.top(Integer.MAX_VALUE);
+        for (HeavyHitter hitter : top) {
+            long actual = exact.get(Long.parseLong(hitter.getHeadline().substring(1)));
+            assertThat(hitter.getCount()).isGreaterThanOrEqualTo(actual);
+            assertThat(hitter.getGuaranteedCount()).isLessThanOrEqualTo(actual);
+            assertThat(hitter.getCount() - actual).isLessThanOrEqualTo(sketch.getMaxError());
+        }
+        // Every key above the error bound is monitored
+        exact.forEach((key, count) -> {
+            if (count > sketch.getMaxError()) {
+                assertThat(top).extracting(HeavyHitter::getHeadline).contains("h" + key);
+            }
+        });
+    }
+}
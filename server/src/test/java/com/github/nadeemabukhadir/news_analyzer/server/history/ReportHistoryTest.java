@@ -0,0 +1,147 @@
+package com.github.nadeemabukhadir.news_analyzer.server.history;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.StripedNewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.task.NewsSummaryReporter;
+import com.github.nadeemabukhadir.news_analyzer.server.task.WindowReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportHistoryTest {
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should answer a time range with the counts and top headlines of its combined windows")
+    void query_TimeRange_MergesWindows() throws IOException {
+
+        String[] words = {"up", "rise", "good", "fall", "w1", "w2"};
+        Random random = new Random(11);
+        List<List<NewsItem>> windows = new ArrayList<>();
+        try (ReportHistory history = ReportHistory.open(directory, 1_000)) {
+            for (int window = 0; window < 100; window++) {
+                List<NewsItem> items = new ArrayList<>();
+                int itemsCount = random.nextInt(8);
+                for (int i = 0; i < itemsCount; i++) {
+                    items.add(new NewsItem(words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)],
+                            3 + random.nextInt(3)));
+                }
+                windows.add(items);
+                WindowReport report = report(items);
+                history.append(new WindowReport(START.plusSeconds(window * 10L), START.plusSeconds(window * 10L + 10),
+                        report.getTotalNewsCount(), priorityCounts(report), report.getTopHeadlines()));
+            }
+
+            for (int from = 0; from < 100; from += 7) {
+                int to = Math.min(99, from + random.nextInt(40));
+                List<NewsItem> combined = windows.subList(from, to + 1).stream()
+                        .flatMap(List::stream).collect(Collectors.toList());
+                WindowReport expected = report(combined);
+
+                WindowReport actual = history.query(START.plusSeconds(from * 10L + 10), START.plusSeconds(to * 10L + 10),
+                        NewsSummaryReporter.TOP_HEADLINES_MAX_COUNT);
+
+                assertThat(actual.getStart()).isEqualTo(START.plusSeconds(from * 10L));
+                assertThat(actual.getTotalNewsCount()).isEqualTo(combined.size());
+                assertThat(actual.getPriorityCount(4)).isEqualTo(expected.getPriorityCount(4));
+                assertThat(describe(actual.getTopHeadlines())).isEqualTo(describe(expected.getTopHeadlines()));
+            }
+            assertThat(history.query(START.minusSeconds(100), START, 3).getTotalNewsCount()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep reports across reopening and drop a report whose index entry was never written")
+    void open_ExistingHistory_KeepsIndexedReports() throws IOException {
+
+        try (ReportHistory history = ReportHistory.open(directory, 2)) {
+            history.append(windowReport(10, "up rise", 9));
+        }
+        Files.write(directory.resolve(ReportHistory.DATA_FILE), new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (ReportHistory history = ReportHistory.open(directory, 2)) {
+            history.append(windowReport(20, "good news", 5));
+            history.append(windowReport(30, "not recorded, the index is full", 5));
+
+            assertThat(history.count()).isEqualTo(2);
+            try (ReportHistory reader = ReportHistory.openReadOnly(directory)) {
+                WindowReport all = reader.query(START, START.plusSeconds(30), 3);
+                assertThat(all.getTotalNewsCount()).isEqualTo(2);
+                assertThat(describe(all.getTopHeadlines())).containsExactly("9:up rise", "5:good news");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should print the query result from the command line")
+    void cli_TimeRange_PrintsReport() throws IOException {
+
+        try (ReportHistory history = ReportHistory.open(directory, 10)) {
+            history.append(windowReport(10, "up rise", 7));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int exitCode = ReportHistoryCli.run(new String[]{directory.toString(), "2025-01-01T00:00:00Z",
+                "2025-01-02T00:00:00Z"}, new PrintStream(out, true), new PrintStream(err, true));
+        int invalidExitCode = ReportHistoryCli.run(new String[]{directory.toString(), "yesterday", "today"},
+                new PrintStream(out, true), new PrintStream(err, true));
+
+        assertThat(exitCode).isZero();
+        assertThat(new String(out.toByteArray(), UTF_8))
+                .contains("Total News: 1")
+                .contains("Priority 7: 1")
+                .contains("Priority: 7, Headline: up rise");
+        assertThat(invalidExitCode).isEqualTo(2);
+    }
+
+    private static WindowReport report(List<NewsItem> items) {
+
+        StripedNewsItemStorage storage = new StripedNewsItemStorage();
+        items.forEach(storage::add);
+        List<WindowReport> reports = new ArrayList<>();
+        new NewsSummaryReporter(storage, 10, Collections.emptyList(), Collections.singletonList(reports::add)).report();
+        return reports.get(0);
+    }
+
+    private static WindowReport windowReport(int endSecond, String headline, int priority) {
+
+        long[] counts = new long[10];
+        counts[priority] = 1;
+        return new WindowReport(START.plusSeconds(endSecond - 10), START.plusSeconds(endSecond), 1, counts,
+                Collections.singletonList(new NewsItem(headline, priority)));
+    }
+
+    private static long[] priorityCounts(WindowReport report) {
+
+        long[] counts = new long[10];
+        for (int priority = 0; priority < 10; priority++) {
+            counts[priority] = report.getPriorityCount(priority);
+        }
+        return counts;
+    }
+
+    private static List<String> describe(List<NewsItem> items) {
+        return items.stream().map(item -> item.getPriority() + ":" + item.getHeadline()).collect(Collectors.toList());
+    }
+}
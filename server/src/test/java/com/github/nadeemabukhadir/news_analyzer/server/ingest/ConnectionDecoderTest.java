@@ -0,0 +1,122 @@
+package com.github.nadeemabukhadir.news_analyzer.server.ingest;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.mapper.BinaryNewsItemMapper;
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.Handshake;
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.WireFormat;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.StripedNewsItemStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.SortedMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConnectionDecoderTest {
+
+    private NewsItemStorage storage;
+    private List<byte[]> replies;
+    private ConnectionDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+
+        storage = new StripedNewsItemStorage();
+        replies = new ArrayList<>();
+        decoder = new ConnectionDecoder(new NewsMessageProcessor(storage), replies::add);
+    }
+
+    @Test
+    @DisplayName("Should treat connections without handshake as text clients")
+    void feed_TextMessages_StoresPositiveItemsWithoutReply() throws IOException {
+
+        feedByteByByte("up rise success;5\nfall bad failure;5\n".getBytes(UTF_8));
+
+        assertThat(decoder.getFormat()).isEqualTo(WireFormat.TEXT);
+        assertThat(replies).isEmpty();
+        SortedMap<Integer, Deque<NewsItem>> stored = storage.resetAndGetAll();
+        assertThat(stored.get(5)).extracting(NewsItem::getHeadline).containsExactly("up rise success");
+    }
+
+    @Test
+    @DisplayName("Should accept the binary handshake and decode binary frames split across reads")
+    void feed_BinaryHandshake_RepliesAndDecodesFrames() throws IOException {
+
+        BinaryNewsItemMapper mapper = new BinaryNewsItemMapper();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        stream.write(Handshake.encode(WireFormat.BINARY));
+        stream.write(mapper.toBytes(new NewsItem("up rise success", 7)));
+        stream.write(mapper.toBytes(new NewsItem("fall bad failure", 7)));
+        stream.write(mapper.toBytes(new NewsItem("über good unknownword", 2)));
+
+        feedByteByByte(stream.toByteArray());
+
+        assertThat(decoder.getFormat()).isEqualTo(WireFormat.BINARY);
+        assertThat(replies).hasSize(1);
+        assertThat(Handshake.decode(replies.get(0), 0)).isEqualTo(WireFormat.BINARY);
+        SortedMap<Integer, Deque<NewsItem>> stored = storage.resetAndGetAll();
+        assertThat(stored).containsOnlyKeys(7, 2);
+        assertThat(stored.get(7)).extracting(NewsItem::getHeadline).containsExactly("up rise success");
+        assertThat(stored.get(2)).extracting(NewsItem::getHeadline).containsExactly("über good unknownword");
+    }
+
+    @Test
+    @DisplayName("Should store the positive items of a batch frame grouped by priority")
+    void feed_BatchFrame_StoresPositiveItems() throws IOException {
+
+        BinaryNewsItemMapper mapper = new BinaryNewsItemMapper();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        stream.write(Handshake.encode(WireFormat.BINARY));
+        stream.write(mapper.toBatchBytes(Arrays.asList(new NewsItem("up rise success", 7), new NewsItem("fall bad", 7),
+                new NewsItem("good high", 3), new NewsItem("high über", 7))));
+
+        byte[] data = stream.toByteArray();
+        decoder.feed(data, 0, data.length);
+
+        SortedMap<Integer, Deque<NewsItem>> stored = storage.resetAndGetAll();
+        assertThat(stored.get(7)).extracting(NewsItem::getHeadline).containsExactly("high über", "up rise success");
+        assertThat(stored.get(3)).extracting(NewsItem::getHeadline).containsExactly("good high");
+    }
+
+    @Test
+    @DisplayName("Should answer unknown handshake formats with text and fall back to text framing")
+    void feed_UnknownHandshakeFormat_FallsBackToText() throws IOException {
+
+        byte[] hello = Handshake.encode(WireFormat.BINARY);
+        hello[3] = 42;
+        decoder.feed(hello, 0, hello.length);
+
+        assertThat(Handshake.decode(replies.get(0), 0)).isEqualTo(WireFormat.TEXT);
+        assertThat(decoder.getFormat()).isEqualTo(WireFormat.TEXT);
+    }
+
+    @Test
+    @DisplayName("Should reject oversized binary frames")
+    void feed_OversizedFrame_ThrowsException() throws IOException {
+
+        byte[] hello = Handshake.encode(WireFormat.BINARY);
+        decoder.feed(hello, 0, hello.length);
+        byte[] frameHeader = {(byte) 0xFF, (byte) 0xFF, 0x7F};
+
+        assertThatThrownBy(() -> decoder.feed(frameHeader, 0, frameHeader.length))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Frame too large");
+    }
+
+    private void feedByteByByte(byte[] data) throws IOException {
+
+        for (int i = 0; i < data.length; i++) {
+            decoder.feed(data, i, 1);
+        }
+    }
+}
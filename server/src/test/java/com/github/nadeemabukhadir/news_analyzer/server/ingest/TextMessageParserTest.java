@@ -0,0 +1,55 @@
+package com.github.nadeemabukhadir.news_analyzer.server.ingest;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.mapper.NewsItemMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextMessageParserTest {
+
+    private TextMessageParser parser;
+    private NewsItemMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+
+        parser = new TextMessageParser();
+        mapper = new NewsItemMapper();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"up rise success;5", "  über rise ; 9 ", "good;0", "good;+3", "good;-0", "good;07",
+            ";5", "good;5;", "good;5;;", "up rise success 5", "", ";", "good;", "good;;5", "good;abc", "good;10",
+            "good;-1", "good;99999999999", "good;-2147483648", "good;2147483648", "good; ", "good;+", "a;b;c;5"})
+    @DisplayName("Should accept and reject exactly the same messages as NewsItemMapper.fromString")
+    void parse_MatchesMapperSemantics(String message) {
+
+        byte[] framed = ("#" + message + "#").getBytes(UTF_8);
+        boolean valid = parser.parse(framed, 1, framed.length - 1);
+
+        NewsItem expected = parseWithMapper(message);
+        assertThat(valid).as(message).isEqualTo(expected != null);
+        if (expected != null) {
+            String headline = new String(framed, parser.getHeadlineFrom(),
+                    parser.getHeadlineTo() - parser.getHeadlineFrom(), UTF_8);
+            assertThat(headline).isEqualTo(expected.getHeadline());
+            assertThat(parser.getPriority()).isEqualTo(expected.getPriority());
+        } else {
+            assertThat(parser.getError()).isNotBlank();
+        }
+    }
+
+    private NewsItem parseWithMapper(String message) {
+
+        try {
+            return mapper.fromString(message);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.github.nadeemabukhadir.news_analyzer.server.nio;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.NewsAnalyzerServer;
+import com.github.nadeemabukhadir.news_analyzer.server.config.NewsAnalyzerServerConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.config.ServerMode;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsWindow;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.StripedNewsItemStorage;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.SortedMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NioEventLoopTest {
+
+    private static final int TEST_PORT = 6003;
+    private static final int FAILING_PRIORITY = 9;
+    private NewsAnalyzerServer server;
+    private ExecutorService executor;
+    private NewsItemStorage storage;
+
+    @BeforeAll
+    void setUp() {
+
+        storage = new FailingStorage();
+        // A single event loop, so both connections share its thread and sink.
+        NewsAnalyzerServerConfig config = new NewsAnalyzerServerConfig(TEST_PORT, 1, ServerMode.NIO, 1);
+        server = new NewsAnalyzerServer(config, storage);
+        executor = Executors.newSingleThreadExecutor();
+        executor.execute(server::start);
+    }
+
+    @AfterAll
+    void tearDown() {
+
+        server.stop();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should close only the connection whose messages failed to store and keep the event loop running")
+    void processSelectedKeys_SinkThrows_ClosesOnlyThatConnection() throws IOException {
+
+        try (Socket failing = connect(); Socket healthy = connect()) {
+            OutputStream out = failing.getOutputStream();
+            out.write(("up rise success;" + FAILING_PRIORITY + "\n").getBytes(UTF_8));
+            out.flush();
+
+            failing.setSoTimeout(5000);
+            InputStream in = failing.getInputStream();
+            assertThat(in.read()).isEqualTo(-1);
+
+            healthy.getOutputStream().write("up rise success;7\n".getBytes(UTF_8));
+            healthy.getOutputStream().flush();
+            Awaitility.await()
+                    .atMost(5, TimeUnit.SECONDS)
+                    .pollInterval(100, TimeUnit.MILLISECONDS)
+                    .untilAsserted(() -> assertThat(storage.resetAndGetAll()).containsKey(7));
+        }
+    }
+
+    private static Socket connect() throws IOException {
+
+        IOException lastError = null;
+        for (int attempt = 0; attempt < 20; attempt++) {
+            try {
+                return new Socket("localhost", TEST_PORT);
+            } catch (IOException e) {
+                lastError = e; // Server thread may still be binding
+                sleep();
+            }
+        }
+        throw lastError;
+    }
+
+    private static void sleep() {
+
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Fails like a storage whose disk is full, but only for the items of {@link #FAILING_PRIORITY}.
+     */
+    private static final class FailingStorage implements NewsItemStorage {
+
+        private final NewsItemStorage delegate = new StripedNewsItemStorage();
+
+        @Override
+        public void add(NewsItem item) {
+
+            failIfNeeded(item);
+            delegate.add(item);
+        }
+
+        @Override
+        public void addAll(Collection<NewsItem> items) {
+
+            items.forEach(this::failIfNeeded);
+            delegate.addAll(items);
+        }
+
+        @Override
+        public SortedMap<Integer, Deque<NewsItem>> resetAndGetAll() {
+            return delegate.resetAndGetAll();
+        }
+
+        @Override
+        public NewsWindow resetAndGetWindow() {
+            return delegate.resetAndGetWindow();
+        }
+
+        private void failIfNeeded(NewsItem item) {
+
+            if (item.getPriority() == FAILING_PRIORITY) {
+                throw new UncheckedIOException(new IOException("No space left on device"));
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.nadeemabukhadir.news_analyzer.server.nio;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.NewsAnalyzerServer;
+import com.github.nadeemabukhadir.news_analyzer.server.config.NewsAnalyzerServerConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.config.ServerMode;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.StripedNewsItemStorage;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NioNewsAnalyzerServerIntegrationTest {
+
+    private static final int TEST_PORT = 6002;
+    private static final int CONNECTIONS = 50;
+    private static final int IO_THREADS = 2;
+    private NewsAnalyzerServer server;
+    private ExecutorService executor;
+    private NewsItemStorage storage;
+
+    @BeforeAll
+    void setUp() {
+
+        storage = new StripedNewsItemStorage();
+        NewsAnalyzerServerConfig config = new NewsAnalyzerServerConfig(TEST_PORT, 1, ServerMode.NIO, IO_THREADS);
+        server = new NewsAnalyzerServer(config, storage);
+        executor = Executors.newSingleThreadExecutor();
+        executor.execute(server::start);
+    }
+
+    @AfterAll
+    void tearDown() {
+
+        server.stop();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should serve many more concurrent connections than I/O threads")
+    void shouldMultiplexConnectionsOverFewThreads() throws IOException {
+
+        List<Socket> clients = new ArrayList<>();
+        try {
+            for (int i = 0; i < CONNECTIONS; i++) {
+                clients.add(connect());
+            }
+            // Every connection stays open while sending, so a thread-per-connection pool of this size would starve.
+            for (Socket client : clients) {
+                OutputStream out = client.getOutputStream();
+                out.write("up rise ".getBytes(UTF_8));
+                out.flush();
+                out.write("success;7\r\n".getBytes(UTF_8));
+                out.write("fall bad failure;7\n".getBytes(UTF_8));
+                out.flush();
+            }
+
+            ConcurrentHashMap<Integer, Integer> stored = new ConcurrentHashMap<>();
+            Awaitility.await()
+                    .atMost(5, TimeUnit.SECONDS)
+                    .pollInterval(100, TimeUnit.MILLISECONDS)
+                    .untilAsserted(() -> {
+                        SortedMap<Integer, Deque<NewsItem>> snapshot = storage.resetAndGetAll();
+                        snapshot.forEach((priority, items) -> stored.merge(priority, items.size(), Integer::sum));
+                        assertThat(stored).containsEntry(7, CONNECTIONS);
+                    });
+        } finally {
+            for (Socket client : clients) {
+                client.close();
+            }
+        }
+    }
+
+    private static Socket connect() throws IOException {
+
+        IOException lastError = null;
+        for (int attempt = 0; attempt < 20; attempt++) {
+            try {
+                return new Socket("localhost", TEST_PORT);
+            } catch (IOException e) {
+                lastError = e; // Server thread may still be binding
+                sleep();
+            }
+        }
+        throw lastError;
+    }
+
+    private static void sleep() {
+
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
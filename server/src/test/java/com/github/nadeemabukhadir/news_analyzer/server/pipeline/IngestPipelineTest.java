@@ -0,0 +1,96 @@
+package com.github.nadeemabukhadir.news_analyzer.server.pipeline;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.mapper.BinaryNewsItemMapper;
+import com.github.nadeemabukhadir.news_analyzer.server.config.PipelineConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.MessageSink;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.StripedNewsItemStorage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.SortedMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngestPipelineTest {
+
+    private NewsItemStorage storage;
+    private IngestPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+
+        storage = new StripedNewsItemStorage();
+        pipeline = new IngestPipeline(new PipelineConfig(true, 16, 2, 2, 2), storage);
+        pipeline.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    @Test
+    @DisplayName("Should store only valid positive items published as text or binary messages")
+    void newPublisher_MixedMessages_StoresPositiveItems() {
+
+        MessageSink publisher = pipeline.newPublisher();
+        publishText(publisher, "up rise success;5");
+        publishText(publisher, "fall bad failure;5");
+        publishText(publisher, "not a message");
+        byte[] item = new BinaryNewsItemMapper().toBytes(new NewsItem("good high über", 7));
+        publishFrame(publisher, item);
+        byte[] batch = new BinaryNewsItemMapper().toBatchBytes(Arrays.asList(
+                new NewsItem("down low unter", 2), new NewsItem("success tomorrow", 2)));
+        publishFrame(publisher, batch);
+        publisher.flush();
+
+        assertThat(publisher.takeMessagesCount()).isEqualTo(6);
+        pipeline.stop();
+
+        SortedMap<Integer, Deque<NewsItem>> stored = storage.resetAndGetAll();
+        assertThat(stored.get(5)).extracting(NewsItem::getHeadline).containsExactly("up rise success");
+        assertThat(stored.get(7)).extracting(NewsItem::getHeadline).containsExactly("good high über");
+        assertThat(stored.get(2)).extracting(NewsItem::getHeadline).containsExactly("success tomorrow");
+        assertThat(stored).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should push many more messages than the ring capacity through every stage")
+    void newPublisher_MoreMessagesThanCapacity_StoresAll() {
+
+        MessageSink publisher = pipeline.newPublisher();
+        for (int i = 0; i < 10_000; i++) {
+            publishText(publisher, "up rise success " + i + ";" + (i % 10));
+        }
+        pipeline.stop();
+
+        List<NewsItem> stored = new ArrayList<>();
+        storage.resetAndGetAll().values().forEach(stored::addAll);
+        assertThat(stored).hasSize(10_000);
+        assertThat(pipeline.drainWindowSummary()).contains("decode: 0 (peak");
+    }
+
+    private static void publishFrame(MessageSink publisher, byte[] frame) {
+
+        int bodyFrom = 0;
+        while ((frame[bodyFrom] & 0x80) != 0) {
+            bodyFrom++;
+        }
+        publisher.processFrame(frame, bodyFrom + 1, frame.length);
+    }
+
+    private static void publishText(MessageSink publisher, String message) {
+
+        byte[] bytes = message.getBytes(UTF_8);
+        publisher.process(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.nadeemabukhadir.news_analyzer.server.pipeline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RingBufferTest {
+
+    private static final class Slot {
+        long value;
+    }
+
+    @Test
+    @DisplayName("Should hand entries over in order and report the queue depth")
+    void claimAndTake_SingleThread_PreservesOrderAndDepth() {
+
+        RingBuffer<Slot> ring = new RingBuffer<>(4, Slot::new);
+
+        for (int i = 0; i < 3; i++) {
+            long sequence = ring.claim();
+            ring.get(sequence).value = i * 10;
+            ring.publish(sequence);
+        }
+        assertThat(ring.depth()).isEqualTo(3);
+        assertThat(ring.drainPeakDepth()).isEqualTo(3);
+
+        for (int i = 0; i < 3; i++) {
+            long sequence = ring.tryTake();
+            assertThat(ring.get(sequence).value).isEqualTo(i * 10);
+            ring.release(sequence);
+        }
+        assertThat(ring.tryTake()).isEqualTo(-1);
+        assertThat(ring.depth()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reuse the pre-allocated entries on every lap")
+    void claim_AfterWrapAround_ReusesEntries() {
+
+        RingBuffer<Slot> ring = new RingBuffer<>(2, Slot::new);
+
+        long first = ring.claim();
+        Slot firstSlot = ring.get(first);
+        ring.publish(first);
+        ring.release(ring.tryTake());
+        ring.release(publishAndTake(ring));
+
+        assertThat(ring.get(ring.claim())).isSameAs(firstSlot);
+    }
+
+    @Test
+    @DisplayName("Should not lose or duplicate entries with many producers and consumers")
+    void claimAndTake_ManyThreads_DeliversEveryEntryOnce() throws InterruptedException {
+
+        int producers = 4;
+        int consumers = 3;
+        int perProducer = 50_000;
+        RingBuffer<Slot> ring = new RingBuffer<>(64, Slot::new);
+        ConcurrentHashMap<Long, Boolean> seen = new ConcurrentHashMap<>();
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(producers * perProducer);
+        ExecutorService executor = Executors.newFixedThreadPool(producers + consumers);
+
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            executor.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    long sequence = ring.claim();
+                    ring.get(sequence).value = base + i;
+                    ring.publish(sequence);
+                }
+            });
+        }
+        for (int c = 0; c < consumers; c++) {
+            executor.execute(() -> {
+                while (done.getCount() > 0) {
+                    long sequence = ring.tryTake();
+                    if (sequence < 0) {
+                        Thread.yield();
+                        continue;
+                    }
+                    if (seen.put(ring.get(sequence).value, Boolean.TRUE) == null) {
+                        received.incrementAndGet();
+                    }
+                    ring.release(sequence);
+                    done.countDown();
+                }
+            });
+        }
+
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdownNow();
+        assertThat(received.get()).isEqualTo(producers * perProducer);
+    }
+
+    @Test
+    @DisplayName("Should reject capacities that are not a power of two")
+    void constructor_InvalidCapacity_ThrowsException() {
+
+        assertThatThrownBy(() -> new RingBuffer<>(100, Slot::new))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("power of two");
+    }
+
+    private static long publishAndTake(RingBuffer<Slot> ring) {
+
+        ring.publish(ring.claim());
+        return ring.tryTake();
+    }
+}
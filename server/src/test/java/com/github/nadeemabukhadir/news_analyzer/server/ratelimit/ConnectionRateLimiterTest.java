@@ -0,0 +1,61 @@
+package com.github.nadeemabukhadir.news_analyzer.server.ratelimit;
+
+import com.github.nadeemabukhadir.news_analyzer.server.config.RateLimitConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConnectionRateLimiterTest {
+
+    @Test
+    @DisplayName("Should never pause when all limits are disabled")
+    void onRead_Unlimited_NeverPauses() {
+
+        IngestRateLimits rateLimits = IngestRateLimits.unlimited();
+        ConnectionRateLimiter limiter = rateLimits.newConnectionLimiter();
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(limiter.onRead(8192, 500)).isZero();
+        }
+        assertThat(rateLimits.getStats().drainWindowSummary()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should pause and count the per-connection message limit once it is exceeded")
+    void onRead_ConnectionMessagesExceeded_PausesAndCountsTrigger() {
+
+        IngestRateLimits rateLimits = new IngestRateLimits(new RateLimitConfig(100, 0, 0, 0));
+        ConnectionRateLimiter limiter = rateLimits.newConnectionLimiter();
+
+        assertThat(limiter.onRead(1000, 100)).isZero();
+        assertThat(limiter.onRead(1000, 100)).isPositive();
+
+        RateLimitStats stats = rateLimits.getStats();
+        assertThat(stats.getTriggerCount(RateLimit.CONNECTION_MESSAGES)).isEqualTo(1);
+        assertThat(stats.getTriggerCount(RateLimit.CONNECTION_BYTES)).isZero();
+        assertThat(stats.drainWindowSummary()).contains("connection messages: 1");
+        assertThat(stats.drainWindowSummary()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep per-connection budgets independent")
+    void onRead_SeparateConnections_HaveSeparateBudgets() {
+
+        IngestRateLimits rateLimits = new IngestRateLimits(new RateLimitConfig(0, 1000, 0, 0));
+
+        assertThat(rateLimits.newConnectionLimiter().onRead(1000, 1)).isZero();
+        assertThat(rateLimits.newConnectionLimiter().onRead(1000, 1)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should share the global byte budget between all connections")
+    void onRead_GlobalBytesExceeded_PausesAnyConnection() {
+
+        IngestRateLimits rateLimits = new IngestRateLimits(new RateLimitConfig(0, 0, 0, 1000));
+
+        assertThat(rateLimits.newConnectionLimiter().onRead(1000, 1)).isZero();
+        assertThat(rateLimits.newConnectionLimiter().onRead(500, 1)).isPositive();
+        assertThat(rateLimits.getStats().getTriggerCount(RateLimit.GLOBAL_BYTES)).isEqualTo(1);
+    }
+}
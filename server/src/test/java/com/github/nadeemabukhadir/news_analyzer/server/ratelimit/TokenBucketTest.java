@@ -0,0 +1,70 @@
+package com.github.nadeemabukhadir.news_analyzer.server.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+
+    @Test
+    @DisplayName("Should allow a full second worth of tokens as burst without pausing")
+    void consume_WithinBurst_ReturnsNoPause() {
+
+        TokenBucket bucket = new TokenBucket(100, clock::get);
+
+        assertThat(bucket.consume(60)).isZero();
+        assertThat(bucket.consume(40)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should ask for a pause proportional to the overdraft")
+    void consume_OverBurst_ReturnsPauseForOverdraft() {
+
+        TokenBucket bucket = new TokenBucket(100, clock::get);
+
+        long pause = bucket.consume(150);
+
+        assertThat(pause).isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+    }
+
+    @Test
+    @DisplayName("Should refill tokens as time passes")
+    void consume_AfterRefill_ReturnsNoPause() {
+
+        TokenBucket bucket = new TokenBucket(100, clock::get);
+        assertThat(bucket.consume(150)).isPositive();
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertThat(bucket.consume(0)).isZero();
+        assertThat(bucket.consume(1)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should not accumulate more than one second of tokens while idle")
+    void consume_AfterLongIdle_BurstIsCapped() {
+
+        TokenBucket bucket = new TokenBucket(100, clock::get);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        assertThat(bucket.consume(100)).isZero();
+        assertThat(bucket.consume(10)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive rates")
+    void constructor_NonPositiveRate_ThrowsException() {
+
+        assertThatThrownBy(() -> new TokenBucket(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Rate must be positive");
+    }
+}
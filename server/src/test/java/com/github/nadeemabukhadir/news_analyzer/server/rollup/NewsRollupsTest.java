@@ -0,0 +1,88 @@
+package com.github.nadeemabukhadir.news_analyzer.server.rollup;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.WindowAggregate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NewsRollupsTest {
+
+    // A day boundary, so that every resolution starts a bucket with the first rolled second.
+    private static final long START = 1_700_006_400L;
+
+    @Test
+    @DisplayName("Should count the items of the last seconds per priority, by the second up to a minute")
+    void query_ShortWindows_CountsBySecond() {
+
+        NewsRollups rollups = new NewsRollups(3);
+        for (int second = 0; second < 90; second++) {
+            rollups.add(new NewsItem("w" + second, second % 10));
+            rollups.addAll(Arrays.asList(new NewsItem("up", 9), null));
+            rollups.roll(START + second);
+        }
+
+        assertThat(rollups.query(1).getCount()).isEqualTo(2);
+        assertThat(rollups.query(10).getCount()).isEqualTo(20);
+        assertThat(rollups.query(60).getCount()).isEqualTo(120);
+        assertThat(rollups.query(60).getCount(9)).isEqualTo(66);
+        // Answered by 10-second buckets: seconds 20-89
+        assertThat(rollups.query(61).getCount()).isEqualTo(140);
+        assertThat(rollups.query(3600).getCount()).isEqualTo(180);
+    }
+
+    @Test
+    @DisplayName("Should keep the newest item of every word set per priority across the buckets of a window")
+    void query_SlidingWindow_ReportsTopHeadlines() {
+
+        NewsRollups rollups = new NewsRollups(2);
+        rollups.add(new NewsItem("old high", 9));
+        rollups.roll(START);
+        rollups.add(new NewsItem("rise up", 5));
+        rollups.add(new NewsItem("low", 1));
+        rollups.roll(START + 1);
+        rollups.add(new NewsItem("up rise", 5));
+        rollups.add(new NewsItem("good", 5));
+        rollups.roll(START + 2);
+
+        assertThat(topHeadlines(rollups.query(2))).containsExactly("good", "up rise", "low");
+        assertThat(topHeadlines(rollups.query(3))).containsExactly("old high", "good", "up rise", "low");
+        assertThat(rollups.query(2).asWindow().size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should keep a fixed number of buckets and reject windows beyond a day")
+    void query_ExpiredBuckets_AreDropped() {
+
+        NewsRollups rollups = new NewsRollups(3);
+        rollups.add(new NewsItem("first", 9));
+        rollups.roll(START);
+        for (int second = 1; second <= 26 * 3600; second += 60) {
+            rollups.add(new NewsItem("later", 1));
+            rollups.roll(START + second);
+        }
+
+        assertThat(rollups.query(24 * 3600).getCount(9)).isZero();
+        assertThat(rollups.query(60).getCount()).isEqualTo(1);
+        assertThatThrownBy(() -> rollups.query(24 * 3600 + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> rollups.query(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<String> topHeadlines(WindowAggregate aggregate) {
+
+        List<String> headlines = new ArrayList<>();
+        aggregate.asWindow().visit(item -> {
+            headlines.add(item.getHeadline());
+            return true;
+        });
+        return headlines;
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.nadeemabukhadir.news_analyzer.server.rollup;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.WindowAggregate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RollupCheckpointTest {
+
+    private static final long START = 1_700_006_400L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should restore the rollups of a checkpoint, with new items newer than the restored ones")
+    void restore_WrittenCheckpoint_RestoresRollups() throws IOException {
+
+        NewsRollups rollups = new NewsRollups(3);
+        for (int second = 0; second < 700; second++) {
+            rollups.add(new NewsItem("headline " + second, second % 10));
+            rollups.roll(START + second);
+        }
+        Path file = directory.resolve("checkpoints/rollups.bin");
+        new RollupCheckpoint(file, rollups).write();
+
+        NewsRollups restored = new NewsRollups(3);
+        assertThat(new RollupCheckpoint(file, restored).restore()).isTrue();
+
+        for (int seconds : new int[]{1, 60, 600, 3600}) {
+            assertThat(restored.query(seconds).getCount()).isEqualTo(rollups.query(seconds).getCount());
+            assertThat(headlines(restored.query(seconds))).isEqualTo(headlines(rollups.query(seconds)));
+        }
+        restored.add(new NewsItem("fresh", 9));
+        restored.roll(START + 700);
+        assertThat(headlines(restored.query(60)).get(0)).isEqualTo("fresh");
+    }
+
+    @Test
+    @DisplayName("Should start empty without a checkpoint and reject corrupt or mismatching ones")
+    void restore_MissingOrInvalidCheckpoint_KeepsRollups() throws IOException {
+
+        Path file = directory.resolve("rollups.bin");
+        NewsRollups rollups = new NewsRollups(3);
+        assertThat(new RollupCheckpoint(file, rollups).restore()).isFalse();
+
+        rollups.add(new NewsItem("up", 1));
+        rollups.roll(START);
+        new RollupCheckpoint(file, rollups).write();
+
+        NewsRollups otherTopK = new NewsRollups(2);
+        assertThatThrownBy(() -> new RollupCheckpoint(file, otherTopK).restore()).isInstanceOf(IOException.class);
+
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(raf.length() - 1);
+            raf.write('X');
+        }
+        NewsRollups corrupt = new NewsRollups(3);
+        assertThatThrownBy(() -> new RollupCheckpoint(file, corrupt).restore())
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Corrupt");
+        assertThat(corrupt.query(60).getCount()).isZero();
+    }
+
+    private static List<String> headlines(WindowAggregate aggregate) {
+
+        List<String> headlines = new ArrayList<>();
+        aggregate.asWindow().visit(item -> headlines.add(item.getHeadline()));
+        return headlines;
+    }
+}
@@ -0,0 +1,131 @@
+package com.github.nadeemabukhadir.news_analyzer.server.sentiment;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.mapper.BinaryNewsItemMapper;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.NewsMessageProcessor;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.StripedNewsItemStorage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LexiconSentimentClassifierTest {
+
+    @Test
+    @DisplayName("Should classify like the default engine with the bundled lexicon and a 0.5 threshold")
+    void isPositive_BundledLexicon_MatchesDefaultEngine() throws IOException {
+
+        SentimentLexicon lexicon;
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream("sentiment-lexicon.txt")) {
+            lexicon = SentimentLexicon.parse(input);
+        }
+        LexiconSentimentClassifier classifier = new LexiconSentimentClassifier(lexicon, 0.5);
+
+        String[] words = {"up", "down", "rise", "fall", "good", "bad", "success", "failure", "high", "low", "über",
+                "unter", "upup", "ü", "ris"};
+        String[] separators = {" ", "  ", "\t", " \u000B "};
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            StringBuilder headline = new StringBuilder(words[random.nextInt(words.length)]);
+            int length = random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                headline.append(separators[random.nextInt(separators.length)]).append(words[random.nextInt(words.length)]);
+            }
+            String value = headline.toString();
+            assertThat(classifier.isPositive(value)).as(value).isEqualTo(DefaultSentimentClassifier.INSTANCE.isPositive(value));
+        }
+    }
+
+    @Test
+    @DisplayName("Should score phrases on top of their words, across any whitespace")
+    void isPositive_Phrases_AddTheirWeight() {
+
+        Map<String, Double> weights = new HashMap<>();
+        weights.put("good", 1.0);
+        weights.put("not good", -2.0);
+        weights.put("record high", 3.0);
+        LexiconSentimentClassifier classifier = new LexiconSentimentClassifier(SentimentLexicon.of(weights), 0.5);
+
+        assertThat(classifier.isPositive("good news")).isTrue();            // 1 / 2
+        assertThat(classifier.isPositive("not good news")).isFalse();       // (1 - 2) / 3
+        assertThat(classifier.isPositive("stocks at record \t high")).isTrue(); // 3 / 4
+        assertThat(classifier.isPositive("stocks at recordhigh")).isFalse();
+        assertThat(classifier.isPositive("goodness gracious")).isFalse();
+        assertThat(classifier.isPositive("")).isFalse();
+        assertThat(classifier.isPositive(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should report all overlapping matches of the automaton")
+    void compile_OverlappingPatterns_SumsAllMatches() {
+
+        Map<String, Double> patterns = new HashMap<>();
+        patterns.put("he", 1.0);
+        patterns.put("she", 10.0);
+        patterns.put("hers", 100.0);
+        patterns.put("his", 1000.0);
+        AhoCorasickAutomaton automaton = AhoCorasickAutomaton.compile(patterns);
+
+        double score = 0;
+        int state = AhoCorasickAutomaton.ROOT;
+        for (byte b : "ushers".getBytes(UTF_8)) {
+            state = automaton.next(state, b);
+            score += automaton.weightOf(state);
+        }
+
+        assertThat(score).isEqualTo(111.0);
+    }
+
+    @Test
+    @DisplayName("Should parse weights, default weights and comments, and reject malformed entries")
+    void parse_LexiconFile_ParsesEntries() throws IOException {
+
+        SentimentLexicon lexicon = SentimentLexicon.parse(stream("# comment\n\ngood\nrecord   high;2.5\nbad;-1\n"));
+
+        assertThat(lexicon.getWeights()).containsEntry("good", 1.0).containsEntry("record high", 2.5)
+                .containsEntry("bad", -1.0).hasSize(3);
+        assertThatThrownBy(() -> SentimentLexicon.parse(stream("good;1\nbad;x\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("line 2");
+    }
+
+    @Test
+    @DisplayName("Should classify binary items by their whole headline with a phrase based engine")
+    void processFrame_LexiconEngine_ClassifiesDecodedHeadline() {
+
+        Map<String, Double> weights = new HashMap<>();
+        weights.put("up", 1.0);
+        weights.put("up down", -5.0);
+        NewsItemStorage storage = new StripedNewsItemStorage();
+        NewsMessageProcessor processor = new NewsMessageProcessor(storage,
+                new LexiconSentimentClassifier(SentimentLexicon.of(weights), 0.5));
+        BinaryNewsItemMapper mapper = new BinaryNewsItemMapper();
+
+        processFrame(processor, mapper.toBytes(new NewsItem("up down", 3)));
+        processFrame(processor, mapper.toBytes(new NewsItem("down up", 4)));
+        processor.flush();
+
+        SortedMap<Integer, Deque<NewsItem>> stored = storage.resetAndGetAll();
+        assertThat(stored).containsOnlyKeys(4);
+    }
+
+    private static void processFrame(NewsMessageProcessor processor, byte[] frame) {
+        processor.processFrame(frame, 1, frame.length);
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(UTF_8));
+    }
+}
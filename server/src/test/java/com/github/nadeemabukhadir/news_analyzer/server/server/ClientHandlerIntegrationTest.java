@@ -1,9 +1,9 @@
 package com.github.nadeemabukhadir.news_analyzer.server.server;
 
 import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
-import com.github.nadeemabukhadir.news_analyzer.common.mapper.NewsItemMapper;
 import com.github.nadeemabukhadir.news_analyzer.server.ClientHandler;
 import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.StripedNewsItemStorage;
 import org.awaitility.Awaitility;
 import org.junit.jupiter.api.*;
 import org.slf4j.Logger;
@@ -31,7 +31,6 @@ class ClientHandlerIntegrationTest {
     private ServerSocket testServer;
     private ExecutorService executor;
     private NewsItemStorage newsStorage;
-    private NewsItemMapper newsMapper;
 
     @BeforeAll
     void setUp() throws IOException {
@@ -39,8 +38,7 @@ class ClientHandlerIntegrationTest {
         logger.info("Starting integration test setup...");
         testServer = new ServerSocket(TEST_PORT);  // Start the mock TCP server
         executor = Executors.newCachedThreadPool();
-        newsStorage = new NewsItemStorage();
-        newsMapper = new NewsItemMapper();
+        newsStorage = new StripedNewsItemStorage();
         logger.info("Test server listening on port {}", TEST_PORT);
     }
 
@@ -57,7 +55,7 @@ class ClientHandlerIntegrationTest {
         executor.execute(() -> {
             try {
                 Socket socket = testServer.accept();
-                new ClientHandler(socket, newsMapper, newsStorage).run();
+                new ClientHandler(socket, newsStorage).run();
             } catch (IOException e) {
                 logger.error("Test server error", e);
             }
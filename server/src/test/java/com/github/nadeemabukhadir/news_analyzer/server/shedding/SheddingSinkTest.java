@@ -0,0 +1,136 @@
+package com.github.nadeemabukhadir.news_analyzer.server.shedding;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.mapper.BinaryNewsItemMapper;
+import com.github.nadeemabukhadir.news_analyzer.server.config.SheddingConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.ingest.NewsMessageProcessor;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.StripedNewsItemStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.SortedMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SheddingSinkTest {
+
+    private final AtomicInteger queueLoad = new AtomicInteger();
+    private NewsItemStorage storage;
+    private LoadShedder shedder;
+    private SheddingSink sink;
+
+    @BeforeEach
+    void setUp() {
+
+        storage = new StripedNewsItemStorage();
+        shedder = new LoadShedder(new SheddingConfig(true, 80, 50, 500), queueLoad::get);
+        sink = new SheddingSink(new NewsMessageProcessor(storage), shedder);
+    }
+
+    @Test
+    @DisplayName("Should pass every message on while the server is not overloaded")
+    void process_NoLoad_PassesEverything() {
+
+        shedder.adjust();
+
+        processText("up rise success;0");
+        processText("up rise success;9");
+        sink.flush();
+
+        assertThat(storage.resetAndGetAll()).containsOnlyKeys(0, 9);
+        assertThat(sink.takeMessagesCount()).isEqualTo(2);
+        assertThat(shedder.drainWindowSummary()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should shed text lines below the adaptive threshold by their trailing priority digit")
+    void process_Overloaded_ShedsLowPriorityLines() {
+
+        overload(3);
+
+        processText("up rise success;0");
+        processText("up rise success ; 2 ");
+        processText("up rise success;3");
+        processText("good high;9");
+        sink.flush();
+
+        assertThat(storage.resetAndGetAll()).containsOnlyKeys(3, 9);
+        assertThat(sink.takeMessagesCount()).isEqualTo(4);
+        assertThat(shedder.drainWindowSummary()).isEqualTo(
+                "Shed items per priority -> 0: 1, 2: 1 (currently shedding below priority 3)");
+    }
+
+    @Test
+    @DisplayName("Should shed binary items by their tag and filter low-priority items out of batches")
+    void processFrame_Overloaded_ShedsLowPriorityItems() {
+
+        overload(5);
+        BinaryNewsItemMapper mapper = new BinaryNewsItemMapper();
+
+        processFrame(mapper.toBytes(new NewsItem("up rise success", 1)));
+        processFrame(mapper.toBatchBytes(Arrays.asList(new NewsItem("up rise", 2), new NewsItem("good success", 7),
+                new NewsItem("high literal", 4), new NewsItem("über high", 8))));
+        sink.flush();
+
+        SortedMap<Integer, Deque<NewsItem>> stored = storage.resetAndGetAll();
+        assertThat(stored).containsOnlyKeys(7, 8);
+        assertThat(stored.get(8)).extracting(NewsItem::getHeadline).containsExactly("über high");
+        assertThat(shedder.drainWindowSummary()).contains("1: 1", "2: 1", "4: 1");
+    }
+
+    @Test
+    @DisplayName("Should stop shedding step by step once the load goes down")
+    void adjust_LoadDrops_LowersThreshold() {
+
+        overload(2);
+
+        queueLoad.set(10);
+        shedder.adjust();
+        assertThat(shedder.getMinPriority()).isEqualTo(1);
+        shedder.adjust();
+        assertThat(shedder.getMinPriority()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should treat reads that fill the whole buffer as overload and never shed priority 9")
+    void adjust_FullReads_RaisesThresholdUpToNine() {
+
+        for (int i = 0; i < 20; i++) {
+            sink.onRead(8192, 8192);
+            shedder.adjust();
+        }
+
+        assertThat(shedder.getMinPriority()).isEqualTo(9);
+        assertThat(shedder.shouldShed(9)).isFalse();
+    }
+
+    private void overload(int steps) {
+
+        queueLoad.set(95);
+        for (int i = 0; i < steps; i++) {
+            shedder.adjust();
+        }
+        assertThat(shedder.getMinPriority()).isEqualTo(steps);
+    }
+
+    private void processText(String message) {
+
+        byte[] bytes = message.getBytes(UTF_8);
+        sink.process(bytes, 0, bytes.length);
+    }
+
+    private void processFrame(byte[] frame) {
+
+        int bodyFrom = 0;
+        while ((frame[bodyFrom] & 0x80) != 0) {
+            bodyFrom++;
+        }
+        sink.processFrame(frame, bodyFrom + 1, frame.length);
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.util.HeadlineSignatureSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.nadeemabukhadir.news_analyzer.server.task.NewsSummaryReporter.TOP_HEADLINES_MAX_COUNT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AggregatingNewsItemStorageTest {
+
+    @Test
+    @DisplayName("Should report the same top headlines as a storage retaining every item")
+    void resetAndGetWindow_RandomItems_ReportsSameTopHeadlines() {
+
+        String[] words = {"up", "rise", "good", "fall", "bad", "markets", "w1", "w2"};
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            AggregatingNewsItemStorage aggregating = new AggregatingNewsItemStorage(TOP_HEADLINES_MAX_COUNT);
+            StripedNewsItemStorage striped = new StripedNewsItemStorage();
+            int itemsCount = random.nextInt(60);
+            for (int i = 0; i < itemsCount; i++) {
+                // Few words and priorities, so word sets repeat within and across priorities.
+                String headline = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                NewsItem item = new NewsItem(headline, 5 + random.nextInt(3));
+                if (random.nextBoolean()) {
+                    aggregating.add(item);
+                    striped.add(item);
+                } else {
+                    aggregating.addAll(Arrays.asList(item, item));
+                    striped.addAll(Arrays.asList(item, item));
+                }
+            }
+
+            NewsWindow expected = striped.resetAndGetWindow();
+            NewsWindow actual = aggregating.resetAndGetWindow();
+
+            assertThat(actual.size()).isEqualTo(expected.size());
+            assertThat(topHeadlines(actual)).as("round %d", round).isEqualTo(topHeadlines(expected));
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep only the newest item of each word set per priority")
+    void resetAndGetAll_RepeatedWordSets_KeepsNewestCandidates() {
+
+        AggregatingNewsItemStorage storage = new AggregatingNewsItemStorage(2);
+        storage.add(new NewsItem("up rise", 5));
+        storage.add(null);
+        storage.addAll(Arrays.asList(new NewsItem("good", 5), new NewsItem("rise up", 5), new NewsItem("fall", 9)));
+        storage.add(new NewsItem("bad", 5));
+        storage.add(new NewsItem("markets", 5));
+
+        assertThat(storage.resetAndGetAll())
+                .containsOnlyKeys(9, 5)
+                .satisfies(items -> {
+                    assertThat(items.get(9)).extracting(NewsItem::getHeadline).containsExactly("fall");
+                    assertThat(items.get(5)).extracting(NewsItem::getHeadline, NewsItem::getPriority)
+                            .containsExactly(tuple("markets", 5), tuple("bad", 5), tuple("rise up", 5));
+                });
+        assertThat(storage.resetAndGetWindow().size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count every item exactly once while resets race with adds")
+    void resetAndGetWindow_ConcurrentAdds_CountsEveryItem() throws InterruptedException {
+
+        AggregatingNewsItemStorage storage = new AggregatingNewsItemStorage(TOP_HEADLINES_MAX_COUNT);
+        int threads = 4;
+        int itemsPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.execute(() -> {
+                for (int i = 0; i < itemsPerThread; i++) {
+                    if (i % 2 == 0) {
+                        storage.add(new NewsItem("w" + (i % 100), (thread + i) % 10));
+                    } else {
+                        storage.addAll(Arrays.asList(new NewsItem("up", thread)));
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        long drained = 0;
+        while (!done.await(1, TimeUnit.MILLISECONDS)) {
+            drained += storage.resetAndGetWindow().size();
+        }
+        drained += storage.resetAndGetWindow().size();
+        executor.shutdown();
+
+        assertThat(drained).isEqualTo((long) threads * itemsPerThread);
+    }
+
+    @Test
+    @DisplayName("Should reject a non positive top K and out of range priorities")
+    void constructor_InvalidArguments_Throws() {
+
+        assertThatThrownBy(() -> new AggregatingNewsItemStorage(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Top K");
+        assertThatThrownBy(() -> new AggregatingNewsItemStorage(1).add(new NewsItem("up", 10)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Priority");
+    }
+
+    /**
+     * Same selection as the report: unique word sets, by descending priority and newest first.
+     */
+    private static List<String> topHeadlines(NewsWindow window) {
+
+        HeadlineSignatureSet seen = new HeadlineSignatureSet();
+        List<String> top = new ArrayList<>();
+        window.visit(item -> {
+            if (item.addSignatureTo(seen)) {
+                top.add(item.getPriority() + ":" + item.getHeadline());
+            }
+            return top.size() < TOP_HEADLINES_MAX_COUNT;
+        });
+        return top;
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.server.util.HeadlineSignatureSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class CompactNewsItemStorageTest {
+
+    @Test
+    @DisplayName("Should return items by descending priority, newest first, with rebuilt headlines")
+    void resetAndGetAll_EncodedItems_RebuildsHeadlines() {
+
+        CompactNewsItemStorage storage = new CompactNewsItemStorage();
+        storage.add(new NewsItem("up rise success", 5));
+        storage.add(null);
+        storage.addAll(Arrays.asList(new NewsItem("good  high\tfall", 5), new NewsItem("bad über", 3)));
+        storage.addAll(Arrays.asList(new NewsItem("markets surge", 7), new NewsItem("", 7)));
+
+        SortedMap<Integer, Deque<NewsItem>> snapshot = storage.resetAndGetAll();
+
+        assertThat(snapshot).containsOnlyKeys(7, 5, 3);
+        assertThat(snapshot.firstKey()).isEqualTo(7);
+        assertThat(snapshot.get(7)).extracting(NewsItem::getHeadline, NewsItem::getPriority)
+                .containsExactly(tuple("", 7), tuple("markets surge", 7));
+        assertThat(snapshot.get(5)).extracting(NewsItem::getHeadline)
+                .containsExactly("good high fall", "up rise success");
+        assertThat(snapshot.get(3)).extracting(NewsItem::getHeadline).containsExactly("bad über");
+        assertThat(storage.resetAndGetAll()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should give word-set signatures identical to the ones of the original headlines")
+    void addSignatureTo_EncodedItems_MatchesOriginalHeadlines() {
+
+        String[] words = {"up", "rise", "good", "über", "markets", "upside", "w1", ""};
+        String[] separators = {" ", "  ", "\t"};
+        Random random = new Random(3);
+        CompactNewsItemStorage storage = new CompactNewsItemStorage();
+        List<String> headlines = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            StringBuilder headline = new StringBuilder(random.nextInt(8) == 0 ? " " : "");
+            int length = random.nextInt(4);
+            for (int j = 0; j < length; j++) {
+                headline.append(words[random.nextInt(words.length)]).append(separators[random.nextInt(separators.length)]);
+            }
+            headline.append(words[random.nextInt(words.length)]);
+            headlines.add(0, headline.toString()); // Visited newest first
+            storage.add(new NewsItem(headline.toString(), 1));
+        }
+
+        HeadlineSignatureSet expected = new HeadlineSignatureSet();
+        HeadlineSignatureSet actual = new HeadlineSignatureSet();
+        List<String> visited = new ArrayList<>();
+        storage.resetAndGetWindow().visit(item -> {
+            String headline = headlines.get(visited.size());
+            visited.add(item.getHeadline());
+            assertThat(item.addSignatureTo(actual)).as(headline).isEqualTo(expected.add(headline));
+            return true;
+        });
+
+        assertThat(visited).hasSize(headlines.size());
+        assertThat(actual.size()).isEqualTo(expected.size());
+    }
+
+    @Test
+    @DisplayName("Should keep every item added concurrently while the dictionary grows")
+    void add_ConcurrentWriters_KeepsAllItems() throws InterruptedException {
+
+        CompactNewsItemStorage storage = new CompactNewsItemStorage();
+        int threads = 4;
+        int itemsPerThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < itemsPerThread; i++) {
+                    storage.add(new NewsItem("up word" + (i % 1000) + " rise", i % 10));
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        NewsWindow window = storage.resetAndGetWindow();
+        List<String> headlines = new ArrayList<>();
+        window.visit(item -> headlines.add(item.getHeadline()));
+
+        assertThat(window.size()).isEqualTo(threads * itemsPerThread);
+        assertThat(headlines).hasSize(threads * itemsPerThread).allMatch(headline -> headline.matches("up word\\d+ rise"));
+        assertThat(storage.getDictionarySize()).isEqualTo(12 + 1000);
+    }
+}
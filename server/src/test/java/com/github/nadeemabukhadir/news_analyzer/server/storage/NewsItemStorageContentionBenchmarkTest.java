@@ -0,0 +1,112 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Contention benchmark of the {@link NewsItemStorage} implementations: N producer threads add items of random
+ * priorities while a reporter thread resets the storage every 10 ms, like the server does once per window.
+ * <p>
+ * Skipped by default, run it with:
+ * {@code mvn -pl server -am test -Dtest=NewsItemStorageContentionBenchmarkTest -Dbenchmark=true -Dsurefire.failIfNoSpecifiedTests=false}
+ */
+class NewsItemStorageContentionBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(NewsItemStorageContentionBenchmarkTest.class);
+    private static final int ITEMS_PER_PRODUCER = 1_000_000;
+    private static final int ROUNDS = 3;
+
+    @Test
+    @DisplayName("Should compare add throughput of the skip list and striped storages under contention")
+    void benchmark_ConcurrentProducers_LogsThroughput() throws InterruptedException {
+
+        assumeTrue(Boolean.getBoolean("benchmark"), "Run with -Dbenchmark=true");
+
+        NewsItem[] items = new NewsItem[1024];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new NewsItem("up rise headline " + i, (i * 7) % 10);
+        }
+        int maxThreads = Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) * 2;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double skipList = bestThroughput(SkipListNewsItemStorage::new, items, threads);
+            double striped = bestThroughput(StripedNewsItemStorage::new, items, threads);
+            logger.info("threads={} skipList={} M adds/s striped={} M adds/s ({}x)", threads,
+                    String.format("%.2f", skipList), String.format("%.2f", striped), String.format("%.2f", striped / skipList));
+        }
+    }
+
+    private static double bestThroughput(Supplier<NewsItemStorage> factory, NewsItem[] items, int threads)
+            throws InterruptedException {
+
+        double best = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            best = Math.max(best, throughput(factory.get(), items, threads));
+        }
+        return best;
+    }
+
+    private static double throughput(NewsItemStorage storage, NewsItem[] items, int threads) throws InterruptedException {
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong drained = new AtomicLong();
+        Thread reporter = new Thread(() -> {
+            while (running.get()) {
+                drained.addAndGet(storage.resetAndGetWindow().size());
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        });
+        List<Runnable> producers = new ArrayList<>(Arrays.asList(new Runnable[threads]));
+        for (int t = 0; t < threads; t++) {
+            int offset = t * 31;
+            producers.set(t, () -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < ITEMS_PER_PRODUCER; i++) {
+                    storage.add(items[(offset + i) & (items.length - 1)]);
+                }
+            });
+        }
+        producers.forEach(executor::execute);
+
+        reporter.start();
+        long startNanos = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+        long elapsedNanos = System.nanoTime() - startNanos;
+        running.set(false);
+        reporter.join();
+        drained.addAndGet(storage.resetAndGetWindow().size());
+
+        assertThat(drained.get()).isEqualTo((long) threads * ITEMS_PER_PRODUCER);
+        return threads * (double) ITEMS_PER_PRODUCER * 1_000 / elapsedNanos;
+    }
+}
@@ -7,6 +7,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.SortedMap;
 
@@ -20,7 +22,11 @@ class NewsItemStorageTest {
     @BeforeEach
     void setUp() {
 
-        storage = new NewsItemStorage();
+        storage = createStorage();
+    }
+
+    NewsItemStorage createStorage() {
+        return new StripedNewsItemStorage();
     }
 
     @Test
@@ -67,4 +73,57 @@ class NewsItemStorageTest {
 
         assertThat(storage.resetAndGetAll()).isEmpty();
     }
+
+    @Test
+    @DisplayName("Should add a batch as if its items were added one by one")
+    void shouldAddAllGroupedByPriority() {
+
+        NewsItem item1 = new NewsItem("up rise success", 5);
+        NewsItem item2 = new NewsItem("good high fall", 3);
+        NewsItem item3 = new NewsItem("über rise", 5);
+        NewsItem item4 = new NewsItem("high up", 5);
+
+        storage.add(item1);
+        storage.addAll(Arrays.asList(item2, null, item3));
+        storage.addAll(Collections.singletonList(item4));
+        storage.addAll(Collections.emptyList());
+        storage.addAll(null);
+
+        SortedMap<Integer, Deque<NewsItem>> snapshot = storage.resetAndGetAll();
+        assertThat(snapshot.keySet()).containsExactly(5, 3);
+        assertThat(snapshot.get(5)).containsExactly(item4, item3, item1); // LIFO across single adds and batches
+        assertThat(snapshot.get(3)).containsExactly(item2);
+    }
+
+    @Test
+    @DisplayName("Should hand every item over to exactly one window while resets race with adds")
+    void shouldNotLoseItemsAddedDuringReset() throws InterruptedException {
+
+        int producers = 4;
+        int itemsPerProducer = 50_000;
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < itemsPerProducer; i++) {
+                    if (i % 10 == 0) {
+                        storage.addAll(Arrays.asList(new NewsItem("up", i % 10), new NewsItem("rise", 9 - i % 10)));
+                    } else {
+                        storage.add(new NewsItem("up rise", i % 10));
+                    }
+                }
+            });
+            threads[p].start();
+        }
+
+        long reported = 0;
+        while (Arrays.stream(threads).anyMatch(Thread::isAlive)) {
+            reported += storage.resetAndGetWindow().size();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        reported += storage.resetAndGetWindow().size();
+
+        assertThat(reported).isEqualTo(producers * (itemsPerProducer + itemsPerProducer / 10));
+    }
 }
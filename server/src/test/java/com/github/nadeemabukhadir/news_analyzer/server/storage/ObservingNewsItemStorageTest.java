@@ -0,0 +1,67 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ObservingNewsItemStorageTest {
+
+    @Test
+    @DisplayName("Should feed the observer and the decorated storage with the same items")
+    void add_Items_FeedsStorageAndObserver() {
+
+        RecordingObserver observer = new RecordingObserver();
+        ObservingNewsItemStorage storage = new ObservingNewsItemStorage(new StripedNewsItemStorage(), observer);
+        storage.add(new NewsItem("up", 3));
+        storage.add(null);
+        storage.addAll(Arrays.asList(new NewsItem("rise", 4), null, new NewsItem("good", 4)));
+        storage.addAll(new ArrayList<>());
+
+        assertThat(observer.items).containsExactly("3:up", "4:rise", "4:good");
+        assertThat(storage.resetAndGetAll().get(4)).extracting(NewsItem::getHeadline).containsExactly("good", "rise");
+    }
+
+    @Test
+    @DisplayName("Should close the observer's window right after the storage's one")
+    void resetAndGetWindow_Reset_ClosesObserverWindowAfterStorage() {
+
+        List<String> events = new ArrayList<>();
+        StripedNewsItemStorage inner = new StripedNewsItemStorage() {
+            @Override
+            public NewsWindow resetAndGetWindow() {
+
+                events.add("storage reset");
+                return super.resetAndGetWindow();
+            }
+        };
+        RecordingObserver observer = new RecordingObserver() {
+            @Override
+            public void onWindowReset() {
+                events.add("observer reset after " + items.size() + " items");
+            }
+        };
+        ObservingNewsItemStorage storage = new ObservingNewsItemStorage(inner, observer);
+        storage.add(new NewsItem("up", 3));
+
+        assertThat(storage.resetAndGetWindow().size()).isEqualTo(1);
+        storage.resetAndGetAll();
+        assertThat(events).containsExactly("storage reset", "observer reset after 1 items",
+                "storage reset", "observer reset after 1 items");
+    }
+
+    private static class RecordingObserver implements NewsItemObserver {
+
+        final List<String> items = new ArrayList<>();
+
+        @Override
+        public void add(NewsItem item) {
+            items.add(item.getPriority() + ":" + item.getHeadline());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+/**
+ * Runs the {@link NewsItemStorageTest} contract against {@link SkipListNewsItemStorage}.
+ */
+class SkipListNewsItemStorageTest extends NewsItemStorageTest {
+
+    @Override
+    NewsItemStorage createStorage() {
+        return new SkipListNewsItemStorage();
+    }
+}
@@ -0,0 +1,215 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SpillingNewsItemStorageTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should visit spilled and stored items in the same order as an unbounded storage")
+    void resetAndGetWindow_OverBudget_VisitsSameItems() {
+
+        Random random = new Random(11);
+        for (int round = 0; round < 50; round++) {
+            long budget = random.nextInt(20) * SpillingNewsItemStorage.footprintOf(new NewsItem("w00", 0));
+            SpillingNewsItemStorage spilling = new SpillingNewsItemStorage(new StripedNewsItemStorage(), budget + 1,
+                    directory);
+            StripedNewsItemStorage striped = new StripedNewsItemStorage();
+            int itemsCount = random.nextInt(60);
+            for (int i = 0; i < itemsCount; i++) {
+                NewsItem item = new NewsItem("w" + random.nextInt(100), random.nextInt(10));
+                if (random.nextBoolean()) {
+                    spilling.add(item);
+                    striped.add(item);
+                } else {
+                    spilling.addAll(Arrays.asList(item, item));
+                    striped.addAll(Arrays.asList(item, item));
+                }
+            }
+
+            NewsWindow expected = striped.resetAndGetWindow();
+            NewsWindow actual = spilling.resetAndGetWindow();
+
+            assertThat(actual.size()).isEqualTo(expected.size());
+            for (int priority = 0; priority < 10; priority++) {
+                assertThat(actual.size(priority)).isEqualTo(expected.size(priority));
+            }
+            assertThat(items(actual, Integer.MAX_VALUE)).as("round %d", round)
+                    .isEqualTo(items(expected, Integer.MAX_VALUE));
+            assertThat(items(actual, 7)).isEqualTo(items(expected, 7));
+        }
+    }
+
+    @Test
+    @DisplayName("Should spill the items over the budget and delete their files after the next reset")
+    void resetAndGetAll_OverBudget_SpillsAndDeletesFiles() throws IOException {
+
+        NewsItem first = new NewsItem("first", 5);
+        SpillingNewsItemStorage storage = new SpillingNewsItemStorage(new StripedNewsItemStorage(),
+                SpillingNewsItemStorage.footprintOf(first), directory);
+        storage.add(first);
+        storage.add(null);
+        storage.addAll(Arrays.asList(new NewsItem("second", 5), new NewsItem("third", 9)));
+        storage.add(new NewsItem("fourth", 5));
+
+        assertThat(filesCount()).isEqualTo(2);
+        assertThat(storage.resetAndGetAll())
+                .containsOnlyKeys(9, 5)
+                .satisfies(items -> {
+                    assertThat(items.get(9)).extracting(NewsItem::getHeadline).containsExactly("third");
+                    assertThat(items.get(5)).extracting(NewsItem::getHeadline, NewsItem::getPriority)
+                            .containsExactly(tuple("fourth", 5), tuple("second", 5), tuple("first", 5));
+                });
+
+        storage.add(new NewsItem("fifth", 1));
+        storage.add(new NewsItem("sixth", 1));
+        assertThat(filesCount()).isEqualTo(3);
+        assertThat(storage.resetAndGetWindow().size()).isEqualTo(2);
+        assertThat(filesCount()).isEqualTo(1);
+        assertThat(storage.resetAndGetWindow().size()).isZero();
+        assertThat(filesCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count every item exactly once while resets race with adds")
+    void resetAndGetWindow_ConcurrentAdds_CountsEveryItem() throws InterruptedException {
+
+        SpillingNewsItemStorage storage = new SpillingNewsItemStorage(new StripedNewsItemStorage(), 50_000,
+                directory);
+        int threads = 4;
+        int itemsPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.execute(() -> {
+                for (int i = 0; i < itemsPerThread; i++) {
+                    if (i % 2 == 0) {
+                        storage.add(new NewsItem("w" + (i % 100), (thread + i) % 10));
+                    } else {
+                        storage.addAll(Arrays.asList(new NewsItem("up", thread)));
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        long drained = 0;
+        while (!done.await(1, TimeUnit.MILLISECONDS)) {
+            NewsWindow window = storage.resetAndGetWindow();
+            int[] visited = {0};
+            window.visit(item -> ++visited[0] > 0);
+            assertThat(visited[0]).isEqualTo(window.size());
+            drained += window.size();
+        }
+        drained += storage.resetAndGetWindow().size();
+        executor.shutdown();
+
+        assertThat(drained).isEqualTo((long) threads * itemsPerThread);
+    }
+
+    @Test
+    @DisplayName("Should keep an item added while the decorated storage is being reset in the next window")
+    void resetAndGetWindow_AddDuringInnerReset_KeepsItInNextWindow() {
+
+        SpillingNewsItemStorage[] spilling = new SpillingNewsItemStorage[1];
+        StripedNewsItemStorage inner = new StripedNewsItemStorage() {
+            @Override
+            public NewsWindow resetAndGetWindow() {
+
+                // The spilling epoch has advanced, so this add belongs to the next window.
+                spilling[0].add(new NewsItem("next", 3));
+                return super.resetAndGetWindow();
+            }
+        };
+        spilling[0] = new SpillingNewsItemStorage(inner, Long.MAX_VALUE, directory);
+        spilling[0].add(new NewsItem("closed", 3));
+
+        assertThat(items(spilling[0].resetAndGetWindow(), Integer.MAX_VALUE)).containsExactly("3:closed");
+        assertThat(items(spilling[0].resetAndGetWindow(), Integer.MAX_VALUE)).containsExactly("3:next");
+    }
+
+    @Test
+    @DisplayName("Should visit an item added while the decorated storage is being reset after newer stored items")
+    void resetAndGetWindow_AddDuringInnerReset_VisitsItAfterNewerItems() {
+
+        SpillingNewsItemStorage[] spilling = new SpillingNewsItemStorage[1];
+        boolean[] addDuringReset = {true};
+        StripedNewsItemStorage inner = new StripedNewsItemStorage() {
+            @Override
+            public NewsWindow resetAndGetWindow() {
+
+                if (addDuringReset[0]) {
+                    spilling[0].addAll(Arrays.asList(new NewsItem("older", 3), new NewsItem("old", 3)));
+                }
+                return super.resetAndGetWindow();
+            }
+        };
+        spilling[0] = new SpillingNewsItemStorage(inner, Long.MAX_VALUE, directory);
+        spilling[0].resetAndGetWindow();
+        addDuringReset[0] = false;
+        spilling[0].add(new NewsItem("newer", 3));
+        spilling[0].add(new NewsItem("higher", 5));
+        spilling[0].add(new NewsItem("lower", 1));
+
+        NewsWindow window = spilling[0].resetAndGetWindow();
+
+        assertThat(window.size()).isEqualTo(5);
+        assertThat(window.size(3)).isEqualTo(3);
+        assertThat(items(window, Integer.MAX_VALUE))
+                .containsExactly("5:higher", "3:newer", "3:old", "3:older", "1:lower");
+        assertThat(items(window, 2)).containsExactly("5:higher", "3:newer");
+    }
+
+    @Test
+    @DisplayName("Should reject a non positive budget and out of range priorities")
+    void constructor_InvalidArguments_Throws() {
+
+        assertThatThrownBy(() -> new SpillingNewsItemStorage(new StripedNewsItemStorage(), 0, directory))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Heap budget");
+        assertThatThrownBy(() -> new SpillingNewsItemStorage(new StripedNewsItemStorage(), 1, directory)
+                .add(new NewsItem("up", 10)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Priority");
+    }
+
+    private long filesCount() throws IOException {
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static List<String> items(NewsWindow window, int limit) {
+
+        List<String> items = new ArrayList<>();
+        window.visit(item -> {
+            items.add(item.getPriority() + ":" + item.getHeadline());
+            return items.size() < limit;
+        });
+        return items;
+    }
+}
@@ -0,0 +1,128 @@
+package com.github.nadeemabukhadir.news_analyzer.server.storage;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedNewsItemStorageTest {
+
+    @Test
+    @DisplayName("Should keep every producer's items in LIFO order and never lose items across concurrent resets")
+    void add_ConcurrentProducersAndResets_KeepsOrderAndItems() throws InterruptedException {
+
+        StripedNewsItemStorage storage = new StripedNewsItemStorage(4);
+        int producers = 4;
+        int itemsPerProducer = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < itemsPerProducer; i++) {
+                    storage.add(new NewsItem(producer + " " + i, i % 10));
+                }
+            });
+        }
+
+        List<SortedMap<Integer, Deque<NewsItem>>> windows = new ArrayList<>();
+        start.countDown();
+        executor.shutdown();
+        while (!executor.awaitTermination(1, TimeUnit.MILLISECONDS)) {
+            windows.add(storage.resetAndGetAll());
+        }
+        windows.add(storage.resetAndGetAll());
+
+        int[] counts = new int[producers];
+        for (SortedMap<Integer, Deque<NewsItem>> window : windows) {
+            assertThat(new ArrayList<>(window.keySet())).isSortedAccordingTo(Comparator.reverseOrder());
+            for (Deque<NewsItem> items : window.values()) {
+                int[] previous = new int[producers];
+                Arrays.fill(previous, Integer.MAX_VALUE);
+                for (NewsItem item : items) {
+                    String[] parts = item.getHeadline().split(" ");
+                    int producer = Integer.parseInt(parts[0]);
+                    int index = Integer.parseInt(parts[1]);
+                    assertThat(index).isLessThan(previous[producer]); // Newest first per producer
+                    previous[producer] = index;
+                    counts[producer]++;
+                }
+            }
+        }
+
+        assertThat(counts).containsOnly(itemsPerProducer);
+    }
+
+    @Test
+    @DisplayName("Should interleave stripes by insertion order within a priority")
+    void resetAndGetWindow_SeveralThreads_MergesNewestFirst() throws InterruptedException {
+
+        StripedNewsItemStorage storage = new StripedNewsItemStorage(8);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String headline = "item " + i;
+            Thread thread = new Thread(() -> storage.add(new NewsItem(headline, 4)));
+            thread.start();
+            thread.join();
+            expected.add(0, headline);
+        }
+
+        List<String> headlines = new ArrayList<>();
+        NewsWindow window = storage.resetAndGetWindow();
+        window.visit(item -> headlines.add(item.getHeadline()));
+
+        assertThat(window.size()).isEqualTo(20);
+        assertThat(headlines).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("Should stop visiting when the visitor returns false")
+    void visit_VisitorStops_VisitsNoMore() {
+
+        StripedNewsItemStorage storage = new StripedNewsItemStorage();
+        for (int i = 0; i < 5; i++) {
+            storage.add(new NewsItem("item " + i, 9));
+        }
+        AtomicBoolean visitedOther = new AtomicBoolean();
+        List<String> headlines = new ArrayList<>();
+
+        storage.resetAndGetWindow().visit(item -> {
+            visitedOther.set(headlines.size() >= 2);
+            headlines.add(item.getHeadline());
+            return headlines.size() < 2;
+        });
+
+        assertThat(headlines).containsExactly("item 4", "item 3");
+        assertThat(visitedOther).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject priorities outside 0-9 and stripe counts that are not a power of two")
+    void add_InvalidPriority_Throws() {
+
+        StripedNewsItemStorage storage = new StripedNewsItemStorage();
+
+        assertThatThrownBy(() -> storage.add(new NewsItem("up", 10))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new StripedNewsItemStorage(3)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
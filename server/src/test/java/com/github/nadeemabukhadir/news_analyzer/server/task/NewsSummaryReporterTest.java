@@ -1,6 +1,7 @@
 package com.github.nadeemabukhadir.news_analyzer.server.task;
 
 import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsWindow;
 import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -31,11 +32,11 @@ class NewsSummaryReporterTest {
     @DisplayName("Should handle empty data without errors and return 0")
     void testEmptyData() {
 
-        when(storage.resetAndGetAll()).thenReturn(new TreeMap<>());
+        when(storage.resetAndGetWindow()).thenReturn(NewsWindow.of(new TreeMap<>()));
 
         int totalReported = reporter.report();
 
-        verify(storage).resetAndGetAll();
+        verify(storage).resetAndGetWindow();
         verifyNoMoreInteractions(storage);
 
         assertThat(totalReported).isZero();
@@ -56,11 +57,11 @@ class NewsSummaryReporterTest {
         data.put(9, p9);
         data.put(5, p5);
 
-        when(storage.resetAndGetAll()).thenReturn(data);
+        when(storage.resetAndGetWindow()).thenReturn(NewsWindow.of(data));
 
         int totalReported = reporter.report();
 
-        verify(storage).resetAndGetAll();
+        verify(storage).resetAndGetWindow();
         verifyNoMoreInteractions(storage);
 
         assertThat(totalReported).isEqualTo(5);
@@ -0,0 +1,68 @@
+package com.github.nadeemabukhadir.news_analyzer.server.util;
+
+import com.github.nadeemabukhadir.news_analyzer.common.protocol.HeadlineVocabulary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.github.nadeemabukhadir.news_analyzer.server.task.NewsSummaryReporter.buildHeadlineSignature;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeadlineSignatureSetTest {
+
+    @Test
+    @DisplayName("Should ignore word order and repeated words")
+    void add_ReorderedWords_IsNotNew() {
+
+        HeadlineSignatureSet signatures = new HeadlineSignatureSet();
+
+        assertThat(signatures.add("up rise success")).isTrue();
+        assertThat(signatures.add("success up  rise")).isFalse();
+        assertThat(signatures.add("up rise success success")).isFalse();
+        assertThat(signatures.add("up rise")).isTrue();
+        assertThat(signatures.add("markets rise up")).isTrue();
+        assertThat(signatures.add("up markets\trise")).isFalse();
+        assertThat(signatures.size()).isEqualTo(3);
+
+        signatures.clear();
+
+        assertThat(signatures.size()).isZero();
+        assertThat(signatures.add("up rise success")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should tell headlines apart exactly like split based word sets, with and without a bitmask vocabulary")
+    void add_RandomHeadlines_MatchesSplitSignatures() {
+
+        List<String> largeVocabulary = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            largeVocabulary.add("w" + i);
+        }
+        assertEquivalentToSplitSignatures(new HeadlineSignatureSet());
+        assertEquivalentToSplitSignatures(new HeadlineSignatureSet(new HeadlineVocabulary(largeVocabulary)));
+    }
+
+    private static void assertEquivalentToSplitSignatures(HeadlineSignatureSet signatures) {
+
+        String[] words = {"up", "down", "rise", "good", "über", "markets", "upside", "u", "w1", ""};
+        String[] separators = {" ", "  ", "\t", "\n "};
+        Set<Set<String>> reference = new HashSet<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder headline = new StringBuilder(random.nextInt(8) == 0 ? " " : "");
+            int length = random.nextInt(5);
+            for (int j = 0; j < length; j++) {
+                headline.append(words[random.nextInt(words.length)]).append(separators[random.nextInt(separators.length)]);
+            }
+            headline.append(words[random.nextInt(words.length)]);
+            String value = headline.toString();
+            assertThat(signatures.add(value)).as(value).isEqualTo(reference.add(buildHeadlineSignature(value)));
+        }
+        assertThat(signatures.size()).isEqualTo(reference.size());
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.nadeemabukhadir.news_analyzer.server.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadExecutorsTest {
+
+    @Test
+    @DisplayName("Should run tasks on virtual threads when the runtime supports them")
+    void newVirtualThreadPerTaskExecutor_SupportedRuntime_RunsOnVirtualThread() throws Exception {
+
+        assumeTrue(VirtualThreadExecutors.isSupported(), "Requires a Java 21+ runtime");
+
+        ExecutorService executor = VirtualThreadExecutors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<Object> isVirtual = executor.submit(() -> Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+            assertThat(isVirtual.get()).isEqualTo(true);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail fast when the runtime does not support virtual threads")
+    void newVirtualThreadPerTaskExecutor_UnsupportedRuntime_ThrowsException() {
+
+        assumeFalse(VirtualThreadExecutors.isSupported(), "Requires a pre Java 21 runtime");
+
+        assertThatThrownBy(VirtualThreadExecutors::newVirtualThreadPerTaskExecutor)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Java 21+");
+    }
+}
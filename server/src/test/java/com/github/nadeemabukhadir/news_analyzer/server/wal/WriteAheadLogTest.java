@@ -0,0 +1,223 @@
+package com.github.nadeemabukhadir.news_analyzer.server.wal;
+
+import com.github.nadeemabukhadir.news_analyzer.common.dto.NewsItem;
+import com.github.nadeemabukhadir.news_analyzer.common.dto.Priorities;
+import com.github.nadeemabukhadir.news_analyzer.server.config.FsyncPolicy;
+import com.github.nadeemabukhadir.news_analyzer.server.config.WalConfig;
+import com.github.nadeemabukhadir.news_analyzer.server.rollup.NewsRollups;
+import com.github.nadeemabukhadir.news_analyzer.server.rollup.RollupCheckpoint;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.NewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.ObservingNewsItemStorage;
+import com.github.nadeemabukhadir.news_analyzer.server.storage.StripedNewsItemStorage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class WriteAheadLogTest {
+
+    private static final long START = 1_700_006_400L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should replay the appended items in order after a restart")
+    void replay_AppendedItems_ReturnsThemInOrder() throws IOException {
+
+        WriteAheadLog wal = open(FsyncPolicy.ALWAYS);
+        wal.append(new NewsItem("up  rise\tsuccess", 9));
+        wal.appendAll(Arrays.asList(new NewsItem("über good", 0), null, new NewsItem("", 5)));
+        wal.close();
+
+        List<NewsItem> replayed = new ArrayList<>();
+        int count = open(FsyncPolicy.ALWAYS).replay(replayed::add);
+
+        assertThat(count).isEqualTo(3);
+        assertThat(replayed).extracting(NewsItem::getHeadline, NewsItem::getPriority)
+                .containsExactly(tuple("up  rise\tsuccess", 9), tuple("über good", 0), tuple("", 5));
+    }
+
+    @Test
+    @DisplayName("Should rotate full segments and replay them all")
+    void append_FullSegments_RotatesSegments() throws IOException {
+
+        WriteAheadLog wal = open(FsyncPolicy.INTERVAL);
+        for (int i = 0; i < 1_000; i++) {
+            wal.append(new NewsItem("headline " + i, i % 10));
+        }
+        wal.sync();
+
+        List<NewsItem> replayed = new ArrayList<>();
+        open(FsyncPolicy.INTERVAL).replay(replayed::add);
+
+        assertThat(segmentsCount()).isGreaterThan(4);
+        assertThat(replayed).hasSize(1_000);
+        assertThat(replayed.get(999).getHeadline()).isEqualTo("headline 999");
+    }
+
+    @Test
+    @DisplayName("Should only replay the items of the window that was not reported")
+    void deleteReportedWindow_ReportedWindow_IsNotReplayed() throws IOException {
+
+        WriteAheadLog wal = open(FsyncPolicy.NONE);
+        WalNewsItemStorage storage = new WalNewsItemStorage(new StripedNewsItemStorage(), wal);
+        storage.add(new NewsItem("reported", 3));
+        assertThat(storage.resetAndGetWindow().size()).isEqualTo(1);
+        storage.addAll(Arrays.asList(new NewsItem("pending", 4), new NewsItem("pending too", 4)));
+        wal.deleteReportedWindow();
+
+        StripedNewsItemStorage restarted = new StripedNewsItemStorage();
+        open(FsyncPolicy.NONE).replay(restarted::add);
+
+        assertThat(restarted.resetAndGetAll().get(4)).extracting(NewsItem::getHeadline)
+                .containsExactly("pending too", "pending");
+        assertThat(segmentsCount()).isEqualTo(2); // The pending window's segment, plus the one of the reopened log
+    }
+
+    @Test
+    @DisplayName("Should replay the items of a window whose report did not complete")
+    void startWindow_ReportNotDone_KeepsReportedWindow() throws IOException {
+
+        WriteAheadLog wal = open(FsyncPolicy.NONE);
+        WalNewsItemStorage storage = new WalNewsItemStorage(new StripedNewsItemStorage(), wal);
+        storage.add(new NewsItem("being reported", 3));
+        storage.resetAndGetWindow();
+        storage.add(new NewsItem("pending", 4));
+
+        List<NewsItem> replayed = new ArrayList<>();
+        open(FsyncPolicy.NONE).replay(replayed::add);
+
+        assertThat(replayed).extracting(NewsItem::getHeadline).containsExactly("being reported", "pending");
+    }
+
+    @Test
+    @DisplayName("Should delete the segments of a window whose report never completed at the next window")
+    void startWindow_ReportNeverDone_DeletesAbandonedWindow() throws IOException {
+
+        WriteAheadLog wal = open(FsyncPolicy.NONE);
+        wal.append(new NewsItem("abandoned", 3));
+        wal.startWindow();
+        wal.append(new NewsItem("reported", 3));
+        wal.startWindow();
+        wal.append(new NewsItem("pending", 4));
+
+        List<NewsItem> replayed = new ArrayList<>();
+        open(FsyncPolicy.NONE).replay(replayed::add);
+
+        assertThat(replayed).extracting(NewsItem::getHeadline).containsExactly("reported", "pending");
+    }
+
+    @Test
+    @DisplayName("Should stop the replay at a torn record")
+    void replay_TornRecord_StopsBeforeIt() throws IOException {
+
+        WriteAheadLog wal = open(FsyncPolicy.ALWAYS);
+        wal.append(new NewsItem("complete", 1));
+        wal.append(new NewsItem("torn", 1));
+        wal.close();
+        try (RandomAccessFile file = new RandomAccessFile(onlySegment().toFile(), "rw")) {
+            file.seek(8 + 9 + 8 + 2); // Inside the headline of the second record
+            file.write('X');
+        }
+
+        List<NewsItem> replayed = new ArrayList<>();
+        open(FsyncPolicy.ALWAYS).replay(replayed::add);
+
+        assertThat(replayed).extracting(NewsItem::getHeadline).containsExactly("complete");
+    }
+
+    @Test
+    @DisplayName("Should stop the replay at a record with an invalid priority")
+    void replay_InvalidPriority_StopsBeforeIt() throws IOException {
+
+        WriteAheadLog wal = open(FsyncPolicy.ALWAYS);
+        wal.append(new NewsItem("complete", 1));
+        wal.append(new NewsItem("invalid", 1));
+        wal.append(new NewsItem("after", 1));
+        wal.close();
+        byte[] payload = "?invalid".getBytes(StandardCharsets.UTF_8);
+        payload[0] = Priorities.COUNT;
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        try (RandomAccessFile file = new RandomAccessFile(onlySegment().toFile(), "rw")) {
+            file.seek(8 + 9 + 4); // Checksum of the second record, followed by its payload
+            file.writeInt((int) crc.getValue());
+            file.write(payload);
+        }
+
+        List<NewsItem> replayed = new ArrayList<>();
+        open(FsyncPolicy.ALWAYS).replay(replayed::add);
+
+        assertThat(replayed).extracting(NewsItem::getHeadline).containsExactly("complete");
+    }
+
+    @Test
+    @DisplayName("Should reject invalid items before logging them")
+    void append_InvalidPriority_Throws() throws IOException {
+
+        WriteAheadLog wal = open(FsyncPolicy.NONE);
+
+        assertThatThrownBy(() -> wal.append(new NewsItem("up", 10)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Priority");
+        assertThatThrownBy(() -> new WalConfig(true, directory.toString(), 100, FsyncPolicy.NONE, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should not roll up again the replayed items already in the rollups checkpoint")
+    void replay_RollupsCheckpoint_RollsUpEveryItemOnce() throws IOException {
+
+        Path checkpointFile = directory.resolve("rollups.bin");
+        NewsRollups rollups = new NewsRollups(3);
+        WalNewsItemStorage storage = new WalNewsItemStorage(
+                new ObservingNewsItemStorage(new StripedNewsItemStorage(), rollups), open(FsyncPolicy.NONE));
+        storage.addAll(Arrays.asList(new NewsItem("up", 3), new NewsItem("rise", 4)));
+        storage.atLogPosition(position -> rollups.roll(START, position));
+        new RollupCheckpoint(checkpointFile, rollups).write();
+        storage.add(new NewsItem("after the checkpoint", 5));
+
+        NewsRollups restored = new NewsRollups(3);
+        assertThat(new RollupCheckpoint(checkpointFile, restored).restore()).isTrue();
+        StripedNewsItemStorage restarted = new StripedNewsItemStorage();
+        NewsItemStorage observed = new ObservingNewsItemStorage(restarted, restored);
+        open(FsyncPolicy.NONE).replay(restored.getRolledLogPosition(), restarted::add, observed::add);
+        restored.roll(START + 1);
+
+        assertThat(restored.query(60).getCount()).isEqualTo(3);
+        assertThat(restarted.resetAndGetWindow().size()).isEqualTo(3);
+    }
+
+    private WriteAheadLog open(FsyncPolicy fsyncPolicy) throws IOException {
+        return new WriteAheadLog(new WalConfig(true, directory.toString(), WalConfig.MIN_SEGMENT_SIZE_BYTES, fsyncPolicy, 10));
+    }
+
+    private long segmentsCount() throws IOException {
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private Path onlySegment() throws IOException {
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.findFirst().orElseThrow(IllegalStateException::new);
+        }
+    }
+}